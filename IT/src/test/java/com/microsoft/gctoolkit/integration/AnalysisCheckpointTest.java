@@ -0,0 +1,93 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.AnalysisCheckpoint;
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.integration.SyntheticG1Log.YoungPauses;
+import com.microsoft.gctoolkit.io.RotatingGCLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.microsoft.gctoolkit.integration.SyntheticG1Log.HEADER;
+import static com.microsoft.gctoolkit.integration.SyntheticG1Log.collection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class AnalysisCheckpointTest {
+
+    private static void append(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static List<Double> pauses(JavaVirtualMachine machine) {
+        return machine.getAggregation(YoungPauses.class).map(YoungPauses::getTimeStamps).orElse(List.of());
+    }
+
+    @Test
+    public void resumesFromCheckpoint(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        append(path, HEADER + collection(0) + collection(1));
+
+        GCToolKit gcToolKit = new GCToolKit();
+        YoungPauses aggregation = new YoungPauses();
+        gcToolKit.loadAggregation(aggregation);
+        AnalysisCheckpoint checkpoint = new AnalysisCheckpoint();
+        assertTrue(checkpoint.isEmpty());
+
+        JavaVirtualMachine machine = gcToolKit.analyze(new SingleGCLogFile(path), checkpoint);
+        assertFalse(checkpoint.isEmpty());
+        assertTrue(machine.isG1GC());
+        assertSame(aggregation, checkpoint.getAggregations().get(0));
+        assertEquals(Files.size(path), checkpoint.getLogFileCheckpoint().offset(path));
+        List<Double> first = pauses(machine);
+        assertTrue(first.contains(1.0d));
+
+        // The JVM is part way through writing a line when the log is analyzed again.
+        String next = collection(2) + collection(3);
+        int split = next.length() - 20;
+        append(path, next.substring(0, split));
+        machine = gcToolKit.analyze(new SingleGCLogFile(path), checkpoint);
+        assertEquals(Files.size(path) - (split - next.lastIndexOf('\n', split) - 1), checkpoint.getLogFileCheckpoint().offset(path));
+
+        append(path, next.substring(split) + collection(4));
+        machine = gcToolKit.analyze(new SingleGCLogFile(path), checkpoint);
+        assertEquals(Files.size(path), checkpoint.getLogFileCheckpoint().offset(path));
+
+        // Each collection is aggregated once, as it is when the whole log is analyzed in one pass.
+        GCToolKit oneShot = new GCToolKit();
+        oneShot.loadAggregation(new YoungPauses());
+        List<Double> expected = pauses(oneShot.analyze(new SingleGCLogFile(path)));
+        assertEquals(List.of(1.0d, 2.0d, 3.0d, 4.0d, 5.0d), expected);
+        assertEquals(expected, pauses(machine));
+    }
+
+    @Test
+    public void followsRotationFromCheckpoint(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        append(path, HEADER + collection(0));
+
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new YoungPauses());
+        AnalysisCheckpoint checkpoint = new AnalysisCheckpoint();
+        assertEquals(List.of(1.0d), pauses(gcToolKit.analyze(new RotatingGCLogFile(path), checkpoint)));
+
+        // The rest of the log is written to the renamed file, which is read from where the last analysis stopped.
+        append(path, collection(1));
+        Files.move(path, tempDir.resolve("gc.log.0"));
+        append(path, collection(2));
+        assertEquals(List.of(1.0d, 2.0d, 3.0d), pauses(gcToolKit.analyze(new RotatingGCLogFile(path), checkpoint)));
+        assertEquals(Files.size(path), checkpoint.getLogFileCheckpoint().offset(path));
+    }
+}
@@ -0,0 +1,150 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.AnalysisResult;
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.integration.SyntheticG1Log.YoungPauses;
+import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceChannel;
+import com.microsoft.gctoolkit.message.DirectDataSourceChannel;
+import com.microsoft.gctoolkit.message.DirectJVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class AnalyzeAllTest {
+
+    @Test
+    public void eachLogIsAnalyzedOnItsOwn(@TempDir Path tempDir) throws IOException {
+        Map<DataSource<?>, Integer> expected = new HashMap<>();
+        for (int collections = 1; collections <= 6; collections++)
+            expected.put(new SingleGCLogFile(SyntheticG1Log.write(tempDir, collections)), collections);
+
+        GCToolKit gcToolKit = new GCToolKit();
+        YoungPauses registered = new YoungPauses();
+        gcToolKit.loadAggregation(registered);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<AnalysisResult> results = gcToolKit.analyzeAll(expected.keySet(), executor).collect(Collectors.toList());
+            assertEquals(expected.size(), results.size());
+            for (AnalysisResult result : results) {
+                assertTrue(result.isCompleted());
+                assertFalse(result.getFailure().isPresent());
+                YoungPauses pauses = result.getJavaVirtualMachine().flatMap(jvm -> jvm.getAggregation(YoungPauses.class)).orElseThrow();
+                assertNotSame(registered, pauses);
+                assertEquals((int) expected.get(result.getDataSource()), pauses.getTimeStamps().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(registered.isEmpty());
+    }
+
+    @Test
+    public void loadedChannelsAreSharedByTheLogs(@TempDir Path tempDir) throws IOException {
+        List<DataSource<?>> logs = new ArrayList<>();
+        for (int collections = 1; collections <= 4; collections++)
+            logs.add(new SingleGCLogFile(SyntheticG1Log.write(tempDir, collections)));
+
+        SharedDataSourceChannel dataSourceChannel = new SharedDataSourceChannel();
+        SharedJVMEventChannel jvmEventChannel = new SharedJVMEventChannel();
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadDataSourceChannel(dataSourceChannel);
+        gcToolKit.loadJVMEventChannel(jvmEventChannel);
+        gcToolKit.loadAggregation(new YoungPauses());
+        List<AnalysisResult> results = gcToolKit.analyzeAll(logs).collect(Collectors.toList());
+        assertTrue(results.stream().allMatch(AnalysisResult::isCompleted));
+        assertEquals(logs.size(), dataSourceChannel.analyses.get());
+        assertEquals(logs.size(), jvmEventChannel.analyses.get());
+
+        // The reusable channels are kept for the next analysis.
+        gcToolKit.analyze(logs.get(0));
+        assertEquals(logs.size(), dataSourceChannel.analyses.get());
+        assertEquals(1, dataSourceChannel.published.get());
+    }
+
+    // Gives each analysis a channel of its own, and counts them.
+    public static class SharedDataSourceChannel extends DirectDataSourceChannel {
+
+        final AtomicInteger analyses = new AtomicInteger();
+        final AtomicInteger published = new AtomicInteger();
+
+        @Override
+        public boolean isShareable() {
+            return true;
+        }
+
+        @Override
+        public DataSourceChannel forAnalysis() {
+            analyses.incrementAndGet();
+            return new DirectDataSourceChannel();
+        }
+
+        @Override
+        public void publishBatch(ChannelName channel, List<String> lines) {
+            published.compareAndSet(0, 1);
+            super.publishBatch(channel, lines);
+        }
+    }
+
+    public static class SharedJVMEventChannel extends DirectJVMEventChannel {
+
+        final AtomicInteger analyses = new AtomicInteger();
+
+        @Override
+        public boolean isShareable() {
+            return true;
+        }
+
+        @Override
+        public JVMEventChannel forAnalysis() {
+            analyses.incrementAndGet();
+            return new DirectJVMEventChannel();
+        }
+    }
+
+    @Test
+    public void failedAnalysisIsReported(@TempDir Path tempDir) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new YoungPauses());
+        List<DataSource<?>> logs = List.of(new SingleGCLogFile(SyntheticG1Log.write(tempDir, 2)), new SingleGCLogFile(tempDir.resolve("missing.log")));
+        Map<Boolean, List<AnalysisResult>> results = gcToolKit.analyzeAll(logs).collect(Collectors.partitioningBy(AnalysisResult::isCompleted));
+        assertEquals(1, results.get(true).size());
+        assertEquals(1, results.get(false).size());
+        assertTrue(results.get(false).get(0).getFailure().isPresent());
+        assertFalse(results.get(false).get(0).getJavaVirtualMachine().isPresent());
+    }
+
+    @Test
+    public void configurationMustBeCopyable() {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new UncopyableYoungPauses(0));
+        assertThrows(IllegalStateException.class, () -> gcToolKit.analyzeAll(List.of()));
+    }
+
+    // An Aggregation without a public no argument constructor cannot be copied.
+    public static class UncopyableYoungPauses extends YoungPauses {
+
+        UncopyableYoungPauses(int unused) {}
+    }
+}
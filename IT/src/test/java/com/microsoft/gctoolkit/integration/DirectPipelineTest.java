@@ -0,0 +1,74 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.message.DirectDataSourceChannel;
+import com.microsoft.gctoolkit.message.DirectJVMEventChannel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("modulePath")
+public class DirectPipelineTest {
+
+    @Test
+    public void analysisRunsOnTheCallingThread(@TempDir Path tempDir) throws IOException {
+        // Direct channels hold no threads, so the same ones can be used for every analysis.
+        DirectDataSourceChannel dataSourceChannel = new DirectDataSourceChannel();
+        DirectJVMEventChannel jvmEventChannel = new DirectJVMEventChannel();
+        for (int collections = 3; collections <= 4; collections++) {
+            GCToolKit gcToolKit = new GCToolKit();
+            gcToolKit.loadDataSourceChannel(dataSourceChannel);
+            gcToolKit.loadJVMEventChannel(jvmEventChannel);
+            gcToolKit.loadAggregation(new YoungPauseThreads());
+            JavaVirtualMachine jvm = gcToolKit.analyze(new SingleGCLogFile(SyntheticG1Log.write(tempDir, collections)));
+            YoungPauseThreads pauses = jvm.getAggregation(YoungPauseThreads.class).orElseThrow();
+            assertEquals(collections, pauses.getTimeStamps().size());
+            assertEquals(1.0, pauses.getTimeStamps().get(0), 0.001);
+            assertEquals(Set.of(Thread.currentThread().getName()), pauses.threads());
+        }
+    }
+
+    @Aggregates({EventSource.G1GC})
+    public static class YoungPauseThreadAggregator extends Aggregator<YoungPauseThreads> {
+
+        public YoungPauseThreadAggregator(YoungPauseThreads aggregation) {
+            super(aggregation);
+            register(G1Young.class, this::process);
+        }
+
+        private void process(G1Young event) {
+            aggregation().record(event.getDateTimeStamp().getTimeStamp());
+        }
+    }
+
+    @Collates(YoungPauseThreadAggregator.class)
+    public static class YoungPauseThreads extends SyntheticG1Log.YoungPauses {
+
+        private final Set<String> threads = new HashSet<>();
+
+        @Override
+        public synchronized void record(double timeStamp) {
+            super.record(timeStamp);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        public synchronized Set<String> threads() {
+            return new HashSet<>(threads);
+        }
+    }
+}
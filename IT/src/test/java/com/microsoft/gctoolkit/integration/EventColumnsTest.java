@@ -0,0 +1,48 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.columns.EventColumns;
+import com.microsoft.gctoolkit.columns.EventRows;
+import com.microsoft.gctoolkit.columns.MemoryPool;
+import com.microsoft.gctoolkit.columns.PoolMeasure;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Tag("modulePath")
+public class EventColumnsTest {
+
+    @Test
+    public void eventsOfTheAnalysisAreHeldInColumns(@TempDir Path tempDir) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new EventColumns());
+        JavaVirtualMachine jvm = gcToolKit.analyze(new SingleGCLogFile(SyntheticG1Log.write(tempDir, 4)));
+
+        EventColumns columns = jvm.getEventColumns().orElseThrow();
+        EventRows young = columns.rows().whereEventType(G1Young.class);
+        assertEquals(4, young.size());
+        assertArrayEquals(new double[] {1.0d, 2.0d, 3.0d, 4.0d}, young.timeStamps());
+        assertEquals(4, young.groupByGCCause().get(GCCause.G1_EVACUATION_PAUSE).size());
+        assertEquals(0.009598d, young.durationStatistics().getMax(), 1e-9d);
+        assertArrayEquals(new long[] {9 * 1024L, 9 * 1024L, 9 * 1024L, 9 * 1024L}, young.values(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION));
+        assertEquals(3, young.windows(2.0d).size());
+    }
+
+    @Test
+    public void columnsAreOnlyKeptWhenLoaded(@TempDir Path tempDir) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new SyntheticG1Log.YoungPauses());
+        assertFalse(gcToolKit.analyze(new SingleGCLogFile(SyntheticG1Log.write(tempDir, 1))).getEventColumns().isPresent());
+    }
+}
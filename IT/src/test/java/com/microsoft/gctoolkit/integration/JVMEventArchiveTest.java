@@ -0,0 +1,55 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.integration.SyntheticG1Log.YoungPauses;
+import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.io.JVMEventArchive;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class JVMEventArchiveTest {
+
+    private static JavaVirtualMachine analyze(DataSource<?> dataSource) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new YoungPauses());
+        return gcToolKit.analyze(dataSource);
+    }
+
+    @Test
+    public void archiveIsAnalyzedLikeTheLog(@TempDir Path tempDir) throws IOException {
+        SingleGCLogFile log = new SingleGCLogFile(SyntheticG1Log.write(tempDir, 5));
+        JVMEventArchive archive = new GCToolKit().archive(log, tempDir.resolve("gc.gctk"));
+        assertTrue(Files.size(archive.getPath()) > 0);
+        assertTrue(archive.diary().isG1GC());
+        assertTrue(archive.eventSources().contains(EventSource.G1GC));
+
+        JavaVirtualMachine parsed = analyze(log);
+        JavaVirtualMachine replayed = analyze(archive);
+        assertTrue(replayed.isG1GC());
+        assertEquals(parsed.getJVMTerminationTime(), replayed.getJVMTerminationTime());
+        assertEquals(parsed.getRuntimeDuration(), replayed.getRuntimeDuration());
+        YoungPauses expected = parsed.getAggregation(YoungPauses.class).orElseThrow();
+        YoungPauses actual = replayed.getAggregation(YoungPauses.class).orElseThrow();
+        assertEquals(5, expected.getTimeStamps().size());
+        assertEquals(expected.getTimeStamps(), actual.getTimeStamps());
+    }
+
+    @Test
+    public void archiveCanBeAnalyzedMoreThanOnce(@TempDir Path tempDir) throws IOException {
+        JVMEventArchive archive = new GCToolKit().archive(new SingleGCLogFile(SyntheticG1Log.write(tempDir, 3)), tempDir.resolve("gc.gctk"));
+        for (int i = 0; i < 2; i++)
+            assertEquals(3, analyze(archive).getAggregation(YoungPauses.class).orElseThrow().getTimeStamps().size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
+import com.microsoft.gctoolkit.instrumentation.PipelineStage;
+import com.microsoft.gctoolkit.instrumentation.PipelineStatistics;
+import com.microsoft.gctoolkit.instrumentation.StageStatistics;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.message.ChannelName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("modulePath")
+public class PipelineStatisticsTest {
+
+    @Test
+    public void everyStageIsCounted(@TempDir Path tempDir) throws IOException {
+        Path log = SyntheticG1Log.write(tempDir, 3);
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new SyntheticG1Log.YoungPauses());
+        JavaVirtualMachine jvm;
+        System.setProperty(PipelineMetrics.TIMING_PROPERTY, "true");
+        try {
+            jvm = gcToolKit.analyze(new SingleGCLogFile(log));
+        } finally {
+            System.clearProperty(PipelineMetrics.TIMING_PROPERTY);
+        }
+        PipelineStatistics statistics = jvm.getPipelineStatistics();
+
+        // every line and the end of data
+        long lines = Files.readAllLines(log).size() + 1;
+        assertEquals(lines, statistics.getStage(PipelineStage.READ, log.toString()).orElseThrow().getCount());
+
+        StageStatistics parser = statistics.getStage(PipelineStage.PARSE, "UnifiedG1GCParser").orElseThrow();
+        assertTrue(parser.getCount() > 0 && parser.getCount() <= lines);
+        assertTrue(parser.getNanos() > 0);
+
+        assertFalse(statistics.getStages(PipelineStage.RULE).isEmpty());
+        assertTrue(statistics.getStages(PipelineStage.RULE).stream().allMatch(rule -> rule.getName().startsWith("Unified")));
+        assertTrue(statistics.getStages(PipelineStage.RULE).stream().mapToLong(rule -> rule.getCount() - rule.getMisses()).sum() > 0);
+
+        // three collections and the termination
+        long events = statistics.getStage(PipelineStage.CHANNEL, ChannelName.G1GC_PARSER_OUTBOX.name()).orElseThrow().getCount();
+        assertEquals(4, events);
+        StageStatistics aggregator = statistics.getStage(PipelineStage.AGGREGATE, SyntheticG1Log.YoungPauseAggregator.class.getName()).orElseThrow();
+        assertEquals(events, aggregator.getCount());
+    }
+
+    @Test
+    public void rulesAreCountedButOnlyTimedWhenEnabled(@TempDir Path tempDir) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new SyntheticG1Log.YoungPauses());
+        PipelineStatistics statistics = gcToolKit.analyze(new SingleGCLogFile(SyntheticG1Log.write(tempDir, 3))).getPipelineStatistics();
+
+        StageStatistics parser = statistics.getStage(PipelineStage.PARSE, "UnifiedG1GCParser").orElseThrow();
+        assertTrue(parser.getCount() > 0);
+        assertTrue(parser.getMisses() >= 0);
+        assertEquals(0L, parser.getNanos());
+        assertFalse(statistics.getStages(PipelineStage.RULE).isEmpty());
+        assertTrue(statistics.getStages(PipelineStage.RULE).stream().allMatch(rule -> rule.getNanos() == 0L));
+        assertTrue(statistics.getStages(PipelineStage.RULE).stream().allMatch(rule -> rule.getMisses() >= 0L && rule.getMisses() <= rule.getCount()));
+        assertTrue(statistics.getStages(PipelineStage.RULE).stream().mapToLong(rule -> rule.getCount() - rule.getMisses()).sum() > 0);
+        assertEquals(4, statistics.getStage(PipelineStage.CHANNEL, ChannelName.G1GC_PARSER_OUTBOX.name()).orElseThrow().getCount());
+    }
+}
@@ -0,0 +1,96 @@
+package com.microsoft.gctoolkit.integration;
+
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds unified G1 logs of young collections for tests that need a log of a given length, and collects the
+ * time stamps of the young pauses that are found in them. Collection {@code n} starts at {@code n + 1} seconds.
+ */
+public final class SyntheticG1Log {
+
+    static final String HEADER =
+            "[0.011s][info][gc,init] Version: 17.0.2+8-86 (release)\n" +
+            "[0.011s][info][gc     ] Using G1\n" +
+            "[0.012s][info][gc,init] CPUs: 2 total, 2 available\n" +
+            "[0.012s][info][gc,init] Heap Region Size: 1M\n";
+
+    private SyntheticG1Log() {}
+
+    static String collection(int gcId) {
+        String start = String.format("[%d.000s]", gcId + 1);
+        String end = String.format("[%d.010s]", gcId + 1);
+        return start + "[info][gc,start    ] GC(" + gcId + ") Pause Young (Normal) (G1 Evacuation Pause)\n" +
+                start + "[info][gc,task     ] GC(" + gcId + ") Using 2 workers of 2 for evacuation\n" +
+                end + "[info][gc,phases   ] GC(" + gcId + ") Pre Evacuate Collection Set: 0.1ms\n" +
+                end + "[info][gc,phases   ] GC(" + gcId + ") Evacuate Collection Set: 5.2ms\n" +
+                end + "[info][gc,phases   ] GC(" + gcId + ") Post Evacuate Collection Set: 3.9ms\n" +
+                end + "[info][gc,phases   ] GC(" + gcId + ") Other: 0.2ms\n" +
+                end + "[info][gc,heap     ] GC(" + gcId + ") Eden regions: 6->0(8)\n" +
+                end + "[info][gc,heap     ] GC(" + gcId + ") Survivor regions: 0->1(1)\n" +
+                end + "[info][gc,heap     ] GC(" + gcId + ") Old regions: 0->0\n" +
+                end + "[info][gc,heap     ] GC(" + gcId + ") Humongous regions: 3->3\n" +
+                end + "[info][gc          ] GC(" + gcId + ") Pause Young (Normal) (G1 Evacuation Pause) 9M->4M(106M) 9.598ms\n" +
+                end + "[info][gc,cpu      ] GC(" + gcId + ") User=0.00s Sys=0.01s Real=0.01s\n";
+    }
+
+    /**
+     * Write a log of {@code collections} young collections to {@code gc-<collections>.log} in the directory.
+     */
+    static Path write(Path directory, int collections) throws IOException {
+        StringBuilder log = new StringBuilder(HEADER);
+        for (int gcId = 0; gcId < collections; gcId++)
+            log.append(collection(gcId));
+        Path path = directory.resolve("gc-" + collections + ".log");
+        Files.write(path, log.toString().getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Aggregates({EventSource.G1GC})
+    public static class YoungPauseAggregator extends Aggregator<YoungPauses> {
+
+        public YoungPauseAggregator(YoungPauses aggregation) {
+            super(aggregation);
+            register(G1Young.class, this::process);
+        }
+
+        private void process(G1Young event) {
+            aggregation().record(event.getDateTimeStamp().toSeconds());
+        }
+    }
+
+    @Collates(YoungPauseAggregator.class)
+    public static class YoungPauses extends Aggregation {
+
+        private final List<Double> timeStamps = new ArrayList<>();
+
+        public synchronized void record(double timeStamp) {
+            timeStamps.add(timeStamp);
+        }
+
+        public synchronized List<Double> getTimeStamps() {
+            return new ArrayList<>(timeStamps);
+        }
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return timeStamps.isEmpty();
+        }
+    }
+}
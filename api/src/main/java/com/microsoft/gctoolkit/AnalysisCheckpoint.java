@@ -0,0 +1,72 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.io.LogFileCheckpoint;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of an analysis that can be picked up by a later call to
+ * {@link GCToolKit#analyze(DataSource, AnalysisCheckpoint)}, so that a log which is still being written
+ * is not analyzed from the beginning each time. An {@code AnalysisCheckpoint} holds
+ * <ul>
+ *     <li>the {@link LogFileCheckpoint}, that is, the byte offset reached in each segment of the log and the {@code Diary},</li>
+ *     <li>the {@link DataSourceParser}s, along with their clock and any collection that is part way through being parsed, and</li>
+ *     <li>the {@link Aggregation}s that have been updated by the analysis.</li>
+ * </ul>
+ * The parsers and aggregations are live objects, so a checkpoint is only valid within the process that created it.
+ * <pre>{@code
+ * AnalysisCheckpoint checkpoint = new AnalysisCheckpoint();
+ * while (running) {
+ *     JavaVirtualMachine jvm = gcToolKit.analyze(new SingleGCLogFile(path), checkpoint);
+ *     jvm.getAggregation(PauseTimeSummary.class).ifPresent(this::report);
+ *     TimeUnit.MINUTES.sleep(1);
+ * }
+ * }</pre>
+ */
+public final class AnalysisCheckpoint {
+
+    private final LogFileCheckpoint logFileCheckpoint = new LogFileCheckpoint();
+    private List<DataSourceParser> dataSourceParsers = null;
+    private List<Aggregation> aggregations = null;
+
+    /**
+     * Create an empty checkpoint. An analysis using an empty checkpoint starts from the beginning of the log.
+     */
+    public AnalysisCheckpoint() {}
+
+    /**
+     * @return {@code true} if no analysis has used this checkpoint.
+     */
+    public boolean isEmpty() {
+        return dataSourceParsers == null;
+    }
+
+    /**
+     * @return how far the log has been read.
+     */
+    public LogFileCheckpoint getLogFileCheckpoint() {
+        return logFileCheckpoint;
+    }
+
+    /**
+     * @return the aggregations updated by the analyses using this checkpoint.
+     */
+    public List<Aggregation> getAggregations() {
+        return (aggregations == null) ? List.of() : Collections.unmodifiableList(aggregations);
+    }
+
+    List<DataSourceParser> getDataSourceParsers() {
+        return dataSourceParsers;
+    }
+
+    void record(List<DataSourceParser> dataSourceParsers, List<Aggregation> aggregations) {
+        this.dataSourceParsers = List.copyOf(dataSourceParsers);
+        this.aggregations = List.copyOf(aggregations);
+    }
+}
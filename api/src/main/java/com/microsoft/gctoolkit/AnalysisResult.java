@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit;
+
+import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+
+import java.util.Optional;
+
+/**
+ * The outcome of the analysis of one of the logs passed to {@link GCToolKit#analyzeAll(java.util.Collection)}.
+ * An analysis either produces a {@link JavaVirtualMachine} or fails with the exception that stopped it.
+ */
+public final class AnalysisResult {
+
+    private final DataSource<?> dataSource;
+    private final JavaVirtualMachine javaVirtualMachine;
+    private final Throwable failure;
+
+    private AnalysisResult(DataSource<?> dataSource, JavaVirtualMachine javaVirtualMachine, Throwable failure) {
+        this.dataSource = dataSource;
+        this.javaVirtualMachine = javaVirtualMachine;
+        this.failure = failure;
+    }
+
+    static AnalysisResult completed(DataSource<?> dataSource, JavaVirtualMachine javaVirtualMachine) {
+        return new AnalysisResult(dataSource, javaVirtualMachine, null);
+    }
+
+    static AnalysisResult failed(DataSource<?> dataSource, Throwable failure) {
+        return new AnalysisResult(dataSource, null, failure);
+    }
+
+    /**
+     * @return the log that was analyzed.
+     */
+    public DataSource<?> getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return {@code true} if the analysis completed.
+     */
+    public boolean isCompleted() {
+        return failure == null;
+    }
+
+    /**
+     * @return the result of the analysis, or empty if the analysis failed.
+     */
+    public Optional<JavaVirtualMachine> getJavaVirtualMachine() {
+        return Optional.ofNullable(javaVirtualMachine);
+    }
+
+    /**
+     * @return the exception that stopped the analysis, or empty if the analysis completed.
+     */
+    public Optional<Throwable> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+}
@@ -5,32 +5,55 @@ package com.microsoft.gctoolkit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JVMEventArchive;
+import com.microsoft.gctoolkit.io.JVMEventWriter;
 import com.microsoft.gctoolkit.io.RotatingGCLogFile;
 import com.microsoft.gctoolkit.io.SingleGCLogFile;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.message.Channel;
+import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.DirectDataSourceChannel;
+import com.microsoft.gctoolkit.message.DirectJVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.lang.Class.forName;
 
@@ -82,7 +105,7 @@ public class GCToolKit {
      * Instantiate a GCToolKit object. The same GCToolKit object can be used to analyze
      * more than one GC log. It is not necessary to create a GCToolKit object for
      * each GC log to be analyzed. Please note, however, that GCToolKit API is not
-     * thread safe.
+     * thread safe. Use {@link #analyzeAll(Collection)} to analyze many GC logs concurrently.
      */
     public GCToolKit() {
         // Allow for adding aggregations from source code,
@@ -147,6 +170,13 @@ public class GCToolKit {
         return logFile.getJavaVirtualMachine();
     }
 
+    /**
+     * Use the channel to pass lines to the parsers, instead of one loaded through the service provider interface.
+     * A channel that {@link DataSourceChannel#isReusable() is reusable} is used by every analysis until this GCToolKit
+     * is discarded, which saves creating a channel for each analysis. The caller closes a reusable channel when it
+     * is no longer needed. Any other channel is closed at the end of the next analysis.
+     * @param channel the channel to use.
+     */
     public void loadDataSourceChannel(DataSourceChannel channel) {
         if (dataSourceChannel == null)
             this.dataSourceChannel = channel;
@@ -164,7 +194,7 @@ public class GCToolKit {
             } else {
                 try {
                     Class clazz = forName("com.microsoft.gctoolkit.vertx.VertxDataSourceChannel", true, Thread.currentThread().getContextClassLoader());
-                    loadDataSourceChannel((DataSourceChannel) clazz.getConstructors()[0].newInstance());
+                    loadDataSourceChannel((DataSourceChannel) provide(clazz));
                 } catch (Exception e) {
                     throw new ServiceConfigurationError("Unable to find a suitable DataSourceChannel provider");
                 }
@@ -172,6 +202,12 @@ public class GCToolKit {
         }
     }
 
+    /**
+     * Use the channel to pass events to the aggregators, instead of one loaded through the service provider
+     * interface. As for {@link #loadDataSourceChannel(DataSourceChannel)}, a reusable channel is used by every
+     * analysis.
+     * @param channel the channel to use.
+     */
     public void loadJVMEventChannel(JVMEventChannel channel) {
         if (jvmEventChannel == null)
             this.jvmEventChannel = channel;
@@ -189,7 +225,7 @@ public class GCToolKit {
             } else {
                 try {
                     Class clazz = forName("com.microsoft.gctoolkit.vertx.VertxJVMEventChannel", true, Thread.currentThread().getContextClassLoader());
-                    loadJVMEventChannel((JVMEventChannel) clazz.getConstructors()[0].newInstance());
+                    loadJVMEventChannel((JVMEventChannel) provide(clazz));
                 } catch (Exception e) {
                     throw new ServiceConfigurationError("Unable to find a suitable provider to create a JVMEventChannel");
                 }
@@ -197,6 +233,18 @@ public class GCToolKit {
         }
     }
 
+    /**
+     * Create a service provider found by name. As the service loader does for a provider in a named module,
+     * a public static {@code provider()} method is used in preference to the constructor.
+     */
+    private static Object provide(Class<?> clazz) throws ReflectiveOperationException {
+        try {
+            return clazz.getMethod("provider").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return clazz.getConstructor().newInstance();
+        }
+    }
+
     /**
      * This method allows full control over which DataSourceParsers are used to parse the DataSource.
      * This method should be called before the {@link #analyze(DataSource)} method.
@@ -222,10 +270,11 @@ public class GCToolKit {
         additiveParsers.add(dataSourceParser);
     }
 
-    private Set<EventSource> loadDataSourceParsers(Diary diary) {
+    private Set<EventSource> loadDataSourceParsers(Diary diary, PipelineMetrics metrics) {
+        return registerDataSourceParsers(selectDataSourceParsers(diary), metrics);
+    }
 
-        loadDataSourceChannel();
-        loadJVMEventChannel();
+    private List<DataSourceParser> selectDataSourceParsers(Diary diary) {
         List<DataSourceParser> dataSourceParsers;
         if (registeredDataSourceParsers.isEmpty()) {
             dataSourceParsers = ServiceLoader.load(DataSourceParser.class)
@@ -279,9 +328,17 @@ public class GCToolKit {
             throw new ServiceConfigurationError("Unable to find a suitable provider to create a DataSourceParser");
         }
 
+        for (DataSourceParser dataSourceParser : dataSourceParsers)
+            dataSourceParser.diary(diary);
+        return dataSourceParsers;
+    }
+
+    private Set<EventSource> registerDataSourceParsers(List<DataSourceParser> dataSourceParsers, PipelineMetrics metrics) {
+        loadDataSourceChannel();
+        loadJVMEventChannel();
         for (DataSourceParser dataSourceParser : dataSourceParsers) {
+            dataSourceParser.metrics(metrics);
             LOG_DEBUG_MESSAGE(() -> "Registering " + dataSourceParser.getClass().getName() + " with " + dataSourceChannel.getClass().getName());
-            dataSourceParser.diary(diary);
             dataSourceChannel.registerListener(dataSourceParser);
             dataSourceParser.publishTo(jvmEventChannel);
         }
@@ -304,23 +361,371 @@ public class GCToolKit {
      * @throws IOException when something goes wrong reading the data source
      */
     public JavaVirtualMachine analyze(DataSource<?> dataSource) throws IOException  {
+        if (dataSource instanceof JVMEventArchive)
+            return analyze((JVMEventArchive) dataSource);
         GCLogFile logFile = (GCLogFile)dataSource;
-        Set<EventSource> events = loadDataSourceParsers(logFile.diary());
+        PipelineMetrics metrics = new PipelineMetrics(dataSource.toString());
+        Set<EventSource> events = loadDataSourceParsers(logFile.diary(), metrics);
         JavaVirtualMachine javaVirtualMachine = loadJavaVirtualMachine(logFile);
+        javaVirtualMachine.metrics(metrics);
         try {
-            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(events);
+            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(registeredAggregations, events);
             long start = System.currentTimeMillis();
             javaVirtualMachine.analyze(filteredAggregators, jvmEventChannel, dataSourceChannel);
             LOGGER.log(Level.FINE,() -> "Analysis completed in " + (System.currentTimeMillis() - start) + "ms");
+            LOGGER.log(Level.FINER, () -> metrics.snapshot().toString());
+        } catch(Throwable t) {
+            LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        } finally {
+            releaseChannels();
+        }
+        return javaVirtualMachine;
+    }
+
+    /**
+     * The events in the archive were parsed when it was written, so they are published to the aggregators without
+     * going through the parsers.
+     */
+    private JavaVirtualMachine analyze(JVMEventArchive archive) throws IOException {
+        PipelineMetrics metrics = new PipelineMetrics(archive.toString());
+        loadJVMEventChannel();
+        JavaVirtualMachine javaVirtualMachine = archive.getJavaVirtualMachine();
+        javaVirtualMachine.metrics(metrics);
+        try {
+            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(registeredAggregations, archive.eventSources());
+            long start = System.currentTimeMillis();
+            javaVirtualMachine.analyze(filteredAggregators, jvmEventChannel, archive);
+            LOGGER.log(Level.FINE,() -> "Analysis of archive completed in " + (System.currentTimeMillis() - start) + "ms");
+            LOGGER.log(Level.FINER, () -> metrics.snapshot().toString());
         } catch(Throwable t) {
             LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        } finally {
+            releaseChannels();
         }
         return javaVirtualMachine;
     }
 
-    private List<Aggregator<? extends Aggregation>> filterAggregations(Set<EventSource> events) {
+    /**
+     * Parse a GC log once and save the events to an archive. Passing the archive to {@link #analyze(DataSource)}
+     * publishes the saved events to the aggregators without parsing the log again, so a log can be analyzed with
+     * new Aggregations at the cost of reading the archive rather than that of parsing the log. Every event the
+     * parsers produce is saved, whichever Aggregations are loaded.
+     *
+     * @param dataSource The log to parse, typically a
+     *                   {@link SingleGCLogFile} or
+     *                   {@link RotatingGCLogFile}.
+     * @param path where the archive is written. An existing file is replaced.
+     * @return the archive.
+     * @throws IOException when something goes wrong reading the data source or writing the archive
+     * @throws IllegalArgumentException when an event holds a value that cannot be written to the archive
+     * @see JVMEventArchive
+     */
+    public JVMEventArchive archive(DataSource<?> dataSource, Path path) throws IOException {
+        GCLogFile logFile = (GCLogFile)dataSource;
+        Diary diary = logFile.diary();
+        List<DataSourceParser> dataSourceParsers = selectDataSourceParsers(diary);
+        Set<EventSource> events = dataSourceParsers.stream()
+                .map(DataSourceParser::eventsProduced)
+                .collect(HashSet::new, Set::addAll, Set::addAll);
+        // The log is parsed on this thread so that the archive is complete once the last line has been published.
+        DirectDataSourceChannel lines = new DirectDataSourceChannel();
+        DirectJVMEventChannel parsed = new DirectJVMEventChannel();
+        PipelineMetrics metrics = new PipelineMetrics(dataSource.toString());
+        metrics.start();
+        try (JVMEventWriter writer = new JVMEventWriter(Files.newOutputStream(path), diary, events)) {
+            List<ArchiveRecorder> recorders = new ArrayList<>();
+            for (ChannelName channel : ChannelName.values()) {
+                ArchiveRecorder recorder = new ArchiveRecorder(channel, writer);
+                recorders.add(recorder);
+                parsed.registerListener(recorder);
+            }
+            for (DataSourceParser dataSourceParser : dataSourceParsers) {
+                dataSourceParser.metrics(metrics);
+                lines.registerListener(dataSourceParser);
+                dataSourceParser.publishTo(parsed);
+            }
+            try (Stream<String> stream = logFile.stream()) {
+                stream.forEach(line -> lines.publish(ChannelName.DATA_SOURCE, line));
+            }
+            for (ArchiveRecorder recorder : recorders) {
+                if (recorder.failure instanceof IOException)
+                    throw (IOException) recorder.failure;
+                if (recorder.failure != null)
+                    throw (RuntimeException) recorder.failure;
+            }
+        } finally {
+            metrics.finish();
+            lines.close();
+            parsed.close();
+        }
+        LOGGER.log(Level.FINER, () -> metrics.snapshot().toString());
+        return new JVMEventArchive(path);
+    }
+
+    /**
+     * Writes the events published on a channel to an archive.
+     */
+    private static final class ArchiveRecorder implements JVMEventChannelListener {
+
+        private final ChannelName channel;
+        private final JVMEventWriter writer;
+        // the first IOException or RuntimeException, which the channel would otherwise only log
+        private volatile Exception failure = null;
+
+        ArchiveRecorder(ChannelName channel, JVMEventWriter writer) {
+            this.channel = channel;
+            this.writer = writer;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return channel;
+        }
+
+        @Override
+        public void receive(JVMEvent event) {
+            if (failure != null)
+                return;
+            try {
+                writer.write(channel, event);
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Analyze the part of a GC log written since the checkpoint and then advance the checkpoint. The first
+     * analysis using an empty checkpoint reads the log from the beginning, just as {@link #analyze(DataSource)}
+     * does, and records the parsers and the Aggregations that were {@link #loadAggregation(Aggregation) registered}
+     * in the checkpoint. Later analyses using the checkpoint parse only the lines that have been written since,
+     * continuing with the same parsers and updating the same Aggregations. The cost of an analysis is therefore
+     * proportional to the amount of new data rather than to the size of the log.
+     * <p>
+     * An analysis that resumes from a checkpoint ends at the last complete line in the log rather than at the end
+     * of data. The parsers keep any collection that is part way through being logged, and the Aggregations receive
+     * a {@code JVMTermination} event at the end of each analysis.
+     *
+     * @param dataSource The log to analyze, typically a
+     *                   {@link SingleGCLogFile} or
+     *                   {@link RotatingGCLogFile}.
+     * @param checkpoint Where the previous analysis of the log stopped. The checkpoint is advanced by this call.
+     * @return a representation of the state of the Java Virtual Machine resulting
+     * from the analysis of the GC log file up to the new checkpoint.
+     * @throws IOException when something goes wrong reading the data source
+     * @see AnalysisCheckpoint
+     */
+    public JavaVirtualMachine analyze(DataSource<?> dataSource, AnalysisCheckpoint checkpoint) throws IOException {
+        GCLogFile logFile = (GCLogFile)dataSource;
+        Diary diary = logFile.diary(checkpoint.getLogFileCheckpoint());
+        if (checkpoint.isEmpty())
+            checkpoint.record(selectDataSourceParsers(diary), registeredAggregations);
+        PipelineMetrics metrics = new PipelineMetrics(dataSource.toString());
+        Set<EventSource> events = registerDataSourceParsers(checkpoint.getDataSourceParsers(), metrics);
+        JavaVirtualMachine javaVirtualMachine = loadJavaVirtualMachine(logFile);
+        javaVirtualMachine.metrics(metrics);
+        try {
+            List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(checkpoint.getAggregations(), events);
+            long start = System.currentTimeMillis();
+            javaVirtualMachine.analyze(filteredAggregators, jvmEventChannel, dataSourceChannel, checkpoint.getLogFileCheckpoint());
+            LOGGER.log(Level.FINE,() -> "Analysis to checkpoint completed in " + (System.currentTimeMillis() - start) + "ms");
+            LOGGER.log(Level.FINER, () -> metrics.snapshot().toString());
+        } catch(Throwable t) {
+            LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
+        } finally {
+            releaseChannels();
+        }
+        return javaVirtualMachine;
+    }
+
+    /**
+     * Analyze many GC logs concurrently, one log on each of as many threads as there are processors. See
+     * {@link #analyzeAll(Collection, Executor)}.
+     *
+     * @param dataSources The logs to analyze.
+     * @return the results of the analyses, in the order in which they complete.
+     */
+    public Stream<AnalysisResult> analyzeAll(Collection<? extends DataSource<?>> dataSources) {
+        int parallelism = Math.max(1, Math.min(dataSources.size(), Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "gctoolkit-analysis-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return analyzeAll(dataSources, executor);
+        } finally {
+            // The analyses that have been submitted still run.
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Analyze many GC logs concurrently on the executor. Each log is analyzed as {@link #analyze(DataSource)}
+     * would analyze it with a GCToolKit of its own, so the logs do not share parsers, Diaries, or Aggregations.
+     * Every {@link #loadAggregation(Aggregation) registered Aggregation}, {@link #loadDataSourceParser(DataSourceParser)
+     * loaded} or {@link #addDataSourceParser(DataSourceParser) added} parser is replaced for each log by a new
+     * instance of the same class, created with its public no argument constructor.
+     * <p>
+     * The logs share the channels: the loaded channels, or else those loaded through the service provider
+     * interface. A {@link Channel#isShareable() shareable} channel gives each log a
+     * {@link DataSourceChannel#forAnalysis() channel of its own} that shares its threads, so that the cost of
+     * creating a message bus is paid once rather than for every log. Any other channel is replaced for each log by
+     * a new instance of its class. A channel that is not {@link Channel#isReusable() reusable} is closed once every
+     * log has been analyzed.
+     * <p>
+     * The analyses are submitted before this method returns. The stream blocks until the next analysis
+     * completes, so results can be acted on as each log finishes. A log that fails to be analyzed yields a
+     * result holding the exception rather than ending the stream.
+     * <pre>{@code
+     * gcToolKit.analyzeAll(logs).forEach(result -> result.getJavaVirtualMachine()
+     *         .flatMap(jvm -> jvm.getAggregation(PauseTimeSummary.class))
+     *         .ifPresent(summary -> report(result.getDataSource(), summary)));
+     * }</pre>
+     *
+     * @param dataSources The logs to analyze.
+     * @param executor Runs the analyses. The number of logs analyzed at once is bounded by its threads.
+     * @return the results of the analyses, in the order in which they complete.
+     * @throws IllegalStateException if the configuration holds an instance that cannot be copied.
+     */
+    public Stream<AnalysisResult> analyzeAll(Collection<? extends DataSource<?>> dataSources, Executor executor) {
+        Configuration configuration = copyConfiguration();
+        AtomicInteger running = new AtomicInteger(dataSources.size());
+        if (dataSources.isEmpty())
+            configuration.close();
+        CompletionService<AnalysisResult> analyses = new ExecutorCompletionService<>(executor);
+        for (DataSource<?> dataSource : dataSources) {
+            analyses.submit(() -> {
+                try {
+                    return AnalysisResult.completed(dataSource, configuration.newGCToolKit().analyze(dataSource));
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "Analysis of " + dataSource + " failed", t);
+                    return AnalysisResult.failed(dataSource, t);
+                } finally {
+                    if (running.decrementAndGet() == 0)
+                        configuration.close();
+                }
+            });
+        }
+        return IntStream.range(0, dataSources.size()).mapToObj(i -> {
+            try {
+                return analyses.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for an analysis to complete");
+            } catch (ExecutionException e) {
+                // The analysis catches everything it throws
+                throw new IllegalStateException(e.getCause());
+            }
+        });
+    }
+
+    /**
+     * Capture the configuration of this GCToolKit so that GCToolKits configured the same way can be created on
+     * other threads. The constructors are looked up now so that a configuration that cannot be copied fails
+     * before any analysis starts. The channels that are not reusable now belong to the analyses, so the next
+     * analysis by this GCToolKit loads new ones.
+     */
+    private Configuration copyConfiguration() {
+        List<Constructor<? extends Aggregation>> aggregations = constructors(registeredAggregations);
+        List<Constructor<? extends DataSourceParser>> loadedParsers = constructors(registeredDataSourceParsers);
+        List<Constructor<? extends DataSourceParser>> addedParsers = constructors(additiveParsers);
+        loadDataSourceChannel();
+        loadJVMEventChannel();
+        Configuration configuration = new Configuration(aggregations, loadedParsers, addedParsers, dataSourceChannel, jvmEventChannel);
+        releaseChannels();
+        return configuration;
+    }
+
+    /**
+     * The parts of a GCToolKit that each of the concurrent analyses has an instance of, and the channels they share.
+     */
+    private static final class Configuration {
+
+        private final List<Constructor<? extends Aggregation>> aggregations;
+        private final List<Constructor<? extends DataSourceParser>> loadedParsers;
+        private final List<Constructor<? extends DataSourceParser>> addedParsers;
+        private final Supplier<DataSourceChannel> dataSourceChannels;
+        private final Supplier<JVMEventChannel> jvmEventChannels;
+        // The channels to close once every analysis is complete
+        private final List<Channel<?, ?>> owned = new ArrayList<>();
+
+        Configuration(List<Constructor<? extends Aggregation>> aggregations,
+                      List<Constructor<? extends DataSourceParser>> loadedParsers,
+                      List<Constructor<? extends DataSourceParser>> addedParsers,
+                      DataSourceChannel dataSourceChannel,
+                      JVMEventChannel jvmEventChannel) {
+            this.aggregations = aggregations;
+            this.loadedParsers = loadedParsers;
+            this.addedParsers = addedParsers;
+            this.dataSourceChannels = perAnalysis(dataSourceChannel, DataSourceChannel::forAnalysis);
+            this.jvmEventChannels = perAnalysis(jvmEventChannel, JVMEventChannel::forAnalysis);
+        }
+
+        private <C extends Channel<?, ?>> Supplier<C> perAnalysis(C channel, UnaryOperator<C> forAnalysis) {
+            Supplier<C> channels;
+            if (channel.isShareable()) {
+                channels = () -> forAnalysis.apply(channel);
+            } else {
+                Constructor<? extends C> constructor = constructors(List.of(channel)).get(0);
+                channels = () -> newInstance(constructor);
+            }
+            if (!channel.isReusable())
+                owned.add(channel);
+            return channels;
+        }
+
+        GCToolKit newGCToolKit() {
+            GCToolKit copy = new GCToolKit();
+            aggregations.forEach(constructor -> copy.loadAggregation(newInstance(constructor)));
+            loadedParsers.forEach(constructor -> copy.loadDataSourceParser(newInstance(constructor)));
+            addedParsers.forEach(constructor -> copy.addDataSourceParser(newInstance(constructor)));
+            copy.loadDataSourceChannel(dataSourceChannels.get());
+            copy.loadJVMEventChannel(jvmEventChannels.get());
+            return copy;
+        }
+
+        void close() {
+            owned.forEach(Channel::close);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<Constructor<? extends T>> constructors(Collection<T> instances) {
+        List<Constructor<? extends T>> constructors = new ArrayList<>();
+        for (T instance : instances) {
+            try {
+                constructors.add((Constructor<? extends T>) instance.getClass().getConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(instance.getClass().getName() + " needs a public no argument constructor to be copied for concurrent analysis", e);
+            }
+        }
+        return constructors;
+    }
+
+    private static <T> T newInstance(Constructor<? extends T> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create a " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /**
+     * The channels are released at the end of an analysis. Forget those that were closed so that the next analysis
+     * loads new channels. A reusable channel is kept for the next analysis.
+     */
+    private void releaseChannels() {
+        if (dataSourceChannel != null && !dataSourceChannel.isReusable())
+            dataSourceChannel = null;
+        if (jvmEventChannel != null && !jvmEventChannel.isReusable())
+            jvmEventChannel = null;
+    }
+
+    private List<Aggregator<? extends Aggregation>> filterAggregations(List<Aggregation> aggregations, Set<EventSource> events) {
         List<Aggregator<? extends Aggregation>> aggregators = new ArrayList<>();
-        for (Aggregation aggregation : registeredAggregations) {
+        for (Aggregation aggregation : aggregations) {
             LOG_DEBUG_MESSAGE(() -> "Evaluating: " + aggregation.getClass().getName());
             Constructor<? extends Aggregator<?>> constructor = constructor(aggregation);
             if (constructor == null) {
@@ -0,0 +1,252 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GCEvent;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.zgc.ZGCCollection;
+import com.microsoft.gctoolkit.event.zgc.ZGCMemoryPoolSummary;
+import com.microsoft.gctoolkit.event.zgc.ZGCMetaspaceSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every event of an analysis, held as columns of primitives rather than as events. Each event is a row, and
+ * each row has a time stamp, a duration, the class of the event and, for collections, the type and cause of
+ * the collection and the occupancy of each {@link MemoryPool} the collection reports. Rows are kept in the
+ * order in which the events were received.
+ * <p>
+ * The columns are queried through {@link #rows()}, which can be filtered, grouped and split into windows of
+ * time without creating an object per event. Because one EventColumns holds everything an analysis needs
+ * from the events, many questions can be answered from a single parse of the log without writing an
+ * Aggregation for each of them.
+ * <p>
+ * EventColumns is loaded like any other Aggregation, with {@code GCToolKit::loadAggregation}, and is found
+ * after the analysis with {@code JavaVirtualMachine::getEventColumns}. A value that an event does not report
+ * reads as {@code NaN} for a time stamp or duration, {@code null} for a type, cause or class, and -1 for the
+ * occupancy or size of a memory pool.
+ */
+@Collates(EventColumnsAggregator.class)
+public class EventColumns extends Aggregation {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final GarbageCollectionTypes[] GARBAGE_COLLECTION_TYPES = GarbageCollectionTypes.values();
+    private static final GCCause[] GC_CAUSES = GCCause.values();
+    private static final int MEASURES = PoolMeasure.values().length;
+
+    private int size = 0;
+    private double[] timeStamps = new double[INITIAL_CAPACITY];
+    private double[] durations = new double[INITIAL_CAPACITY];
+    // the ordinal + 1 of the type or cause, or 0 if there is none
+    private short[] garbageCollectionTypes = new short[INITIAL_CAPACITY];
+    private short[] gcCauses = new short[INITIAL_CAPACITY];
+    // an index into eventTypes
+    private short[] eventTypeIds = new short[INITIAL_CAPACITY];
+    private final List<Class<? extends JVMEvent>> eventTypes = new ArrayList<>();
+    private final Map<Class<? extends JVMEvent>, Short> eventTypeIndex = new HashMap<>();
+    // a column for each measure of each pool, created when an event first reports the pool
+    private final long[][] pools = new long[MemoryPool.values().length * MEASURES][];
+
+    public EventColumns() {}
+
+    /**
+     * Add an event as the next row.
+     * @param event the event.
+     */
+    void add(JVMEvent event) {
+        if (size == timeStamps.length)
+            grow();
+        int row = size++;
+        timeStamps[row] = (event.getDateTimeStamp() == null) ? Double.NaN : event.getDateTimeStamp().getTimeStamp();
+        durations[row] = event.getDuration();
+        eventTypeIds[row] = eventTypeId(event.getClass());
+        if (event instanceof GCEvent) {
+            GCEvent gcEvent = (GCEvent) event;
+            garbageCollectionTypes[row] = (gcEvent.getGarbageCollectionType() == null) ? 0 : (short) (gcEvent.getGarbageCollectionType().ordinal() + 1);
+            gcCauses[row] = (gcEvent.getGCCause() == null) ? 0 : (short) (gcEvent.getGCCause().ordinal() + 1);
+        }
+        if (event instanceof GenerationalGCPauseEvent) {
+            GenerationalGCPauseEvent pause = (GenerationalGCPauseEvent) event;
+            set(MemoryPool.HEAP, row, pause.getHeap());
+            set(MemoryPool.YOUNG, row, pause.getYoung());
+            set(MemoryPool.TENURED, row, pause.getTenured());
+            set(MemoryPool.METASPACE, row, pause.getPermOrMetaspace());
+        } else if (event instanceof G1GCPauseEvent) {
+            G1GCPauseEvent pause = (G1GCPauseEvent) event;
+            set(MemoryPool.HEAP, row, pause.getHeap());
+            set(MemoryPool.EDEN, row, pause.getEden());
+            SurvivorMemoryPoolSummary survivor = pause.getSurvivor();
+            if (survivor != null)
+                set(MemoryPool.SURVIVOR, row, survivor.getOccupancyBeforeCollection(), survivor.getOccupancyAfterCollection(), survivor.getSize());
+            set(MemoryPool.TENURED, row, pause.getTenured());
+            set(MemoryPool.METASPACE, row, pause.getPermOrMetaspace());
+        } else if (event instanceof ZGCCollection) {
+            ZGCCollection collection = (ZGCCollection) event;
+            ZGCMemoryPoolSummary markStart = collection.getMarkStart();
+            ZGCMemoryPoolSummary relocateEnd = collection.getRelocateEnd();
+            if (markStart != null && relocateEnd != null)
+                set(MemoryPool.HEAP, row, markStart.getUsed(), relocateEnd.getUsed(), relocateEnd.getCapacity());
+            ZGCMetaspaceSummary metaspace = collection.getMetaspaceSummary();
+            if (metaspace != null)
+                set(MemoryPool.METASPACE, row, -1L, metaspace.getUsed(), metaspace.getCommitted());
+        }
+    }
+
+    private short eventTypeId(Class<? extends JVMEvent> eventType) {
+        Short id = eventTypeIndex.get(eventType);
+        if (id == null) {
+            id = (short) eventTypes.size();
+            eventTypes.add(eventType);
+            eventTypeIndex.put(eventType, id);
+        }
+        return id;
+    }
+
+    private void set(MemoryPool pool, int row, MemoryPoolSummary summary) {
+        if (summary != null)
+            set(pool, row, summary.getOccupancyBeforeCollection(), summary.getOccupancyAfterCollection(), summary.getSizeAfterCollection());
+    }
+
+    private void set(MemoryPool pool, int row, long occupancyBefore, long occupancyAfter, long sizeAfter) {
+        column(pool, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, true)[row] = occupancyBefore;
+        column(pool, PoolMeasure.OCCUPANCY_AFTER_COLLECTION, true)[row] = occupancyAfter;
+        column(pool, PoolMeasure.SIZE_AFTER_COLLECTION, true)[row] = sizeAfter;
+    }
+
+    private void grow() {
+        int capacity = timeStamps.length * 2;
+        timeStamps = Arrays.copyOf(timeStamps, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        garbageCollectionTypes = Arrays.copyOf(garbageCollectionTypes, capacity);
+        gcCauses = Arrays.copyOf(gcCauses, capacity);
+        eventTypeIds = Arrays.copyOf(eventTypeIds, capacity);
+        for (int i = 0; i < pools.length; i++) {
+            if (pools[i] != null) {
+                int length = pools[i].length;
+                pools[i] = Arrays.copyOf(pools[i], capacity);
+                Arrays.fill(pools[i], length, capacity, -1L);
+            }
+        }
+    }
+
+    /**
+     * @param create whether to create the column if no event has reported the pool.
+     * @return the column, or {@code null} if no event has reported the pool and create is false.
+     */
+    long[] column(MemoryPool pool, PoolMeasure measure, boolean create) {
+        int index = pool.ordinal() * MEASURES + measure.ordinal();
+        if (pools[index] == null && create) {
+            pools[index] = new long[timeStamps.length];
+            Arrays.fill(pools[index], -1L);
+        }
+        return pools[index];
+    }
+
+    double[] timeStamps() {
+        return timeStamps;
+    }
+
+    double[] durations() {
+        return durations;
+    }
+
+    short[] garbageCollectionTypes() {
+        return garbageCollectionTypes;
+    }
+
+    short[] gcCauses() {
+        return gcCauses;
+    }
+
+    short[] eventTypeIds() {
+        return eventTypeIds;
+    }
+
+    List<Class<? extends JVMEvent>> eventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return every row, in the order the events were received.
+     */
+    public EventRows rows() {
+        int[] rows = new int[size];
+        for (int row = 0; row < rows.length; row++)
+            rows[row] = row;
+        return new EventRows(this, rows);
+    }
+
+    public double getTimeStamp(int row) {
+        return timeStamps[checkRow(row)];
+    }
+
+    public double getDuration(int row) {
+        return durations[checkRow(row)];
+    }
+
+    public Class<? extends JVMEvent> getEventType(int row) {
+        return eventTypes.get(eventTypeIds[checkRow(row)]);
+    }
+
+    public GarbageCollectionTypes getGarbageCollectionType(int row) {
+        return garbageCollectionType(garbageCollectionTypes[checkRow(row)]);
+    }
+
+    public GCCause getGCCause(int row) {
+        return gcCause(gcCauses[checkRow(row)]);
+    }
+
+    /**
+     * @param pool the memory pool.
+     * @param measure what is measured of the pool.
+     * @param row the row.
+     * @return the measure, or -1 if the event does not report the pool.
+     */
+    public long get(MemoryPool pool, PoolMeasure measure, int row) {
+        long[] column = column(pool, measure, false);
+        return (column == null) ? -1L : column[checkRow(row)];
+    }
+
+    static GarbageCollectionTypes garbageCollectionType(short id) {
+        return (id == 0) ? null : GARBAGE_COLLECTION_TYPES[id - 1];
+    }
+
+    static GCCause gcCause(short id) {
+        return (id == 0) ? null : GC_CAUSES[id - 1];
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        return row;
+    }
+
+    @Override
+    public boolean hasWarning() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import com.microsoft.gctoolkit.aggregator.Aggregates;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+
+/**
+ * Adds every event to the {@link EventColumns}. The sources CMS_UNIFIED, TENURED and JVM are left out because
+ * their events are published on the channels of GENERATIONAL and SAFEPOINT, and each event is to be added once.
+ * The JVMTermination event that ends each channel is not added. CMS_PREUNIFIED is deprecated, but it is still
+ * the only source of the events of the tenured collections of pre-unified CMS logs.
+ */
+@SuppressWarnings("removal")
+@Aggregates({EventSource.GENERATIONAL, EventSource.CMS_PREUNIFIED, EventSource.G1GC, EventSource.SHENANDOAH,
+        EventSource.ZGC, EventSource.SAFEPOINT, EventSource.SURVIVOR})
+public class EventColumnsAggregator extends Aggregator<EventColumns> {
+
+    public EventColumnsAggregator(EventColumns aggregation) {
+        super(aggregation);
+        register(JVMEvent.class, aggregation::add);
+        // the time of termination is recorded by the Aggregation itself
+        register(JVMTermination.class, event -> {});
+    }
+}
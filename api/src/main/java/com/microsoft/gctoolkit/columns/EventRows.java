@@ -0,0 +1,461 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * A selection of the rows of an {@link EventColumns}. Every operation scans the primitive columns for the
+ * selected rows and returns a new selection or an array of values, so a query creates no object per event.
+ * A selection does not change when more events are added to the columns.
+ * <pre>{@code
+ * EventRows fullGCs = columns.rows().where(GarbageCollectionTypes.FullGC);
+ * DoubleSummaryStatistics pauses = fullGCs.between(600.0d, 1200.0d).durationStatistics();
+ * Map<GCCause, EventRows> byCause = fullGCs.groupByGCCause();
+ * }</pre>
+ */
+public final class EventRows {
+
+    private final EventColumns columns;
+    private final int[] rows;
+
+    EventRows(EventColumns columns, int[] rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * @return the number of rows selected.
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    public boolean isEmpty() {
+        return rows.length == 0;
+    }
+
+    /**
+     * @param index the position of the row in this selection.
+     * @return the row in the {@link EventColumns}.
+     */
+    public int row(int index) {
+        return rows[index];
+    }
+
+    /**
+     * @return the rows in the {@link EventColumns}, in the order of this selection.
+     */
+    public int[] toArray() {
+        return rows.clone();
+    }
+
+    /*
+     * Filters
+     */
+
+    /**
+     * @param predicate tests the time stamp of a row, in seconds.
+     * @return the rows whose time stamp passes the predicate.
+     */
+    public EventRows whereTimeStamp(DoublePredicate predicate) {
+        return where(columns.timeStamps(), predicate);
+    }
+
+    /**
+     * @param from the earliest time stamp, in seconds.
+     * @param to the time stamp, in seconds, that the rows are before.
+     * @return the rows whose time stamp is at or after from and before to.
+     */
+    public EventRows between(double from, double to) {
+        return whereTimeStamp(timeStamp -> timeStamp >= from && timeStamp < to);
+    }
+
+    /**
+     * @param predicate tests the duration of a row, in seconds.
+     * @return the rows whose duration passes the predicate.
+     */
+    public EventRows whereDuration(DoublePredicate predicate) {
+        return where(columns.durations(), predicate);
+    }
+
+    /**
+     * @param pool the memory pool.
+     * @param measure what is measured of the pool.
+     * @param predicate tests the measure.
+     * @return the rows that report the pool and whose measure passes the predicate.
+     */
+    public EventRows where(MemoryPool pool, PoolMeasure measure, LongPredicate predicate) {
+        long[] column = columns.column(pool, measure, false);
+        if (column == null)
+            return new EventRows(columns, new int[0]);
+        int[] selected = new int[rows.length];
+        int count = 0;
+        for (int row : rows)
+            if (column[row] != -1L && predicate.test(column[row]))
+                selected[count++] = row;
+        return selection(selected, count);
+    }
+
+    /**
+     * @param types the types of collection.
+     * @return the rows that are one of the types of collection.
+     */
+    public EventRows where(GarbageCollectionTypes... types) {
+        boolean[] wanted = new boolean[GarbageCollectionTypes.values().length + 1];
+        for (GarbageCollectionTypes type : types)
+            wanted[type.ordinal() + 1] = true;
+        return where(columns.garbageCollectionTypes(), wanted);
+    }
+
+    /**
+     * @param causes the causes of collection.
+     * @return the rows that have one of the causes.
+     */
+    public EventRows where(GCCause... causes) {
+        boolean[] wanted = new boolean[GCCause.values().length + 1];
+        for (GCCause cause : causes)
+            wanted[cause.ordinal() + 1] = true;
+        return where(columns.gcCauses(), wanted);
+    }
+
+    /**
+     * @param eventType the class of event.
+     * @return the rows whose event is of the class or of a subclass of it.
+     */
+    public EventRows whereEventType(Class<? extends JVMEvent> eventType) {
+        List<Class<? extends JVMEvent>> eventTypes = columns.eventTypes();
+        boolean[] wanted = new boolean[eventTypes.size()];
+        for (int id = 0; id < wanted.length; id++)
+            wanted[id] = eventType.isAssignableFrom(eventTypes.get(id));
+        return where(columns.eventTypeIds(), wanted);
+    }
+
+    private EventRows where(double[] column, DoublePredicate predicate) {
+        int[] selected = new int[rows.length];
+        int count = 0;
+        for (int row : rows)
+            if (predicate.test(column[row]))
+                selected[count++] = row;
+        return selection(selected, count);
+    }
+
+    private EventRows where(short[] column, boolean[] wanted) {
+        int[] selected = new int[rows.length];
+        int count = 0;
+        for (int row : rows)
+            if (column[row] < wanted.length && wanted[column[row]])
+                selected[count++] = row;
+        return selection(selected, count);
+    }
+
+    private EventRows selection(int[] selected, int count) {
+        return new EventRows(columns, (count == selected.length) ? selected : Arrays.copyOf(selected, count));
+    }
+
+    /*
+     * Group by
+     */
+
+    /**
+     * @return the rows of each type of collection. Rows that are not collections are left out.
+     */
+    public Map<GarbageCollectionTypes, EventRows> groupByGarbageCollectionType() {
+        EventRows[] groups = groupBy(columns.garbageCollectionTypes(), GarbageCollectionTypes.values().length + 1);
+        Map<GarbageCollectionTypes, EventRows> grouped = new EnumMap<>(GarbageCollectionTypes.class);
+        for (int id = 1; id < groups.length; id++)
+            if (groups[id] != null)
+                grouped.put(EventColumns.garbageCollectionType((short) id), groups[id]);
+        return grouped;
+    }
+
+    /**
+     * @return the rows of each cause of collection. Rows without a cause are left out.
+     */
+    public Map<GCCause, EventRows> groupByGCCause() {
+        EventRows[] groups = groupBy(columns.gcCauses(), GCCause.values().length + 1);
+        Map<GCCause, EventRows> grouped = new EnumMap<>(GCCause.class);
+        for (int id = 1; id < groups.length; id++)
+            if (groups[id] != null)
+                grouped.put(EventColumns.gcCause((short) id), groups[id]);
+        return grouped;
+    }
+
+    /**
+     * @return the rows of each class of event, in the order the classes were first seen.
+     */
+    public Map<Class<? extends JVMEvent>, EventRows> groupByEventType() {
+        List<Class<? extends JVMEvent>> eventTypes = columns.eventTypes();
+        EventRows[] groups = groupBy(columns.eventTypeIds(), eventTypes.size());
+        Map<Class<? extends JVMEvent>, EventRows> grouped = new LinkedHashMap<>();
+        for (int id = 0; id < groups.length; id++)
+            if (groups[id] != null)
+                grouped.put(eventTypes.get(id), groups[id]);
+        return grouped;
+    }
+
+    /**
+     * Count the rows of each key, then place each row in the group of its key, keeping the order of the rows.
+     * @return the group of each key, or {@code null} for a key without rows.
+     */
+    private EventRows[] groupBy(short[] column, int keys) {
+        int[] counts = new int[keys];
+        for (int row : rows)
+            if (column[row] < keys)
+                counts[column[row]]++;
+        int[][] selected = new int[keys][];
+        for (int key = 0; key < keys; key++)
+            if (counts[key] > 0)
+                selected[key] = new int[counts[key]];
+        int[] filled = new int[keys];
+        for (int row : rows)
+            if (column[row] < keys)
+                selected[column[row]][filled[column[row]]++] = row;
+        EventRows[] groups = new EventRows[keys];
+        for (int key = 0; key < keys; key++)
+            if (selected[key] != null)
+                groups[key] = new EventRows(columns, selected[key]);
+        return groups;
+    }
+
+    /*
+     * Windows
+     */
+
+    /**
+     * Events from different sources may be received out of order. Windows are taken over the rows in order of
+     * time stamp.
+     * @return the rows in order of time stamp, with rows without a time stamp last. Rows with the same time stamp
+     * keep their order.
+     */
+    public EventRows orderedByTimeStamp() {
+        double[] timeStamps = columns.timeStamps();
+        boolean ordered = true;
+        for (int i = 1; i < rows.length && ordered; i++)
+            ordered = Double.compare(timeStamps[rows[i - 1]], timeStamps[rows[i]]) <= 0;
+        if (ordered)
+            return this;
+        int[] sorted = rows.clone();
+        mergeSort(sorted, rows.clone(), 0, sorted.length, timeStamps);
+        return new EventRows(columns, sorted);
+    }
+
+    private static void mergeSort(int[] target, int[] source, int from, int to, double[] keys) {
+        if (to - from < 2)
+            return;
+        int middle = (from + to) >>> 1;
+        // sort each half of source, using target as scratch space, then merge the halves into target
+        mergeSort(source, target, from, middle, keys);
+        mergeSort(source, target, middle, to, keys);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && Double.compare(keys[source[left]], keys[source[right]]) <= 0))
+                target[i] = source[left++];
+            else
+                target[i] = source[right++];
+        }
+    }
+
+    /**
+     * Split the rows into windows of time that do not overlap. A window starts at a multiple of the width, so
+     * windows taken from different selections line up. Rows without a time stamp are left out.
+     * @param width the width of each window, in seconds.
+     * @return the rows of each window that has rows, in order of time stamp, keyed by the start of the window.
+     */
+    public NavigableMap<Double, EventRows> windows(double width) {
+        if (!(width > 0.0d))
+            throw new IllegalArgumentException("Window width must be greater than 0: " + width);
+        int[] ordered = orderedByTimeStamp().rows;
+        double[] timeStamps = columns.timeStamps();
+        NavigableMap<Double, EventRows> windows = new TreeMap<>();
+        int start = 0;
+        while (start < ordered.length && !Double.isNaN(timeStamps[ordered[start]])) {
+            double window = Math.floor(timeStamps[ordered[start]] / width);
+            int end = start + 1;
+            while (end < ordered.length && Math.floor(timeStamps[ordered[end]] / width) == window)
+                end++;
+            windows.put(window * width, new EventRows(columns, Arrays.copyOfRange(ordered, start, end)));
+            start = end;
+        }
+        return windows;
+    }
+
+    /**
+     * The total duration of the events in the window of time that ends at each row, such as the time paused in
+     * the minute before each collection. The rows are taken in order of time stamp.
+     * @param width the width of the window, in seconds.
+     * @return for each row of {@link #orderedByTimeStamp()}, the sum of the durations of the rows whose time
+     * stamp is after the time stamp of the row less the width, and no later than the time stamp of the row.
+     */
+    public double[] rollingDuration(double width) {
+        if (!(width > 0.0d))
+            throw new IllegalArgumentException("Window width must be greater than 0: " + width);
+        int[] ordered = orderedByTimeStamp().rows;
+        double[] timeStamps = columns.timeStamps();
+        double[] durations = columns.durations();
+        double[] rolling = new double[ordered.length];
+        double sum = 0.0d;
+        int first = 0;
+        int last = 0;
+        for (int i = 0; i < ordered.length; i++) {
+            double timeStamp = timeStamps[ordered[i]];
+            if (Double.isNaN(timeStamp)) {
+                rolling[i] = Double.NaN;
+                continue;
+            }
+            // take in every row up to and including those at this time stamp
+            for (; last < ordered.length && timeStamps[ordered[last]] <= timeStamp; last++)
+                sum += duration(durations[ordered[last]]);
+            for (; first < last && timeStamps[ordered[first]] <= timeStamp - width; first++)
+                sum -= duration(durations[ordered[first]]);
+            rolling[i] = sum;
+        }
+        return rolling;
+    }
+
+    private static double duration(double duration) {
+        return (duration > 0.0d) ? duration : 0.0d;
+    }
+
+    /*
+     * Values
+     */
+
+    /**
+     * @return the time stamp of each row, in seconds.
+     */
+    public double[] timeStamps() {
+        return gather(columns.timeStamps());
+    }
+
+    /**
+     * @return the duration of each row, in seconds.
+     */
+    public double[] durations() {
+        return gather(columns.durations());
+    }
+
+    /**
+     * @param pool the memory pool.
+     * @param measure what is measured of the pool.
+     * @return the measure of each row, or -1 for a row that does not report the pool.
+     */
+    public long[] values(MemoryPool pool, PoolMeasure measure) {
+        long[] column = columns.column(pool, measure, false);
+        long[] values = new long[rows.length];
+        if (column == null) {
+            Arrays.fill(values, -1L);
+        } else {
+            for (int i = 0; i < rows.length; i++)
+                values[i] = column[rows[i]];
+        }
+        return values;
+    }
+
+    /**
+     * @return the duration of each row against its time stamp, in seconds, in the order of this selection. Rows
+     * without a time stamp are left out.
+     */
+    public TimeSeries durationSeries() {
+        double[] timeStamps = columns.timeStamps();
+        double[] durations = columns.durations();
+        double[] x = new double[rows.length];
+        double[] y = new double[rows.length];
+        int size = 0;
+        for (int row : rows) {
+            if (!Double.isNaN(timeStamps[row])) {
+                x[size] = timeStamps[row];
+                y[size++] = durations[row];
+            }
+        }
+        return TimeSeries.of(x, y, size);
+    }
+
+    /**
+     * @param pool the memory pool.
+     * @param measure what is measured of the pool.
+     * @return the measure of each row against its time stamp, in seconds, in the order of this selection. Rows
+     * without a time stamp or that do not report the pool are left out.
+     */
+    public TimeSeries series(MemoryPool pool, PoolMeasure measure) {
+        long[] column = columns.column(pool, measure, false);
+        if (column == null)
+            return new TimeSeries();
+        double[] timeStamps = columns.timeStamps();
+        double[] x = new double[rows.length];
+        double[] y = new double[rows.length];
+        int size = 0;
+        for (int row : rows) {
+            if (!Double.isNaN(timeStamps[row]) && column[row] >= 0L) {
+                x[size] = timeStamps[row];
+                y[size++] = column[row];
+            }
+        }
+        return TimeSeries.of(x, y, size);
+    }
+
+    private double[] gather(double[] column) {
+        double[] values = new double[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            values[i] = column[rows[i]];
+        return values;
+    }
+
+    /**
+     * @return the sum of the durations of the rows, in seconds. Rows without a duration are left out.
+     */
+    public double totalDuration() {
+        double[] durations = columns.durations();
+        double total = 0.0d;
+        for (int row : rows)
+            total += duration(durations[row]);
+        return total;
+    }
+
+    /**
+     * @return the statistics of the durations of the rows, in seconds. Rows without a duration are left out.
+     */
+    public DoubleSummaryStatistics durationStatistics() {
+        double[] durations = columns.durations();
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (int row : rows)
+            if (durations[row] >= 0.0d)
+                statistics.accept(durations[row]);
+        return statistics;
+    }
+
+    /**
+     * @param pool the memory pool.
+     * @param measure what is measured of the pool.
+     * @return the statistics of the measure. Rows that do not report the pool are left out.
+     */
+    public LongSummaryStatistics statistics(MemoryPool pool, PoolMeasure measure) {
+        long[] column = columns.column(pool, measure, false);
+        LongSummaryStatistics statistics = new LongSummaryStatistics();
+        if (column != null)
+            for (int row : rows)
+                if (column[row] != -1L)
+                    statistics.accept(column[row]);
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return "EventRows(" + rows.length + ")";
+    }
+}
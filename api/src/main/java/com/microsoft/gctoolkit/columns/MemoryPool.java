@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+/**
+ * The memory pools whose occupancy is held in {@link EventColumns}. Which pools an event reports depends on the
+ * collector.
+ */
+public enum MemoryPool {
+    /**
+     * The whole heap, for every collector.
+     */
+    HEAP,
+    /**
+     * The young generation of the CMS, Parallel and Serial collectors.
+     */
+    YOUNG,
+    /**
+     * The eden regions of G1.
+     */
+    EDEN,
+    /**
+     * The survivor regions of G1.
+     */
+    SURVIVOR,
+    /**
+     * The tenured generation of the CMS, Parallel and Serial collectors, or the regions of G1 that are neither
+     * eden nor survivor.
+     */
+    TENURED,
+    /**
+     * Metaspace, or the permanent generation of older JVMs.
+     */
+    METASPACE
+}
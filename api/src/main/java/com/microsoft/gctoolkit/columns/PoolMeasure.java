@@ -0,0 +1,13 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+/**
+ * What is measured of a {@link MemoryPool}. Each is held in its own column of {@link EventColumns}, in the
+ * units the event reports.
+ */
+public enum PoolMeasure {
+    OCCUPANCY_BEFORE_COLLECTION,
+    OCCUPANCY_AFTER_COLLECTION,
+    SIZE_AFTER_COLLECTION
+}
@@ -0,0 +1,318 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+
+/**
+ * A series of (x, y) points, such as the heap occupancy after each collection over the time of a log, held in
+ * two arrays of doubles rather than as an object per point. Points are appended one at a time, and are expected
+ * to be appended in order of x.
+ * <p>
+ * {@link #view(int, int)}, {@link #scaleSeries(double)} and {@link #scaleAndTranslateXAxis(double, double)}
+ * return views that share the arrays of the series rather than copying them. A view cannot be appended to, and
+ * does not see points that are appended to the series after it was taken.
+ * <p>
+ * A series can be reduced to a number of points that can be plotted with {@link #downsampleMinMax(int)}, which
+ * keeps the lowest and highest point of each bucket of points, or with {@link #downsampleLTTB(int)}, which keeps
+ * the points that best preserve the shape of the series. A series created with {@link #bounded(int)} reduces
+ * itself as it is appended to, so that it never holds more than a given number of points however long the log
+ * is. This makes it suitable for holding data in an Aggregation.
+ * <p>
+ * A TimeSeries is not thread safe.
+ */
+public final class TimeSeries {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] x;
+    private double[] y;
+    private final int offset;
+    private int size;
+    // the transform of a view, applied as each point is read
+    private final double xScale;
+    private final double xOffset;
+    private final double yScale;
+    private final boolean view;
+    // the most points a bounded series holds, or 0 if the series is not bounded
+    private final int maximumSize;
+
+    public TimeSeries() {
+        this(new double[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], 0, 0);
+    }
+
+    private TimeSeries(double[] x, double[] y, int size, int maximumSize) {
+        this(x, y, 0, size, 1.0d, 0.0d, 1.0d, false, maximumSize);
+    }
+
+    private TimeSeries(double[] x, double[] y, int offset, int size, double xScale, double xOffset, double yScale, boolean view, int maximumSize) {
+        this.x = x;
+        this.y = y;
+        this.offset = offset;
+        this.size = size;
+        this.xScale = xScale;
+        this.xOffset = xOffset;
+        this.yScale = yScale;
+        this.view = view;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Create a series from arrays that are not used elsewhere, without copying them.
+     */
+    static TimeSeries of(double[] x, double[] y, int size) {
+        return new TimeSeries(x, y, size, 0);
+    }
+
+    /**
+     * Create a series that never holds more than {@code maximumSize} points. When the series is full, it is
+     * reduced to half as many points with {@link #downsampleMinMax(int)}, so that the highest and lowest y
+     * values are always kept. Each reduction merges the points that earlier reductions kept, so the points of a
+     * long series represent longer runs of the points appended to it than those of a short one.
+     * @param maximumSize the most points the series holds, at least 4.
+     * @return an empty series.
+     */
+    public static TimeSeries bounded(int maximumSize) {
+        if (maximumSize < 4)
+            throw new IllegalArgumentException("A bounded series holds at least 4 points, not " + maximumSize);
+        return new TimeSeries(new double[maximumSize], new double[maximumSize], 0, maximumSize);
+    }
+
+    /**
+     * Append a point to the series.
+     * @param x the x value, such as a time stamp in seconds.
+     * @param y the y value.
+     * @throws UnsupportedOperationException if this is a view of another series.
+     */
+    public void add(double x, double y) {
+        if (view)
+            throw new UnsupportedOperationException("A view of a TimeSeries cannot be added to");
+        if (size == this.x.length) {
+            if (maximumSize > 0)
+                reduce();
+            else
+                grow();
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        size++;
+    }
+
+    /**
+     * Views share the arrays, so the arrays are replaced rather than changed.
+     */
+    private void grow() {
+        int capacity = Math.max(INITIAL_CAPACITY, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+    }
+
+    private void reduce() {
+        TimeSeries reduced = downsampleMinMax(maximumSize / 2);
+        x = Arrays.copyOf(reduced.x, maximumSize);
+        y = Arrays.copyOf(reduced.y, maximumSize);
+        size = reduced.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the most points this series holds, or 0 if it is not bounded.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public double getX(int index) {
+        return x[offset + Objects.checkIndex(index, size)] * xScale + xOffset;
+    }
+
+    public double getY(int index) {
+        return y[offset + Objects.checkIndex(index, size)] * yScale;
+    }
+
+    /**
+     * @return a copy of the x values.
+     */
+    public double[] xValues() {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++)
+            values[i] = x[offset + i] * xScale + xOffset;
+        return values;
+    }
+
+    /**
+     * @return a copy of the y values.
+     */
+    public double[] yValues() {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++)
+            values[i] = y[offset + i] * yScale;
+        return values;
+    }
+
+    /**
+     * @param from the index of the first point of the view.
+     * @param to the index after the last point of the view.
+     * @return the points from {@code from} up to {@code to}, without copying them.
+     */
+    public TimeSeries view(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new TimeSeries(x, y, offset + from, to - from, xScale, xOffset, yScale, true, 0);
+    }
+
+    /**
+     * @param scaleFactor the factor to multiply each y value by.
+     * @return a view of this series with each y value scaled, without copying the points.
+     */
+    public TimeSeries scaleSeries(double scaleFactor) {
+        return new TimeSeries(x, y, offset, size, xScale, xOffset, yScale * scaleFactor, true, 0);
+    }
+
+    /**
+     * @param scale the factor to multiply each x value by.
+     * @param offset the amount to add to each scaled x value.
+     * @return a view of this series with each x value scaled and translated, without copying the points.
+     */
+    public TimeSeries scaleAndTranslateXAxis(double scale, double offset) {
+        return new TimeSeries(x, y, this.offset, size, xScale * scale, xOffset * scale + offset, yScale, true, 0);
+    }
+
+    /**
+     * @return the largest y value, or an empty optional if the series is empty.
+     */
+    public OptionalDouble maxOfY() {
+        if (size == 0)
+            return OptionalDouble.empty();
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++)
+            max = Math.max(max, y[offset + i] * yScale);
+        return OptionalDouble.of(max);
+    }
+
+    /**
+     * @return the smallest y value, or an empty optional if the series is empty.
+     */
+    public OptionalDouble minOfY() {
+        if (size == 0)
+            return OptionalDouble.empty();
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++)
+            min = Math.min(min, y[offset + i] * yScale);
+        return OptionalDouble.of(min);
+    }
+
+    /**
+     * Reduce the series by splitting it into {@code points / 2} buckets of consecutive points and keeping the
+     * points with the lowest and the highest y value of each bucket, in their order in the series. Peaks and
+     * troughs, such as the occupancy of the heap before and after a full collection, are never lost.
+     * @param points the most points to keep, at least 2.
+     * @return a new series of at most {@code points} points, or a copy of this series if it is no larger.
+     */
+    public TimeSeries downsampleMinMax(int points) {
+        if (points < 2)
+            throw new IllegalArgumentException("Cannot downsample to fewer than 2 points: " + points);
+        if (size <= points)
+            return copy();
+        int buckets = points / 2;
+        double[] sampledX = new double[buckets * 2];
+        double[] sampledY = new double[buckets * 2];
+        int sampled = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = (int) ((long) bucket * size / buckets);
+            int end = (int) ((long) (bucket + 1) * size / buckets);
+            int min = start;
+            int max = start;
+            for (int i = start + 1; i < end; i++) {
+                if (y[offset + i] < y[offset + min])
+                    min = i;
+                if (y[offset + i] > y[offset + max])
+                    max = i;
+            }
+            // a negative scale swaps the lowest and highest points, but keeps both
+            int first = Math.min(min, max);
+            int second = Math.max(min, max);
+            sampledX[sampled] = x[offset + first] * xScale + xOffset;
+            sampledY[sampled++] = y[offset + first] * yScale;
+            if (second != first) {
+                sampledX[sampled] = x[offset + second] * xScale + xOffset;
+                sampledY[sampled++] = y[offset + second] * yScale;
+            }
+        }
+        return of(sampledX, sampledY, sampled);
+    }
+
+    /**
+     * Reduce the series with the Largest-Triangle-Three-Buckets algorithm. The first and last points are kept,
+     * and the points between them are split into {@code points - 2} buckets. From each bucket the point is kept
+     * that forms the largest triangle with the point kept from the bucket before it and the average of the
+     * points of the bucket after it. The result follows the shape of the series more closely than
+     * {@link #downsampleMinMax(int)}, but may drop an isolated peak.
+     * @param points the number of points to keep, at least 3.
+     * @return a new series of {@code points} points, or a copy of this series if it is no larger.
+     */
+    public TimeSeries downsampleLTTB(int points) {
+        if (points < 3)
+            throw new IllegalArgumentException("Cannot downsample to fewer than 3 points: " + points);
+        if (size <= points)
+            return copy();
+        double[] sampledX = new double[points];
+        double[] sampledY = new double[points];
+        double bucketSize = (double) (size - 2) / (points - 2);
+        int selected = 0;
+        sampledX[0] = getX(0);
+        sampledY[0] = getY(0);
+        for (int bucket = 0; bucket < points - 2; bucket++) {
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0.0d;
+            double averageY = 0.0d;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[offset + i] * xScale + xOffset;
+                averageY += y[offset + i] * yScale;
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            double selectedX = x[offset + selected] * xScale + xOffset;
+            double selectedY = y[offset + selected] * yScale;
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            double largestArea = -1.0d;
+            int largest = start;
+            for (int i = start; i < end; i++) {
+                double pointX = x[offset + i] * xScale + xOffset;
+                double pointY = y[offset + i] * yScale;
+                // twice the area of the triangle, which is enough to compare areas
+                double area = Math.abs((selectedX - averageX) * (pointY - selectedY) - (selectedX - pointX) * (averageY - selectedY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    largest = i;
+                }
+            }
+            sampledX[bucket + 1] = x[offset + largest] * xScale + xOffset;
+            sampledY[bucket + 1] = y[offset + largest] * yScale;
+            selected = largest;
+        }
+        sampledX[points - 1] = getX(size - 1);
+        sampledY[points - 1] = getY(size - 1);
+        return of(sampledX, sampledY, points);
+    }
+
+    private TimeSeries copy() {
+        return of(xValues(), yValues(), size);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeries of " + size + " points";
+    }
+}
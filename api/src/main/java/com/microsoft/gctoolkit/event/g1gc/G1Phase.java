@@ -0,0 +1,153 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The phases of a G1 young collection, as they are named in the GC log. The phases are grouped by the table
+ * of {@link G1Young} that holds them, and each phase has an index within its group, so that the durations of
+ * the phases of a group are held in an array rather than a map. Where the same name is used in more than one
+ * group, the phase of the later group is prefixed with the name of the group.
+ */
+public enum G1Phase {
+
+    // The phases of the pause, and the pre-unified logging phases that are reported with them
+    PRE_EVACUATE_COLLECTION_SET(Group.PAUSE, "Pre Evacuate Collection"),
+    EVACUATE_COLLECTION_SET(Group.PAUSE, "Evacuate Collection"),
+    POST_EVACUATE_COLLECTION_SET(Group.PAUSE, "Post Evacuate Collection Set"),
+    OTHER(Group.PAUSE, "Other"),
+    ROOT_REGION_SCAN_WAITING(Group.PAUSE, "Root Region Scan Waiting"),
+    EVACUATION_FAILURE(Group.PAUSE, "Evacuation Failure"),
+    CHOOSE_CSET(Group.PAUSE, "Choose CSet"),
+    REF_PROC(Group.PAUSE, "Ref Proc"),
+    REF_ENQ(Group.PAUSE, "Ref Enq"),
+    FREE_CSET(Group.PAUSE, "Free CSet"),
+    REDIRTY_CARDS(Group.PAUSE, "Redirty Cards"),
+    HUMONGOUS_RECLAIM(Group.PAUSE, "Humongous Reclaim"),
+    HUMONGOUS_REGISTER(Group.PAUSE, "Humongous Register"),
+
+    // The phases run in parallel by the GC workers
+    EXT_ROOT_SCANNING(Group.WORKER, "Ext Root Scanning"),
+    CODE_ROOT_MARKING(Group.WORKER, "Code Root Marking"),
+    SATB_FILTERING(Group.WORKER, "SATB Filtering"),
+    UPDATE_RS(Group.WORKER, "Update RS"),
+    SCAN_RS(Group.WORKER, "Scan RS"),
+    CODE_ROOT_SCANNING(Group.WORKER, "Code Root Scanning"),
+    OBJECT_COPY(Group.WORKER, "Object Copy"),
+    TERMINATION(Group.WORKER, "Termination"),
+    GC_WORKER_OTHER(Group.WORKER, "GC Worker Other"),
+    GC_WORKER_TOTAL(Group.WORKER, "GC Worker Total"),
+
+    // The phases of Pre Evacuate Collection Set
+    PREPARE_TLABS(Group.PRE_EVACUATE_COLLECTION_SET, "Prepare TLABs"),
+    CHOOSE_COLLECTION_SET(Group.PRE_EVACUATE_COLLECTION_SET, "Choose Collection Set"),
+    PRE_EVACUATE_HUMONGOUS_REGISTER(Group.PRE_EVACUATE_COLLECTION_SET, "Humongous Register"),
+
+    // The phases of Post Evacuate Collection Set
+    CODE_ROOTS_FIXUP(Group.POST_EVACUATE_COLLECTION_SET, "Code Roots Fixup"),
+    PRESERVE_CM_REFS(Group.POST_EVACUATE_COLLECTION_SET, "Preserve CM Refs"),
+    REFERENCE_PROCESSING(Group.POST_EVACUATE_COLLECTION_SET, "Reference Processing"),
+    CLEAR_CARD_TABLE(Group.POST_EVACUATE_COLLECTION_SET, "Clear Card Table"),
+    POST_EVACUATE_EVACUATION_FAILURE(Group.POST_EVACUATE_COLLECTION_SET, "Evacuation Failure"),
+    REFERENCE_ENQUEUING(Group.POST_EVACUATE_COLLECTION_SET, "Reference Enqueuing"),
+    MERGE_PER_THREAD_STATE(Group.POST_EVACUATE_COLLECTION_SET, "Merge Per-Thread State"),
+    CODE_ROOTS_PURGE(Group.POST_EVACUATE_COLLECTION_SET, "Code Roots Purge"),
+    POST_EVACUATE_REDIRTY_CARDS(Group.POST_EVACUATE_COLLECTION_SET, "Redirty Cards"),
+    CLEAR_CLAIMED_MARKS(Group.POST_EVACUATE_COLLECTION_SET, "Clear Claimed Marks"),
+    FREE_COLLECTION_SET(Group.POST_EVACUATE_COLLECTION_SET, "Free Collection Set"),
+    POST_EVACUATE_HUMONGOUS_RECLAIM(Group.POST_EVACUATE_COLLECTION_SET, "Humongous Reclaim"),
+    EXPAND_HEAP_AFTER_COLLECTION(Group.POST_EVACUATE_COLLECTION_SET, "Expand Heap After Collection");
+
+    /**
+     * The tables of phases of a {@link G1Young}.
+     */
+    public enum Group {
+        /**
+         * The phases of {@link G1Young#phaseNames()}.
+         */
+        PAUSE,
+        /**
+         * The phases of {@link G1Young#parallelPhaseNames()} and {@link G1Young#evacuateCSetPhaseNames()}.
+         */
+        WORKER,
+        /**
+         * The phases of {@link G1Young#preEvacuateCSetPhaseNames()}.
+         */
+        PRE_EVACUATE_COLLECTION_SET,
+        /**
+         * The phases of {@link G1Young#postEvacuateCSetPhaseNames()}.
+         */
+        POST_EVACUATE_COLLECTION_SET
+    }
+
+    private static final Map<Group, G1Phase[]> PHASES = new EnumMap<>(Group.class);
+    private static final Map<Group, Map<String, G1Phase>> BY_LABEL = new EnumMap<>(Group.class);
+
+    static {
+        Map<Group, List<G1Phase>> phases = new EnumMap<>(Group.class);
+        for (Group group : Group.values()) {
+            phases.put(group, new ArrayList<>());
+            BY_LABEL.put(group, new HashMap<>());
+        }
+        for (G1Phase phase : values()) {
+            List<G1Phase> group = phases.get(phase.group);
+            phase.index = group.size();
+            group.add(phase);
+            BY_LABEL.get(phase.group).put(phase.label, phase);
+        }
+        phases.forEach((group, list) -> PHASES.put(group, list.toArray(new G1Phase[0])));
+    }
+
+    private final Group group;
+    private final String label;
+    private int index;
+
+    G1Phase(Group group, String label) {
+        this.group = group;
+        this.label = label;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    /**
+     * @return the name of the phase in the GC log.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the position of the phase within its group.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @param group a group of phases.
+     * @param label the name of a phase in the GC log.
+     * @return the phase of the group with that name, or {@code null} if there is none.
+     */
+    public static G1Phase of(Group group, String label) {
+        return BY_LABEL.get(group).get(label);
+    }
+
+    /**
+     * @param group a group of phases.
+     * @return the phases of the group, in order of their index.
+     */
+    public static G1Phase[] phases(Group group) {
+        return PHASES.get(group).clone();
+    }
+
+    static int size(Group group) {
+        return PHASES.get(group).length;
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The durations of a group of {@link G1Phase}s of one collection, held in an array indexed by
+ * {@link G1Phase#index()}. The array is created when the first duration is added. A phase whose name is not
+ * one of the group is kept by name, so that no phase in the log is lost.
+ */
+public final class G1PhaseDurations {
+
+    private final G1Phase.Group group;
+    // NaN where the phase was not reported
+    private double[] durations = null;
+    private Map<String, Double> unknown = null;
+
+    public G1PhaseDurations(G1Phase.Group group) {
+        this.group = group;
+    }
+
+    public G1Phase.Group getGroup() {
+        return group;
+    }
+
+    public void put(G1Phase phase, double duration) {
+        if (phase.getGroup() != group)
+            throw new IllegalArgumentException(phase + " is not a phase of " + group);
+        if (durations == null) {
+            durations = new double[G1Phase.size(group)];
+            Arrays.fill(durations, Double.NaN);
+        }
+        durations[phase.index()] = duration;
+    }
+
+    /**
+     * @param name the name of the phase in the GC log.
+     * @param duration the duration of the phase.
+     */
+    public void put(String name, double duration) {
+        G1Phase phase = G1Phase.of(group, name);
+        if (phase != null) {
+            put(phase, duration);
+        } else {
+            if (unknown == null)
+                unknown = new LinkedHashMap<>();
+            unknown.put(name, duration);
+        }
+    }
+
+    public void putAll(G1PhaseDurations other) {
+        if (other.durations != null) {
+            G1Phase[] phases = G1Phase.phases(other.group);
+            for (int index = 0; index < other.durations.length; index++)
+                if (!Double.isNaN(other.durations[index]))
+                    put(phases[index], other.durations[index]);
+        }
+        if (other.unknown != null)
+            other.unknown.forEach(this::put);
+    }
+
+    /**
+     * @return the duration of the phase, or {@code NaN} if it was not reported.
+     */
+    public double get(G1Phase phase) {
+        return (durations == null || phase.getGroup() != group) ? Double.NaN : durations[phase.index()];
+    }
+
+    /**
+     * @param name the name of the phase in the GC log.
+     * @return the duration of the phase, or {@code NaN} if it was not reported.
+     */
+    public double get(String name) {
+        G1Phase phase = G1Phase.of(group, name);
+        if (phase != null)
+            return get(phase);
+        Double duration = (unknown == null) ? null : unknown.get(name);
+        return (duration == null) ? Double.NaN : duration;
+    }
+
+    /**
+     * Add the duration of each phase that was reported to the total for the phase, for aggregating the phases
+     * of many collections without looking up each phase.
+     * @param totals the totals, indexed by {@link G1Phase#index()}, with a length of at least the number of
+     *               phases in the group.
+     */
+    public void addTo(double[] totals) {
+        if (durations == null)
+            return;
+        for (int index = 0; index < durations.length; index++)
+            if (!Double.isNaN(durations[index]))
+                totals[index] += durations[index];
+    }
+
+    /**
+     * @return the names of the phases that were reported, those of the group in the order of the group, followed
+     * by any others in the order they were added.
+     */
+    public Stream<String> names() {
+        Stream<String> known = (durations == null) ? Stream.empty()
+                : Arrays.stream(G1Phase.phases(group)).filter(phase -> !Double.isNaN(durations[phase.index()])).map(G1Phase::getLabel);
+        return (unknown == null) ? known : Stream.concat(known, unknown.keySet().stream());
+    }
+
+    public boolean isEmpty() {
+        return durations == null && unknown == null;
+    }
+}
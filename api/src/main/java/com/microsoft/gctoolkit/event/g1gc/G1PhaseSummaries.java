@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import com.microsoft.gctoolkit.event.StatisticalSummary;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The summaries of the times the GC workers took in a group of {@link G1Phase}s of one collection, held in an
+ * array indexed by {@link G1Phase#index()}. The array is created when the first summary is added. A phase
+ * whose name is not one of the group is kept by name, so that no phase in the log is lost.
+ * @param <S> the type of summary.
+ */
+public final class G1PhaseSummaries<S extends StatisticalSummary> {
+
+    private final G1Phase.Group group;
+    private StatisticalSummary[] summaries = null;
+    private Map<String, S> unknown = null;
+
+    public G1PhaseSummaries(G1Phase.Group group) {
+        this.group = group;
+    }
+
+    public G1Phase.Group getGroup() {
+        return group;
+    }
+
+    public void put(G1Phase phase, S summary) {
+        if (phase.getGroup() != group)
+            throw new IllegalArgumentException(phase + " is not a phase of " + group);
+        if (summaries == null)
+            summaries = new StatisticalSummary[G1Phase.size(group)];
+        summaries[phase.index()] = summary;
+    }
+
+    /**
+     * @param name the name of the phase in the GC log.
+     * @param summary the summary of the phase.
+     */
+    public void put(String name, S summary) {
+        G1Phase phase = G1Phase.of(group, name);
+        if (phase != null) {
+            put(phase, summary);
+        } else {
+            if (unknown == null)
+                unknown = new LinkedHashMap<>();
+            unknown.put(name, summary);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void putAll(G1PhaseSummaries<? extends S> other) {
+        if (other.summaries != null) {
+            G1Phase[] phases = G1Phase.phases(other.group);
+            for (int index = 0; index < other.summaries.length; index++)
+                if (other.summaries[index] != null)
+                    put(phases[index], (S) other.summaries[index]);
+        }
+        if (other.unknown != null)
+            other.unknown.forEach(this::put);
+    }
+
+    /**
+     * @return the summary of the phase, or {@code null} if it was not reported.
+     */
+    @SuppressWarnings("unchecked")
+    public S get(G1Phase phase) {
+        return (summaries == null || phase.getGroup() != group) ? null : (S) summaries[phase.index()];
+    }
+
+    /**
+     * @param name the name of the phase in the GC log.
+     * @return the summary of the phase, or {@code null} if it was not reported.
+     */
+    public S get(String name) {
+        G1Phase phase = G1Phase.of(group, name);
+        if (phase != null)
+            return get(phase);
+        return (unknown == null) ? null : unknown.get(name);
+    }
+
+    /**
+     * @return the names of the phases that were reported, those of the group in the order of the group, followed
+     * by any others in the order they were added.
+     */
+    public Stream<String> names() {
+        Stream<String> known = (summaries == null) ? Stream.empty()
+                : Arrays.stream(G1Phase.phases(group)).filter(phase -> summaries[phase.index()] != null).map(G1Phase::getLabel);
+        return (unknown == null) ? known : Stream.concat(known, unknown.keySet().stream());
+    }
+
+    public boolean isEmpty() {
+        return summaries == null && unknown == null;
+    }
+}
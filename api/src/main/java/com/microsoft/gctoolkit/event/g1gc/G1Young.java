@@ -10,8 +10,6 @@ import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 
@@ -39,8 +37,8 @@ public class G1Young extends G1RealPause {
     private boolean toSpaceExhausted = false;
     private SurvivorRecord survivorRecord;
 
-    private final Map<String, StatisticalSummary> parallelPhaseSummaries = new ConcurrentHashMap<>();
-    private final Map<String, Double> phaseDurations = new ConcurrentHashMap<>();
+    private final G1PhaseSummaries<StatisticalSummary> parallelPhaseSummaries = new G1PhaseSummaries<>(G1Phase.Group.WORKER);
+    private final G1PhaseDurations phaseDurations = new G1PhaseDurations(G1Phase.Group.PAUSE);
 
     public G1Young(DateTimeStamp dateTimeStamp, GarbageCollectionTypes gcType, GCCause gcCause, double pauseTime) {
         super(dateTimeStamp, gcType, gcCause, pauseTime);
@@ -218,26 +216,42 @@ public class G1Young extends G1RealPause {
         phaseDurations.put(key, duration);
     }
 
+    public void addPhaseDuration(G1Phase phase, double duration) {
+        phaseDurations.put(phase, duration);
+    }
+
     public Iterator<String> phaseNames() {
-        return phaseDurations.keySet().iterator();
+        return phaseDurations.names().iterator();
     }
 
+    /**
+     * @param phaseName the name of the phase in the GC log.
+     * @return the duration of the phase, or {@code NaN} if it was not reported.
+     */
     public double phaseDurationFor(String phaseName) {
         return phaseDurations.get(phaseName);
     }
 
+    public G1PhaseDurations getPhaseDurations() {
+        return phaseDurations;
+    }
+
     public void addParallelPhaseSummary(String key, StatisticalSummary summary) {
         this.parallelPhaseSummaries.put(key, summary);
     }
 
     public Iterator<String> parallelPhaseNames() {
-        return parallelPhaseSummaries.keySet().iterator();
+        return parallelPhaseSummaries.names().iterator();
     }
 
     public StatisticalSummary parallelPhaseSummaryFor(String phaseName) {
         return parallelPhaseSummaries.get(phaseName);
     }
 
+    public G1PhaseSummaries<StatisticalSummary> getParallelPhaseSummaries() {
+        return parallelPhaseSummaries;
+    }
+
     public void queueFixupStatistics(StatisticalSummary summary) {
         this.queueFixupStatistics = summary;
     }
@@ -246,44 +260,64 @@ public class G1Young extends G1RealPause {
         this.tableFixupStatistics = summary;
     }
 
-    private final Map<String, Double> preEvacuateCSetPhase = new ConcurrentHashMap<>(3);
-    private final Map<String, UnifiedStatisticalSummary> evacuateCSetPhase = new ConcurrentHashMap<>();
-    private final Map<String, Double> postEvacuateCSetPhase = new ConcurrentHashMap<>();
+    private final G1PhaseDurations preEvacuateCSetPhase = new G1PhaseDurations(G1Phase.Group.PRE_EVACUATE_COLLECTION_SET);
+    private final G1PhaseSummaries<UnifiedStatisticalSummary> evacuateCSetPhase = new G1PhaseSummaries<>(G1Phase.Group.WORKER);
+    private final G1PhaseDurations postEvacuateCSetPhase = new G1PhaseDurations(G1Phase.Group.POST_EVACUATE_COLLECTION_SET);
 
     public void addPreEvacuationCollectionPhase(String name, double duration) {
         preEvacuateCSetPhase.put(name, duration);
     }
 
     public Stream<String> preEvacuateCSetPhaseNames() {
-        return preEvacuateCSetPhase.keySet().stream();
+        return preEvacuateCSetPhase.names();
     }
 
+    /**
+     * @param name the name of the phase in the GC log.
+     * @return the duration of the phase, or {@code NaN} if it was not reported.
+     */
     public double preEvacuateCSetPhaseDuration(String name) {
         return preEvacuateCSetPhase.get(name);
     }
 
+    public G1PhaseDurations getPreEvacuateCSetPhases() {
+        return preEvacuateCSetPhase;
+    }
+
     public void addEvacuationCollectionPhase(String name, UnifiedStatisticalSummary summary) {
         evacuateCSetPhase.put(name, summary);
     }
 
     public Stream<String> evacuateCSetPhaseNames() {
-        return evacuateCSetPhase.keySet().stream();
+        return evacuateCSetPhase.names();
     }
 
     public StatisticalSummary evacuateCSetPhaseDuration(String name) {
         return evacuateCSetPhase.get(name);
     }
 
+    public G1PhaseSummaries<UnifiedStatisticalSummary> getEvacuateCSetPhases() {
+        return evacuateCSetPhase;
+    }
+
     public void addPostEvacuationCollectionPhase(String name, double summary) {
         postEvacuateCSetPhase.put(name, summary);
     }
 
     public Stream<String> postEvacuateCSetPhaseNames() {
-        return postEvacuateCSetPhase.keySet().stream();
+        return postEvacuateCSetPhase.names();
     }
 
+    /**
+     * @param name the name of the phase in the GC log.
+     * @return the duration of the phase, or {@code NaN} if it was not reported.
+     */
     public double postEvacuateCSetPhaseDuration(String name) {
         return postEvacuateCSetPhase.get(name);
     }
 
+    public G1PhaseDurations getPostEvacuateCSetPhases() {
+        return postEvacuateCSetPhase;
+    }
+
 }
@@ -0,0 +1,253 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts the lines and events handled by each stage of the pipeline during one analysis. The parts of the
+ * pipeline ask for a {@link Counter} once and then update it as they go. Counters can be updated from any
+ * thread, and counting is always on. Timing each line and each parse rule reads the clock twice for every
+ * attempt, so it is only done when {@link #isTimingEnabled()}.
+ * <p>
+ * When an analysis finishes, a {@code com.microsoft.gctoolkit.PipelineStage} JFR event is committed for each
+ * counter, if such events are enabled. While it runs, an analysis can be watched through JMX by setting the
+ * {@value #JMX_PROPERTY} system property to {@code true}.
+ */
+public final class PipelineMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(PipelineMetrics.class.getName());
+
+    /**
+     * The system property that, when {@code true}, registers each analysis in progress as a
+     * {@link PipelineMetricsMXBean}.
+     */
+    public static final String JMX_PROPERTY = "com.microsoft.gctoolkit.jmx";
+
+    /**
+     * The system property that, when {@code true}, records the time taken by each line and parse rule.
+     */
+    public static final String TIMING_PROPERTY = "com.microsoft.gctoolkit.timing";
+
+    private static final AtomicInteger ANALYSES = new AtomicInteger();
+
+    private final String name;
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+    private volatile long startTime = System.nanoTime();
+    private volatile long finishTime = 0L;
+    private ObjectName objectName = null;
+
+    /**
+     * @param name the name of the analysis, usually that of the data source.
+     */
+    public PipelineMetrics(String name) {
+        this.name = Objects.requireNonNull(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code true} if the time taken by each line and parse rule is to be recorded, which is the case when
+     * {@value #TIMING_PROPERTY} or {@value #JMX_PROPERTY} is set, or the JFR events are enabled.
+     */
+    public static boolean isTimingEnabled() {
+        return Boolean.getBoolean(TIMING_PROPERTY) || Boolean.getBoolean(JMX_PROPERTY) || new PipelineStageEvent().isEnabled();
+    }
+
+    /**
+     * @param stage the stage the counter belongs to.
+     * @param name the name of the part of the stage, such as the name of a parser.
+     * @return the counter for the part of the stage, which is created the first time it is asked for.
+     */
+    public Counter counter(PipelineStage stage, String name) {
+        return counters.computeIfAbsent(new Key(stage, name), key -> new Counter());
+    }
+
+    /**
+     * Start timing the analysis and, if {@value #JMX_PROPERTY} is set, register it with the platform MBean server.
+     */
+    public void start() {
+        startTime = System.nanoTime();
+        finishTime = 0L;
+        if (Boolean.getBoolean(JMX_PROPERTY))
+            register();
+    }
+
+    /**
+     * Stop timing the analysis, commit the JFR events and unregister the analysis from the MBean server.
+     */
+    public void finish() {
+        finishTime = System.nanoTime();
+        unregister();
+        if (new PipelineStageEvent().isEnabled())
+            commitEvents();
+    }
+
+    /**
+     * @return the counts as they are now. The counts of an analysis in progress may change while the snapshot is
+     * taken, so they need not agree with one another.
+     */
+    public PipelineStatistics snapshot() {
+        long elapsed = elapsedNanos();
+        List<StageStatistics> stages = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> stages.add(counter.statistics(key, elapsed)));
+        stages.sort(Comparator.comparing(StageStatistics::getStage).thenComparing(StageStatistics::getName));
+        return new PipelineStatistics(name, elapsed, stages);
+    }
+
+    private long elapsedNanos() {
+        long finish = finishTime;
+        return ((finish == 0L) ? System.nanoTime() : finish) - startTime;
+    }
+
+    private void commitEvents() {
+        counters.forEach((key, counter) -> {
+            PipelineStageEvent event = new PipelineStageEvent();
+            event.analysis = name;
+            event.stage = key.stage.name();
+            event.name = key.name;
+            event.count = counter.count.sum();
+            event.misses = counter.misses();
+            event.time = counter.nanos.sum();
+            event.commit();
+        });
+    }
+
+    private synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName("com.microsoft.gctoolkit:type=Analysis,id=" + ANALYSES.incrementAndGet()
+                    + ",name=" + ObjectName.quote(name));
+            server.registerMBean(new Management(), objectName);
+        } catch (JMException | RuntimeException e) {
+            objectName = null;
+            LOGGER.log(Level.WARNING, "Unable to register the analysis of " + name + " with JMX", e);
+        }
+    }
+
+    private synchronized void unregister() {
+        if (objectName == null)
+            return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Unable to unregister " + objectName, e);
+        }
+        objectName = null;
+    }
+
+    /**
+     * The counts for one part of a stage. Stages that do not record time leave it at zero. Misses are only
+     * counted once {@link #countMisses()} has been called, and are otherwise reported as
+     * {@link StageStatistics#NOT_COUNTED}.
+     */
+    public static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private volatile boolean countingMisses = false;
+
+        private Counter() {}
+
+        /**
+         * Count a line or event.
+         */
+        public void increment() {
+            count.increment();
+        }
+
+        /**
+         * Count a line or event and the time spent handling it.
+         * @param start the value of {@link System#nanoTime()} when handling started.
+         * @param end the value of {@link System#nanoTime()} when handling ended.
+         */
+        public void record(long start, long end) {
+            count.increment();
+            nanos.add(end - start);
+        }
+
+        /**
+         * Count the lines that are not matched, so that none being missed is reported as zero.
+         * @return this counter.
+         */
+        public Counter countMisses() {
+            countingMisses = true;
+            return this;
+        }
+
+        /**
+         * Count a line that was not matched. The line is counted by {@link #increment()} or
+         * {@link #record(long, long)} as well.
+         */
+        public void miss() {
+            countingMisses = true;
+            misses.increment();
+        }
+
+        private long misses() {
+            return countingMisses ? misses.sum() : StageStatistics.NOT_COUNTED;
+        }
+
+        private StageStatistics statistics(Key key, long elapsed) {
+            return new StageStatistics(key.stage, key.name, count.sum(), misses(), nanos.sum(), elapsed);
+        }
+    }
+
+    private static final class Key {
+
+        private final PipelineStage stage;
+        private final String name;
+
+        Key(PipelineStage stage, String name) {
+            this.stage = stage;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key key = (Key) other;
+            return stage == key.stage && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * stage.hashCode() + name.hashCode();
+        }
+    }
+
+    private final class Management implements PipelineMetricsMXBean {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getElapsedMillis() {
+            return elapsedNanos() / 1_000_000L;
+        }
+
+        @Override
+        public List<StageStatistics> getStages() {
+            return snapshot().getStages();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+import java.util.List;
+
+/**
+ * The management interface of an analysis in progress. An analysis is registered with the platform MBean server,
+ * under the {@code com.microsoft.gctoolkit} domain, when the {@value PipelineMetrics#JMX_PROPERTY} system property
+ * is {@code true}. It is unregistered when the analysis finishes.
+ */
+public interface PipelineMetricsMXBean {
+
+    /**
+     * @return the name of the data source being analyzed.
+     */
+    String getName();
+
+    /**
+     * @return the time since the analysis started.
+     */
+    long getElapsedMillis();
+
+    /**
+     * @return the statistics of every part of every stage.
+     */
+    List<StageStatistics> getStages();
+}
@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+/**
+ * The stages of the pipeline that turns the lines of a GC log into aggregations. What a stage counts, what it
+ * counts as a miss, and what it times depend on the stage.
+ */
+public enum PipelineStage {
+
+    /**
+     * Lines read from the data source. Neither misses nor time are recorded, because reading cannot be timed
+     * apart from the publishing of the lines read.
+     */
+    READ,
+
+    /**
+     * Lines received by a {@link com.microsoft.gctoolkit.message.DataSourceParser}. A miss is a line that no rule
+     * of the parser matched. The time is that spent processing the lines.
+     */
+    PARSE,
+
+    /**
+     * Lines that a parse rule was tried on. A miss is a line the rule did not match. The time is that spent
+     * matching, whether or not the rule matched.
+     */
+    RULE,
+
+    /**
+     * Events published on a {@link com.microsoft.gctoolkit.message.ChannelName}. Neither misses nor time are
+     * recorded.
+     */
+    CHANNEL,
+
+    /**
+     * Events received by an {@link com.microsoft.gctoolkit.aggregator.Aggregator}. The time is that spent in
+     * {@link com.microsoft.gctoolkit.aggregator.Aggregator#receive(com.microsoft.gctoolkit.event.jvm.JVMEvent)}.
+     */
+    AGGREGATE
+}
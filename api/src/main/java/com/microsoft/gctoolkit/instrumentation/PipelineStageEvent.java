@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Committed for each part of each stage when an analysis finishes.
+ */
+@Name("com.microsoft.gctoolkit.PipelineStage")
+@Label("Pipeline Stage")
+@Category("GCToolKit")
+@Description("The lines or events handled by a stage of a GC log analysis")
+@StackTrace(false)
+class PipelineStageEvent extends jdk.jfr.Event {
+
+    @Label("Analysis")
+    String analysis;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Name")
+    String name;
+
+    @Label("Count")
+    long count;
+
+    @Label("Misses")
+    long misses;
+
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long time;
+}
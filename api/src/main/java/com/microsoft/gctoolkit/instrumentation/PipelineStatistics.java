@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A snapshot of the {@link PipelineMetrics} of an analysis.
+ */
+public final class PipelineStatistics {
+
+    /**
+     * The statistics of an analysis that recorded nothing.
+     */
+    public static final PipelineStatistics EMPTY = new PipelineStatistics("", 0L, List.of());
+
+    private final String name;
+    private final long elapsedNanos;
+    private final List<StageStatistics> stages;
+
+    PipelineStatistics(String name, long elapsedNanos, List<StageStatistics> stages) {
+        this.name = name;
+        this.elapsedNanos = elapsedNanos;
+        this.stages = List.copyOf(stages);
+    }
+
+    /**
+     * @return the name of the analysis, which is that of the data source analyzed.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the time from the start of the analysis until it finished or until the snapshot was taken.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the statistics of every part of every stage, ordered by stage and then by name.
+     */
+    public List<StageStatistics> getStages() {
+        return stages;
+    }
+
+    /**
+     * @param stage a stage of the pipeline.
+     * @return the statistics of every part of the stage, ordered by name.
+     */
+    public List<StageStatistics> getStages(PipelineStage stage) {
+        return stages.stream().filter(statistics -> statistics.getStage() == stage).collect(Collectors.toList());
+    }
+
+    /**
+     * @param stage a stage of the pipeline.
+     * @param name the name of a part of the stage.
+     * @return the statistics of the part, if anything was recorded for it.
+     */
+    public Optional<StageStatistics> getStage(PipelineStage stage, String name) {
+        return stages.stream()
+                .filter(statistics -> statistics.getStage() == stage && statistics.getName().equals(name))
+                .findFirst();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(name).append(" in ").append(elapsedNanos / 1_000_000L).append("ms");
+        stages.forEach(statistics -> table.append(System.lineSeparator()).append(statistics));
+        return table.toString();
+    }
+}
@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+/**
+ * The counts for one part of a {@link PipelineStage}, such as one parser or one parse rule, at the time a
+ * {@link PipelineStatistics} snapshot was taken.
+ */
+public final class StageStatistics {
+
+    /**
+     * The number of misses reported by the parts of stages that do not count them.
+     */
+    public static final long NOT_COUNTED = -1L;
+
+    private final PipelineStage stage;
+    private final String name;
+    private final long count;
+    private final long misses;
+    private final long nanos;
+    private final long elapsedNanos;
+
+    StageStatistics(PipelineStage stage, String name, long count, long misses, long nanos, long elapsedNanos) {
+        this.stage = stage;
+        this.name = name;
+        this.count = count;
+        this.misses = misses;
+        this.nanos = nanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public PipelineStage getStage() {
+        return stage;
+    }
+
+    /**
+     * @return the name of the part of the stage, such as the name of a parser, or of a parser and one of its rules.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of lines or events handled.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of lines that were not matched, or {@link #NOT_COUNTED} for the parts of stages that do
+     * not count them.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the time spent handling the lines or events, in nanoseconds, for the stages that record time.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the number of lines or events handled per second of the analysis.
+     */
+    public double getRate() {
+        return (elapsedNanos > 0L) ? count * 1e9d / elapsedNanos : 0.0d;
+    }
+
+    /**
+     * @return the mean time spent handling a line or event, in nanoseconds.
+     */
+    public double getMeanNanos() {
+        return (count > 0L) ? (double) nanos / count : 0.0d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-9s %-60s %12d %10s %14.1f/s %10.1fns", stage, name, count,
+                (misses == NOT_COUNTED) ? "-" : Long.toString(misses), getRate(), getMeanNanos());
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields of an event, or of a summary held by an event, that are written to and read from an event archive.
+ * Every instance field that is not transient is included, from the top of the class hierarchy down. A field is
+ * known by the simple name of the class that declares it and its own name, so that a field which is added to or
+ * removed from a class, or which moves within it, does not stop older archives from being read.
+ * <p>
+ * Events have no constructor that restores them from their fields, so an instance is created with the constructor
+ * that has the fewest parameters, given zeroes, empty values or {@code null}, and every field is then set from the
+ * archive.
+ */
+final class EventSchema {
+
+    private static final ClassValue<EventSchema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected EventSchema computeValue(Class<?> type) {
+            return new EventSchema(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+    private Constructor<?> constructor = null;
+
+    static EventSchema of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    private EventSchema(Class<?> type) {
+        this.type = type;
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+            hierarchy.add(0, clazz);
+        for (Class<?> clazz : hierarchy) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic())
+                    continue;
+                field.setAccessible(true);
+                fields.put(clazz.getSimpleName() + "." + field.getName(), field);
+            }
+        }
+    }
+
+    Class<?> type() {
+        return type;
+    }
+
+    /**
+     * @return the fields, keyed by the name they are archived under, in the order they are written.
+     */
+    Map<String, Field> fields() {
+        return fields;
+    }
+
+    /**
+     * @param name the name a field was archived under.
+     * @return the field, or {@code null} if the class no longer has it.
+     */
+    Field field(String name) {
+        return fields.get(name);
+    }
+
+    Object newInstance() throws ReflectiveOperationException {
+        Constructor<?> chosen;
+        synchronized (this) {
+            if (constructor == null)
+                constructor = findConstructor();
+            chosen = constructor;
+        }
+        return chosen.newInstance(placeholders(chosen));
+    }
+
+    private Constructor<?> findConstructor() throws ReflectiveOperationException {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        Arrays.sort(constructors, Comparator.comparingInt(Constructor::getParameterCount));
+        ReflectiveOperationException failure = new NoSuchMethodException(type.getName() + " has no usable constructor");
+        for (Constructor<?> candidate : constructors) {
+            try {
+                candidate.setAccessible(true);
+                candidate.newInstance(placeholders(candidate));
+                return candidate;
+            } catch (InvocationTargetException | InstantiationException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    private static Object[] placeholders(Constructor<?> constructor) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] placeholders = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++)
+            placeholders[i] = placeholder(parameterTypes[i]);
+        return placeholders;
+    }
+
+    private static Object placeholder(Class<?> parameterType) {
+        if (parameterType == boolean.class)
+            return Boolean.FALSE;
+        if (parameterType.isPrimitive())
+            return integral(0L, parameterType);
+        if (parameterType == String.class)
+            return "";
+        if (parameterType == DateTimeStamp.class)
+            return new DateTimeStamp(0.0d);
+        if (parameterType.isEnum())
+            return parameterType.getEnumConstants()[0];
+        if (parameterType.isArray())
+            return Array.newInstance(parameterType.getComponentType(), 0);
+        if (parameterType.isAssignableFrom(ArrayList.class))
+            return new ArrayList<>();
+        return null;
+    }
+
+    /**
+     * @param value a whole number read from an archive.
+     * @param type the primitive or boxed type of the field it is for.
+     * @return the value as that type, or {@code null} if the field does not hold numbers.
+     */
+    static Object integral(long value, Class<?> type) {
+        if (type == int.class || type == Integer.class)
+            return (int) value;
+        if (type == long.class || type == Long.class)
+            return value;
+        if (type == short.class || type == Short.class)
+            return (short) value;
+        if (type == byte.class || type == Byte.class)
+            return (byte) value;
+        if (type == char.class || type == Character.class)
+            return (char) value;
+        return floatingPoint(value, type);
+    }
+
+    /**
+     * @param value a number read from an archive.
+     * @param type the primitive or boxed type of the field it is for.
+     * @return the value as that type, or {@code null} if the field does not hold floating point numbers.
+     */
+    static Object floatingPoint(double value, Class<?> type) {
+        if (type == double.class || type == Double.class)
+            return value;
+        if (type == float.class || type == Float.class)
+            return (float) value;
+        return null;
+    }
+}
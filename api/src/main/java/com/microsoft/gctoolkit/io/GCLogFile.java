@@ -12,13 +12,18 @@ import com.microsoft.gctoolkit.parser.datatype.TripleState;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.ServiceLoader.Provider;
@@ -37,8 +42,17 @@ public abstract class GCLogFile extends FileDataSource<String> {
      */
     public static final String END_OF_DATA_SENTINEL = "END_OF_DATA_SENTINEL";
 
-    private Diary diary;
-    private TripleState unifiedFormat = TripleState.UNKNOWN;
+    /**
+     * The value that ends the stream returned by {@link #stream(LogFileCheckpoint)}. Unlike
+     * {@link #END_OF_DATA_SENTINEL}, more data may follow.
+     */
+    public static final String CHECKPOINT_SENTINEL = "CHECKPOINT_SENTINEL";
+
+    /**
+     * The number of lines published to the parsers in each batch unless a subclass says otherwise.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
     private JavaVirtualMachine jvm = null;
 
     /**
@@ -59,14 +73,37 @@ public abstract class GCLogFile extends FileDataSource<String> {
         return jvm;
     }
 
+    /**
+     * The number of lines that are gathered before they are published to the parsers. Lines are held back
+     * until a batch is full, so a source that produces lines as they are written should return 1.
+     * @return the number of lines in each batch.
+     */
+    public int batchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
     /**
      * Returns {@code true} if this GCLogFile is written in unified logging (JEP 158) format.
      * @return {@code true} if the log file is in unified logging format.
      */
     public boolean isUnified() {
-        if ( ! unifiedFormat.isKnown())
-            unifiedFormat = discoverFormat();
-        return unifiedFormat.isTrue();
+        try {
+            if ( ! unifiedFormat().isKnown())
+                discover();
+        } catch (IOException ioe) {
+            LOGGER.log(Level.SEVERE, "Unable to determine log file format", ioe);
+        } catch (ServiceConfigurationError sce) {
+            // The format is known before a diarizer is needed. diary() will report the missing provider.
+        }
+        return unifiedFormat().isTrue();
+    }
+
+    private TripleState unifiedFormat() {
+        try {
+            return getMetaData().getUnifiedFormat();
+        } catch (IOException ioe) {
+            return TripleState.UNKNOWN;
+        }
     }
 
     private Diarizer diarizer() {
@@ -94,18 +131,54 @@ public abstract class GCLogFile extends FileDataSource<String> {
      * @return the computed diary
      */
     public Diary diary() throws IOException {
-        if ( diary == null) {
-            Diarizer diarizer = diarizer();
-            stream()
-                    .filter(Objects::nonNull)
-                    .map(String::trim)
-                    .filter(s -> s.length() > 0)
-                    .map(diarizer::diarize)
-                    .filter(completed -> completed)
-                    .findFirst();
-            this.diary = diarizer.getDiary();
+        if ( getMetaData().getDiary() == null)
+            discover();
+        return getMetaData().getDiary();
+    }
+
+    /**
+     * Return the diary recorded in the checkpoint. If nothing has been read using the checkpoint, the diary is
+     * discovered and recorded in the checkpoint. A diary taken from the checkpoint is not discovered again.
+     * @param checkpoint a checkpoint for this log.
+     * @return the diary of this log.
+     * @throws IOException Thrown from reading the stream.
+     */
+    public Diary diary(LogFileCheckpoint checkpoint) throws IOException {
+        LogFileMetadata metadata = getMetaData();
+        if (checkpoint.getDiary() == null) {
+            checkpoint.setDiary(diary());
+        } else if (metadata.getDiary() == null) {
+            metadata.setUnifiedFormat(TripleState.valueOf(checkpoint.getDiary().isUnifiedLogging()));
+            metadata.setDiary(checkpoint.getDiary());
         }
-        return diary;
+        return checkpoint.getDiary();
+    }
+
+    /**
+     * Stream the complete lines that have been written to the log since the checkpoint. The stream ends with
+     * {@link #CHECKPOINT_SENTINEL} rather than {@link #endOfData()}. The checkpoint is advanced when the
+     * sentinel is consumed, so the next call streams only the lines written after this stream was read.
+     * A line that is part way through being written is left for the next call.
+     * @param checkpoint a checkpoint for this log. An empty checkpoint streams the log from its beginning.
+     * @return the lines written since the checkpoint.
+     * @throws IOException Thrown from reading the stream.
+     */
+    public Stream<String> stream(LogFileCheckpoint checkpoint) throws IOException {
+        diary(checkpoint);
+        Map<Object, Long> reached = new HashMap<>();
+        return Stream.concat(
+                segments().stream().flatMap(segment -> checkpoint.linesSince(segment, reached)),
+                // every line has been consumed by the time the sentinel is.
+                Stream.of(CHECKPOINT_SENTINEL).peek(sentinel -> checkpoint.advance(reached)));
+    }
+
+    /**
+     * The segments read by {@link #stream(LogFileCheckpoint)}, in the order they are to be read.
+     * @return the segments of this log.
+     * @throws IOException if the segments cannot be found.
+     */
+    protected List<LogFileSegment> segments() throws IOException {
+        return getMetaData().logFiles().collect(Collectors.toList());
     }
 
     @Override
@@ -116,33 +189,76 @@ public abstract class GCLogFile extends FileDataSource<String> {
     // match a line starting with a unified logging decorator,
     // e.g., [0.011s][info ][gc            ] Using G1
     // But have to watch out for things like [ParNew...
-    private static final Pattern LINE_STARTS_WITH_DECORATOR = Pattern.compile("^\\[\\d.+?\\]");
-    private static final int SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG = 25;
+    static final Pattern LINE_STARTS_WITH_DECORATOR = Pattern.compile("^\\[\\d.+?\\]");
+    static final int SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG = 25;
 
     /**
-     * This method is used to determine whether or not the log file uses the unified log format
-     * by looking for lines starting with the unified logging decorator. This method is called from
-     * the constructors of the subclasses.
-     * @return {@code true} if the file uses the unified log format.
+     * Make a single pass over the log to determine whether or not the log file uses the unified log format
+     * and to build the diary. The format is determined by looking for lines starting with the unified logging
+     * decorator in the first lines of the log. Those lines are then replayed to the diarizer, which continues
+     * to consume the same stream until it has completed. Both results are cached on the {@link LogFileMetadata}
+     * so that the log is not read again before it is analyzed.
      * @throws IOException Thrown from reading the stream.
      */
-    private TripleState discoverFormat() {
-        try (Stream<String> stream = stream()) {  // contribution from MansuyDavid @github
-            boolean isUnified = firstNLines(stream, SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG)
-                    .map(LINE_STARTS_WITH_DECORATOR::matcher)
-                    .anyMatch(Matcher::find);
-            return TripleState.valueOf(isUnified);
-        } catch(IOException ioe) {
-            LOGGER.log(Level.SEVERE, "Unable to determine log file format", ioe);
+    private void discover() throws IOException {
+        LogFileMetadata metadata = getMetaData();
+        TripleState format = metadata.getUnifiedFormat();
+        List<String> head = new ArrayList<>(SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG);
+        Diarizer diarizer = null;
+        boolean completed = false;
+
+        try (Stream<String> stream = discoveryStream()) {  // contribution from MansuyDavid @github
+            Iterator<String> lines = stream
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(s -> s.length() > 0)
+                    .iterator();
+            while (lines.hasNext() && !completed) {
+                String line = lines.next();
+                if (diarizer != null) {
+                    completed = diarizer.diarize(line);
+                    continue;
+                }
+                head.add(line);
+                if (!format.isKnown()) {
+                    if (LINE_STARTS_WITH_DECORATOR.matcher(line).find())
+                        format = TripleState.TRUE;
+                    else if (head.size() < SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG)
+                        continue;
+                    else
+                        format = TripleState.FALSE;
+                    metadata.setUnifiedFormat(format);
+                }
+                diarizer = diarizer();
+                completed = diarize(diarizer, head);
+            }
+        }
+
+        if (diarizer == null) {
+            // The log ended before the format could be decided.
+            if (!format.isKnown())
+                metadata.setUnifiedFormat(TripleState.FALSE);
+            diarizer = diarizer();
+            diarize(diarizer, head);
         }
-        return TripleState.UNKNOWN;
+        metadata.setDiary(diarizer.getDiary());
+    }
+
+    /**
+     * The lines examined to discover the format of the log and to build the diary.
+     * A data source that never ends, such as one that follows a log as it is written,
+     * should override this to return the lines that are available now.
+     * @return {@link #stream()} by default.
+     * @throws IOException Thrown from reading the stream.
+     */
+    protected Stream<String> discoveryStream() throws IOException {
+        return stream();
     }
 
-    private Stream<String> firstNLines(Stream<String> stream, int limit) {
-        return stream
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(s -> s.length() > 0)
-                .limit(limit);
+    private boolean diarize(Diarizer diarizer, List<String> lines) {
+        for (String line : lines)
+            if (diarizer.diarize(line))
+                return true;
+        return false;
     }
 }
@@ -4,14 +4,27 @@ package com.microsoft.gctoolkit.io;
 
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * A {@link RotatingGCLogFile} is made up of {@code GarbageCollectionLogFileSegment}s. Creating
@@ -22,11 +35,18 @@ import java.util.stream.Stream;
  */
 public class GCLogFileSegment implements LogFileSegment {
 
+    private static final Logger LOGGER = Logger.getLogger(GCLogFileSegment.class.getName());
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int TAIL_LINES = 100;
+
     private final Path path;
     private final int segmentIndex;
     private final boolean current;
     private DateTimeStamp endTime = null;
     private DateTimeStamp startTime = null;
+    private boolean timed = false;
+    private Boolean gzip = null;
 
     /**
      * The constructor attempts to extract the segment index from the file name.
@@ -70,12 +90,8 @@ public class GCLogFileSegment implements LogFileSegment {
      */
     @Override
     public double getStartTime() {
-        try {
-            ageOfJVMAtLogStart();
-            return startTime.getTimeStamp();
-        } catch (NullPointerException ex) {
-            return Double.MAX_VALUE;
-        }
+        timeSegment();
+        return (startTime != null) ? startTime.getTimeStamp() : Double.MAX_VALUE;
     }
 
     /**
@@ -89,12 +105,8 @@ public class GCLogFileSegment implements LogFileSegment {
      */
     @Override
     public double getEndTime() {
-        try {
-            ageOfJVMAtLogEnd();
-            return endTime.getTimeStamp();
-        } catch (NullPointerException|IOException ex) {
-            return Double.MIN_VALUE;
-        }
+        timeSegment();
+        return (endTime != null) ? endTime.getTimeStamp() : Double.MIN_VALUE;
     }
 
     /**
@@ -107,11 +119,21 @@ public class GCLogFileSegment implements LogFileSegment {
     }
 
     /**
-     * Stream the file, one line at a time.
+     * Stream the file, one line at a time. A GZip compressed file is decompressed as it is streamed.
      * @return A stream of lines from the file.
      */
     public Stream<String> stream() {
         try {
+            if (isGZip()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path), GZIP_BUFFER_SIZE)));
+                return reader.lines().onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
             return Files.lines(path);
         } catch (IOException e) {
             e.printStackTrace();
@@ -119,6 +141,26 @@ public class GCLogFileSegment implements LogFileSegment {
         return null;
     }
 
+    /**
+     * Return {@code true} if the file is GZip compressed.
+     * @return {@code true} if the file starts with the GZip magic bytes.
+     */
+    public boolean isGZip() {
+        if (gzip == null) {
+            try (InputStream magicByteReader = Files.newInputStream(path)) {
+                gzip = magicByteReader.read() == LogFileMetadata.GZIP_MAGIC1 && magicByteReader.read() == LogFileMetadata.GZIP_MAGIC2;
+            } catch (IOException ioe) {
+                gzip = false;
+            }
+        }
+        return gzip;
+    }
+
+    @Override
+    public boolean isCompressed() {
+        return isGZip();
+    }
+
     /**
      * Return {@code true} if the log file segment was the file being written to.
      * @return {@code true} if the log file segment was the current file.
@@ -127,26 +169,64 @@ public class GCLogFileSegment implements LogFileSegment {
         return current;
     }
 
-    private DateTimeStamp ageOfJVMAtLogStart() {
-        if (startTime == null) {
-            startTime = stream()
+    /**
+     * Find the start and end times of the segment in a single pass, and keep them for ordering the segments.
+     * A compressed segment is decompressed once, keeping its last lines as it goes. A plain segment is opened
+     * once, and read forwards to its first time and backwards from its end to its last.
+     */
+    private void timeSegment() {
+        if (timed)
+            return;
+        timed = true;
+        try {
+            List<String> tail;
+            if (isGZip()) {
+                ArrayDeque<String> lines = new ArrayDeque<>(TAIL_LINES);
+                Stream<String> stream = stream();
+                if (stream == null)
+                    throw new IOException("Unable to decompress " + path);
+                try (stream) {
+                    Iterator<String> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        String line = iterator.next();
+                        if (startTime == null)
+                            startTime = timeOf(line);
+                        if (lines.size() == TAIL_LINES)
+                            lines.pollFirst();
+                        lines.addLast(line);
+                    }
+                }
+                tail = new ArrayList<>(lines);
+            } else {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    // Not closed, as closing it would close the channel that the tail is read from.
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+                    String line;
+                    while (startTime == null && (line = reader.readLine()) != null)
+                        startTime = timeOf(line);
+                    tail = new ReverseLineReader(channel).tail(TAIL_LINES);
+                }
+            }
+            if (startTime == null)
+                startTime = new DateTimeStamp(-1.0d);
+            endTime = tail.stream()
                     .map(DateTimeStamp::fromGCLogLine)
                     .filter(dateTimeStamp -> dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
-                    .findFirst()
+                    .max(Comparator.comparing(dateTimeStamp -> dateTimeStamp != null ? dateTimeStamp.getTimeStamp() : 0))
                     .orElse(new DateTimeStamp(-1.0d));
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Unable to find the start and end times of " + path, e);
+            startTime = null;
+            endTime = null;
         }
-        return startTime;
     }
 
-    private DateTimeStamp ageOfJVMAtLogEnd() throws IOException {
-        if (endTime == null) {
-            endTime = tail(100).stream()
-                    .map(DateTimeStamp::fromGCLogLine)
-                    .filter(dateTimeStamp -> dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
-                    .max(Comparator.comparing(dateTimeStamp -> dateTimeStamp != null ? dateTimeStamp.getTimeStamp() : 0))
-                    .orElse(new DateTimeStamp(-1.0d));
-        }
-        return endTime;
+    /**
+     * @return the time of a line, or {@code null} if the line has neither a time stamp nor a date stamp.
+     */
+    private static DateTimeStamp timeOf(String line) {
+        DateTimeStamp dateTimeStamp = DateTimeStamp.fromGCLogLine(line);
+        return (dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp()) ? dateTimeStamp : null;
     }
 
     /**
@@ -157,55 +237,4 @@ public class GCLogFileSegment implements LogFileSegment {
     public String toString() {
         return getSegmentName();
     }
-
-
-     // todo: implementation may be a bit ugly...
-     // https://codereview.stackexchange.com/questions/79039/get-the-tail-of-a-file-the-last-10-lines
-     // Tail is not a class, it's a method so the solution in stackoverflow isn't correct but the core
-     // could be used here as it's cleaner
-    private ArrayList<String> tail(int numberOfLines) throws IOException {
-
-        char LF = '\n';
-        char CR = '\r';
-        boolean foundEOL = false;
-        char eol = 0;
-        RandomAccessFile randomAccessFile = new RandomAccessFile(path.toFile(), "r");
-        long currentPosition = randomAccessFile.length() - 1;
-        int linesFound = 0;
-
-        while (currentPosition > 0 && !foundEOL) {
-            randomAccessFile.seek(currentPosition);
-            char character = (char) randomAccessFile.readByte();
-            if (character == LF) {
-                eol = LF;
-                randomAccessFile.seek(currentPosition - 1);
-                character = (char) randomAccessFile.readByte();
-                if (character == CR)
-                    eol = CR;
-                foundEOL = true;
-            } else if (character == CR && !foundEOL) {
-                eol = CR;
-                foundEOL = true;
-            } else
-                currentPosition--;
-        }
-
-        currentPosition = randomAccessFile.length() - 1;
-
-        while (currentPosition > 0 && linesFound < numberOfLines) {
-            randomAccessFile.seek(--currentPosition);
-            char character = (char) randomAccessFile.readByte();
-            if (eol == character)
-                linesFound++;
-        }
-
-        ArrayList<String> lines = new ArrayList<>();
-        if (linesFound > 0) {
-            String line;
-            while ((line = randomAccessFile.readLine()) != null) {
-                lines.add(line);
-            }
-        }
-        return lines;
-    }
 }
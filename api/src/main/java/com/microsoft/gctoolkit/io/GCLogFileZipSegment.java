@@ -7,11 +7,13 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -32,6 +34,8 @@ public class GCLogFileZipSegment implements LogFileSegment {
     private DateTimeStamp endTime = null;
     private DateTimeStamp startTime = null;
 
+    private static final int TAIL_LINES = 100;
+
     /**
      * The constructor attempts to extract the segment index from the file name.
      * @param path The path to the file.
@@ -55,30 +59,46 @@ public class GCLogFileZipSegment implements LogFileSegment {
     }
 
     private void ageOfJVMAtLogStart() {
-        if (startTime == null) {
-            startTime = stream()
-                    .filter(s -> ! s.contains(" file created "))
-                    .map(DateTimeStamp::fromGCLogLine)
-                    .filter(dateTimeStamp -> dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
-                    .findFirst()
-                    .orElse(new DateTimeStamp(-1.0d));
-        }
+        if (startTime == null)
+            timeSegment();
     }
 
     private DateTimeStamp ageOfJVMAtLogEnd()  {
-        if (endTime == null) {
-            List<String> tail = stream().
-                    collect(tail(100));
-            endTime = tail.stream()
-                    .filter(line -> ! line.contains("Saved as"))
-                    .map(DateTimeStamp::fromGCLogLine)
-                    .filter(dateTimeStamp -> dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
-                    .max(Comparator.comparing(dateTimeStamp -> dateTimeStamp != null ? dateTimeStamp.getTimeStamp() : 0))
-                    .orElse(DateTimeStamp.EMPTY_DATE);
-        }
+        if (endTime == null)
+            timeSegment();
         return endTime;
     }
 
+    /**
+     * Find the start and end times of the segment in a single pass over the entry so that the
+     * entry is only decompressed once.
+     */
+    private void timeSegment() {
+        Deque<String> tail = new ArrayDeque<>(TAIL_LINES);
+        DateTimeStamp first = null;
+        try (Stream<String> lines = stream()) {
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (first == null && !line.contains(" file created ")) {
+                    DateTimeStamp dateTimeStamp = DateTimeStamp.fromGCLogLine(line);
+                    if (dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
+                        first = dateTimeStamp;
+                }
+                if (tail.size() == TAIL_LINES)
+                    tail.pollFirst();
+                tail.addLast(line);
+            }
+        }
+        startTime = (first != null) ? first : new DateTimeStamp(-1.0d);
+        endTime = tail.stream()
+                .filter(line -> ! line.contains("Saved as"))
+                .map(DateTimeStamp::fromGCLogLine)
+                .filter(dateTimeStamp -> dateTimeStamp.hasTimeStamp() || dateTimeStamp.hasDateStamp())
+                .max(Comparator.comparing(dateTimeStamp -> dateTimeStamp != null ? dateTimeStamp.getTimeStamp() : 0))
+                .orElse(DateTimeStamp.EMPTY_DATE);
+    }
+
     public <T> Collector<T, ?, List<T>> tail(int n) {
         return Collector.<T, Deque<T>, List<T>>of(ArrayDeque::new, (buffer, line) -> {
             if(buffer.size() == n)
@@ -122,6 +142,11 @@ public class GCLogFileZipSegment implements LogFileSegment {
         }
     }
 
+    @Override
+    public boolean isCompressed() {
+        return true;
+    }
+
     /**
      * Stream the file, one line at a time.
      * @return A stream of lines from the file.
@@ -130,7 +155,14 @@ public class GCLogFileZipSegment implements LogFileSegment {
         try {
             ZipFile file = new ZipFile(path.toFile());
             ZipEntry entry = file.getEntry(this.segmentName);
-            return new BufferedReader(new InputStreamReader(file.getInputStream(entry))).lines();
+            return new BufferedReader(new InputStreamReader(file.getInputStream(entry))).lines()
+                    .onClose(() -> {
+                        try {
+                            file.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
         } catch (IOException e) {
             e.printStackTrace();
         }
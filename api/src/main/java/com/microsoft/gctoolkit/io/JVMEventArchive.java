@@ -0,0 +1,145 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.PreUnifiedJavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.UnifiedJavaVirtualMachine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The events parsed from a GC log, saved to a file by {@code GCToolKit::archive} so that the log can be analyzed
+ * again without being parsed. When an archive is analyzed, its events are published straight to the aggregators,
+ * on the channels the parsers published them on, so the cost of an analysis is little more than that of reading
+ * the file.
+ * <p>
+ * The archive holds the {@link Diary} of the log and the sources of the events that were parsed from it, followed
+ * by the events as written by a {@link JVMEventWriter}. The events end with the {@code JVMTermination} events
+ * that the parsers published at the end of the log.
+ */
+public class JVMEventArchive implements DataSource<JVMEvent> {
+
+    private final Path path;
+    private Diary diary = null;
+    private Set<EventSource> eventSources = null;
+    private JavaVirtualMachine jvm = null;
+
+    /**
+     * @param path the path to an archive written by {@code GCToolKit::archive}.
+     */
+    public JVMEventArchive(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public Diary diary() throws IOException {
+        if (diary == null)
+            readHeader();
+        return diary;
+    }
+
+    /**
+     * @return the sources of the events in the archive.
+     * @throws IOException if the archive cannot be read.
+     */
+    public Set<EventSource> eventSources() throws IOException {
+        if (eventSources == null)
+            readHeader();
+        return eventSources;
+    }
+
+    private void readHeader() throws IOException {
+        try (JVMEventReader reader = open()) {
+            diary = reader.getDiary();
+            eventSources = reader.getEventSources();
+        }
+    }
+
+    /**
+     * Open the archive to read its events, with the channel each was published on.
+     * @return a reader positioned at the first event. The caller closes it.
+     * @throws IOException if the archive cannot be read.
+     */
+    public JVMEventReader open() throws IOException {
+        return new JVMEventReader(Files.newInputStream(path));
+    }
+
+    /**
+     * @return the JavaVirtualMachine implementation for the log that the archive was made from.
+     * @throws IOException if the archive cannot be read.
+     */
+    public JavaVirtualMachine getJavaVirtualMachine() throws IOException {
+        if (jvm == null)
+            jvm = diary().isUnifiedLogging() ? new UnifiedJavaVirtualMachine() : new PreUnifiedJavaVirtualMachine();
+        jvm.accepts(this);
+        return jvm;
+    }
+
+    @Override
+    public Stream<JVMEvent> stream() throws IOException {
+        JVMEventReader reader = open();
+        Iterator<JVMEvent> events = new Iterator<>() {
+            private JVMEvent next = null;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    if (next == null)
+                        next = reader.read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return next != null;
+            }
+
+            @Override
+            public JVMEvent next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                JVMEvent event = next;
+                next = null;
+                return event;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * The events end with the {@code JVMTermination} events published by the parsers, so there is no sentinel.
+     * @return {@code null}
+     */
+    @Override
+    public JVMEvent endOfData() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
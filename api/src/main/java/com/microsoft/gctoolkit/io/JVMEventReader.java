@@ -0,0 +1,422 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.SupportedFlags;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.microsoft.gctoolkit.io.JVMEventWriter.*;
+
+/**
+ * Reads the events written by a {@link JVMEventWriter}. A reader is not thread safe.
+ */
+public final class JVMEventReader implements Closeable {
+
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private final List<ArchivedSchema> schemas = new ArrayList<>();
+    private final Map<String, ZoneId> zones = new HashMap<>();
+    private final Map<String, Optional<Class<?>>> types = new HashMap<>();
+    private final Diary diary;
+    private final Set<EventSource> eventSources;
+    private ChannelName channel = null;
+    private boolean ended = false;
+
+    /**
+     * Start reading a stream of events written by a {@link JVMEventWriter}.
+     * @param in the stream. It is closed when the reader is closed.
+     * @throws IOException if the stream cannot be read, or was not written by a JVMEventWriter this reader
+     * understands.
+     */
+    public JVMEventReader(InputStream in) throws IOException {
+        this(in, true);
+    }
+
+    private JVMEventReader(InputStream in, boolean header) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        if (this.in.readInt() != MAGIC)
+            throw new IOException("Not a stream of JVMEvents");
+        int version = this.in.readUnsignedShort();
+        if (version > FORMAT_VERSION)
+            throw new IOException("JVMEvent stream format " + version + " is newer than the supported format " + FORMAT_VERSION);
+        if (header) {
+            this.diary = readDiary();
+            int count = readVarInt();
+            Set<EventSource> sources = EnumSet.noneOf(EventSource.class);
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                try {
+                    sources.add(EventSource.valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    // an event source that has since been removed
+                }
+            }
+            this.eventSources = Collections.unmodifiableSet(sources);
+        } else {
+            this.diary = null;
+            this.eventSources = Set.of();
+        }
+    }
+
+    /**
+     * Decode an event encoded by {@link JVMEventWriter#encode(JVMEvent)}.
+     * @param bytes the encoded event.
+     * @return the event.
+     */
+    public static JVMEvent decode(byte[] bytes) {
+        try (JVMEventReader reader = new JVMEventReader(new ByteArrayInputStream(bytes), false)) {
+            return reader.readEvent();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the diary of the GC log the events were parsed from.
+     */
+    public Diary getDiary() {
+        return diary;
+    }
+
+    /**
+     * @return the sources of the events parsed from the GC log.
+     */
+    public Set<EventSource> getEventSources() {
+        return eventSources;
+    }
+
+    /**
+     * Read the next event.
+     * @return the event, or {@code null} if there are no more events.
+     * @throws IOException if the stream cannot be read, is malformed or ends before the end of the events.
+     */
+    public JVMEvent read() throws IOException {
+        if (ended)
+            return null;
+        int record = in.read();
+        if (record == END) {
+            ended = true;
+            return null;
+        } else if (record != EVENT) {
+            throw (record < 0) ? new EOFException("JVMEvent stream ends before the end of the events") : new IOException("Unknown record " + record);
+        }
+        String name = readString();
+        try {
+            channel = ChannelName.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown channel " + name, e);
+        }
+        return readEvent();
+    }
+
+    /**
+     * @return the channel that the event last read was published on.
+     */
+    public ChannelName getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private JVMEvent readEvent() throws IOException {
+        Object value = readValue(in.readUnsignedByte());
+        if (!(value instanceof JVMEvent))
+            throw new IOException("Expected a JVMEvent but read " + value);
+        return (JVMEvent) value;
+    }
+
+    private Diary readDiary() throws IOException {
+        Diary read = new Diary();
+        int count = readVarInt();
+        for (int i = 0; i < count; i++) {
+            String name = readString();
+            boolean state = in.readBoolean();
+            try {
+                read.setState(SupportedFlags.valueOf(name), state);
+            } catch (IllegalArgumentException e) {
+                // a flag that has since been removed
+            }
+        }
+        Object timeOfFirstEvent = readValue(in.readUnsignedByte());
+        if (timeOfFirstEvent != null)
+            read.setTimeOfFirstEvent((DateTimeStamp) timeOfFirstEvent);
+        return read;
+    }
+
+    private Object readValue(int tag) throws IOException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INTEGRAL:
+                return readVarLong();
+            case FLOATING_POINT:
+                return in.readDouble();
+            case STRING:
+                return readString();
+            case ENUM:
+                return readEnum();
+            case DATE_TIME_STAMP:
+                return readDateTimeStamp();
+            case OBJECT:
+                return readObject();
+            case INT_ARRAY: {
+                int[] array = new int[readVarInt()];
+                for (int i = 0; i < array.length; i++)
+                    array[i] = (int) readVarLong();
+                return array;
+            }
+            case LONG_ARRAY: {
+                long[] array = new long[readVarInt()];
+                for (int i = 0; i < array.length; i++)
+                    array[i] = readVarLong();
+                return array;
+            }
+            case DOUBLE_ARRAY: {
+                double[] array = new double[readVarInt()];
+                for (int i = 0; i < array.length; i++)
+                    array[i] = in.readDouble();
+                return array;
+            }
+            case LIST: {
+                int size = readVarInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    list.add(readValue(in.readUnsignedByte()));
+                return list;
+            }
+            case MAP: {
+                int size = readVarInt();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++)
+                    map.put(readValue(in.readUnsignedByte()), readValue(in.readUnsignedByte()));
+                return map;
+            }
+            case OBJECT_ARRAY: {
+                Class<?> componentType = type(readString());
+                int length = readVarInt();
+                // the elements of an array of a class that has since been removed are read and dropped
+                Object[] array = (componentType == null) ? null : (Object[]) Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    Object element = readValue(in.readUnsignedByte());
+                    if (array != null && componentType.isInstance(element))
+                        array[i] = element;
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown value " + tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum() throws IOException {
+        Class<?> type = type(readString());
+        String name = readString();
+        if (type == null || !type.isEnum())
+            return null;
+        try {
+            return Enum.valueOf((Class<? extends Enum>) type, name);
+        } catch (IllegalArgumentException e) {
+            // a constant that has since been removed
+            return null;
+        }
+    }
+
+    private DateTimeStamp readDateTimeStamp() throws IOException {
+        int flags = in.readUnsignedByte();
+        double timeStamp = ((flags & HAS_TIME_STAMP) != 0) ? in.readDouble() : Double.NaN;
+        if ((flags & HAS_DATE) == 0)
+            return new DateTimeStamp(timeStamp);
+        long epochSecond = readVarLong();
+        int nanoOfSecond = readVarInt();
+        ZoneId zone = zones.computeIfAbsent(readString(), ZoneId::of);
+        return new DateTimeStamp(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanoOfSecond), zone), timeStamp);
+    }
+
+    private Object readObject() throws IOException {
+        int id = readVarInt();
+        ArchivedSchema schema;
+        if (id == 0) {
+            schema = schema(readString());
+            int count = readVarInt();
+            schema.fields = new Field[count];
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                schema.fields[i] = (schema.type == null) ? null : schema.type.field(name);
+            }
+            schemas.add(schema);
+        } else if (id <= schemas.size()) {
+            schema = schemas.get(id - 1);
+        } else {
+            throw new IOException("Unknown class " + id);
+        }
+
+        Object value = null;
+        try {
+            if (schema.type != null)
+                value = schema.type.newInstance();
+            for (Field field : schema.fields)
+                readField(value, (value == null) ? null : field);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Cannot read a " + schema.type.type().getName(), e);
+        }
+        return value;
+    }
+
+    /**
+     * Set the field from the next value. If the field has been removed from the class, or its type has been
+     * changed so that it cannot hold the value, the value is skipped.
+     */
+    private void readField(Object target, Field field) throws IOException, IllegalAccessException {
+        int tag = in.readUnsignedByte();
+        Class<?> type = (field == null) ? null : field.getType();
+        switch (tag) {
+            case INTEGRAL: {
+                long value = readVarLong();
+                if (type == int.class)
+                    field.setInt(target, (int) value);
+                else if (type == long.class)
+                    field.setLong(target, value);
+                else if (type != null && EventSchema.integral(value, type) != null)
+                    field.set(target, EventSchema.integral(value, type));
+                return;
+            }
+            case FLOATING_POINT: {
+                double value = in.readDouble();
+                if (type == double.class)
+                    field.setDouble(target, value);
+                else if (type != null && EventSchema.floatingPoint(value, type) != null)
+                    field.set(target, EventSchema.floatingPoint(value, type));
+                return;
+            }
+            case FALSE:
+            case TRUE:
+                if (type == boolean.class || type == Boolean.class)
+                    field.set(target, tag == TRUE);
+                return;
+            case MAP: {
+                Object value = readValue(tag);
+                Object current = (field == null) ? null : field.get(target);
+                if (current instanceof Map) {
+                    // keep the map the constructor created, which may be concurrent or sorted
+                    @SuppressWarnings("unchecked")
+                    Map<Object, Object> map = (Map<Object, Object>) current;
+                    map.clear();
+                    map.putAll((Map<?, ?>) value);
+                } else if (type != null && type.isInstance(value)) {
+                    field.set(target, value);
+                }
+                return;
+            }
+            default: {
+                Object value = readValue(tag);
+                if (type != null && ((value == null) ? !type.isPrimitive() : type.isInstance(value)))
+                    field.set(target, value);
+            }
+        }
+    }
+
+    private ArchivedSchema schema(String className) {
+        ArchivedSchema schema = new ArchivedSchema();
+        Class<?> type = type(className);
+        // the values of a class that has since been removed are read as null
+        schema.type = (type == null) ? null : EventSchema.of(type);
+        return schema;
+    }
+
+    /**
+     * @return the class, or {@code null} if it has been removed.
+     */
+    private Class<?> type(String className) {
+        return types.computeIfAbsent(className, name -> {
+            try {
+                return Optional.of(Class.forName(name, false, classLoader()));
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return (loader != null) ? loader : JVMEventReader.class.getClassLoader();
+    }
+
+    private String readString() throws IOException {
+        int id = readVarInt();
+        if (id > 0) {
+            if (id > strings.size())
+                throw new IOException("Unknown string " + id);
+            return strings.get(id - 1);
+        }
+        byte[] bytes = new byte[readVarInt()];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    private int readVarInt() throws IOException {
+        return (int) readUnsignedVarLong();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    private long readUnsignedVarLong() throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed number");
+    }
+
+    /**
+     * A class as it was when the events were written, and its fields as they are now.
+     */
+    private static final class ArchivedSchema {
+        // null if the class no longer exists
+        private EventSchema type;
+        private Field[] fields;
+    }
+}
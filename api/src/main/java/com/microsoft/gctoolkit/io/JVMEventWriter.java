@@ -0,0 +1,315 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.SupportedFlags;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes JVMEvents in a compact binary form that {@link JVMEventReader} reads back. Each event is written with the
+ * channel it was published on, so that it can be published on the same channel when it is read.
+ * <p>
+ * Every field of an event, including the summaries it holds, is written. The names of classes, fields and enum
+ * constants, and any other string, are written in full the first time they are seen and as a number thereafter.
+ * Whole numbers are written in as few bytes as they need. Because events are written field by field under the
+ * name of each field, an archive can still be read after fields have been added to or removed from an event.
+ * Fields that are unknown when an archive is read are skipped, and fields that are missing keep the values
+ * given them by the constructor of the event.
+ * <p>
+ * A writer may be used by more than one thread. The stream is not complete until the writer has been closed.
+ */
+public final class JVMEventWriter implements Closeable {
+
+    static final int MAGIC = 0x4743544B; // GCTK
+    static final int FORMAT_VERSION = 1;
+
+    // Records
+    static final int END = 0;
+    static final int EVENT = 1;
+
+    // Values
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INTEGRAL = 3;
+    static final int FLOATING_POINT = 4;
+    static final int STRING = 5;
+    static final int ENUM = 6;
+    static final int DATE_TIME_STAMP = 7;
+    static final int OBJECT = 8;
+    static final int INT_ARRAY = 9;
+    static final int LONG_ARRAY = 10;
+    static final int DOUBLE_ARRAY = 11;
+    static final int LIST = 12;
+    static final int MAP = 13;
+    static final int OBJECT_ARRAY = 14;
+
+    // Flags of a DateTimeStamp
+    static final int HAS_DATE = 1;
+    static final int HAS_TIME_STAMP = 2;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Class<?>, Integer> schemas = new HashMap<>();
+    private boolean closed = false;
+
+    /**
+     * Start a stream of events parsed from a GC log.
+     * @param out where the events are written. It is closed when the writer is closed.
+     * @param diary the diary of the GC log.
+     * @param eventSources the sources of the events parsed from the GC log.
+     * @throws IOException if the stream cannot be written.
+     */
+    public JVMEventWriter(OutputStream out, Diary diary, Set<EventSource> eventSources) throws IOException {
+        this(out);
+        writeDiary(diary);
+        writeVarInt(eventSources.size());
+        for (EventSource eventSource : eventSources)
+            writeString(eventSource.name());
+    }
+
+    private JVMEventWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(FORMAT_VERSION);
+    }
+
+    /**
+     * Encode a single event, which {@link JVMEventReader#decode(byte[])} decodes.
+     * @param event the event.
+     * @return the encoded event.
+     */
+    public static byte[] encode(JVMEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (JVMEventWriter writer = new JVMEventWriter(bytes)) {
+            writer.writeValue(event);
+            writer.out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write an event.
+     * @param channel the channel the event was published on.
+     * @param event the event.
+     * @throws IOException if the event cannot be written.
+     * @throws IllegalArgumentException if the event holds a value of a type that cannot be written.
+     */
+    public synchronized void write(ChannelName channel, JVMEvent event) throws IOException {
+        if (closed)
+            throw new IOException("JVMEventWriter is closed");
+        out.writeByte(EVENT);
+        writeString(channel.name());
+        writeValue(event);
+    }
+
+    /**
+     * Mark the end of the events and close the underlying stream.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            out.writeByte(END);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeDiary(Diary diary) throws IOException {
+        List<SupportedFlags> known = new ArrayList<>();
+        for (SupportedFlags flag : SupportedFlags.values())
+            if (diary.isStateKnown(flag))
+                known.add(flag);
+        writeVarInt(known.size());
+        for (SupportedFlags flag : known) {
+            writeString(flag.name());
+            out.writeBoolean(diary.isTrue(flag));
+        }
+        writeValue(diary.getTimeOfFirstEvent());
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeIntegral(((Number) value).longValue());
+        } else if (value instanceof Character) {
+            writeIntegral((Character) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeFloatingPoint(((Number) value).doubleValue());
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString((String) value);
+        } else if (value instanceof Enum) {
+            out.writeByte(ENUM);
+            writeString(((Enum<?>) value).getDeclaringClass().getName());
+            writeString(((Enum<?>) value).name());
+        } else if (value instanceof DateTimeStamp) {
+            writeDateTimeStamp((DateTimeStamp) value);
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            out.writeByte(INT_ARRAY);
+            writeVarInt(array.length);
+            for (int element : array)
+                writeVarLong(zigZag(element));
+        } else if (value instanceof long[]) {
+            long[] array = (long[]) value;
+            out.writeByte(LONG_ARRAY);
+            writeVarInt(array.length);
+            for (long element : array)
+                writeVarLong(zigZag(element));
+        } else if (value instanceof double[]) {
+            double[] array = (double[]) value;
+            out.writeByte(DOUBLE_ARRAY);
+            writeVarInt(array.length);
+            for (double element : array)
+                out.writeDouble(element);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            writeVarInt(list.size());
+            for (Object element : list)
+                writeValue(element);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else if (value instanceof Object[] && !value.getClass().getComponentType().getName().startsWith("java.")) {
+            Object[] array = (Object[]) value;
+            out.writeByte(OBJECT_ARRAY);
+            writeString(value.getClass().getComponentType().getName());
+            writeVarInt(array.length);
+            for (Object element : array)
+                writeValue(element);
+        } else if (value.getClass().isArray() || value.getClass().getName().startsWith("java.")) {
+            throw new IllegalArgumentException("Cannot write a " + value.getClass().getName());
+        } else {
+            writeObject(value);
+        }
+    }
+
+    private void writeObject(Object value) throws IOException {
+        EventSchema schema = EventSchema.of(value.getClass());
+        out.writeByte(OBJECT);
+        Integer id = schemas.get(schema.type());
+        if (id != null) {
+            writeVarInt(id + 1);
+        } else {
+            schemas.put(schema.type(), schemas.size());
+            writeVarInt(0);
+            writeString(schema.type().getName());
+            writeVarInt(schema.fields().size());
+            for (String name : schema.fields().keySet())
+                writeString(name);
+        }
+        try {
+            for (Field field : schema.fields().values())
+                writeField(value, field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot write a " + value.getClass().getName(), e);
+        }
+    }
+
+    private void writeField(Object value, Field field) throws IOException, IllegalAccessException {
+        Class<?> type = field.getType();
+        if (type == int.class)
+            writeIntegral(field.getInt(value));
+        else if (type == long.class)
+            writeIntegral(field.getLong(value));
+        else if (type == double.class)
+            writeFloatingPoint(field.getDouble(value));
+        else if (type == boolean.class)
+            out.writeByte(field.getBoolean(value) ? TRUE : FALSE);
+        else
+            writeValue(field.get(value));
+    }
+
+    private void writeDateTimeStamp(DateTimeStamp value) throws IOException {
+        out.writeByte(DATE_TIME_STAMP);
+        ZoneId zone = value.getZone();
+        int flags = (zone != null ? HAS_DATE : 0) | (value.hasTimeStamp() ? HAS_TIME_STAMP : 0);
+        out.writeByte(flags);
+        if (value.hasTimeStamp())
+            out.writeDouble(value.getUptime());
+        if (zone != null) {
+            writeVarLong(zigZag(value.getEpochSecond()));
+            writeVarInt(value.getNanoOfSecond());
+            writeString(zone.getId());
+        }
+    }
+
+    private void writeIntegral(long value) throws IOException {
+        out.writeByte(INTEGRAL);
+        writeVarLong(zigZag(value));
+    }
+
+    private void writeFloatingPoint(double value) throws IOException {
+        out.writeByte(FLOATING_POINT);
+        out.writeDouble(value);
+    }
+
+    /**
+     * A string is written in full, preceded by 0, the first time it is seen. It is then known by the order in which
+     * it was first seen, and is written as that number plus 1.
+     */
+    private void writeString(String value) throws IOException {
+        Integer id = strings.get(value);
+        if (id != null) {
+            writeVarInt(id + 1);
+            return;
+        }
+        strings.put(value, strings.size());
+        writeVarInt(0);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7FL) | 0x80L));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
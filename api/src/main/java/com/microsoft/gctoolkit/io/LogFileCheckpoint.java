@@ -0,0 +1,135 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.jvm.Diary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Records how much of a GC log has been read so that a later read can start where the last one stopped.
+ * For each segment of the log, the checkpoint holds the byte offset following the last complete line read.
+ * The {@link Diary} of the log is held as well, so that the log does not need to be read from the beginning
+ * again to discover it.
+ * <p>
+ * Segments are recognized by file identity rather than by name so that a segment which is renamed when the
+ * log rotates is still recognized. Where the file system does not provide a file key, the path and the creation
+ * time of the file are used instead. Compressed segments cannot be read from an offset; they are read once, in
+ * full, and skipped thereafter.
+ * <p>
+ * A checkpoint is advanced by {@link GCLogFile#stream(LogFileCheckpoint)} once every line of the stream has been
+ * consumed.
+ */
+public final class LogFileCheckpoint {
+
+    private static final int BLOCK_SIZE = 8 * 1024;
+
+    private Map<Object, Long> offsets = new HashMap<>();
+    private Diary diary;
+
+    /**
+     * Create an empty checkpoint. The first read using an empty checkpoint starts from the beginning of the log.
+     */
+    public LogFileCheckpoint() {}
+
+    /**
+     * @return the diary of the log, or {@code null} if nothing has been read using this checkpoint.
+     */
+    public Diary getDiary() {
+        return diary;
+    }
+
+    void setDiary(Diary diary) {
+        this.diary = diary;
+    }
+
+    /**
+     * Return the offset that the next read of the file at the given path will start from.
+     * @param path The path to a segment of the log.
+     * @return the number of bytes of the file that have been read, or 0 if the file has not been read.
+     * @throws IOException if the attributes of the file cannot be read.
+     */
+    public long offset(Path path) throws IOException {
+        return offsets.getOrDefault(identity(path), 0L);
+    }
+
+    /**
+     * Stream the complete lines of the segment that follow the checkpoint. The offset that the stream will
+     * read up to is recorded in {@code reached}.
+     */
+    Stream<String> linesSince(LogFileSegment segment, Map<Object, Long> reached) {
+        try {
+            Path path = segment.getPath();
+            if (segment.isCompressed()) {
+                Object key = (segment instanceof GCLogFileZipSegment) ? List.of(identity(path), segment.getSegmentName()) : identity(path);
+                reached.put(key, Files.size(path));
+                if (offsets.containsKey(key))
+                    return Stream.empty();
+                return segment.stream()
+                        .filter(Objects::nonNull)
+                        .map(String::trim)
+                        .filter(s -> s.length() > 0);
+            }
+            Object key = identity(path);
+            long start = offsets.getOrDefault(key, 0L);
+            long end = endOfLastLine(path);
+            // The file has been truncated and written again.
+            if (end < start)
+                start = 0L;
+            reached.put(key, end);
+            return MappedLineReader.lines(path, start, end);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Move the checkpoint to the offsets that have been read. Segments that were not seen are forgotten.
+     */
+    void advance(Map<Object, Long> reached) {
+        offsets = new HashMap<>(reached);
+    }
+
+    private static Object identity(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return (attributes.fileKey() != null) ? attributes.fileKey() : List.of(path.toAbsolutePath().normalize(), attributes.creationTime());
+    }
+
+    /**
+     * The JVM may be part way through writing a line. Find the offset following the last line terminator so that
+     * a partially written line is left to be read at the next checkpoint.
+     */
+    private static long endOfLastLine(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+            long blockEnd = channel.size();
+            while (blockEnd > 0) {
+                long blockStart = Math.max(0L, blockEnd - BLOCK_SIZE);
+                block.clear().limit((int) (blockEnd - blockStart));
+                int count;
+                do {
+                    count = channel.read(block, blockStart + block.position());
+                } while (count > 0 && block.hasRemaining());
+                for (int i = block.position() - 1; i >= 0; i--) {
+                    byte b = block.get(i);
+                    if (b == '\n' || b == '\r')
+                        return blockStart + i + 1;
+                }
+                blockEnd = blockStart;
+            }
+            return 0L;
+        }
+    }
+}
@@ -2,6 +2,9 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.io;
 
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.parser.datatype.TripleState;
+
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -24,6 +27,10 @@ public abstract class LogFileMetadata {
     private FileFormat fileFormat = FileFormat.UNKNOWN;
     private final Path path;
 
+    // Results of the discovery pass made by GCLogFile. Cached here so the log is not re-read before analysis.
+    private TripleState unifiedFormat = TripleState.UNKNOWN;
+    private Diary diary;
+
     public LogFileMetadata(Path path) throws IOException {
         this.path = path;
         magic();
@@ -46,6 +53,30 @@ public abstract class LogFileMetadata {
 
     public abstract Stream<LogFileSegment> logFiles();
 
+    /**
+     * Whether or not the log is in unified logging (JEP 158) format, if this has been discovered.
+     * @return {@code TripleState.UNKNOWN} until the log has been examined.
+     */
+    TripleState getUnifiedFormat() {
+        return unifiedFormat;
+    }
+
+    void setUnifiedFormat(TripleState unifiedFormat) {
+        this.unifiedFormat = unifiedFormat;
+    }
+
+    /**
+     * The diary built while discovering the format of the log.
+     * @return the diary, or {@code null} if the log has not been examined.
+     */
+    public Diary getDiary() {
+        return diary;
+    }
+
+    void setDiary(Diary diary) {
+        this.diary = diary;
+    }
+
     private void magic() {
         if (getPath().toFile().isDirectory())
             fileFormat = FileFormat.DIRECTORY;
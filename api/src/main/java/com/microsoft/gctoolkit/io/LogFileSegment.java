@@ -6,7 +6,7 @@ import java.util.stream.Stream;
 
 public interface LogFileSegment {
 
-    String ROTATING_LOG_SUFFIX = ".*\\.(\\d+)(\\.current)?$";
+    String ROTATING_LOG_SUFFIX = ".*\\.(\\d+)(\\.current)?(?:\\.gz)?$";
     Pattern ROTATING_LOG_PATTERN = Pattern.compile(ROTATING_LOG_SUFFIX);
 
     Path getPath();
@@ -14,4 +14,12 @@ public interface LogFileSegment {
     double getStartTime();
     double getEndTime();
     Stream<String> stream();
+
+    /**
+     * Return {@code true} if the segment has to be decompressed to be read.
+     * @return {@code true} if the segment is compressed.
+     */
+    default boolean isCompressed() {
+        return false;
+    }
 }
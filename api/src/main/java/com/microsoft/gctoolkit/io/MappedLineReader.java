@@ -0,0 +1,220 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the lines of a plain text file by memory mapping the file and splitting lines directly
+ * on the mapped bytes. Leading and trailing white space is trimmed and blank lines are dropped
+ * before a line is decoded into a {@code String}, which avoids creating a {@code String} for
+ * every line only to throw it away again.
+ * <p>
+ * The lines produced are the same as those produced by
+ * {@code Files.lines(path).filter(line -> !line.isBlank()).map(String::trim)}. Lines that are
+ * entirely ASCII take a fast path. Lines containing non-ASCII bytes are decoded as UTF-8 and
+ * then checked with {@link String#isBlank()} to preserve the semantics of the {@code String} based filter.
+ * <p>
+ * Files larger than the mapping window are mapped one window at a time. A window always starts
+ * at the beginning of a line so that a line never straddles two mappings. A line longer than the
+ * window is mapped in a window that is doubled until the whole line fits.
+ */
+final class MappedLineReader implements Iterator<String> {
+
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 512;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final int SPACE = ' ';
+
+    private final FileChannel channel;
+    private final long endOffset;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowOffset;
+    private byte[] lineBuffer = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private String next;
+
+    /**
+     * Return the non-blank, trimmed lines of a plain text file as a stream. The underlying file
+     * channel is released when the last line has been read or when the stream is closed.
+     * @param path The path to the file.
+     * @return A stream of the non-blank, trimmed lines of the file.
+     * @throws IOException if the file cannot be opened or mapped.
+     */
+    static Stream<String> lines(Path path) throws IOException {
+        return lines(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    static Stream<String> lines(Path path, int windowSize) throws IOException {
+        return lines(path, 0L, -1L, windowSize);
+    }
+
+    /**
+     * Return the non-blank, trimmed lines in the byte range {@code [start, end)} of a plain text file.
+     * {@code start} should be the beginning of a line.
+     * @param path The path to the file.
+     * @param start The offset of the first byte to read.
+     * @param end The offset following the last byte to read.
+     * @return A stream of the non-blank, trimmed lines in the range.
+     * @throws IOException if the file cannot be opened or mapped.
+     */
+    static Stream<String> lines(Path path, long start, long end) throws IOException {
+        return lines(path, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    private static Stream<String> lines(Path path, long start, long end, int windowSize) throws IOException {
+        MappedLineReader reader = new MappedLineReader(FileChannel.open(path, StandardOpenOption.READ), start, end, windowSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(reader::close);
+    }
+
+    /**
+     * @param end the offset at which to stop reading, or a negative value to read to the end of the file.
+     */
+    private MappedLineReader(FileChannel channel, long start, long end, int windowSize) throws IOException {
+        this.channel = channel;
+        this.windowSize = windowSize;
+        try {
+            this.endOffset = (end < 0L) ? channel.size() : Math.min(end, channel.size());
+            map(Math.min(start, endOffset), 0L);
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && window != null) {
+            try {
+                next = readLine();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            // release the file as soon as it has been read, even if the stream is never closed.
+            if (next == null) {
+                window = null;
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        String line = next;
+        next = null;
+        return line;
+    }
+
+    private void close() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Map a window of the file starting at {@code offset}. The window is at least
+     * {@code minimumLength} bytes long, or extends to the end of the file.
+     */
+    private void map(long offset, long minimumLength) throws IOException {
+        long length = Math.min(endOffset - offset, Math.max(windowSize, minimumLength));
+        if (length > Integer.MAX_VALUE)
+            throw new IOException("Line at offset " + offset + " is too long to be mapped");
+        windowOffset = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    /**
+     * Find the next line that is not blank once trimmed.
+     * @return the trimmed line, or {@code null} at end of file.
+     */
+    private String readLine() throws IOException {
+        while (true) {
+            int start = window.position();
+            int limit = window.limit();
+            int end = start;
+            while (end < limit) {
+                byte b = window.get(end);
+                if (b == LF || b == CR)
+                    break;
+                end++;
+            }
+
+            if (end == limit && windowOffset + limit < endOffset) {
+                // The line continues past the end of the window. Remap from the start of the line with
+                // twice the room, so that a long line is mapped a logarithmic number of times.
+                map(windowOffset + start, 2L * (limit - start));
+                continue;
+            }
+
+            if (start == limit)
+                return null;
+
+            // consume the line terminator, treating \r\n as a single terminator.
+            int nextLine = end;
+            if (nextLine < limit) {
+                if (window.get(nextLine) == CR && nextLine + 1 < limit && window.get(nextLine + 1) == LF)
+                    nextLine++;
+                else if (window.get(nextLine) == CR && nextLine + 1 == limit && windowOffset + limit < endOffset) {
+                    // \r is the last byte of the window; look past the window for a trailing \n
+                    map(windowOffset + start, (long) (limit - start) + 1);
+                    continue;
+                }
+                nextLine++;
+            }
+            String line = decode(start, end);
+            window.position(nextLine);
+            if (line != null)
+                return line;
+        }
+    }
+
+    /**
+     * Trim and decode the bytes in {@code [start, end)}.
+     * @return the trimmed line, or {@code null} if the line is blank.
+     */
+    private String decode(int start, int end) {
+        // Characters trimmed by String.trim() are all single byte in UTF-8.
+        while (start < end && (window.get(start) & 0xFF) <= SPACE)
+            start++;
+        while (end > start && (window.get(end - 1) & 0xFF) <= SPACE)
+            end--;
+        if (start == end)
+            return null;
+
+        int length = end - start;
+        if (lineBuffer.length < length)
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        window.position(start);
+        window.get(lineBuffer, 0, length);
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++)
+            ascii = lineBuffer[i] >= 0;
+
+        if (ascii)
+            return new String(lineBuffer, 0, length, StandardCharsets.ISO_8859_1);
+
+        String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+        return line.isBlank() ? null : line.trim();
+    }
+}
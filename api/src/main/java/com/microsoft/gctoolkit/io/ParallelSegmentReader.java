@@ -0,0 +1,174 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the segments of a rotating log concurrently. Each segment is read, trimmed and filtered
+ * in its own task. The lines are handed out in segment order so that the consumer sees the same
+ * sequence of lines as it would if the segments were read one after the other.
+ * <p>
+ * At most {@code parallelism} segments are read ahead of the segment being consumed. Each task
+ * hands its lines over through a queue of at most {@link #LINES_PER_SEGMENT} lines, and waits
+ * when the queue is full, so a compressed segment is never decompressed into memory as a whole.
+ */
+final class ParallelSegmentReader implements Iterator<String> {
+
+    static final int LINES_PER_SEGMENT = 4096;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // Marks the end of the lines of a segment. Compared by identity, so it cannot be confused with a line.
+    private static final String END_OF_SEGMENT = new String("");
+
+    private final Iterator<LogFileSegment> segments;
+    private final ExecutorService executor;
+    private final ArrayDeque<SegmentTask> inFlight;
+    private String next;
+
+    /**
+     * Stream the lines of the segments, in order, reading up to {@code parallelism} segments concurrently.
+     * Lines are trimmed and empty lines removed.
+     * @param segments the segments, in the order they are to be streamed.
+     * @param parallelism the maximum number of segments read concurrently.
+     * @return the lines of all segments, in segment order.
+     */
+    static Stream<String> lines(List<LogFileSegment> segments, int parallelism) {
+        ParallelSegmentReader reader = new ParallelSegmentReader(segments, parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(reader::close);
+    }
+
+    private ParallelSegmentReader(List<LogFileSegment> segments, int parallelism) {
+        int threads = Math.max(1, Math.min(parallelism, segments.size()));
+        this.segments = segments.iterator();
+        this.inFlight = new ArrayDeque<>(threads);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "gctoolkit-segment-reader-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++)
+            submitNext();
+        if (inFlight.isEmpty())
+            executor.shutdown();
+    }
+
+    private void submitNext() {
+        if (segments.hasNext()) {
+            SegmentTask task = new SegmentTask(segments.next());
+            task.future = executor.submit(task);
+            inFlight.addLast(task);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !inFlight.isEmpty()) {
+            SegmentTask head = inFlight.peekFirst();
+            String line;
+            try {
+                line = head.lines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new CancellationException("Interrupted while reading log segments");
+            }
+            if (line != END_OF_SEGMENT) {
+                next = line;
+            } else {
+                inFlight.removeFirst();
+                if (head.failure != null) {
+                    close();
+                    if (head.failure instanceof UncheckedIOException)
+                        throw (UncheckedIOException) head.failure;
+                    throw new IllegalStateException("Unable to read log segment", head.failure);
+                }
+                submitNext();
+                if (inFlight.isEmpty())
+                    executor.shutdown();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        String line = next;
+        next = null;
+        return line;
+    }
+
+    private void close() {
+        inFlight.forEach(task -> task.future.cancel(true));
+        inFlight.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reads one segment into its queue, ending with {@link #END_OF_SEGMENT}.
+     */
+    private static final class SegmentTask implements Runnable {
+
+        private final LogFileSegment segment;
+        private final BlockingQueue<String> lines = new ArrayBlockingQueue<>(LINES_PER_SEGMENT);
+        private volatile Throwable failure;
+        private Future<?> future;
+
+        SegmentTask(LogFileSegment segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        public void run() {
+            try {
+                read();
+            } catch (InterruptedException e) {
+                // the stream has been closed and the task cancelled.
+                return;
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            try {
+                lines.put(END_OF_SEGMENT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void read() throws InterruptedException {
+            Stream<String> stream = segment.stream();
+            if (stream == null)
+                return;
+            try (stream) {
+                Iterator<String> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (line == null)
+                        continue;
+                    line = line.trim();
+                    if (line.length() > 0)
+                        lines.put(line);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the lines of a file from the end to the beginning. The file is read through a {@link FileChannel}
+ * in fixed size blocks so that finding the last lines of a large file costs one read per block rather
+ * than one read per byte. A line may be terminated by {@code \n}, {@code \r} or {@code \r\n}.
+ */
+final class ReverseLineReader implements Closeable {
+
+    private static final int DEFAULT_BLOCK_SIZE = 8192;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final FileChannel channel;
+    private final int blockSize;
+
+    // Unread data is held in buffer[start, end). buffer[start] is at offset fileOffset in the file.
+    private byte[] buffer;
+    private int start;
+    private int end;
+    private long fileOffset;
+    private boolean exhausted;
+
+    ReverseLineReader(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    ReverseLineReader(Path path, int blockSize) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), blockSize);
+    }
+
+    /**
+     * Read the lines of a file that is already open. The lines are read at their positions in the file, so the
+     * position of the channel is neither used nor changed. Closing the reader closes the channel.
+     * @param channel the open file.
+     */
+    ReverseLineReader(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_BLOCK_SIZE);
+    }
+
+    private ReverseLineReader(FileChannel channel, int blockSize) throws IOException {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.buffer = new byte[blockSize];
+        this.start = blockSize;
+        this.end = blockSize;
+        try {
+            this.fileOffset = channel.size();
+            this.exhausted = fileOffset == 0;
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+    }
+
+    /**
+     * Return the last lines of the file, in the order in which they appear in the file.
+     * @param numberOfLines the maximum number of lines to return.
+     * @return up to {@code numberOfLines} lines from the end of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    List<String> tail(int numberOfLines) throws IOException {
+        List<String> lines = new ArrayList<>(numberOfLines);
+        String line;
+        while (lines.size() < numberOfLines && (line = readLine()) != null)
+            lines.add(line);
+        Collections.reverse(lines);
+        return lines;
+    }
+
+    /**
+     * Return the line preceding the last line returned, or the last line of the file on the first call.
+     * @return the previous line, or {@code null} when the beginning of the file has been reached.
+     * @throws IOException if the file cannot be read.
+     */
+    String readLine() throws IOException {
+        if (exhausted)
+            return null;
+
+        // Remove the terminator of the line being read.
+        if (ensureAvailable(1) && (buffer[end - 1] == LF || buffer[end - 1] == CR)) {
+            byte terminator = buffer[--end];
+            if (terminator == LF && ensureAvailable(1) && buffer[end - 1] == CR)
+                end--;
+        }
+
+        int scanned = end;
+        while (true) {
+            for (int i = scanned - 1; i >= start; i--) {
+                if (buffer[i] == LF || buffer[i] == CR) {
+                    String line = decode(i + 1, end);
+                    end = i + 1;
+                    return line;
+                }
+            }
+            int scannedFromEnd = end - start;
+            if (!readPreviousBlock()) {
+                // The first line of the file.
+                exhausted = true;
+                return decode(start, end);
+            }
+            scanned = end - scannedFromEnd;
+        }
+    }
+
+    private String decode(int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Make sure that at least {@code count} unread bytes are in the buffer, if the file has them.
+     */
+    private boolean ensureAvailable(int count) throws IOException {
+        while (end - start < count)
+            if (!readPreviousBlock())
+                return false;
+        return true;
+    }
+
+    /**
+     * Read the block preceding the unread data into the buffer.
+     * @return {@code false} if the beginning of the file has already been read.
+     */
+    private boolean readPreviousBlock() throws IOException {
+        if (fileOffset == 0)
+            return false;
+        int length = (int) Math.min(blockSize, fileOffset);
+        int unread = end - start;
+        if (start < length) {
+            byte[] grown = (buffer.length < unread + length) ? new byte[Math.max(buffer.length * 2, unread + length)] : buffer;
+            System.arraycopy(buffer, start, grown, grown.length - unread, unread);
+            buffer = grown;
+            end = buffer.length;
+            start = end - unread;
+        }
+        fileOffset -= length;
+        ByteBuffer block = ByteBuffer.wrap(buffer, start - length, length);
+        while (block.hasRemaining())
+            if (channel.read(block, fileOffset + block.position() - (start - length)) < 0)
+                throw new IOException("Unexpected end of file");
+        start -= length;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -2,23 +2,13 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.SequenceInputStream;
-import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Vector;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 /**
  * A collection of rotating GC log files. The collection will contain only those files that can be
@@ -34,9 +24,23 @@ public class RotatingGCLogFile extends GCLogFile {
      * @param path the path to a rotating log file, or to a directory containing rotating log files.
      */
     public RotatingGCLogFile(Path path) {
+        this(path, 1);
+    }
+
+    /**
+     * Use the given path to find rotating log files, reading up to {@code parallelism} segments concurrently
+     * when the log is streamed. Each segment is decoded, trimmed and filtered in its own task. Lines are still
+     * streamed in rotating order. A {@code parallelism} of 1 or less reads the segments one after the other.
+     * @param path the path to a rotating log file, or to a directory containing rotating log files.
+     * @param parallelism the maximum number of segments to read concurrently.
+     */
+    public RotatingGCLogFile(Path path, int parallelism) {
         super(path);
+        this.parallelism = parallelism;
     }
 
+    private final int parallelism;
+
     private RotatingLogFileMetadata metaData;
 
     public LogFileMetadata getMetaData() throws IOException {
@@ -47,68 +51,33 @@ public class RotatingGCLogFile extends GCLogFile {
 
     @Override
     public Stream<String> stream() throws IOException {
-        if ( getMetaData().isDirectory() || getMetaData().isPlainText() || getMetaData().isZip())
-            return Stream.concat(
-                    getMetaData().logFiles()
-                    .flatMap(LogFileSegment::stream)
-                    .filter(Objects::nonNull)
-                    .map(String::trim)
-                    .filter(s -> s.length() > 0),
-                    Stream.of(endOfData()));
-        else // yes, this is returning an empty stream.
+        if ( ! (getMetaData().isDirectory() || getMetaData().isPlainText() || getMetaData().isZip() || getMetaData().isGZip()))
+            // yes, this is returning an empty stream.
             return Stream.of(endOfData());
-    }
 
-    private Stream<String> stream(LogFileMetadata metadata, LinkedList<GCLogFileSegment> segments) throws IOException {
-        //todo: find rolling files....
-        if (metadata.isPlainText() || metadata.isDirectory()) {
-            switch (segments.size()) {
-                case 0:
-                    String[] empty = new String[0];
-                    return Arrays.stream(empty);
-                case 1:
-                    return segments.getFirst().stream();
-                default:
-                    // This code removes elements from the list of segments, so work on a copy.
-                    LinkedList<GCLogFileSegment> copySegments = new LinkedList<>(segments);
-                    Stream<String> allSegments = Stream.concat(copySegments.removeFirst().stream(), copySegments.removeFirst().stream());
-                    while (!copySegments.isEmpty())
-                        allSegments = Stream.concat(allSegments, copySegments.removeFirst().stream());
-                    return allSegments;
-            }
-        } else if (metadata.isZip()) {
-            return streamZipFile();
-        } else if (metadata.isGZip()) {
-            throw new IOException("Unable to stream GZip files. Please unzip and retry");
-        }
-        throw new IOException("Unrecognised file type");
+        List<LogFileSegment> segments = getOrderedGarbageCollectionLogFiles();
+        // Compressed segments are decompressed on a background thread, at least one segment ahead of the consumer.
+        int readers = segments.stream().anyMatch(LogFileSegment::isCompressed) ? Math.max(2, parallelism) : parallelism;
+        if ( readers > 1)
+            return Stream.concat(
+                    ParallelSegmentReader.lines(segments, readers),
+                    Stream.of(endOfData()));
+        return Stream.concat(
+                segments.stream()
+                .flatMap(LogFileSegment::stream)
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> s.length() > 0),
+                Stream.of(endOfData()));
     }
 
-    @SuppressWarnings("resource")
-    private Stream<String> streamZipFile() throws IOException {
-        ZipFile zipFile = new ZipFile(path.toFile());
-        List<ZipEntry> entries = zipFile.stream().filter(entry -> !entry.isDirectory()).collect(Collectors.toList());
-        Vector<InputStream> streams = new Vector<>();
-
-        try {
-            entries
-                    .stream()
-                    .map(entry -> {
-                        try {
-                            return zipFile.getInputStream(entry);
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .forEach(streams::add);
-        } catch (UncheckedIOException uioe) {
-            throw uioe.getCause();
-        }
-
-        SequenceInputStream sequenceInputStream = new SequenceInputStream(streams.elements());
-        
-        return new BufferedReader(new InputStreamReader(sequenceInputStream)).lines();
+    /**
+     * The segments are found again each time so that a log which has rotated since it was last read
+     * is read in its current order.
+     */
+    @Override
+    protected List<LogFileSegment> segments() throws IOException {
+        return new RotatingLogFileMetadata(getPath()).logFiles().collect(Collectors.toList());
     }
 
     /**
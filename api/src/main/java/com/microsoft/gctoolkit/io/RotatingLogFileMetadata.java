@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,7 +33,7 @@ public class RotatingLogFileMetadata extends LogFileMetadata {
 
     public Stream<LogFileSegment> logFiles() {
         if ( segments == null) {
-            if ( isPlainText() || isDirectory())
+            if ( isPlainText() || isDirectory() || isGZip())
                 findSegments();
             else if ( isZip())
                 findZIPSegments();
@@ -92,11 +93,11 @@ public class RotatingLogFileMetadata extends LogFileMetadata {
         // so  that we can normalize the code path for zip and file based logs????
         String[] bits;
         if (isDirectory()) {
-            // if base is gc.log, filter out gc.log.<number>
+            // if base is gc.log, filter out gc.log.<number> and gc.log.<number>.gz
             bits = segments.stream()
-                    .filter(segment -> !segment.getSegmentName().matches(".+\\.\\d+$"))
+                    .filter(segment -> !segment.getSegmentName().matches(".+\\.\\d+(\\.gz)?$"))
                     .findFirst()
-                    .get()
+                    .orElse(segments.get(0))
                     .getSegmentName().split("\\.");
         } else if ( isZip()) {
             bits = segments.get(0).getSegmentName().split("\\.");
@@ -104,6 +105,10 @@ public class RotatingLogFileMetadata extends LogFileMetadata {
             bits = getPath().getFileName().toString().split("\\.");
         }
 
+        // a compressed segment has a .gz suffix following the rotating log suffix
+        if ( bits.length > 1 && "gz".equals(bits[bits.length - 1]))
+            bits = Arrays.copyOf(bits, bits.length - 1);
+
         int baseLength = 0;
         if ( "current".equals(bits[bits.length - 1]))
             baseLength = bits.length - 2;
@@ -143,14 +148,20 @@ public class RotatingLogFileMetadata extends LogFileMetadata {
         List<LogFileSegment> workingList = new ArrayList<>();
         workingList.addAll(segments);
 
-        // Find current
+        // Find current. When every segment has been rotated (and perhaps compressed), there is no current
+        // segment and the segments are ordered by time alone.
         String basePattern = getRootPattern();
         LogFileSegment current = workingList.stream()
-                .filter( segment -> segment.getSegmentName().endsWith(basePattern) || segment.getSegmentName().endsWith(".current"))
-                .findFirst().get();
-
-        orderedList.addLast(current);
-        workingList = removeIneligibleSegments (workingList, current);
+                .filter( segment -> segment.getSegmentName().endsWith(basePattern)
+                        || segment.getSegmentName().endsWith(basePattern + ".gz")
+                        || segment.getSegmentName().endsWith(".current")
+                        || segment.getSegmentName().endsWith(".current.gz"))
+                .findFirst().orElse(null);
+
+        if ( current != null) {
+            orderedList.addLast(current);
+            workingList = removeIneligibleSegments(workingList, current);
+        }
         while ( ! workingList.isEmpty()) {
             current = workingList.stream()
                     .max(Comparator.comparing(LogFileSegment::getEndTime))
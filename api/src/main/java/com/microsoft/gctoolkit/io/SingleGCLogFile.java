@@ -8,11 +8,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -50,7 +52,8 @@ public class SingleGCLogFile extends GCLogFile {
     private Stream<String> stream(LogFileMetadata metadata) throws IOException {
         Stream<String> stream = null;
         if (metadata.isPlainText()) {
-            stream = Files.lines(metadata.getPath());
+            // Lines from the mapped reader are already trimmed and free of blank lines.
+            return Stream.concat(MappedLineReader.lines(metadata.getPath()), Stream.of(endOfData()));
         } else if (metadata.isZip()) {
             stream = streamZipFile(metadata.getPath());
         } else if (metadata.isGZip()) {
@@ -67,6 +70,23 @@ public class SingleGCLogFile extends GCLogFile {
 
     }
 
+    /**
+     * The first entry of a zip file is read as the only segment of the log.
+     */
+    @Override
+    protected List<LogFileSegment> segments() throws IOException {
+        if (getMetaData().isZip()) {
+            try (ZipFile zipFile = new ZipFile(path.toFile())) {
+                return zipFile.stream()
+                        .filter(entry -> !entry.isDirectory())
+                        .findFirst()
+                        .map(entry -> List.<LogFileSegment>of(new GCLogFileZipSegment(path, entry.getName())))
+                        .orElse(List.of());
+            }
+        }
+        return super.segments();
+    }
+
     private static Stream<String> streamZipFile(Path path) throws IOException {
         ZipInputStream zipStream = new ZipInputStream(Files.newInputStream(path));
         ZipEntry entry;
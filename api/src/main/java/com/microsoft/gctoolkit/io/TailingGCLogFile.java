@@ -0,0 +1,406 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A GC log file that is still being written to. The stream of a {@code TailingGCLogFile} starts with the
+ * lines already in the file and then follows the file as the JVM appends to it. The stream does not end
+ * until {@link #stop()} is called, at which point any remaining lines are read and
+ * {@link GCLogFile#END_OF_DATA_SENTINEL} is returned.
+ * <p>
+ * The file is followed through rotation. When the JVM renames the file (for example, {@code gc.log} to
+ * {@code gc.log.0}) and starts a new one, the remainder of the renamed file is read before the new file
+ * is read from its beginning. Pre-unified {@code gc.log.N.current} files are followed to the next
+ * {@code .current} file.
+ * <p>
+ * A {@link WatchService} on the parent directory is used to learn of changes to the file. Where a
+ * {@code WatchService} is not available, the file is polled. Either way, the file is checked at least once
+ * per poll interval.
+ * <p>
+ * {@link com.microsoft.gctoolkit.GCToolKit#analyze(DataSource)} does not return until the stream ends,
+ * so it should be called from its own thread. The {@link com.microsoft.gctoolkit.aggregator.Aggregation}
+ * instances that were loaded into GCToolKit are updated as lines are parsed and may be queried at any time.
+ * <pre>{@code
+ * TailingGCLogFile logFile = new TailingGCLogFile(Path.of("gc.log"));
+ * executor.submit(() -> gcToolKit.analyze(logFile));
+ * ...
+ * pauseTimeSummary.getTotalPauseTime();
+ * ...
+ * logFile.stop();
+ * }</pre>
+ */
+public class TailingGCLogFile extends GCLogFile {
+
+    private static final Logger LOGGER = Logger.getLogger(TailingGCLogFile.class.getName());
+
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CURRENT_SEGMENT = Pattern.compile("(.*)\\.(\\d+)\\.current$");
+
+    private final Duration pollInterval;
+    private volatile boolean stopped = false;
+    private SingleLogFileMetadata metadata = null;
+
+    /**
+     * Follow the GC log file at the given path, checking for new lines every 500 milliseconds.
+     * @param path The path to the log file.
+     */
+    public TailingGCLogFile(Path path) {
+        this(path, DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * Follow the GC log file at the given path.
+     * @param path The path to the log file.
+     * @param pollInterval The longest time to wait between checks for new lines.
+     */
+    public TailingGCLogFile(Path path, Duration pollInterval) {
+        super(path);
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public LogFileMetadata getMetaData() throws IOException {
+        if (metadata == null) {
+            metadata = new SingleLogFileMetadata(path);
+        }
+        return metadata;
+    }
+
+    /**
+     * Stop following the log. The stream reads any lines that remain in the file and then ends
+     * with {@link GCLogFile#END_OF_DATA_SENTINEL}.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Return {@code true} if {@link #stop()} has been called.
+     * @return {@code true} if the log is no longer being followed.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Lines are published as soon as they are read so that a line is not held back waiting for the JVM to
+     * write the rest of a batch.
+     */
+    @Override
+    public int batchSize() {
+        return 1;
+    }
+
+    @Override
+    public Stream<String> stream() throws IOException {
+        Follower follower = new Follower(path);
+        return Stream.concat(
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(follower, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                        .onClose(follower::close),
+                Stream.of(endOfData()));
+    }
+
+    /**
+     * Discovery waits, following the file as {@link #stream()} does, until the JVM has written enough lines to
+     * decide the format of the log: a line starting with a unified logging decorator or, failing that, as many
+     * lines as a pre-unified log is recognized by. It waits for the file to be created if it does not yet exist.
+     * The diary is then built from the lines that are in the file, rather than waiting for the JVM to write
+     * enough lines to complete it.
+     */
+    @Override
+    protected Stream<String> discoveryStream() throws IOException {
+        Follower follower = new Follower(path);
+        Iterator<String> lines = new Iterator<>() {
+            private int count = 0;
+            private boolean decided = false;
+
+            @Override
+            public boolean hasNext() {
+                return follower.fill(!decided);
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                String line = follower.ready.removeFirst();
+                if (++count >= SHOULD_HAVE_SEEN_A_UNIFIED_DECORATOR_BY_THIS_LINE_IN_THE_LOG || LINE_STARTS_WITH_DECORATOR.matcher(line).find())
+                    decided = true;
+                return line;
+            }
+        };
+        return Stream.concat(
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                        .onClose(follower::close),
+                Stream.of(endOfData()));
+    }
+
+    /**
+     * Reads complete lines from the file as they are appended, following the file through rotation.
+     */
+    final class Follower implements Iterator<String> {
+
+        private final ArrayDeque<String> ready = new ArrayDeque<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private byte[] partialLine = new byte[256];
+        private int partialLength = 0;
+
+        private Path followed;
+        private FileChannel channel;
+        private Object fileIdentity;
+        private long position;
+        private WatchService watcher;
+
+        Follower(Path path) {
+            this.followed = path;
+            try {
+                Path directory = path.toAbsolutePath().getParent();
+                watcher = directory.getFileSystem().newWatchService();
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.log(Level.FINE, "WatchService unavailable, polling " + path, e);
+                closeWatcher();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fill(true);
+        }
+
+        /**
+         * Make sure there is a complete line ready, if one can be had.
+         * @param wait whether to wait for the JVM to write a line when none is in the file.
+         * @return {@code true} if a line is ready.
+         */
+        boolean fill(boolean wait) {
+            try {
+                while (ready.isEmpty()) {
+                    // read the stop flag before reading so that lines written before stop() are not lost
+                    boolean finishing = stopped;
+                    if (readAvailable())
+                        continue;
+                    if (rotated())
+                        continue;
+                    if (finishing) {
+                        endLine();
+                        return !ready.isEmpty();
+                    }
+                    if (!wait)
+                        return false;
+                    awaitChange();
+                }
+                return true;
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return ready.removeFirst();
+        }
+
+        /**
+         * Read whatever has been appended to the file since the last read.
+         * @return {@code true} if any bytes were read.
+         */
+        private boolean readAvailable() throws IOException {
+            if (channel == null && !open(followed))
+                return false;
+            return readToEnd();
+        }
+
+        private boolean readToEnd() throws IOException {
+            boolean read = false;
+            int count;
+            while ((count = channel.read(readBuffer, position)) > 0) {
+                position += count;
+                readBuffer.flip();
+                split(readBuffer);
+                readBuffer.clear();
+                read = true;
+            }
+            return read;
+        }
+
+        private void split(ByteBuffer bytes) {
+            while (bytes.hasRemaining()) {
+                byte b = bytes.get();
+                if (b == '\n') {
+                    endLine();
+                } else {
+                    if (partialLength == partialLine.length)
+                        partialLine = Arrays.copyOf(partialLine, partialLength * 2);
+                    partialLine[partialLength++] = b;
+                }
+            }
+        }
+
+        private void endLine() {
+            if (partialLength > 0) {
+                String line = new String(partialLine, 0, partialLength, StandardCharsets.UTF_8).trim();
+                if (!line.isEmpty())
+                    ready.addLast(line);
+                partialLength = 0;
+            }
+        }
+
+        private boolean open(Path path) throws IOException {
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+                fileIdentity = identity(path);
+                position = 0L;
+                return true;
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Everything has been read from the open file. If the file at the followed path is no longer the
+         * open file, or if it has been truncated, switch to the new file.
+         * @return {@code true} if the log has rotated.
+         */
+        boolean rotated() throws IOException {
+            if (channel == null)
+                return false;
+            Path next = followed;
+            boolean truncated = false;
+            try {
+                if (!Files.exists(followed)) {
+                    Optional<Path> successor = successor();
+                    if (successor.isEmpty())
+                        return false;
+                    next = successor.get();
+                } else if (Objects.equals(identity(followed), fileIdentity)) {
+                    if (Files.size(followed) >= position)
+                        return false;
+                    truncated = true;
+                }
+            } catch (NoSuchFileException e) {
+                // the file is being rotated, look again later.
+                return false;
+            }
+            // Lines may have been written to the old file after it was last read and before it was rotated.
+            // A truncated file is the same file, and what was written to it before it was truncated is gone.
+            if (!truncated)
+                readToEnd();
+            // The JVM writes complete lines, so an unterminated line at the end of a rotated file is a whole line.
+            endLine();
+            channel.close();
+            channel = null;
+            followed = next;
+            LOGGER.log(Level.FINE, () -> "Following rotated log " + followed);
+            return open(followed);
+        }
+
+        /**
+         * Pre-unified logs rotate from gc.log.N.current to gc.log.M.current. Find the newest such file.
+         */
+        private Optional<Path> successor() throws IOException {
+            Matcher matcher = CURRENT_SEGMENT.matcher(followed.getFileName().toString());
+            if (!matcher.matches())
+                return Optional.empty();
+            String base = matcher.group(1);
+            Path directory = followed.toAbsolutePath().getParent();
+            try (Stream<Path> files = Files.list(directory)) {
+                return files
+                        .filter(file -> {
+                            Matcher candidate = CURRENT_SEGMENT.matcher(file.getFileName().toString());
+                            return candidate.matches() && candidate.group(1).equals(base);
+                        })
+                        .max(Comparator.comparing(this::lastModified));
+            }
+        }
+
+        private long lastModified(Path path) {
+            try {
+                return Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException ioe) {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        private Object identity(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return (attributes.fileKey() != null) ? attributes.fileKey() : attributes.creationTime();
+        }
+
+        private void awaitChange() {
+            try {
+                if (watcher != null) {
+                    WatchKey key = watcher.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                } else {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+            } catch (ClosedWatchServiceException e) {
+                watcher = null;
+            }
+        }
+
+        private void closeWatcher() {
+            if (watcher != null) {
+                try {
+                    watcher.close();
+                } catch (IOException ignored) {
+                    // nothing to be done
+                }
+                watcher = null;
+            }
+        }
+
+        void close() {
+            closeWatcher();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }
+        }
+    }
+}
@@ -6,23 +6,34 @@ import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
+import com.microsoft.gctoolkit.instrumentation.PipelineStage;
+import com.microsoft.gctoolkit.instrumentation.PipelineStatistics;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JVMEventArchive;
+import com.microsoft.gctoolkit.io.JVMEventReader;
+import com.microsoft.gctoolkit.io.LogFileCheckpoint;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelAggregator;
+import com.microsoft.gctoolkit.message.LineBatch;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Phaser;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * The base implementation of JavaVirtualMachine that uses the message API to feed
@@ -33,12 +44,13 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
     private static final Logger LOGGER = Logger.getLogger(AbstractJavaVirtualMachine.class.getName());
     private static final double LOG_FRAGMENT_THRESHOLD_SECONDS = 60.0d; //todo: replace magic threshold with a heuristic
 
-    private GCLogFile dataSource;
+    private DataSource<?> dataSource;
     private Diary diary;
     private DateTimeStamp estimatedStartTime;
     private DateTimeStamp timeOfLastEvent;
     private double logDuration = -1.0d;
     private final Map<Class<? extends Aggregation>, Aggregation> aggregatedData = new ConcurrentHashMap<>();
+    private PipelineMetrics metrics = null;
 
     /**
      * Sets the data source
@@ -46,7 +58,7 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
      * @throws IOException if there is any issues reading from the data source.
      */
     public void setDataSource(DataSource logFile) throws IOException {
-        this.dataSource = (GCLogFile) logFile;
+        this.dataSource = logFile;
         this.diary = logFile.diary();
     }
 
@@ -142,6 +154,16 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
         this.logDuration = duration;
     }
 
+    @Override
+    public void metrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PipelineStatistics getPipelineStatistics() {
+        return (metrics == null) ? PipelineStatistics.EMPTY : metrics.snapshot();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Aggregation> Optional<T> getAggregation(Class<T> aggregationClass) {
@@ -162,24 +184,85 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
      */
     @Override
     public void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, DataSourceChannel dataSourceBus) {
+        GCLogFile logFile = (GCLogFile) dataSource;
+        analyze(registeredAggregators, eventBus, dataSourceBus, read -> publish(logFile.stream().peek(line -> read.increment()), dataSourceBus, logFile.batchSize()));
+    }
+
+    /**
+     * Orchestrate the analysis of the lines written to a GC log since the checkpoint. The steps are those of
+     * {@link #analyze(List, JVMEventChannel, DataSourceChannel)}, except that the aggregators complete when
+     * the lines available at the checkpoint have been parsed rather than at the end of the log.
+     * @param registeredAggregators all of the aggregations loaded by the module SPI
+     * @param eventBus the bus to publish events on
+     * @param dataSourceBus the bus that raw log lines are published on
+     * @param checkpoint where the previous analysis of the gc log stopped
+     */
+    @Override
+    public void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, DataSourceChannel dataSourceBus, LogFileCheckpoint checkpoint) {
+        GCLogFile logFile = (GCLogFile) dataSource;
+        analyze(registeredAggregators, eventBus, dataSourceBus, read -> publish(logFile.stream(checkpoint).peek(line -> read.increment()), dataSourceBus, logFile.batchSize()));
+    }
+
+    /**
+     * Orchestrate the analysis of the events in an archive. The steps are those of
+     * {@link #analyze(List, JVMEventChannel, DataSourceChannel)}, except that the events are read from the archive
+     * and published on the channels the parsers published them on, so nothing is parsed.
+     * @param registeredAggregators all of the aggregations loaded by the module SPI
+     * @param eventBus the bus to publish events on
+     * @param archive the events parsed from a gc log
+     */
+    @Override
+    public void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, JVMEventArchive archive) {
+        analyze(registeredAggregators, eventBus, null, read -> {
+            try (JVMEventReader reader = archive.open()) {
+                JVMEvent event;
+                while ((event = reader.read()) != null) {
+                    read.increment();
+                    eventBus.publish(reader.getChannel(), event);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param dataSourceBus the bus that raw log lines are published on, or {@code null} if events are published
+     *                      without being parsed.
+     */
+    private void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, DataSourceChannel dataSourceBus, Feed feed) {
+        // When the channels deliver on the publishing thread, every event has been aggregated once the last
+        // line or event has been published, so there is nothing to wait for.
+        boolean synchronous = eventBus.isSynchronous() && (dataSourceBus == null || dataSourceBus.isSynchronous());
+        if (metrics == null)
+            metrics = new PipelineMetrics(dataSource.toString());
+        metrics.start();
         Phaser finishLine = new Phaser();
+        int registrations = 0;
         Set<EventSource> generatedEvents = diary.generatesEvents();
         for (Aggregator aggregator : registeredAggregators) {
             Aggregation aggregation = aggregator.aggregation();
             aggregatedData.put(aggregation.getClass(), aggregation);
-            generatedEvents.stream().filter(aggregator::aggregates).forEach(eventSource -> {
+            // shared by the listeners of the aggregator on each of its channels
+            Object lock = new Object();
+            for (EventSource eventSource : generatedEvents) {
+                if (!aggregator.aggregates(eventSource))
+                    continue;
                 GCToolKit.LOG_DEBUG_MESSAGE(() -> "Registering " + aggregator.getClass().getName() + " with " + eventSource.toChannel());
-                finishLine.register();
-                aggregator.onCompletion(finishLine::arriveAndDeregister);
-                JVMEventChannelAggregator eventChannelAggregator = new JVMEventChannelAggregator(eventSource.toChannel(), aggregator);
+                if (!synchronous) {
+                    finishLine.register();
+                    aggregator.onCompletion(finishLine::arriveAndDeregister);
+                }
+                PipelineMetrics.Counter counter = metrics.counter(PipelineStage.AGGREGATE, aggregator.getClass().getName());
+                JVMEventChannelAggregator eventChannelAggregator = new JVMEventChannelAggregator(eventSource.toChannel(), aggregator, counter, lock);
                 eventBus.registerListener(eventChannelAggregator);
-            });
+                registrations++;
+            }
         }
 
         try {
-            if (finishLine.getRegisteredParties() > 0) {
-                dataSource.stream().forEach(message -> dataSourceBus.publish(ChannelName.DATA_SOURCE, message));
-                finishLine.awaitAdvance(0);
+            if (registrations > 0) {
+                feed.publish(metrics.counter(PipelineStage.READ, dataSource.toString()));
+                if (!synchronous)
+                    finishLine.awaitAdvance(0);
             } else {
                 LOGGER.log(Level.INFO, "No Aggregations have been registered, DataSource will not be analysed.");
                 LOGGER.log(Level.INFO, "Is there a module containing Aggregation classes on the module-path");
@@ -196,8 +279,71 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
         } catch (IOException ioe) {
             LOGGER.log(Level.SEVERE, ioe.getMessage(), ioe);
         } finally {
-            dataSourceBus.close();
-            eventBus.close();
+            metrics.finish();
+            if (dataSourceBus != null)
+                dataSourceBus.release();
+            eventBus.release();
+        }
+    }
+
+    /**
+     * Publish the lines in batches of {@code batchSize}. The last batch holds whatever lines remain. A batch
+     * size of 1 publishes each line as soon as it is read.
+     */
+    /**
+     * Publish the lines and close the stream, which releases the file it reads from.
+     */
+    private void publish(Stream<String> lines, DataSourceChannel dataSourceBus, int batchSize) {
+        try (lines) {
+            if (batchSize <= 1) {
+                lines.forEach(message -> dataSourceBus.publish(ChannelName.DATA_SOURCE, message));
+            } else {
+                LineBatcher batcher = new LineBatcher(dataSourceBus, batchSize);
+                lines.forEach(batcher);
+                batcher.flush();
+            }
+        }
+    }
+
+    /**
+     * Gathers lines and publishes them a batch at a time.
+     */
+    private static final class LineBatcher implements Consumer<String> {
+
+        private final DataSourceChannel dataSourceBus;
+        private final int batchSize;
+        private List<String> batch;
+
+        LineBatcher(DataSourceChannel dataSourceBus, int batchSize) {
+            this.dataSourceBus = dataSourceBus;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(String line) {
+            batch.add(line);
+            if (batch.size() == batchSize)
+                flush();
         }
+
+        void flush() {
+            if (batch.isEmpty())
+                return;
+            dataSourceBus.publishBatch(ChannelName.DATA_SOURCE, new LineBatch(batch));
+            // the published batch now belongs to the listeners
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Publishes the lines or events to be analyzed.
+     */
+    @FunctionalInterface
+    private interface Feed {
+        /**
+         * @param read counts the lines or events read.
+         */
+        void publish(PipelineMetrics.Counter read) throws IOException;
     }
 }
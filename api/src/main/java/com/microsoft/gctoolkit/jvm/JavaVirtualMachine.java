@@ -6,7 +6,12 @@ package com.microsoft.gctoolkit.jvm;
 import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.columns.EventColumns;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
+import com.microsoft.gctoolkit.instrumentation.PipelineStatistics;
 import com.microsoft.gctoolkit.io.DataSource;
+import com.microsoft.gctoolkit.io.JVMEventArchive;
+import com.microsoft.gctoolkit.io.LogFileCheckpoint;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
@@ -117,6 +122,31 @@ public interface JavaVirtualMachine {
      */
     <T extends Aggregation> Optional<T> getAggregation(Class<T> aggregationClass);
 
+    /**
+     * Return the events of the analysis held as columns, if an {@link EventColumns} was loaded with
+     * {@link GCToolKit#loadAggregation(Aggregation)}. The columns can be queried for many analyses after the
+     * log has been parsed once.
+     * @return the {@code EventColumns} used in the analysis, or empty if none was loaded.
+     */
+    default Optional<EventColumns> getEventColumns() {
+        return getAggregation(EventColumns.class);
+    }
+
+    /**
+     * Called before the analysis with the metrics that the analysis is to be recorded in.
+     * @param metrics the metrics of the analysis.
+     */
+    default void metrics(PipelineMetrics metrics) {}
+
+    /**
+     * Return the lines and events handled by each stage of the analysis. Taken while the analysis is running,
+     * the snapshot shows its progress so far.
+     * @return a snapshot of the metrics of the analysis.
+     */
+    default PipelineStatistics getPipelineStatistics() {
+        return PipelineStatistics.EMPTY;
+    }
+
     /**
      * Interface to trigger the analysis of a gc log.
      * @param registeredAggregations all aggregations supplied by the module SPI
@@ -124,4 +154,27 @@ public interface JavaVirtualMachine {
      * @param dataSourceChannel GC logging data channel
      */
     void analyze(List<Aggregator<? extends Aggregation>> registeredAggregations, JVMEventChannel eventChannel, DataSourceChannel dataSourceChannel);
+
+    /**
+     * Interface to trigger the analysis of the part of a gc log written since a checkpoint.
+     * @param registeredAggregations all aggregations supplied by the module SPI
+     * @param eventChannel JVMEvent message channel
+     * @param dataSourceChannel GC logging data channel
+     * @param checkpoint where the previous analysis of the gc log stopped
+     * @throws UnsupportedOperationException if this JavaVirtualMachine cannot resume an analysis.
+     */
+    default void analyze(List<Aggregator<? extends Aggregation>> registeredAggregations, JVMEventChannel eventChannel, DataSourceChannel dataSourceChannel, LogFileCheckpoint checkpoint) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot resume an analysis from a checkpoint");
+    }
+
+    /**
+     * Interface to trigger the analysis of the events in an archive, which are published without being parsed.
+     * @param registeredAggregations all aggregations supplied by the module SPI
+     * @param eventChannel JVMEvent message channel
+     * @param archive the events parsed from a gc log
+     * @throws UnsupportedOperationException if this JavaVirtualMachine cannot analyze an archive.
+     */
+    default void analyze(List<Aggregator<? extends Aggregation>> registeredAggregations, JVMEventChannel eventChannel, JVMEventArchive archive) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot analyze an archive of events");
+    }
 }
\ No newline at end of file
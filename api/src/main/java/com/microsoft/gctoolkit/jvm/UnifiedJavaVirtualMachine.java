@@ -4,6 +4,7 @@ package com.microsoft.gctoolkit.jvm;
 
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.JVMEventArchive;
 
 import java.io.IOException;
 import java.util.logging.Level;
@@ -23,7 +24,9 @@ public class UnifiedJavaVirtualMachine extends AbstractJavaVirtualMachine {
     @Override
     public boolean accepts(DataSource logFile) {
         try {
-            if (((GCLogFile) logFile).isUnified()) {
+            boolean unified = (logFile instanceof GCLogFile) ? ((GCLogFile) logFile).isUnified()
+                    : (logFile instanceof JVMEventArchive) && logFile.diary().isUnifiedLogging();
+            if (unified) {
                 super.setDataSource(logFile);
                 return true;
             }
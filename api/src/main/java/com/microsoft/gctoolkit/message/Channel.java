@@ -4,4 +4,50 @@ public interface Channel<M,L extends ChannelListener<M>> {
     void registerListener(L listener);
     void publish(ChannelName channel, M message);
     void close();
+
+    /**
+     * Stop passing messages to a listener. Only a reusable channel is required to support this.
+     * @param listener a listener that was registered with this channel.
+     * @throws UnsupportedOperationException if the channel cannot deregister listeners.
+     */
+    default void deregisterListener(L listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot deregister listeners");
+    }
+
+    /**
+     * A reusable channel outlives the analysis that uses it, so that the cost of creating it is paid once rather
+     * than for every analysis. It is the responsibility of whoever created a reusable channel to close it.
+     * @return {@code true} if the channel can be used for more than one analysis.
+     */
+    default boolean isReusable() {
+        return false;
+    }
+
+    /**
+     * A shareable channel can hand out a channel for each of several analyses that run at once, each of which
+     * shares what is costly to create, such as the threads of this channel.
+     * @return {@code true} if the channel supports {@link DataSourceChannel#forAnalysis()} or
+     * {@link JVMEventChannel#forAnalysis()}.
+     */
+    default boolean isShareable() {
+        return false;
+    }
+
+    /**
+     * A synchronous channel passes a message to every listener before {@code publish} returns, on the thread
+     * that published it. Once the last line has been published to a synchronous data source channel that feeds a
+     * synchronous event channel, the analysis is complete.
+     * @return {@code true} if messages are received on the publishing thread before {@code publish} returns.
+     */
+    default boolean isSynchronous() {
+        return false;
+    }
+
+    /**
+     * Called at the end of an analysis that used the channel. A reusable channel deregisters every listener so
+     * that it is ready for the next analysis. The default closes the channel.
+     */
+    default void release() {
+        close();
+    }
 }
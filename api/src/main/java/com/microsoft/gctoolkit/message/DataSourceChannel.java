@@ -1,7 +1,32 @@
 package com.microsoft.gctoolkit.message;
 
+import java.util.List;
+
 /**
  * Interface defining the DataSource Channel. This must be implemented by a provider
  * and made available via the module service provider API.
  */
-public interface DataSourceChannel extends Channel<String,DataSourceParser> {}
+public interface DataSourceChannel extends Channel<String,DataSourceParser> {
+
+    /**
+     * Publish a batch of lines. Listeners receive the lines in order through
+     * {@link DataSourceChannelListener#receiveBatch(List)}. The default publishes each line on its own.
+     * @param channel the channel to publish to.
+     * @param lines the lines to publish. The list must not be modified once it has been published.
+     */
+    default void publishBatch(ChannelName channel, List<String> lines) {
+        for (String line : lines)
+            publish(channel, line);
+    }
+
+    /**
+     * Create a channel for one of several analyses that run at once. The lines published to it are only passed
+     * to the parsers registered with it. Releasing or closing it deregisters those parsers and leaves this
+     * channel open. Only a {@link #isShareable() shareable} channel is required to support this.
+     * @return a channel for one analysis.
+     * @throws UnsupportedOperationException if the channel cannot be shared.
+     */
+    default DataSourceChannel forAnalysis() {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be shared");
+    }
+}
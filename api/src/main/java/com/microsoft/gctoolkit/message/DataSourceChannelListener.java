@@ -1,4 +1,26 @@
 package com.microsoft.gctoolkit.message;
 
+import java.util.List;
+import java.util.Set;
+
 public interface DataSourceChannelListener extends ChannelListener<String> {
+
+    /**
+     * Receive a batch of lines, in order. The default passes each line to {@link #receive(Object)}.
+     * @param lines the lines to receive. The list must not be modified.
+     */
+    default void receiveBatch(List<String> lines) {
+        for (String line : lines)
+            receive(line);
+    }
+
+    /**
+     * The unified logging tag sets, such as {@code gc} or {@code gc,phases}, of the lines this listener
+     * consumes. A channel only passes a listener the lines selected by the {@link TagFilter} for these tag sets.
+     * The default is the empty set, which passes the listener every line.
+     * @return the tag sets of the lines consumed.
+     */
+    default Set<String> tagSets() {
+        return Set.of();
+    }
 }
@@ -1,6 +1,7 @@
 package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
 import com.microsoft.gctoolkit.jvm.Diary;
 
 import java.util.Set;
@@ -10,4 +11,10 @@ public interface DataSourceParser extends DataSourceChannelListener {
     void diary(Diary diary);
     boolean accepts(Diary diary);
     Set<EventSource> eventsProduced();
+
+    /**
+     * Called before each analysis with the metrics that the parser is to record what it does in.
+     * @param metrics the metrics of the analysis.
+     */
+    default void metrics(PipelineMetrics metrics) {}
 }
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A channel without a message bus. A message is passed to each listener registered for its channel name by the
+ * thread that publishes it, in the order the listeners were registered, before {@code publish} returns. There are
+ * no threads to start or stop, so a direct channel can be reused by any number of analyses.
+ * @param <M> the type of message
+ * @param <L> the type of listener
+ */
+public abstract class DirectChannel<M, L extends ChannelListener<M>> implements Channel<M, L> {
+
+    private static final Logger LOGGER = Logger.getLogger(DirectChannel.class.getName());
+
+    // Filled in up front and never changed, so publishing needs no lock.
+    private final Map<ChannelName, List<L>> listeners = new EnumMap<>(ChannelName.class);
+
+    /**
+     * Subclass only.
+     */
+    protected DirectChannel() {
+        for (ChannelName channel : ChannelName.values())
+            listeners.put(channel, new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void registerListener(L listener) {
+        listeners.get(listener.channel()).add(listener);
+    }
+
+    @Override
+    public void deregisterListener(L listener) {
+        listeners.get(listener.channel()).remove(listener);
+    }
+
+    @Override
+    public void publish(ChannelName channel, M message) {
+        for (L listener : listeners(channel)) {
+            try {
+                listener.receive(message);
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Direct: " + channel + " listener failed", t);
+            }
+        }
+    }
+
+    /**
+     * @param channel a channel name.
+     * @return the listeners registered for the channel name.
+     */
+    protected List<L> listeners(ChannelName channel) {
+        return listeners.get(channel);
+    }
+
+    @Override
+    public boolean isSynchronous() {
+        return true;
+    }
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
+    /**
+     * Deregisters every listener.
+     */
+    @Override
+    public void release() {
+        listeners.values().forEach(List::clear);
+    }
+
+    /**
+     * Deregisters every listener.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+}
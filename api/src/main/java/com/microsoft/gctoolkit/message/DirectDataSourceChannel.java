@@ -0,0 +1,67 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A data source channel that calls the parsers directly on the thread reading the log. Together with a
+ * {@link DirectJVMEventChannel}, an analysis runs entirely on the thread that calls
+ * {@link com.microsoft.gctoolkit.GCToolKit#analyze(com.microsoft.gctoolkit.io.DataSource)}. Each parser is only
+ * passed the lines selected by the {@link TagFilter} for its {@link DataSourceChannelListener#tagSets() tag sets}.
+ */
+public class DirectDataSourceChannel extends DirectChannel<String, DataSourceParser> implements DataSourceChannel {
+
+    private static final Logger LOGGER = Logger.getLogger(DirectDataSourceChannel.class.getName());
+
+    private final Map<DataSourceParser, TagFilter> filters = new ConcurrentHashMap<>();
+
+    public DirectDataSourceChannel() {}
+
+    @Override
+    public void registerListener(DataSourceParser listener) {
+        filters.put(listener, TagFilter.of(listener));
+        super.registerListener(listener);
+    }
+
+    @Override
+    public void deregisterListener(DataSourceParser listener) {
+        super.deregisterListener(listener);
+        filters.remove(listener);
+    }
+
+    @Override
+    public void publish(ChannelName channel, String message) {
+        for (DataSourceParser listener : listeners(channel)) {
+            try {
+                if (filters.get(listener).selects(message))
+                    listener.receive(message);
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Direct: " + channel + " parser failed", t);
+            }
+        }
+    }
+
+    @Override
+    public void publishBatch(ChannelName channel, List<String> lines) {
+        for (DataSourceParser listener : listeners(channel)) {
+            try {
+                List<String> selected = filters.get(listener).select(lines);
+                if (!selected.isEmpty())
+                    listener.receiveBatch(selected);
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Direct: " + channel + " parser failed", t);
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        filters.clear();
+    }
+}
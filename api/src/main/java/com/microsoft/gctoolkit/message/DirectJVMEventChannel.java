@@ -0,0 +1,13 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+
+/**
+ * A JVM event channel that calls the aggregators directly on the thread of the parser that publishes an event.
+ */
+public class DirectJVMEventChannel extends DirectChannel<JVMEvent, JVMEventChannelListener> implements JVMEventChannel {
+
+    public DirectJVMEventChannel() {}
+}
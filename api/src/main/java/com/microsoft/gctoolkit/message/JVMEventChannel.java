@@ -3,4 +3,15 @@ package com.microsoft.gctoolkit.message;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 
 public interface JVMEventChannel extends Channel<JVMEvent,JVMEventChannelListener> {
+
+    /**
+     * Create a channel for one of several analyses that run at once. The events published to it are only passed
+     * to the aggregators registered with it. Releasing or closing it deregisters those aggregators and leaves this
+     * channel open. Only a {@link #isShareable() shareable} channel is required to support this.
+     * @return a channel for one analysis.
+     * @throws UnsupportedOperationException if the channel cannot be shared.
+     */
+    default JVMEventChannel forAnalysis() {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be shared");
+    }
 }
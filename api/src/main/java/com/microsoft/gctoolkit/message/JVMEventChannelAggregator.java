@@ -2,15 +2,40 @@ package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
 
 public class JVMEventChannelAggregator implements JVMEventChannelListener {
 
-    private ChannelName channel;
-    private Aggregator aggregator;
+    private final ChannelName channel;
+    private final Aggregator aggregator;
+    private final PipelineMetrics.Counter counter;
+    private final Object lock;
 
     public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator) {
+        this(channel, aggregator, null);
+    }
+
+    /**
+     * @param channel the channel the aggregator receives events from.
+     * @param aggregator the aggregator.
+     * @param counter records the events received and the time the aggregator takes with them, or {@code null}.
+     */
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator, PipelineMetrics.Counter counter) {
+        this(channel, aggregator, counter, new Object());
+    }
+
+    /**
+     * @param channel the channel the aggregator receives events from.
+     * @param aggregator the aggregator.
+     * @param counter records the events received and the time the aggregator takes with them, or {@code null}.
+     * @param lock held while the aggregator receives an event. The listeners of an aggregator that is registered
+     *             with more than one channel share a lock, so that the aggregator is given one event at a time.
+     */
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator, PipelineMetrics.Counter counter, Object lock) {
         this.channel = channel;
         this.aggregator = aggregator;
+        this.counter = counter;
+        this.lock = lock;
     }
 
     @Override
@@ -18,8 +43,25 @@ public class JVMEventChannelAggregator implements JVMEventChannelListener {
         return channel;
     }
 
+    /**
+     * Passes the event to the aggregator. An aggregator that aggregates events from more than one source is
+     * registered with more than one channel, and the channels may deliver events on different threads. The
+     * aggregator is given one event at a time by the listeners that share its lock.
+     * @param payload the event.
+     */
     @Override
     public void receive(JVMEvent payload) {
-        aggregator.receive(payload);
+        synchronized (lock) {
+            if (counter == null) {
+                aggregator.receive(payload);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                aggregator.receive(payload);
+            } finally {
+                counter.record(start, System.nanoTime());
+            }
+        }
     }
 }
@@ -0,0 +1,87 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A batch of lines published on the {@link ChannelName#DATA_SOURCE} channel. Each line of the batch has a slot
+ * that holds what was decoded from it, such as its unified logging decorators. The first parser to decode a line
+ * keeps the result in the slot, and every other parser that receives the batch, or lines selected from it by a
+ * {@link TagFilter}, takes it from there rather than decoding the line again.
+ * <p>
+ * The parsers of a batch may run on different threads, and the slots are read and written without
+ * synchronization. A decoded value must therefore be safe to share through a data race, as an object whose
+ * fields are final is. At worst, two parsers that reach a line at the same time both decode it.
+ */
+public final class LineBatch extends AbstractList<String> implements RandomAccess {
+
+    private final List<String> lines;
+    private final Object[] decoded;
+    // the indices into lines of the lines selected from the batch, or null if every line is selected
+    private final int[] selected;
+    private final int size;
+
+    /**
+     * @param lines the lines of the batch. The list must not be modified once the batch has been created.
+     */
+    public LineBatch(List<String> lines) {
+        this(lines, new Object[lines.size()], null, lines.size());
+    }
+
+    private LineBatch(List<String> lines, Object[] decoded, int[] selected, int size) {
+        this.lines = lines;
+        this.decoded = decoded;
+        this.selected = selected;
+        this.size = size;
+    }
+
+    /**
+     * @param indices the indices of the lines to select, in increasing order.
+     * @param count the number of indices.
+     * @return the selected lines, sharing their slots with this batch.
+     */
+    LineBatch select(int[] indices, int count) {
+        int[] selection = new int[count];
+        for (int i = 0; i < count; i++)
+            selection[i] = line(indices[i]);
+        return new LineBatch(lines, decoded, selection, count);
+    }
+
+    private int line(int index) {
+        Objects.checkIndex(index, size);
+        return (selected == null) ? index : selected[index];
+    }
+
+    @Override
+    public String get(int index) {
+        return lines.get(line(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return what was decoded from a line, decoding it if no parser has yet.
+     * @param index the index of the line.
+     * @param type the type of the decoded value. A value of another type in the slot is replaced.
+     * @param decoder decodes the line.
+     * @param <T> the type of the decoded value.
+     * @return the decoded value.
+     */
+    public <T> T decoded(int index, Class<T> type, Function<String, T> decoder) {
+        int line = line(index);
+        Object value = decoded[line];
+        if (type.isInstance(value))
+            return type.cast(value);
+        T decodedValue = decoder.apply(lines.get(line));
+        decoded[line] = decodedValue;
+        return decodedValue;
+    }
+}
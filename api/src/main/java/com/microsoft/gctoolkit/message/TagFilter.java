@@ -0,0 +1,158 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects the unified logging lines that a {@link DataSourceChannelListener} consumes, based on the tags
+ * decorating each line. A tag set is written as it is in a unified logging decoration, for example
+ * {@code gc,phases}. A line is selected if its tags include every tag of one of the tag sets, in any order.
+ * A line whose tags cannot be found, such as a pre-unified line or a line from a log that was written without the
+ * tags decorator, is always selected, as are the {@link GCLogFile#END_OF_DATA_SENTINEL} and
+ * {@link GCLogFile#CHECKPOINT_SENTINEL}.
+ */
+public final class TagFilter {
+
+    private static final TagFilter EVERYTHING = new TagFilter(new String[0][]);
+    private static final Set<String> LEVELS = Set.of("trace", "debug", "info", "warning", "error");
+
+    private final String[][] tagSets;
+
+    private TagFilter(String[][] tagSets) {
+        this.tagSets = tagSets;
+    }
+
+    /**
+     * @param tagSets the tag sets to select. An empty set selects every line.
+     * @return a filter for the tag sets.
+     */
+    public static TagFilter of(Set<String> tagSets) {
+        if (tagSets.isEmpty())
+            return EVERYTHING;
+        return new TagFilter(tagSets.stream()
+                .map(tagSet -> tagSet.split(","))
+                .map(tags -> {
+                    for (int i = 0; i < tags.length; i++)
+                        tags[i] = tags[i].trim();
+                    return tags;
+                })
+                .toArray(String[][]::new));
+    }
+
+    /**
+     * @param listener the listener whose tag sets are to be selected.
+     * @return a filter for the {@link DataSourceChannelListener#tagSets()} of the listener.
+     */
+    public static TagFilter of(DataSourceChannelListener listener) {
+        return of(listener.tagSets());
+    }
+
+    /**
+     * @return {@code true} if every line is selected.
+     */
+    public boolean selectsEverything() {
+        return tagSets.length == 0;
+    }
+
+    /**
+     * @param line a line from a GC log.
+     * @return {@code true} if the line is selected.
+     */
+    public boolean selects(String line) {
+        if (selectsEverything())
+            return true;
+        // The tags decoration is the last of the decorations at the start of a line.
+        int start = -1;
+        int end = -1;
+        for (int i = 0; i < line.length() && line.charAt(i) == '['; i = end + 1) {
+            int close = line.indexOf(']', i);
+            if (close < 0)
+                break;
+            start = i + 1;
+            end = close;
+        }
+        if (start < 0 || !isTags(line, start, end))
+            return true;
+        for (String[] tagSet : tagSets) {
+            if (containsAll(line, start, end, tagSet))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param lines lines from a GC log.
+     * @return the lines that are selected, in order. If every line is selected, {@code lines} itself is returned.
+     * The lines selected from a {@link LineBatch} are a {@code LineBatch}.
+     */
+    public List<String> select(List<String> lines) {
+        if (selectsEverything())
+            return lines;
+        if (lines instanceof LineBatch)
+            return select((LineBatch) lines);
+        List<String> selected = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (selects(line)) {
+                if (selected != null)
+                    selected.add(line);
+            } else if (selected == null) {
+                selected = new ArrayList<>(lines.subList(0, i));
+            }
+        }
+        return (selected == null) ? lines : selected;
+    }
+
+    /**
+     * The lines selected from a batch share the slots of the batch, so what one parser decodes from a line is
+     * seen by the others.
+     */
+    private List<String> select(LineBatch lines) {
+        int[] indices = new int[lines.size()];
+        int count = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (selects(lines.get(i)))
+                indices[count++] = i;
+        }
+        return (count == lines.size()) ? lines : lines.select(indices, count);
+    }
+
+    /**
+     * Tags are lower case words separated by commas, padded with trailing spaces. A decoration that has
+     * that form but is a level means the line was written without tags.
+     */
+    private static boolean isTags(String line, int start, int end) {
+        while (end > start && line.charAt(end - 1) == ' ')
+            end--;
+        if (end == start || line.charAt(start) < 'a' || line.charAt(start) > 'z')
+            return false;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == ','))
+                return false;
+        }
+        return !LEVELS.contains(line.substring(start, end));
+    }
+
+    private static boolean containsAll(String line, int start, int end, String[] tagSet) {
+        for (String tag : tagSet) {
+            if (!contains(line, start, end, tag))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean contains(String line, int start, int end, String tag) {
+        for (int i = line.indexOf(tag, start); i >= 0 && i + tag.length() <= end; i = line.indexOf(tag, i + 1)) {
+            int after = i + tag.length();
+            if ((i == start || line.charAt(i - 1) == ',') && (after == end || line.charAt(after) == ',' || line.charAt(after) == ' '))
+                return true;
+        }
+        return false;
+    }
+}
@@ -4,8 +4,8 @@ package com.microsoft.gctoolkit.time;
 
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.Locale;
@@ -13,7 +13,7 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static java.util.Comparator.*;
+import static java.util.Comparator.nullsLast;
 
 
 /**
@@ -23,6 +23,10 @@ import static java.util.Comparator.*;
  * <p>
  * Instance of DateTimeStamp are created by the parser. The constructors match what might be
  * found for dates and time stamps in a GC log file.
+ * <p>
+ * The date is held as the seconds and nanoseconds since the epoch and the zone it was logged in, so that
+ * parsing a date and adding to it don't allocate. The {@code ZonedDateTime} is only built when it is asked
+ * for by {@link #getDateTime()}.
  */
 
 public class DateTimeStamp implements Comparable<DateTimeStamp> {
@@ -39,19 +43,116 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     //      - use NaN to say it's not set
     public final static double TIMESTAMP_NOT_SET = Double.NaN;
     public final static ZonedDateTime EPOC = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.of("GMT"));
-    private final ZonedDateTime dateTime;
+    private static final ZoneId EPOC_ZONE = EPOC.getZone();
+    // The zone is null when there is no date stamp.
+    private final ZoneId zone;
+    private final long epochSecond;
+    private final int nanoOfSecond;
     private final double timeStamp;
+    // Built from the fields above when it is first asked for.
+    private ZonedDateTime dateTime;
     public static final Comparator<DateTimeStamp> comparator = getComparator();
 
     // For some reason, ISO_DATE_TIME doesn't like that time-zone is -0100. It wants -01:00.
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int MAX_OFFSET_SECONDS = 18 * 60 * 60;
+    private static final int ISO_8601_LENGTH = "yyyy-MM-ddTHH:mm:ss.SSS+HHMM".length();
+    private static final long NOT_ISO_8601 = Long.MIN_VALUE;
+
     private static ZonedDateTime dateFromString(String iso8601DateTime) {
-        if (iso8601DateTime == null)
-            return null;
         return ZonedDateTime.from(formatter.parse(iso8601DateTime));
     }
 
+    /**
+     * Reads a date in the shape the JVM writes them, {@code yyyy-MM-dd'T'HH:mm:ss.SSSZ}, without going through
+     * the formatter.
+     * @return the milliseconds since the epoch, or {@code NOT_ISO_8601} if the date is not in that shape or has a
+     * field out of range. Such dates are left to the formatter, which resolves or rejects them.
+     */
+    private static long epochMillisFromString(String date) {
+        if (date.length() != ISO_8601_LENGTH || date.charAt(4) != '-' || date.charAt(7) != '-' || date.charAt(10) != 'T'
+                || date.charAt(13) != ':' || date.charAt(16) != ':' || date.charAt(19) != '.')
+            return NOT_ISO_8601;
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 2);
+        int day = digits(date, 8, 2);
+        int hour = digits(date, 11, 2);
+        int minute = digits(date, 14, 2);
+        int second = digits(date, 17, 2);
+        int millis = digits(date, 20, 3);
+        int offset = offsetFromString(date);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0
+                || offset == Integer.MIN_VALUE)
+            return NOT_ISO_8601;
+        long seconds = epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second - offset;
+        return seconds * 1_000L + millis;
+    }
+
+    /**
+     * @return the offset of a date in the shape read by {@link #epochMillisFromString(String)}, in seconds, or
+     * {@code Integer.MIN_VALUE} if it is malformed or out of range.
+     */
+    private static int offsetFromString(String date) {
+        char sign = date.charAt(23);
+        int hours = digits(date, 24, 2);
+        int minutes = digits(date, 26, 2);
+        if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59)
+            return Integer.MIN_VALUE;
+        int offset = hours * 3_600 + minutes * 60;
+        if (offset > MAX_OFFSET_SECONDS)
+            return Integer.MIN_VALUE;
+        return (sign == '-') ? -offset : offset;
+    }
+
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && ((year % 100 != 0) || (year % 400 == 0));
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // The same calculation as LocalDate.toEpochDay for years after 0.
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2)
+            total -= isLeapYear(year) ? 1 : 2;
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static double timeStampOf(double timeStamp) {
+        if ( (timeStamp < 0.00d) || Double.isNaN(timeStamp))
+            return TIMESTAMP_NOT_SET;
+        // the time stamps in the log have 3 significant digits after the decimal. This corrects for that.
+        return Math.round(timeStamp * 1000.0d) / 1000.0d;
+    }
+
     private static double ageFromString(String doubleFormat) {
         if ( doubleFormat == null) return TIMESTAMP_NOT_SET;
         return Double.parseDouble(doubleFormat.replace(",","."));
@@ -94,7 +195,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         }
 
         if ( matcher.find())
-            return new DateTimeStamp(dateFromString(matcher.group(dateCaptureGroup)), ageFromString(matcher.group(ageCaptureGroup)));
+            return new DateTimeStamp(matcher.group(dateCaptureGroup), ageFromString(matcher.group(ageCaptureGroup)));
         else
             return EMPTY_DATE;
     }
@@ -112,7 +213,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @param iso8601DateTime A String in ISO 8601 format.
      */
     public DateTimeStamp(String iso8601DateTime) {
-        this(dateFromString(iso8601DateTime));
+        this(iso8601DateTime, Double.NaN);
     }
 
     /**
@@ -130,7 +231,22 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @param timeStamp A time stamp in decimal seconds.
      */
     public DateTimeStamp(String iso8601DateTime, double timeStamp) {
-        this(dateFromString(iso8601DateTime), timeStamp);
+        this.timeStamp = timeStampOf(timeStamp);
+        long epochMillis = (iso8601DateTime == null) ? NOT_ISO_8601 : epochMillisFromString(iso8601DateTime);
+        if (iso8601DateTime == null) {
+            this.zone = null;
+            this.epochSecond = 0L;
+            this.nanoOfSecond = 0;
+        } else if (epochMillis != NOT_ISO_8601) {
+            this.zone = ZoneOffset.ofTotalSeconds(offsetFromString(iso8601DateTime));
+            this.epochSecond = Math.floorDiv(epochMillis, 1_000L);
+            this.nanoOfSecond = (int) Math.floorMod(epochMillis, 1_000L) * 1_000_000;
+        } else {
+            this.dateTime = dateFromString(iso8601DateTime);
+            this.zone = dateTime.getZone();
+            this.epochSecond = dateTime.toEpochSecond();
+            this.nanoOfSecond = dateTime.getNano();
+        }
     }
 
     /**
@@ -152,11 +268,17 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      */
     public DateTimeStamp(ZonedDateTime dateTime, double timeStamp) {
         this.dateTime = dateTime;
-        if ( (timeStamp < 0.00d) || Double.isNaN(timeStamp))
-            this.timeStamp = TIMESTAMP_NOT_SET;
-        else
-            // the time stamps in the log have 3 significant digits after the decimal. This corrects for that.
-            this.timeStamp = Math.round(timeStamp * 1000.0d) / 1000.0d;
+        this.zone = (dateTime == null) ? null : dateTime.getZone();
+        this.epochSecond = (dateTime == null) ? 0L : dateTime.toEpochSecond();
+        this.nanoOfSecond = (dateTime == null) ? 0 : dateTime.getNano();
+        this.timeStamp = timeStampOf(timeStamp);
+    }
+
+    private DateTimeStamp(ZoneId zone, long epochSecond, int nanoOfSecond, double timeStamp) {
+        this.zone = zone;
+        this.epochSecond = epochSecond;
+        this.nanoOfSecond = nanoOfSecond;
+        this.timeStamp = timeStampOf(timeStamp);
     }
 
     /**
@@ -180,12 +302,46 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         return toMilliseconds() / 1000.0d;
     }
 
+    /**
+     * Return the time stamp as it was logged, without falling back to the date stamp.
+     * @return The time stamp, in decimal seconds, or {@link #TIMESTAMP_NOT_SET} if there is none.
+     */
+    public double getUptime() {
+        return timeStamp;
+    }
+
+    /**
+     * @return The zone of the date stamp, or {@code null} if there is no date stamp.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * @return The seconds from the epoch of 1970-01-01T00:00:00Z to the date stamp, or 0 if there is none.
+     */
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * @return The nanoseconds of the second of the date stamp, or 0 if there is none.
+     */
+    public int getNanoOfSecond() {
+        return nanoOfSecond;
+    }
+
     /**
      * Return the date stamp.
      * @return The date stamp, which may be {@code null}
      */
     public ZonedDateTime getDateTime() {
-        return dateTime;
+        ZonedDateTime built = dateTime;
+        if (built == null && zone != null) {
+            built = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanoOfSecond), zone);
+            dateTime = built;
+        }
+        return built;
     }
 
     /**
@@ -194,7 +350,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @return {@code true} if the date stamp is not {@code null}.
      */
     public boolean hasDateStamp() {
-        return ! (getDateTime() == null || EPOC.equals(getDateTime()));
+        return ! (zone == null || (epochSecond == 0L && nanoOfSecond == 0 && EPOC_ZONE.equals(zone)));
     }
 
     public boolean hasTimeStamp() {
@@ -206,7 +362,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         if (obj instanceof DateTimeStamp) {
             DateTimeStamp other = (DateTimeStamp) obj;
             if (this.hasDateStamp())
-                return this.getDateTime().equals(other.getDateTime()) &&
+                return this.sameDateTime(other) &&
                         (this.getTimeStamp() == other.getTimeStamp());
             else
                 return getTimeStamp() == other.getTimeStamp();
@@ -214,9 +370,15 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         return false;
     }
 
+    // Two ZonedDateTimes are equal when they are at the same instant in the same zone.
+    private boolean sameDateTime(DateTimeStamp other) {
+        return epochSecond == other.epochSecond && nanoOfSecond == other.nanoOfSecond && Objects.equals(zone, other.zone);
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(getDateTime(), getTimeStamp());
+        int dateHash = (zone == null) ? 0 : (31 * Long.hashCode(epochSecond) + nanoOfSecond) ^ zone.hashCode();
+        return 31 * (31 + dateHash) + Double.hashCode(getTimeStamp());
     }
 
     @Override
@@ -257,9 +419,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      */
     public int compare(ZonedDateTime otherDate) {
         if (hasDateStamp() && otherDate != null) {
-            if (getDateTime().isAfter(otherDate)) return 1;
-            if (getDateTime().isBefore(otherDate)) return -1;
-            return 0;
+            return compareInstants(epochSecond, nanoOfSecond, otherDate.toEpochSecond(), otherDate.getNano());
         } else {
             throw new IllegalStateException("One or more DateStamp is missing");
         }
@@ -276,19 +436,18 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
             throw new IllegalArgumentException("Cannot add " + Double.NaN);
 
         double adjustedTimeStamp = Double.NaN;
-        ZonedDateTime adjustedDateStamp = null;
         if ( hasTimeStamp()) {
             adjustedTimeStamp = getTimeStamp() + offsetInDecimalSeconds;
         }
 
         if (hasDateStamp()) {
-            double offset = (Double.isNaN(offsetInDecimalSeconds)) ? 0.000d : offsetInDecimalSeconds;
-            int seconds = (int) offset;
-            long nanos = ((long) ((offset % 1) * 1_000L)) * 1_000_000L;
-            adjustedDateStamp = dateTime.plusSeconds(seconds).plusNanos(nanos);
+            int seconds = (int) offsetInDecimalSeconds;
+            long nanos = nanoOfSecond + ((long) ((offsetInDecimalSeconds % 1) * 1_000L)) * 1_000_000L;
+            long adjustedEpochSecond = epochSecond + seconds + Math.floorDiv(nanos, NANOS_PER_SECOND);
+            return new DateTimeStamp(zone, adjustedEpochSecond, (int) Math.floorMod(nanos, NANOS_PER_SECOND), adjustedTimeStamp);
         }
 
-        return new DateTimeStamp(adjustedDateStamp, adjustedTimeStamp);
+        return new DateTimeStamp(null, 0L, 0, adjustedTimeStamp);
     }
 
     /**
@@ -312,8 +471,8 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         if (hasTimeStamp() && other.hasTimeStamp())
             return getTimeStamp() - other.getTimeStamp();
         if (hasDateStamp() && other.hasDateStamp()) {
-            double thisInSeconds = (double)getDateTime().toEpochSecond() + ((double)(getDateTime().getNano() / 1_000_000)) / 1000.0d;
-            double otherInSeconds = (double)other.getDateTime().toEpochSecond() + ((double)(other.getDateTime().getNano() / 1_000_000)) / 1000.0d;
+            double thisInSeconds = (double)epochSecond + ((double)(nanoOfSecond / 1_000_000)) / 1000.0d;
+            double otherInSeconds = (double)other.epochSecond + ((double)(other.nanoOfSecond / 1_000_000)) / 1000.0d;
             return thisInSeconds - otherInSeconds;
         }
         return Double.NaN;
@@ -343,24 +502,28 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     private static  Comparator<DateTimeStamp> getComparator(){
         // compare with dateTime field, if null then it will go to last
         // need a check to make sure these are comparable
-        return nullsLast((o1, o2) -> {
-            Comparator<DateTimeStamp> dateTimeStampComparator = compareDateTimeStamp(o1, o2);
-            return dateTimeStampComparator.compare(o1,o2);
-        });
+        return nullsLast(DateTimeStamp::compareDateTimeStamp);
     }
 
-    private static Comparator<DateTimeStamp> compareDateTimeStamp(DateTimeStamp o1, DateTimeStamp o2) {
+    private static int compareDateTimeStamp(DateTimeStamp o1, DateTimeStamp o2) {
         if (o1.hasTimeStamp() && o2.hasTimeStamp())
-            return comparingDouble(DateTimeStamp::getTimeStamp);
-        else if (o1.hasDateStamp() && o2.hasDateStamp())
-            return comparing(DateTimeStamp::getDateTime, ChronoZonedDateTime::compareTo);
-        else
+            return Double.compare(o1.getTimeStamp(), o2.getTimeStamp());
+        else if (o1.hasDateStamp() && o2.hasDateStamp()) {
+            int comparison = compareInstants(o1.epochSecond, o1.nanoOfSecond, o2.epochSecond, o2.nanoOfSecond);
+            // Dates at the same instant are only told apart by their zones.
+            return (comparison != 0) ? comparison : o1.getDateTime().compareTo(o2.getDateTime());
+        } else
             throw new IllegalStateException("DateTimeStamp parameters cannot be compared as either timestamp or datestamp must be set in both instances.");
     }
 
+    private static int compareInstants(long epochSecond, int nanoOfSecond, long otherEpochSecond, int otherNanoOfSecond) {
+        int comparison = Long.compare(epochSecond, otherEpochSecond);
+        return (comparison != 0) ? comparison : Integer.compare(nanoOfSecond, otherNanoOfSecond);
+    }
+
     public double toEpochInMillis() {
-        if ( dateTime != null) {
-            return (double)(dateTime.toEpochSecond() * 1000) + (((double)dateTime.getNano()) / 1_000_000.0d);
+        if ( zone != null) {
+            return (double)(epochSecond * 1000) + (((double)nanoOfSecond) / 1_000_000.0d);
         }
         return Double.NaN;
     }
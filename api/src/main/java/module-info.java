@@ -31,15 +31,19 @@ import com.microsoft.gctoolkit.jvm.UnifiedJavaVirtualMachine;
  */
 module com.microsoft.gctoolkit.api {
     requires java.logging;
+    requires java.management;
+    requires jdk.jfr;
 
     exports com.microsoft.gctoolkit;
     exports com.microsoft.gctoolkit.aggregator;
+    exports com.microsoft.gctoolkit.columns;
     exports com.microsoft.gctoolkit.event;
     exports com.microsoft.gctoolkit.event.g1gc;
     exports com.microsoft.gctoolkit.event.generational;
     exports com.microsoft.gctoolkit.event.jvm;
     exports com.microsoft.gctoolkit.event.shenandoah;
     exports com.microsoft.gctoolkit.event.zgc;
+    exports com.microsoft.gctoolkit.instrumentation;
     exports com.microsoft.gctoolkit.io;
     exports com.microsoft.gctoolkit.jvm;
     exports com.microsoft.gctoolkit.time;
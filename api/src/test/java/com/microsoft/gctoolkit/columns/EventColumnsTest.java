@@ -0,0 +1,163 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.generational.FullGC;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
+import com.microsoft.gctoolkit.event.generational.ParNew;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventColumnsTest {
+
+    private static ParNew parNew(double timeStamp, double duration, long heapBefore, long heapAfter) {
+        ParNew parNew = new ParNew(new DateTimeStamp(timeStamp), GCCause.ALLOCATION_FAILURE, duration);
+        parNew.add(new MemoryPoolSummary(100L, 50L, 200L), new MemoryPoolSummary(heapBefore, heapAfter, 1000L));
+        return parNew;
+    }
+
+    /**
+     * Five collections and a safepoint. The full collection at 65 seconds is received before the ParNew at
+     * 61 seconds.
+     */
+    private static EventColumns columns() {
+        EventColumns columns = new EventColumns();
+        EventColumnsAggregator aggregator = new EventColumnsAggregator(columns);
+        aggregator.receive(parNew(1.0d, 0.010d, 400L, 300L));
+        aggregator.receive(parNew(30.0d, 0.020d, 500L, 350L));
+        aggregator.receive(new Safepoint("ParNew", new DateTimeStamp(30.5d), 0.001d));
+        FullGC fullGC = new FullGC(new DateTimeStamp(65.0d), GCCause.JAVA_LANG_SYSTEM, 0.5d);
+        fullGC.add(new MemoryPoolSummary(900L, 100L, 1000L));
+        aggregator.receive(fullGC);
+        aggregator.receive(parNew(61.0d, 0.030d, 600L, 400L));
+        G1Young young = new G1Young(new DateTimeStamp(120.0d), GarbageCollectionTypes.Young, GCCause.G1_EVACUATION_PAUSE, 0.004d);
+        young.addMemorySummary(new MemoryPoolSummary(60L, 60L, 0L, 80L), new SurvivorMemoryPoolSummary(4L, 8L, 16L),
+                new MemoryPoolSummary(200L, 1024L, 150L, 1024L));
+        aggregator.receive(young);
+        aggregator.receive(new JVMTermination(new DateTimeStamp(130.0d), new DateTimeStamp(1.0d)));
+        return columns;
+    }
+
+    @Test
+    public void eachEventIsARow() {
+        EventColumns columns = columns();
+        assertEquals(6, columns.size());
+        assertFalse(columns.isEmpty());
+        assertEquals(new DateTimeStamp(130.0d), columns.timeOfTerminationEvent());
+
+        assertEquals(30.0d, columns.getTimeStamp(1));
+        assertEquals(0.020d, columns.getDuration(1));
+        assertEquals(ParNew.class, columns.getEventType(1));
+        assertEquals(GarbageCollectionTypes.ParNew, columns.getGarbageCollectionType(1));
+        assertEquals(GCCause.ALLOCATION_FAILURE, columns.getGCCause(1));
+        assertEquals(500L, columns.get(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 1));
+        assertEquals(350L, columns.get(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_AFTER_COLLECTION, 1));
+        assertEquals(1000L, columns.get(MemoryPool.HEAP, PoolMeasure.SIZE_AFTER_COLLECTION, 1));
+        assertEquals(50L, columns.get(MemoryPool.YOUNG, PoolMeasure.OCCUPANCY_AFTER_COLLECTION, 1));
+        assertEquals(300L, columns.get(MemoryPool.TENURED, PoolMeasure.OCCUPANCY_AFTER_COLLECTION, 1));
+
+        assertEquals(Safepoint.class, columns.getEventType(2));
+        assertNull(columns.getGarbageCollectionType(2));
+        assertNull(columns.getGCCause(2));
+        assertEquals(-1L, columns.get(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 2));
+
+        assertEquals(8L, columns.get(MemoryPool.SURVIVOR, PoolMeasure.OCCUPANCY_AFTER_COLLECTION, 5));
+        assertEquals(60L, columns.get(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 5));
+        assertEquals(-1L, columns.get(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 0));
+        assertEquals(-1L, columns.get(MemoryPool.METASPACE, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.getTimeStamp(6));
+    }
+
+    @Test
+    public void columnsGrow() {
+        EventColumns columns = new EventColumns();
+        EventColumnsAggregator aggregator = new EventColumnsAggregator(columns);
+        for (int i = 0; i < 5000; i++) {
+            if (i == 3000) {
+                G1Young young = new G1Young(new DateTimeStamp(i), GarbageCollectionTypes.Young, GCCause.G1_EVACUATION_PAUSE, 0.001d);
+                young.addMemorySummary(new MemoryPoolSummary(60L, 60L, 0L, 80L), null, new MemoryPoolSummary(200L, 1024L, 150L, 1024L));
+                aggregator.receive(young);
+            } else {
+                aggregator.receive(parNew(i, 0.001d, i, 0L));
+            }
+        }
+        assertEquals(5000, columns.size());
+        assertEquals(4999L, columns.get(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 4999));
+        assertEquals(60L, columns.get(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 3000));
+        assertEquals(-1L, columns.get(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 4999));
+        assertEquals(-1L, columns.get(MemoryPool.YOUNG, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, 3000));
+        assertEquals(1, columns.rows().where(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, value -> true).size());
+    }
+
+    @Test
+    public void rowsAreFiltered() {
+        EventRows rows = columns().rows();
+        assertEquals(6, rows.size());
+        assertArrayEquals(new int[] {0, 1, 4}, rows.where(GarbageCollectionTypes.ParNew).toArray());
+        assertArrayEquals(new int[] {0, 1, 3, 4}, rows.whereEventType(GenerationalGCPauseEvent.class).toArray());
+        assertArrayEquals(new int[] {3}, rows.where(GCCause.JAVA_LANG_SYSTEM, GCCause.METADATA_GENERATION_THRESHOLD).toArray());
+        assertArrayEquals(new int[] {1, 2}, rows.between(30.0d, 61.0d).toArray());
+        assertArrayEquals(new int[] {3}, rows.whereDuration(duration -> duration > 0.1d).toArray());
+        assertArrayEquals(new int[] {1, 3, 4}, rows.where(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION, before -> before >= 500L).toArray());
+        assertTrue(rows.where(GarbageCollectionTypes.Remark).isEmpty());
+
+        EventRows parNews = rows.where(GarbageCollectionTypes.ParNew);
+        assertArrayEquals(new double[] {1.0d, 30.0d, 61.0d}, parNews.timeStamps());
+        assertArrayEquals(new long[] {300L, 350L, 400L}, parNews.values(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_AFTER_COLLECTION));
+        assertArrayEquals(new long[] {-1L, -1L, -1L}, parNews.values(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_AFTER_COLLECTION));
+        assertEquals(0.060d, parNews.totalDuration(), 1e-9d);
+        assertEquals(0.030d, parNews.durationStatistics().getMax());
+        assertEquals(500L, parNews.statistics(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION).getAverage());
+        assertEquals(5, rows.statistics(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_BEFORE_COLLECTION).getCount());
+    }
+
+    @Test
+    public void rowsAreGrouped() {
+        EventRows rows = columns().rows();
+        Map<GarbageCollectionTypes, EventRows> byType = rows.groupByGarbageCollectionType();
+        assertEquals(List.of(GarbageCollectionTypes.Young, GarbageCollectionTypes.FullGC, GarbageCollectionTypes.ParNew), List.copyOf(byType.keySet()));
+        assertArrayEquals(new int[] {0, 1, 4}, byType.get(GarbageCollectionTypes.ParNew).toArray());
+
+        Map<GCCause, EventRows> byCause = rows.groupByGCCause();
+        assertEquals(3, byCause.get(GCCause.ALLOCATION_FAILURE).size());
+        assertEquals(1, byCause.get(GCCause.G1_EVACUATION_PAUSE).size());
+
+        assertEquals(List.of(ParNew.class, Safepoint.class, FullGC.class, G1Young.class), List.copyOf(rows.groupByEventType().keySet()));
+    }
+
+    @Test
+    public void rowsAreWindowed() {
+        EventRows rows = columns().rows();
+        assertArrayEquals(new int[] {0, 1, 2, 4, 3, 5}, rows.orderedByTimeStamp().toArray());
+        EventRows ordered = rows.orderedByTimeStamp();
+        assertSame(ordered, ordered.orderedByTimeStamp());
+
+        NavigableMap<Double, EventRows> minutes = rows.windows(60.0d);
+        assertEquals(List.of(0.0d, 60.0d, 120.0d), List.copyOf(minutes.keySet()));
+        assertArrayEquals(new int[] {0, 1, 2}, minutes.get(0.0d).toArray());
+        assertArrayEquals(new int[] {4, 3}, minutes.get(60.0d).toArray());
+        assertEquals(0.530d, minutes.get(60.0d).totalDuration(), 1e-9d);
+
+        // 1, 30, 30.5, 61, 65 and 120 seconds
+        double[] rolling = rows.rollingDuration(60.0d);
+        double[] expected = {0.010d, 0.030d, 0.031d, 0.051d, 0.551d, 0.534d};
+        assertEquals(expected.length, rolling.length);
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], rolling[i], 1e-9d);
+
+        assertThrows(IllegalArgumentException.class, () -> rows.windows(0.0d));
+    }
+}
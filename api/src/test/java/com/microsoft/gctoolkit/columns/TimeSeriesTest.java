@@ -0,0 +1,125 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.columns;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.generational.ParNew;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSeriesTest {
+
+    private static TimeSeries series(double... y) {
+        TimeSeries series = new TimeSeries();
+        for (int i = 0; i < y.length; i++)
+            series.add(i, y[i]);
+        return series;
+    }
+
+    @Test
+    public void pointsAreAppended() {
+        TimeSeries series = new TimeSeries();
+        assertTrue(series.isEmpty());
+        assertTrue(series.maxOfY().isEmpty());
+        for (int i = 0; i < 1000; i++)
+            series.add(i * 0.5d, i);
+        assertEquals(1000, series.size());
+        assertEquals(499.5d, series.getX(999));
+        assertEquals(999.0d, series.maxOfY().getAsDouble());
+        assertEquals(0.0d, series.minOfY().getAsDouble());
+        assertEquals(0, series.getMaximumSize());
+        assertThrows(IndexOutOfBoundsException.class, () -> series.getY(1000));
+    }
+
+    @Test
+    public void viewsShareThePoints() {
+        TimeSeries series = series(100.0d, 140.0d, 230.0d, 10.0d);
+        TimeSeries view = series.view(1, 3);
+        assertEquals(2, view.size());
+        assertEquals(1.0d, view.getX(0));
+        assertArrayEquals(new double[] {140.0d, 230.0d}, view.yValues());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(5.0d, 5.0d));
+        assertThrows(IndexOutOfBoundsException.class, () -> series.view(2, 5));
+
+        // points appended later are not seen by the view
+        for (int i = 0; i < 100; i++)
+            series.add(4 + i, i);
+        assertArrayEquals(new double[] {140.0d, 230.0d}, view.yValues());
+
+        TimeSeries scaled = series.view(0, 1).scaleSeries(2.0d).scaleAndTranslateXAxis(2.0d, 20.0d).scaleAndTranslateXAxis(0.5d, 1.0d);
+        assertEquals(11.0d, scaled.getX(0));
+        assertEquals(200.0d, scaled.getY(0));
+        assertEquals(100.0d, series.getY(0));
+    }
+
+    @Test
+    public void minMaxKeepsPeaksAndTroughs() {
+        TimeSeries series = series(5.0d, 1.0d, 9.0d, 5.0d, 5.0d, 5.0d, 0.0d, 5.0d, 7.0d, 5.0d);
+        TimeSeries downsampled = series.downsampleMinMax(4);
+        // buckets of points 0-4 and 5-9
+        assertArrayEquals(new double[] {1.0d, 2.0d, 6.0d, 8.0d}, downsampled.xValues());
+        assertArrayEquals(new double[] {1.0d, 9.0d, 0.0d, 7.0d}, downsampled.yValues());
+
+        assertEquals(series.size(), series.downsampleMinMax(10).size());
+        assertThrows(IllegalArgumentException.class, () -> series.downsampleMinMax(1));
+    }
+
+    @Test
+    public void lttbKeepsTheShape() {
+        double[] y = new double[100];
+        for (int i = 0; i < y.length; i++)
+            y[i] = (i == 37) ? 50.0d : Math.sin(i / 10.0d);
+        TimeSeries series = series(y);
+        TimeSeries downsampled = series.downsampleLTTB(10);
+        assertEquals(10, downsampled.size());
+        assertEquals(0.0d, downsampled.getX(0));
+        assertEquals(99.0d, downsampled.getX(9));
+        assertEquals(50.0d, downsampled.maxOfY().getAsDouble());
+        for (int i = 1; i < downsampled.size(); i++)
+            assertTrue(downsampled.getX(i) > downsampled.getX(i - 1));
+
+        assertArrayEquals(y, series.downsampleLTTB(100).yValues());
+        assertThrows(IllegalArgumentException.class, () -> series.downsampleLTTB(2));
+    }
+
+    @Test
+    public void boundedSeriesHoldsAtMostItsMaximum() {
+        TimeSeries series = TimeSeries.bounded(100);
+        for (int i = 0; i < 100_000; i++)
+            series.add(i, (i == 54_321) ? 1_000_000.0d : (i == 12_345) ? -1.0d : i % 100);
+        assertTrue(series.size() <= 100);
+        assertTrue(series.size() > 50);
+        assertEquals(1_000_000.0d, series.maxOfY().getAsDouble());
+        assertEquals(-1.0d, series.minOfY().getAsDouble());
+        assertEquals(99_999.0d, series.getX(series.size() - 1));
+        for (int i = 1; i < series.size(); i++)
+            assertTrue(series.getX(i) > series.getX(i - 1));
+        assertThrows(IllegalArgumentException.class, () -> TimeSeries.bounded(3));
+    }
+
+    @Test
+    public void rowsAreSeries() {
+        EventColumns columns = new EventColumns();
+        EventColumnsAggregator aggregator = new EventColumnsAggregator(columns);
+        for (int i = 1; i <= 3; i++) {
+            ParNew parNew = new ParNew(new DateTimeStamp(i), GCCause.ALLOCATION_FAILURE, 0.01d * i);
+            parNew.add(new MemoryPoolSummary(100L, 50L, 200L), new MemoryPoolSummary(100L * i, 10L * i, 1000L));
+            aggregator.receive(parNew);
+            aggregator.receive(new Safepoint("ParNew", new DateTimeStamp(i + 0.5d), 0.001d));
+        }
+
+        TimeSeries occupancy = columns.rows().series(MemoryPool.HEAP, PoolMeasure.OCCUPANCY_AFTER_COLLECTION);
+        assertArrayEquals(new double[] {1.0d, 2.0d, 3.0d}, occupancy.xValues());
+        assertArrayEquals(new double[] {10.0d, 20.0d, 30.0d}, occupancy.yValues());
+        assertTrue(columns.rows().series(MemoryPool.EDEN, PoolMeasure.OCCUPANCY_AFTER_COLLECTION).isEmpty());
+
+        TimeSeries pauses = columns.rows().where(GarbageCollectionTypes.ParNew).durationSeries();
+        assertArrayEquals(new double[] {0.01d, 0.02d, 0.03d}, pauses.yValues(), 1e-9d);
+        assertEquals(6, columns.rows().durationSeries().size());
+    }
+}
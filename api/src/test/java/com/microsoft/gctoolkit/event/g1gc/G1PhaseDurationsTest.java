@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.event.g1gc;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.StatisticalSummary;
+import com.microsoft.gctoolkit.event.UnifiedStatisticalSummary;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class G1PhaseDurationsTest {
+
+    @Test
+    public void phasesAreIndexedWithinTheirGroup() {
+        for (G1Phase.Group group : G1Phase.Group.values()) {
+            G1Phase[] phases = G1Phase.phases(group);
+            for (int index = 0; index < phases.length; index++) {
+                assertEquals(index, phases[index].index());
+                assertSame(phases[index], G1Phase.of(group, phases[index].getLabel()));
+            }
+        }
+        assertSame(G1Phase.HUMONGOUS_REGISTER, G1Phase.of(G1Phase.Group.PAUSE, "Humongous Register"));
+        assertSame(G1Phase.PRE_EVACUATE_HUMONGOUS_REGISTER, G1Phase.of(G1Phase.Group.PRE_EVACUATE_COLLECTION_SET, "Humongous Register"));
+        assertNull(G1Phase.of(G1Phase.Group.WORKER, "Humongous Register"));
+    }
+
+    @Test
+    public void durationsAreFoundByPhaseOrName() {
+        G1PhaseDurations durations = new G1PhaseDurations(G1Phase.Group.POST_EVACUATE_COLLECTION_SET);
+        assertTrue(durations.isEmpty());
+        assertTrue(Double.isNaN(durations.get(G1Phase.CLEAR_CARD_TABLE)));
+
+        durations.put("Free Collection Set", 0.5d);
+        durations.put(G1Phase.CODE_ROOTS_FIXUP, 0.25d);
+        durations.put("Rebuild Free List", 0.125d);
+        assertFalse(durations.isEmpty());
+        assertEquals(0.5d, durations.get(G1Phase.FREE_COLLECTION_SET));
+        assertEquals(0.25d, durations.get("Code Roots Fixup"));
+        assertEquals(0.125d, durations.get("Rebuild Free List"));
+        assertTrue(Double.isNaN(durations.get(G1Phase.CLEAR_CARD_TABLE)));
+        assertTrue(Double.isNaN(durations.get("Unknown")));
+        assertTrue(Double.isNaN(durations.get(G1Phase.OTHER)));
+        assertEquals(List.of("Code Roots Fixup", "Free Collection Set", "Rebuild Free List"), durations.names().collect(Collectors.toList()));
+
+        assertThrows(IllegalArgumentException.class, () -> durations.put(G1Phase.OTHER, 1.0d));
+    }
+
+    @Test
+    public void durationsAreTotalled() {
+        double[] totals = new double[G1Phase.phases(G1Phase.Group.PRE_EVACUATE_COLLECTION_SET).length];
+        for (int i = 1; i <= 3; i++) {
+            G1PhaseDurations durations = new G1PhaseDurations(G1Phase.Group.PRE_EVACUATE_COLLECTION_SET);
+            durations.put(G1Phase.CHOOSE_COLLECTION_SET, i);
+            if (i == 2)
+                durations.put(G1Phase.PREPARE_TLABS, 0.5d);
+            durations.addTo(totals);
+        }
+        assertEquals(6.0d, totals[G1Phase.CHOOSE_COLLECTION_SET.index()]);
+        assertEquals(0.5d, totals[G1Phase.PREPARE_TLABS.index()]);
+        assertEquals(0.0d, totals[G1Phase.PRE_EVACUATE_HUMONGOUS_REGISTER.index()]);
+    }
+
+    @Test
+    public void summariesAreCopied() {
+        G1PhaseSummaries<UnifiedStatisticalSummary> summaries = new G1PhaseSummaries<>(G1Phase.Group.WORKER);
+        UnifiedStatisticalSummary objectCopy = new UnifiedStatisticalSummary(1.0d, 2.0d, 3.0d, 2.0d, 8.0d, 4);
+        UnifiedStatisticalSummary scanHeapRoots = new UnifiedStatisticalSummary(0.1d, 0.2d, 0.3d, 0.2d, 0.8d, 4);
+        summaries.put("Object Copy", objectCopy);
+        summaries.put("Scan Heap Roots", scanHeapRoots);
+
+        G1PhaseSummaries<StatisticalSummary> copy = new G1PhaseSummaries<>(G1Phase.Group.WORKER);
+        copy.putAll(summaries);
+        assertSame(objectCopy, copy.get(G1Phase.OBJECT_COPY));
+        assertSame(scanHeapRoots, copy.get("Scan Heap Roots"));
+        assertNull(copy.get(G1Phase.TERMINATION));
+        assertEquals(List.of("Object Copy", "Scan Heap Roots"), copy.names().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void youngCollectionKeepsItsPhases() {
+        G1Young young = new G1Young(new DateTimeStamp(1.0d), GarbageCollectionTypes.Young, GCCause.G1_EVACUATION_PAUSE, 0.01d);
+        young.addPhaseDuration(G1Phase.PRE_EVACUATE_COLLECTION_SET, 0.1d);
+        young.addPhaseDuration("Other", 0.2d);
+        young.addPostEvacuationCollectionPhase("Clear Card Table", 0.3d);
+
+        assertEquals(0.1d, young.phaseDurationFor("Pre Evacuate Collection"));
+        assertEquals(0.2d, young.getPhaseDurations().get(G1Phase.OTHER));
+        assertTrue(Double.isNaN(young.phaseDurationFor("Evacuate Collection")));
+        assertEquals(0.3d, young.getPostEvacuateCSetPhases().get(G1Phase.CLEAR_CARD_TABLE));
+        assertEquals(0, young.preEvacuateCSetPhaseNames().count());
+        assertFalse(young.parallelPhaseNames().hasNext());
+    }
+}
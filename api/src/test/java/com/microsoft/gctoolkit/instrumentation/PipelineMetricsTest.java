@@ -0,0 +1,92 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.instrumentation;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PipelineMetricsTest {
+
+    @Test
+    public void countersAreSharedByName() {
+        PipelineMetrics metrics = new PipelineMetrics("gc.log");
+        assertSame(metrics.counter(PipelineStage.PARSE, "parser"), metrics.counter(PipelineStage.PARSE, "parser"));
+        metrics.counter(PipelineStage.PARSE, "parser").record(0L, 100L);
+        metrics.counter(PipelineStage.PARSE, "parser").record(100L, 400L);
+        metrics.counter(PipelineStage.PARSE, "parser").miss();
+
+        StageStatistics parser = metrics.snapshot().getStage(PipelineStage.PARSE, "parser").orElseThrow();
+        assertEquals(2L, parser.getCount());
+        assertEquals(1L, parser.getMisses());
+        assertEquals(400L, parser.getNanos());
+        assertEquals(200.0d, parser.getMeanNanos());
+        assertFalse(metrics.snapshot().getStage(PipelineStage.RULE, "parser").isPresent());
+    }
+
+    @Test
+    public void missesAreOnlyReportedWhenCounted() {
+        PipelineMetrics metrics = new PipelineMetrics("gc.log");
+        metrics.counter(PipelineStage.PARSE, "counting").countMisses().increment();
+        metrics.counter(PipelineStage.PARSE, "not counting").increment();
+
+        PipelineStatistics statistics = metrics.snapshot();
+        assertEquals(0L, statistics.getStage(PipelineStage.PARSE, "counting").orElseThrow().getMisses());
+        assertEquals(StageStatistics.NOT_COUNTED, statistics.getStage(PipelineStage.PARSE, "not counting").orElseThrow().getMisses());
+    }
+
+    @Test
+    public void snapshotIsOrderedByStageAndName() {
+        PipelineMetrics metrics = new PipelineMetrics("gc.log");
+        metrics.counter(PipelineStage.AGGREGATE, "b").increment();
+        metrics.counter(PipelineStage.READ, "gc.log").increment();
+        metrics.counter(PipelineStage.AGGREGATE, "a").increment();
+        List<String> names = metrics.snapshot().getStages().stream()
+                .map(statistics -> statistics.getStage() + ":" + statistics.getName())
+                .collect(Collectors.toList());
+        assertEquals(List.of("READ:gc.log", "AGGREGATE:a", "AGGREGATE:b"), names);
+        assertEquals(2, metrics.snapshot().getStages(PipelineStage.AGGREGATE).size());
+    }
+
+    @Test
+    public void elapsedTimeStopsWhenFinished() throws InterruptedException {
+        PipelineMetrics metrics = new PipelineMetrics("gc.log");
+        metrics.start();
+        metrics.counter(PipelineStage.READ, "gc.log").increment();
+        Thread.sleep(5);
+        metrics.finish();
+        PipelineStatistics statistics = metrics.snapshot();
+        assertTrue(statistics.getElapsedNanos() >= 5_000_000L);
+        assertEquals(statistics.getElapsedNanos(), metrics.snapshot().getElapsedNanos());
+        StageStatistics read = statistics.getStage(PipelineStage.READ, "gc.log").orElseThrow();
+        assertEquals(1e9d / statistics.getElapsedNanos(), read.getRate(), 1e-9d);
+    }
+
+    @Test
+    public void analysisIsRegisteredWithJMXWhileRunning() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName query = new ObjectName("com.microsoft.gctoolkit:type=Analysis,*");
+        PipelineMetrics metrics = new PipelineMetrics("jmx.log");
+        System.setProperty(PipelineMetrics.JMX_PROPERTY, "true");
+        try {
+            metrics.start();
+        } finally {
+            System.clearProperty(PipelineMetrics.JMX_PROPERTY);
+        }
+        metrics.counter(PipelineStage.READ, "jmx.log").increment();
+        ObjectName name = server.queryNames(query, null).stream().findFirst().orElseThrow();
+        assertEquals("jmx.log", server.getAttribute(name, "Name"));
+        assertEquals(1, ((Object[]) server.getAttribute(name, "Stages")).length);
+        metrics.finish();
+        assertTrue(server.queryNames(query, null).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedRotatingGCLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path plain;
+
+    private static String segment(int first, int last) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = first; i < last; i++)
+            builder.append(String.format("[%d.%03ds][info][gc] GC(%d) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.003ms%n", i, i % 1000, i));
+        return builder.toString();
+    }
+
+    private static final String[] NAMES = {"gc.log.0", "gc.log.1", "gc.log.2", "gc.log"};
+    private static final String[] SEGMENTS = {segment(0, 100), segment(100, 200), segment(200, 300), segment(300, 350)};
+
+    @BeforeEach
+    void plainRotatingLog() throws IOException {
+        plain = Files.createDirectory(tempDir.resolve("plain"));
+        for (int i = 0; i < NAMES.length; i++)
+            Files.write(plain.resolve(NAMES[i]), SEGMENTS[i].getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void gzip(Path path, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> lines(GCLogFile logFile) throws IOException {
+        try (Stream<String> stream = logFile.stream()) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void gzipSegmentsInDirectory() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("gzip"));
+        for (int i = 0; i < NAMES.length - 1; i++)
+            gzip(directory.resolve(NAMES[i] + ".gz"), SEGMENTS[i]);
+        Files.write(directory.resolve("gc.log"), SEGMENTS[NAMES.length - 1].getBytes(StandardCharsets.UTF_8));
+
+        List<String> expected = lines(new RotatingGCLogFile(plain));
+        assertEquals(351, expected.size());
+        assertTrue(expected.get(0).contains("GC(0)"));
+        assertTrue(expected.get(349).contains("GC(349)"));
+        assertEquals(expected, lines(new RotatingGCLogFile(directory)));
+        assertEquals(expected, lines(new RotatingGCLogFile(directory.resolve("gc.log.1.gz"))));
+    }
+
+    @Test
+    void allSegmentsCompressed() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("gzip"));
+        for (int i = 0; i < NAMES.length; i++)
+            gzip(directory.resolve(NAMES[i] + ".gz"), SEGMENTS[i]);
+        assertEquals(lines(new RotatingGCLogFile(plain)), lines(new RotatingGCLogFile(directory)));
+    }
+
+    @Test
+    void segmentTimesAreFoundOnceAndKept() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("gzip"));
+        gzip(directory.resolve("gc.log.1.gz"), SEGMENTS[1]);
+        for (GCLogFileSegment segment : List.of(new GCLogFileSegment(plain.resolve("gc.log.1")), new GCLogFileSegment(directory.resolve("gc.log.1.gz")))) {
+            assertEquals(100.1d, segment.getStartTime(), 1e-9d);
+            Files.delete(segment.getPath());
+            assertEquals(199.199d, segment.getEndTime(), 1e-9d);
+            assertEquals(100.1d, segment.getStartTime(), 1e-9d);
+        }
+    }
+
+    @Test
+    void zipEntriesAreStreamedInRotatingOrder() throws IOException {
+        Path zip = tempDir.resolve("rotating.zip");
+        List<Integer> order = new ArrayList<>(List.of(2, 3, 0, 1));
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (int i : order) {
+                out.putNextEntry(new ZipEntry(NAMES[i]));
+                out.write(SEGMENTS[i].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        assertEquals(lines(new RotatingGCLogFile(plain)), lines(new RotatingGCLogFile(zip)));
+    }
+}
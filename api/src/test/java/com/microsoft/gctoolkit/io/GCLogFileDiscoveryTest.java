@@ -0,0 +1,43 @@
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.parser.datatype.TripleState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GCLogFileDiscoveryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void unifiedFormatIsCachedOnMetadata() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, List.of(
+                "[0.011s][info][gc] Using G1",
+                "[0.012s][info][gc,init] Version: 17.0.1+12"));
+        SingleGCLogFile logFile = new SingleGCLogFile(path);
+        assertEquals(TripleState.UNKNOWN, logFile.getMetaData().getUnifiedFormat());
+        assertTrue(logFile.isUnified());
+        assertEquals(TripleState.TRUE, logFile.getMetaData().getUnifiedFormat());
+    }
+
+    @Test
+    void preUnifiedFormatIsCachedOnMetadata() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, List.of(
+                "2018-04-04T09:10:00.586-0100: 0.180: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] 65536K->10728K(251392K), 0.0123 secs]",
+                "[ParNew: 1K->1K(2K), 0.0001 secs]"));
+        SingleGCLogFile logFile = new SingleGCLogFile(path);
+        assertFalse(logFile.isUnified());
+        assertEquals(TripleState.FALSE, logFile.getMetaData().getUnifiedFormat());
+    }
+}
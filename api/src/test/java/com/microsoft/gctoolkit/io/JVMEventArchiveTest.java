@@ -0,0 +1,235 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.CPUSummary;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.ReferenceGCSummary;
+import com.microsoft.gctoolkit.event.RegionSummary;
+import com.microsoft.gctoolkit.event.StatisticalSummary;
+import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
+import com.microsoft.gctoolkit.event.UnifiedStatisticalSummary;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.generational.ParNew;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
+import com.microsoft.gctoolkit.event.zgc.ZGCPageAgeSummary;
+import com.microsoft.gctoolkit.event.zgc.ZGCYoungCollection;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.SupportedFlags;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JVMEventArchiveTest {
+
+    private static List<JVMEvent> events() {
+        DateTimeStamp first = new DateTimeStamp("2024-03-01T10:15:30.123+0100", 0.5d);
+
+        G1Young young = new G1Young(first.add(1.0d), GarbageCollectionTypes.Young, GCCause.G1_EVACUATION_PAUSE, 0.0042d);
+        young.addMemorySummary(new MemoryPoolSummary(100L, 200L, 10L, 200L), new SurvivorMemoryPoolSummary(0L, 16L, 32L),
+                new MemoryPoolSummary(50L, 60L, 1000L), null, new MemoryPoolSummary(150L, 1200L, 76L, 1200L));
+        young.addCPUSummary(new CPUSummary(0.01d, 0.02d, 0.005d));
+        young.addRegionSummary(new RegionSummary(10, 0, 10), new RegionSummary(0, 2, 2), new RegionSummary(5, 5, 5), null, null);
+        ReferenceGCSummary references = new ReferenceGCSummary();
+        references.addSoftReferences(first, 3, 0.001d);
+        young.add(references);
+        young.addPhaseDuration("Object Copy", 1.5d);
+        young.addPreEvacuationCollectionPhase("Choose Collection Set", 0.25d);
+        young.addParallelPhaseSummary("Object Copy", new StatisticalSummary(1.0d, 2.0d, 3.0d, 2.0d, 8.0d));
+        young.addEvacuationCollectionPhase("Termination", new UnifiedStatisticalSummary(0.1d, 0.2d, 0.3d, 0.2d, 0.8d, 4));
+
+        ParNew parNew = new ParNew(new DateTimeStamp(12.25d), GCCause.ALLOCATION_FAILURE, 0.0123d);
+        parNew.add(new MemoryPoolSummary(1L, 2L, 3L, 4L), new MemoryPoolSummary(5L, 6L, 7L, 8L));
+
+        ZGCYoungCollection zgc = new ZGCYoungCollection(new DateTimeStamp(20.0d), GCCause.WHITEBOX_YOUNG, 0.001d);
+        zgc.setGcId(42L);
+        zgc.setLoadAverages(new double[] { 1.5d, 2.5d, 3.5d });
+        zgc.setAgeTableSummary(List.of(new ZGCPageAgeSummary("Eden", 1L, 2, 3L, 4, 5L, 6L, 7L, 8L, 9L, -10L)));
+
+        SurvivorRecord survivors = new SurvivorRecord(new DateTimeStamp(21.0d), 1024L, 3, 15);
+        survivors.add(1, 512L);
+        survivors.add(2, Long.MAX_VALUE);
+
+        return List.of(young, parNew, zgc, new Safepoint("G1CollectForAllocation", new DateTimeStamp(22.0d), 0.0001d),
+                survivors, new JVMTermination(new DateTimeStamp(30.0d), first));
+    }
+
+    private static final ChannelName[] CHANNELS = {
+            ChannelName.G1GC_PARSER_OUTBOX, ChannelName.GENERATIONAL_HEAP_PARSER_OUTBOX, ChannelName.ZGC_PARSER_OUTBOX,
+            ChannelName.JVM_EVENT_PARSER_OUTBOX, ChannelName.SURVIVOR_MEMORY_POOL_PARSER_OUTBOX, ChannelName.G1GC_PARSER_OUTBOX
+    };
+
+    private static Path write(Path directory, List<JVMEvent> events) throws IOException {
+        Diary diary = new Diary();
+        diary.setTrue(SupportedFlags.G1GC, SupportedFlags.UNIFIED_LOGGING);
+        diary.setFalse(SupportedFlags.ZGC);
+        diary.setTimeOfFirstEvent(new DateTimeStamp(0.5d));
+        Path path = directory.resolve("events.gctk");
+        try (JVMEventWriter writer = new JVMEventWriter(Files.newOutputStream(path), diary, Set.of(EventSource.G1GC, EventSource.SAFEPOINT))) {
+            for (int i = 0; i < events.size(); i++)
+                writer.write(CHANNELS[i], events.get(i));
+        }
+        return path;
+    }
+
+    @Test
+    public void eventsAreReadBackWithEveryField(@TempDir Path tempDir) throws IOException, IllegalAccessException {
+        List<JVMEvent> events = events();
+        try (JVMEventReader reader = new JVMEventArchive(write(tempDir, events)).open()) {
+            for (int i = 0; i < events.size(); i++) {
+                JVMEvent event = reader.read();
+                assertEquals(CHANNELS[i], reader.getChannel());
+                assertSameFields(events.get(i), event);
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void diaryAndEventSourcesAreArchived(@TempDir Path tempDir) throws IOException {
+        JVMEventArchive archive = new JVMEventArchive(write(tempDir, events()));
+        Diary diary = archive.diary();
+        assertTrue(diary.isG1GC());
+        assertTrue(diary.isUnifiedLogging());
+        assertTrue(diary.isZGCKnown());
+        assertFalse(diary.isZGC());
+        assertFalse(diary.isCMSKnown());
+        assertEquals(new DateTimeStamp(0.5d), diary.getTimeOfFirstEvent());
+        assertEquals(Set.of(EventSource.G1GC, EventSource.SAFEPOINT), archive.eventSources());
+        try (Stream<JVMEvent> stream = archive.stream()) {
+            assertEquals(events().stream().map(JVMEvent::getClass).collect(Collectors.toList()),
+                    stream.map(JVMEvent::getClass).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void singleEventIsEncoded() throws IllegalAccessException {
+        for (JVMEvent event : events())
+            assertSameFields(event, JVMEventReader.decode(JVMEventWriter.encode(event)));
+    }
+
+    /**
+     * Every concrete JVMEvent in the api, created as the reader creates it and with each primitive field set to
+     * a value that is not its default, is read back with the same fields.
+     */
+    @Test
+    public void everyEventClassIsEncoded() throws Exception {
+        Path classes = Path.of(JVMEvent.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Class<?>> eventClasses;
+        try (Stream<Path> files = Files.walk(classes.resolve("com/microsoft/gctoolkit/event"))) {
+            eventClasses = files.map(classes::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.'))
+                    .map(JVMEventArchiveTest::load)
+                    .filter(type -> JVMEvent.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers()))
+                    .collect(Collectors.toList());
+        }
+        assertTrue(eventClasses.size() > 40, () -> "Found only " + eventClasses);
+        for (Class<?> type : eventClasses) {
+            EventSchema schema = EventSchema.of(type);
+            JVMEvent event = (JVMEvent) schema.newInstance();
+            int value = 1;
+            for (Field field : schema.fields().values()) {
+                if (field.getType() == double.class)
+                    field.setDouble(event, value++ + 0.5d);
+                else if (field.getType() == long.class)
+                    field.setLong(event, value++);
+                else if (field.getType() == int.class)
+                    field.setInt(event, value++);
+                else if (field.getType() == boolean.class)
+                    field.setBoolean(event, true);
+            }
+            assertSameFields(event, JVMEventReader.decode(JVMEventWriter.encode(event)));
+        }
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void truncatedArchiveIsReported(@TempDir Path tempDir) throws IOException {
+        Path path = write(tempDir, events());
+        byte[] bytes = Files.readAllBytes(path);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            out.write(bytes, 0, bytes.length - 1);
+        }
+        try (JVMEventReader reader = new JVMEventArchive(path).open()) {
+            assertThrows(EOFException.class, () -> {
+                while (reader.read() != null) ;
+            });
+        }
+    }
+
+    private static void assertSameFields(Object expected, Object actual) throws IllegalAccessException {
+        if (expected == null || actual == null || expected instanceof String || expected instanceof Number
+                || expected instanceof Boolean || expected instanceof Enum || expected instanceof DateTimeStamp) {
+            assertEquals(expected, actual);
+            if (expected instanceof DateTimeStamp)
+                assertEquals(((DateTimeStamp) expected).getDateTime(), ((DateTimeStamp) actual).getDateTime());
+            return;
+        }
+        if (expected instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            assertEquals(expectedList.size(), actualList.size());
+            for (int i = 0; i < expectedList.size(); i++)
+                assertSameFields(expectedList.get(i), actualList.get(i));
+            return;
+        }
+        if (expected instanceof Map) {
+            Map<?, ?> expectedMap = (Map<?, ?>) expected;
+            Map<?, ?> actualMap = (Map<?, ?>) actual;
+            assertEquals(expectedMap.keySet(), actualMap.keySet());
+            for (Object key : expectedMap.keySet())
+                assertSameFields(expectedMap.get(key), actualMap.get(key));
+            return;
+        }
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof double[]) {
+            assertArrayEquals((double[]) expected, (double[]) actual);
+        } else if (expected instanceof long[]) {
+            assertArrayEquals((long[]) expected, (long[]) actual);
+        } else if (expected instanceof int[]) {
+            assertArrayEquals((int[]) expected, (int[]) actual);
+        } else {
+            for (Map.Entry<String, Field> field : EventSchema.of(expected.getClass()).fields().entrySet()) {
+                Object expectedValue = field.getValue().get(expected);
+                Object actualValue = field.getValue().get(actual);
+                if (expectedValue instanceof Object[])
+                    assertSameFields(Arrays.asList((Object[]) expectedValue), Arrays.asList((Object[]) actualValue));
+                else
+                    assertSameFields(expectedValue, actualValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedLineReaderTest {
+
+    private static final String LOG =
+            "[0.011s][info][gc] Using G1\n" +
+            "\n" +
+            "   \t \n" +
+            "  [0.012s][info][gc,init] Version: 17.0.1+12  \r\n" +
+            "[0.013s][info][gc,init] CPUs: 8 total, 8 available\r" +
+            " \n" +
+            "  Heap région: 1M  \n" +
+            "[0.014s][info][gc,init] Memory: 16G";
+
+    @TempDir
+    Path tempDir;
+
+    private List<String> expected(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.filter(line -> !line.isBlank()).map(String::trim).collect(Collectors.toList());
+        }
+    }
+
+    private List<String> mapped(Path path, int windowSize) throws IOException {
+        try (Stream<String> lines = MappedLineReader.lines(path, windowSize)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void sameLinesAsFilesLines() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, LOG.getBytes(StandardCharsets.UTF_8));
+        List<String> expected = expected(path);
+        assertEquals(5, expected.size());
+        assertEquals(expected, mapped(path, 1 << 20));
+    }
+
+    @Test
+    void linesStraddlingMappingWindows() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, (LOG + "\r\n").getBytes(StandardCharsets.UTF_8));
+        List<String> expected = expected(path);
+        for (int windowSize = 1; windowSize < 64; windowSize++)
+            assertEquals(expected, mapped(path, windowSize), "window size " + windowSize);
+    }
+
+    @Test
+    void linesLongerThanTheMappingWindow() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        String longLine = "[0.015s][info][gc] " + "x".repeat(1 << 20);
+        Files.write(path, (LOG + "\n" + longLine + "\n" + LOG).getBytes(StandardCharsets.UTF_8));
+        List<String> lines = mapped(path, 16);
+        assertEquals(expected(path), lines);
+        assertEquals(longLine, lines.get(5));
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, new byte[0]);
+        assertEquals(List.of(), mapped(path, 16));
+    }
+
+    @Test
+    void singleGCLogFileEndsWithSentinel() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        Files.write(path, LOG.getBytes(StandardCharsets.UTF_8));
+        List<String> lines;
+        try (Stream<String> stream = new SingleGCLogFile(path).stream()) {
+            lines = stream.collect(Collectors.toList());
+        }
+        assertEquals(expected(path).size() + 1, lines.size());
+        assertEquals(GCLogFile.END_OF_DATA_SENTINEL, lines.get(lines.size() - 1));
+    }
+}
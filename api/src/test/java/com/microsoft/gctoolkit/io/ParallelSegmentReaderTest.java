@@ -0,0 +1,77 @@
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelSegmentReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void writeSegment(String name, int first, int last) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = first; i < last; i++) {
+            lines.add(String.format("[%d.%03ds][info][gc] GC(%d) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.003ms", i, i % 1000, i));
+            lines.add("   ");
+        }
+        Files.write(tempDir.resolve(name), lines);
+    }
+
+    private List<String> lines(RotatingGCLogFile logFile) throws IOException {
+        try (Stream<String> stream = logFile.stream()) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void parallelStreamPreservesRotatingOrder() throws IOException {
+        writeSegment("gc.log.0", 0, 1000);
+        writeSegment("gc.log.1", 1000, 2000);
+        writeSegment("gc.log.2", 2000, 3000);
+        writeSegment("gc.log", 3000, 3500);
+
+        List<String> sequential = lines(new RotatingGCLogFile(tempDir));
+        List<String> parallel = lines(new RotatingGCLogFile(tempDir, 4));
+
+        assertEquals(3501, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(GCLogFile.END_OF_DATA_SENTINEL, parallel.get(parallel.size() - 1));
+    }
+
+    @Test
+    void fewerThreadsThanSegments() throws IOException {
+        writeSegment("gc.log.0", 0, 10);
+        writeSegment("gc.log.1", 10, 20);
+        writeSegment("gc.log.2", 20, 30);
+        writeSegment("gc.log", 30, 40);
+
+        assertEquals(lines(new RotatingGCLogFile(tempDir)), lines(new RotatingGCLogFile(tempDir, 2)));
+    }
+
+    @Test
+    void segmentsLargerThanTheQueueAreStreamedInOrder() throws IOException {
+        int lines = ParallelSegmentReader.LINES_PER_SEGMENT * 3;
+        writeSegment("gc.log.0", 0, lines);
+        writeSegment("gc.log", lines, 2 * lines);
+
+        List<String> parallel = lines(new RotatingGCLogFile(tempDir, 2));
+        assertEquals(lines(new RotatingGCLogFile(tempDir)), parallel);
+        assertEquals(2 * lines + 1, parallel.size());
+
+        // closing the stream part way through stops the readers rather than leaving them blocked on a full queue
+        try (Stream<String> stream = new RotatingGCLogFile(tempDir, 2).stream()) {
+            assertTrue(stream.limit(10).allMatch(line -> line.contains("Pause Young")));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReverseLineReaderTest {
+
+    private static final String[] CONTENTS = {
+            "",
+            "\n",
+            "one line",
+            "one line\n",
+            "\n\nfirst\n\nsecond\n",
+            "[0.011s][info][gc] Using G1\r\n[0.012s][info][gc,init] Version: 17\r\n\r\n[1.012s] last\r\n",
+            "cr\rterminated\rlines\r",
+            "mixed\r\nterminators\nand\rrégion\n\n",
+    };
+
+    @TempDir
+    Path tempDir;
+
+    private List<String> expected(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    private List<String> reversed(Path path, int blockSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (ReverseLineReader reader = new ReverseLineReader(path, blockSize)) {
+            String line;
+            while ((line = reader.readLine()) != null)
+                lines.add(line);
+        }
+        Collections.reverse(lines);
+        return lines;
+    }
+
+    @Test
+    void readsAllLinesBackwards() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        for (String content : CONTENTS) {
+            Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+            List<String> expected = expected(path);
+            for (int blockSize = 1; blockSize < 20; blockSize++)
+                assertEquals(expected, reversed(path, blockSize), "block size " + blockSize + " for " + content);
+        }
+    }
+
+    @Test
+    void tail() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            lines.add("[" + i + ".000s][info][gc] line " + i);
+        Files.write(path, lines);
+        try (ReverseLineReader reader = new ReverseLineReader(path)) {
+            assertEquals(lines.subList(900, 1000), reader.tail(100));
+        }
+        try (ReverseLineReader reader = new ReverseLineReader(path)) {
+            assertEquals(lines, reader.tail(2000));
+        }
+    }
+}
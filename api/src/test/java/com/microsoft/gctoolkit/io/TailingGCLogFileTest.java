@@ -0,0 +1,150 @@
+package com.microsoft.gctoolkit.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TailingGCLogFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void append(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void awaitSize(List<String> lines, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (lines.size() < size && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+        assertEquals(size, lines.size());
+    }
+
+    @Test
+    void followsAppendsAndRotation() throws Exception {
+        Path path = tempDir.resolve("gc.log");
+        append(path, "[0.011s][info][gc] Using G1\n\n");
+
+        TailingGCLogFile logFile = new TailingGCLogFile(path, Duration.ofMillis(10));
+        List<String> lines = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            try (Stream<String> stream = logFile.stream()) {
+                stream.forEach(lines::add);
+            } catch (IOException ioe) {
+                throw new RuntimeException(ioe);
+            }
+        });
+
+        awaitSize(lines, 1);
+
+        // a partially written line is not published until it is complete
+        append(path, "[1.000s][info][gc] GC(0) Pause");
+        Thread.sleep(50);
+        assertEquals(1, lines.size());
+        append(path, " Young (Normal) 24M->4M(256M) 3.003ms\n");
+        awaitSize(lines, 2);
+
+        // the JVM renames the log and starts a new one
+        append(path, "[2.000s][info][gc] GC(1) written before rotation\n");
+        Files.move(path, tempDir.resolve("gc.log.0"));
+        append(path, "[3.000s][info][gc] GC(2) written after rotation\n");
+        awaitSize(lines, 4);
+
+        logFile.stop();
+        reader.get(10, TimeUnit.SECONDS);
+
+        List<String> expected = new ArrayList<>(List.of(
+                "[0.011s][info][gc] Using G1",
+                "[1.000s][info][gc] GC(0) Pause Young (Normal) 24M->4M(256M) 3.003ms",
+                "[2.000s][info][gc] GC(1) written before rotation",
+                "[3.000s][info][gc] GC(2) written after rotation",
+                GCLogFile.END_OF_DATA_SENTINEL));
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    void linesWrittenJustBeforeRotationAreRead() throws Exception {
+        Path path = tempDir.resolve("gc.log");
+        append(path, "[0.011s][info][gc] Using G1\n");
+        TailingGCLogFile logFile = new TailingGCLogFile(path, Duration.ofMillis(10));
+        TailingGCLogFile.Follower follower = logFile.new Follower(path);
+        try {
+            assertTrue(follower.fill(false));
+            assertEquals("[0.011s][info][gc] Using G1", follower.next());
+            assertFalse(follower.fill(false));
+
+            // the JVM appends and rotates after the follower has found nothing more to read
+            append(path, "[1.000s][info][gc] GC(0) written before rotation\n[1.500s][info][gc] GC(1) unterminated");
+            Files.move(path, tempDir.resolve("gc.log.0"));
+            append(path, "[2.000s][info][gc] GC(2) written after rotation\n");
+            assertTrue(follower.rotated());
+
+            List<String> lines = new ArrayList<>();
+            while (follower.fill(false))
+                lines.add(follower.next());
+            assertEquals(List.of(
+                    "[1.000s][info][gc] GC(0) written before rotation",
+                    "[1.500s][info][gc] GC(1) unterminated",
+                    "[2.000s][info][gc] GC(2) written after rotation"), lines);
+        } finally {
+            follower.close();
+        }
+    }
+
+    @Test
+    void discoveryDoesNotWaitForTheJVM() throws IOException {
+        Path path = tempDir.resolve("gc.log");
+        append(path, "[0.011s][info][gc] Using G1\n");
+        TailingGCLogFile logFile = new TailingGCLogFile(path);
+        assertTrue(logFile.isUnified());
+    }
+
+    @Test
+    void discoveryWaitsForTheFirstLines() throws Exception {
+        Path path = tempDir.resolve("gc.log");
+        TailingGCLogFile logFile = new TailingGCLogFile(path, Duration.ofMillis(10));
+        CompletableFuture<Boolean> unified = CompletableFuture.supplyAsync(logFile::isUnified);
+
+        // the file does not exist, then is empty, then has a partial line
+        Thread.sleep(50);
+        append(path, "");
+        Thread.sleep(50);
+        append(path, "[0.011s][info][gc] Using");
+        Thread.sleep(50);
+        assertFalse(unified.isDone());
+        append(path, " G1\n");
+        assertTrue(unified.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void preUnifiedFormatIsDecidedOnceEnoughLinesHaveArrived() throws Exception {
+        Path path = tempDir.resolve("gc.log");
+        append(path, "Java HotSpot(TM) 64-Bit Server VM (25.162-b12) for linux-amd64 JRE (1.8.0_162-b12)\n");
+        TailingGCLogFile logFile = new TailingGCLogFile(path, Duration.ofMillis(10));
+        CompletableFuture<Boolean> unified = CompletableFuture.supplyAsync(logFile::isUnified);
+
+        Thread.sleep(50);
+        assertFalse(unified.isDone());
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 30; i++)
+            lines.append("CommandLine flags: -XX:+UseG1GC -XX:+PrintGCDetails\n");
+        append(path, lines.toString());
+        assertFalse(unified.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineBatchTest {
+
+    private static final List<String> LINES = List.of(
+            "[0.011s][info][gc] Using G1",
+            "[1.000s][info][gc,phases] GC(0) Pre Evacuate Collection Set: 0.1ms",
+            "[1.000s][info][gc,heap] GC(0) Eden regions: 6->0(8)",
+            "[1.010s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 9M->4M(106M) 9.598ms");
+
+    @Test
+    public void linesAreDecodedOnce() {
+        LineBatch batch = new LineBatch(LINES);
+        AtomicInteger decodings = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            int length = batch.decoded(1, Integer.class, line -> {
+                decodings.incrementAndGet();
+                return line.length();
+            });
+            assertEquals(LINES.get(1).length(), length);
+        }
+        assertEquals(1, decodings.get());
+        // a value of another type is replaced
+        assertEquals("[0.011s]", batch.decoded(0, String.class, line -> line.substring(0, 8)));
+        assertEquals(LINES.get(0).length(), batch.decoded(0, Integer.class, String::length));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.decoded(4, Integer.class, String::length));
+    }
+
+    @Test
+    public void selectedLinesShareTheDecodedValues() {
+        LineBatch batch = new LineBatch(LINES);
+        List<String> gc = TagFilter.of(Set.of("gc")).select(batch);
+        assertSame(batch, gc);
+
+        List<String> heap = TagFilter.of(Set.of("gc,heap")).select(batch);
+        assertTrue(heap instanceof LineBatch);
+        assertEquals(List.of(LINES.get(2)), heap);
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.get(1));
+
+        Object decoded = ((LineBatch) heap).decoded(0, Object.class, line -> new Object());
+        assertSame(decoded, batch.decoded(2, Object.class, line -> fail("decoded again")));
+        List<String> phasesOrHeap = TagFilter.of(Set.of("gc,phases", "gc,heap")).select(batch);
+        assertEquals(LINES.subList(1, 3), phasesOrHeap);
+        assertSame(decoded, ((LineBatch) phasesOrHeap).decoded(1, Object.class, line -> fail("decoded again")));
+    }
+}
@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TagFilterTest {
+
+    private static final String GC_PHASES = "[2024-01-01T10:00:00.000+0000][0.123s][info][gc,phases      ] GC(0)   Pre Evacuate Collection Set: 0.1ms";
+    private static final String GC_AGE = "[0.123s][debug][gc,age] GC(0) Desired survivor size 1048576 bytes, new threshold 15 (max threshold 15)";
+    private static final String SAFEPOINT = "[0.200s][info][safepoint   ] Total time for which application threads were stopped: 0.0002 seconds";
+    private static final String CLASS_LOAD = "[0.300s][info][class,load] java.lang.Object source: shared objects file";
+
+    @Test
+    public void selectsLinesWithEveryTagOfASet() {
+        TagFilter filter = TagFilter.of(Set.of("gc"));
+        assertTrue(filter.selects(GC_PHASES));
+        assertTrue(filter.selects(GC_AGE));
+        assertFalse(filter.selects(SAFEPOINT));
+        assertFalse(filter.selects(CLASS_LOAD));
+
+        filter = TagFilter.of(Set.of("age,gc", "safepoint"));
+        assertFalse(filter.selects(GC_PHASES));
+        assertTrue(filter.selects(GC_AGE));
+        assertTrue(filter.selects(SAFEPOINT));
+        assertFalse(filter.selects(CLASS_LOAD));
+    }
+
+    @Test
+    public void tagsMatchWholeWords() {
+        TagFilter filter = TagFilter.of(Set.of("gc"));
+        assertFalse(filter.selects("[0.1s][info][gcid] line"));
+        assertFalse(filter.selects("[0.1s][info][logc] line"));
+        assertTrue(filter.selects("[0.1s][info][heap,gc,exit] line"));
+    }
+
+    @Test
+    public void linesWithoutTagsAreAlwaysSelected() {
+        TagFilter filter = TagFilter.of(Set.of("gc"));
+        assertTrue(filter.selects("2024-01-01T10:00:00.000+0000: 0.123: [GC (Allocation Failure) [PSYoungGen: 1K->1K(2K)] 0.0010 secs]"));
+        assertTrue(filter.selects("[0.1s][info] written without the tags decorator"));
+        assertTrue(filter.selects("[0.1s] written with only the uptime decorator"));
+        assertTrue(filter.selects("Heap"));
+        assertTrue(filter.selects(""));
+        assertTrue(filter.selects(GCLogFile.END_OF_DATA_SENTINEL));
+        assertTrue(filter.selects(GCLogFile.CHECKPOINT_SENTINEL));
+    }
+
+    @Test
+    public void emptyTagSetsSelectEverything() {
+        TagFilter filter = TagFilter.of(Set.of());
+        assertTrue(filter.selectsEverything());
+        assertTrue(filter.selects(CLASS_LOAD));
+        List<String> lines = List.of(GC_PHASES, CLASS_LOAD);
+        assertSame(lines, filter.select(lines));
+    }
+
+    @Test
+    public void selectKeepsOrder() {
+        TagFilter filter = TagFilter.of(Set.of("gc"));
+        List<String> lines = List.of(GC_PHASES, GC_AGE);
+        assertSame(lines, filter.select(lines));
+        assertEquals(List.of(GC_PHASES, GC_AGE), filter.select(List.of(CLASS_LOAD, GC_PHASES, SAFEPOINT, GC_AGE, CLASS_LOAD)));
+        assertEquals(List.of(), filter.select(List.of(SAFEPOINT, CLASS_LOAD)));
+    }
+}
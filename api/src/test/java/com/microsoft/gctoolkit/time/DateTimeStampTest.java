@@ -491,4 +491,57 @@ public class DateTimeStampTest {
         final ZonedDateTime expected = ZonedDateTime.from(formatter.parse(dateTimeString));
         assertTrue(expected.isEqual(dateTimeStamp.getDateTime()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void parsesDatesAsTheFormatterDoes() {
+        String[] dates = {
+                "2018-04-04T09:10:00.586-0100", "2025-05-08T11:07:55.681+0530", "1970-01-01T00:00:00.000+0000",
+                "1969-12-31T23:59:59.999+0000", "2000-02-29T12:00:00.001-0000", "2100-02-28T23:59:59.999+1800",
+                "2024-12-31T23:59:59.999-1745", "0001-01-01T00:00:00.000+0000"
+        };
+        for (String date : dates) {
+            ZonedDateTime expected = ZonedDateTime.from(formatter.parse(date));
+            DateTimeStamp dateTimeStamp = new DateTimeStamp(date, 1.0d);
+            assertEquals(expected, dateTimeStamp.getDateTime(), date);
+            assertEquals(new DateTimeStamp(expected, 1.0d), dateTimeStamp, date);
+            assertEquals(new DateTimeStamp(expected, 1.0d).hashCode(), dateTimeStamp.hashCode(), date);
+            assertEquals(expected.toInstant().toEpochMilli(), new DateTimeStamp(date).toEpochInMillis(), 0.0d, date);
+        }
+    }
+
+    @Test
+    void datesOutsideTheLoggedShapeAreLeftToTheFormatter() {
+        // the formatter moves an out of range day to the end of the month
+        assertEquals(ZonedDateTime.from(formatter.parse("2023-02-30T10:00:00.000+0000")), new DateTimeStamp("2023-02-30T10:00:00.000+0000").getDateTime());
+        assertThrows(RuntimeException.class, () -> new DateTimeStamp("2023-02-01T25:00:00.000+0000"));
+        assertThrows(RuntimeException.class, () -> new DateTimeStamp("2023-02-01 10:00:00.000+0000"));
+    }
+
+    @Test
+    void addingMatchesZonedDateTimeArithmetic() {
+        ZonedDateTime start = ZonedDateTime.from(formatter.parse("2020-02-28T23:59:59.900+0100"));
+        DateTimeStamp dateTimeStamp = new DateTimeStamp("2020-02-28T23:59:59.900+0100", 10.0d);
+        for (double offset : new double[] { 0.1d, 0.25d, 86_400.5d, -0.901d, -3.75d }) {
+            int seconds = (int) offset;
+            long nanos = ((long) ((offset % 1) * 1_000L)) * 1_000_000L;
+            DateTimeStamp moved = dateTimeStamp.add(offset);
+            assertEquals(start.plusSeconds(seconds).plusNanos(nanos), moved.getDateTime(), Double.toString(offset));
+            assertEquals(10.0d + offset, moved.getTimeStamp(), 0.0001d);
+        }
+        assertEquals(dateTimeStamp, dateTimeStamp.add(1.5d).minus(1.5d));
+    }
+
+    @Test
+    void primitiveFieldsAreExposed() {
+        DateTimeStamp dateTimeStamp = new DateTimeStamp("2020-02-28T23:59:59.900+0100", 10.5d);
+        ZonedDateTime expected = ZonedDateTime.from(formatter.parse("2020-02-28T23:59:59.900+0100"));
+        assertEquals(10.5d, dateTimeStamp.getUptime());
+        assertEquals(expected.getZone(), dateTimeStamp.getZone());
+        assertEquals(expected.toEpochSecond(), dateTimeStamp.getEpochSecond());
+        assertEquals(expected.getNano(), dateTimeStamp.getNanoOfSecond());
+
+        DateTimeStamp onlyDate = new DateTimeStamp("2020-02-28T23:59:59.900+0100");
+        assertTrue(Double.isNaN(onlyDate.getUptime()));
+        assertNull(new DateTimeStamp(1.0d).getZone());
+    }
+}
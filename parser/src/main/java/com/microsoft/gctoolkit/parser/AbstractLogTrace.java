@@ -10,20 +10,29 @@ import java.util.regex.Pattern;
 
 public abstract class AbstractLogTrace {
 
-    private static final String US_FORMAT_SEPARATOR = ".";
-    private static final String EUROPEAN_FORMAT_SEPARATOR = ",";
     private static final double MISSING_TIMESTAMP_SENTINEL = -1.0d;
 
     private static final Pattern TIMES_STAMP_RULE = Pattern.compile(PreUnifiedTokens.TIMESTAMP);
     private static final Pattern DATE_TIME_STAMP_RULE = Pattern.compile(PreUnifiedTokens.DATE_TIMESTAMP);
     protected final Matcher trace;
+    // The text being matched, from which numeric fields are read in place. May be null.
+    protected final CharSequence input;
 
     public AbstractLogTrace(Matcher matcher) {
+        this(matcher, null);
+    }
+
+    /**
+     * @param matcher a matcher that has found a match.
+     * @param input the text the matcher is matching against.
+     */
+    public AbstractLogTrace(Matcher matcher, CharSequence input) {
         this.trace = matcher;
+        this.input = input;
     }
 
     public int length() {
-        return trace.group(0).length();
+        return trace.end() - trace.start();
     }
 
     public int groupCount() {
@@ -35,28 +44,42 @@ public abstract class AbstractLogTrace {
     }
 
     public long getLongGroup(int index) {
-        return Long.parseLong(trace.group(index));
+        if (input == null || trace.start(index) < 0)
+            return Long.parseLong(trace.group(index));
+        return NumberScanner.parseLong(input, trace.start(index), trace.end(index));
     }
 
     public int getIntegerGroup(int index) {
-        return Integer.parseInt(trace.group(index));
+        if (input == null || trace.start(index) < 0)
+            return Integer.parseInt(trace.group(index));
+        return NumberScanner.parseInt(input, trace.start(index), trace.end(index));
     }
 
     public String getGroup(int index) {
         return trace.group(index);
     }
 
+    /**
+     * Parse the capture group as a double. Either '.' or ',' may be used as the decimal separator.
+     * @param index Index of the capture group.
+     * @return The capture group parsed to a double.
+     */
     public double getDoubleGroup(int index) {
-        return convertToDouble(trace.group(index));
+        if (input == null || trace.start(index) < 0)
+            return convertToDouble(trace.group(index));
+        return NumberScanner.parseDouble(input, trace.start(index), trace.end(index));
     }
 
     protected double convertToDouble(String value) {
-        return Double.parseDouble(value.replaceAll(EUROPEAN_FORMAT_SEPARATOR, US_FORMAT_SEPARATOR));
+        return NumberScanner.parseDouble(value, 0, value.length());
     }
 
     public double getPercentageGroup(int i) {
-        String value = getGroup(i);
-        return convertToDouble(value.substring(0, value.length() - 1));
+        if (input == null || trace.start(i) < 0) {
+            String value = getGroup(i);
+            return convertToDouble(value.substring(0, value.length() - 1));
+        }
+        return NumberScanner.parseDouble(input, trace.start(i), trace.end(i) - 1);
     }
 
     public double getTimeStamp() {
@@ -115,7 +138,7 @@ public abstract class AbstractLogTrace {
 
     public GCLogTrace next() {
         if (trace.find())
-            return new GCLogTrace(trace);
+            return new GCLogTrace(trace, input);
         return null;
     }
 }
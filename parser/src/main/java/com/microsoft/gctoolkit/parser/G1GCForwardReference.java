@@ -24,6 +24,9 @@ import com.microsoft.gctoolkit.event.g1gc.G1FullGC;
 import com.microsoft.gctoolkit.event.g1gc.G1FullGCNES;
 import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1Phase;
+import com.microsoft.gctoolkit.event.g1gc.G1PhaseDurations;
+import com.microsoft.gctoolkit.event.g1gc.G1PhaseSummaries;
 import com.microsoft.gctoolkit.event.g1gc.G1Mixed;
 import com.microsoft.gctoolkit.event.g1gc.G1Remark;
 import com.microsoft.gctoolkit.event.g1gc.G1SystemGC;
@@ -35,7 +38,6 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 
 
 class G1GCForwardReference extends ForwardReference {
@@ -406,9 +408,9 @@ class G1GCForwardReference extends ForwardReference {
     static final int OTHER = 3;
 
     private final double[] youngCollectionPhases = {NOT_SET, NOT_SET, NOT_SET, NOT_SET};
-    private final Map<String, Double> preEvacuateCSetPhaseDurations = new ConcurrentHashMap<>(3);
-    private final Map<String, UnifiedStatisticalSummary> evacuateCSetPhaseDurations = new ConcurrentHashMap<>();
-    private final Map<String, Double> postEvacuateCSetPhaseDurations = new ConcurrentHashMap<>();
+    private final G1PhaseDurations preEvacuateCSetPhaseDurations = new G1PhaseDurations(G1Phase.Group.PRE_EVACUATE_COLLECTION_SET);
+    private final G1PhaseSummaries<UnifiedStatisticalSummary> evacuateCSetPhaseDurations = new G1PhaseSummaries<>(G1Phase.Group.WORKER);
+    private final G1PhaseDurations postEvacuateCSetPhaseDurations = new G1PhaseDurations(G1Phase.Group.POST_EVACUATE_COLLECTION_SET);
 
     void setPreEvacuateCSetDuration(double duration) {
         this.youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET] = duration;
@@ -418,14 +420,6 @@ class G1GCForwardReference extends ForwardReference {
         preEvacuateCSetPhaseDurations.put(phase, duration);
     }
 
-    Stream<String> preEvacuateCSetPhaseNames() {
-        return preEvacuateCSetPhaseDurations.keySet().stream();
-    }
-
-    double preEvacuateCSetPhaseDuration(String phaseName) {
-        return preEvacuateCSetPhaseDurations.get(phaseName);
-    }
-
     void setEvacuationCSetDuration(double duration) {
         this.youngCollectionPhases[EVACUATE_COLLECTION_SET] = duration;
     }
@@ -434,14 +428,6 @@ class G1GCForwardReference extends ForwardReference {
         evacuateCSetPhaseDurations.put(phase, stats);
     }
 
-    Stream<String> evacuateCSetPhaseNames() {
-        return evacuateCSetPhaseDurations.keySet().stream();
-    }
-
-    UnifiedStatisticalSummary evacuateCSetPhaseDuration(String phaseName) {
-        return evacuateCSetPhaseDurations.get(phaseName);
-    }
-
     void setPostEvacuateCSetDuration(double duration) {
         this.youngCollectionPhases[POST_EVACUATE_COLLECTION_SET] = duration;
     }
@@ -450,14 +436,6 @@ class G1GCForwardReference extends ForwardReference {
         postEvacuateCSetPhaseDurations.put(phase, duration);
     }
 
-    Stream<String> postEvacuateCSetPhaseNames() {
-        return postEvacuateCSetPhaseDurations.keySet().stream();
-    }
-
-    double postEvacuateCSetPhaseDuration(String phaseName) {
-        return postEvacuateCSetPhaseDurations.get(phaseName);
-    }
-
     void setOtherDuration(double duration) {
         this.youngCollectionPhases[OTHER] = duration;
     }
@@ -644,14 +622,14 @@ class G1GCForwardReference extends ForwardReference {
     }
 
     private void fillInPhases(G1Young collection) {
-        collection.addPhaseDuration("Pre Evacuate Collection", youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Evacuate Collection", youngCollectionPhases[EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Post Evacuate Collection Set", youngCollectionPhases[POST_EVACUATE_COLLECTION_SET]);
-        collection.addPhaseDuration("Other", youngCollectionPhases[OTHER]);
-
-        preEvacuateCSetPhaseNames().forEach(name -> collection.addPreEvacuationCollectionPhase(name, preEvacuateCSetPhaseDuration(name)));
-        evacuateCSetPhaseNames().forEach(name -> collection.addEvacuationCollectionPhase(name, evacuateCSetPhaseDuration(name)));
-        postEvacuateCSetPhaseNames().forEach(name -> collection.addPostEvacuationCollectionPhase(name, postEvacuateCSetPhaseDuration(name)));
+        collection.addPhaseDuration(G1Phase.PRE_EVACUATE_COLLECTION_SET, youngCollectionPhases[PRE_EVACUATE_COLLECTION_SET]);
+        collection.addPhaseDuration(G1Phase.EVACUATE_COLLECTION_SET, youngCollectionPhases[EVACUATE_COLLECTION_SET]);
+        collection.addPhaseDuration(G1Phase.POST_EVACUATE_COLLECTION_SET, youngCollectionPhases[POST_EVACUATE_COLLECTION_SET]);
+        collection.addPhaseDuration(G1Phase.OTHER, youngCollectionPhases[OTHER]);
+
+        collection.getPreEvacuateCSetPhases().putAll(preEvacuateCSetPhaseDurations);
+        collection.getEvacuateCSetPhases().putAll(evacuateCSetPhaseDurations);
+        collection.getPostEvacuateCSetPhases().putAll(postEvacuateCSetPhaseDurations);
     }
 
     private void fillInWorkers(G1Young collection) {
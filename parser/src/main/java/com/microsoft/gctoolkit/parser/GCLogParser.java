@@ -2,12 +2,16 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.ReferenceGCSummary;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.event.jvm.MetaspaceRecord;
 import com.microsoft.gctoolkit.event.jvm.PermGenSummary;
+import com.microsoft.gctoolkit.instrumentation.PipelineMetrics;
+import com.microsoft.gctoolkit.instrumentation.PipelineStage;
 import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
@@ -15,6 +19,9 @@ import com.microsoft.gctoolkit.message.DataSourceParser;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +37,11 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
      */
     public static final String END_OF_DATA_SENTINEL = GCLogFile.END_OF_DATA_SENTINEL;
 
+    /**
+     * Special string to indicate that all the data available at a checkpoint has been sent.
+     */
+    public static final String CHECKPOINT_SENTINEL = GCLogFile.CHECKPOINT_SENTINEL;
+
     // TODO: GCID_COUNTER should be in SharedPatterns, not here.
     /**
      * Rule for parsing the GCID counter.
@@ -39,6 +51,13 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
     protected Diary diary;
     private DateTimeStamp clock = new DateTimeStamp(DateTimeStamp.EPOC, 0.0d);
     private double lastDuration = 0.0d;
+    private PipelineMetrics metrics = null;
+    private PipelineMetrics.Counter lineCounter = null;
+    // Whether the time taken by each line and rule is recorded, which costs two reads of the clock each time
+    private boolean timed = false;
+    // Looked up once per analysis so that counting costs no more than a map lookup.
+    private final Map<ChannelName, PipelineMetrics.Counter> channelCounters = new EnumMap<>(ChannelName.class);
+    private final Map<GCParseRule, PipelineMetrics.Counter> ruleCounters = new IdentityHashMap<>();
 
     /**
      * Default constructor.
@@ -55,6 +74,22 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
         this.clock = diary.getTimeOfFirstEvent();
     }
 
+    /**
+     * Records the lines this parser handles, the rules tried on them and the events it publishes. The time taken
+     * by each line and rule is only recorded if {@link PipelineMetrics#isTimingEnabled()}.
+     * @param metrics the metrics of the analysis.
+     */
+    @Override
+    public void metrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        this.lineCounter = metrics.counter(PipelineStage.PARSE, getClass().getSimpleName());
+        if (countsUnmatchedLines())
+            lineCounter.countMisses();
+        this.timed = PipelineMetrics.isTimingEnabled();
+        channelCounters.clear();
+        ruleCounters.clear();
+    }
+
     /**
      * Gets the current clock time.
      * @return the current DateTimeStamp.
@@ -109,6 +144,8 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
      */
     public void publish(ChannelName channel, JVMEvent event) {
         lastDuration = event.getDuration();
+        if (metrics != null)
+            channelCounters.computeIfAbsent(channel, name -> metrics.counter(PipelineStage.CHANNEL, name.name())).increment();
         consumer.publish(channel, event);
     }
 
@@ -117,6 +154,22 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
      * @param trace the trace line to process.
      */
     public void receive(String trace) {
+        if (trace.equals(CHECKPOINT_SENTINEL)) {
+            checkpoint();
+            return;
+        }
+        if (!timed) {
+            parse(trace);
+            if (lineCounter != null)
+                lineCounter.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        parse(trace);
+        lineCounter.record(start, System.nanoTime());
+    }
+
+    private void parse(String trace) {
         if (!trace.equals(END_OF_DATA_SENTINEL))
             advanceClock(trace);
         else
@@ -124,6 +177,63 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
         process(trace);
     }
 
+    /**
+     * Try a rule on a line, counting the attempt and whether it matched. If timing is enabled, the time taken to
+     * match is recorded as well.
+     * @param rule the rule to try.
+     * @param line the line to try it on.
+     * @return the trace of the match, or {@code null} if the rule did not match.
+     */
+    protected final GCLogTrace match(GCParseRule rule, String line) {
+        if (metrics == null)
+            return rule.parse(line);
+        PipelineMetrics.Counter counter = ruleCounters.computeIfAbsent(rule, key -> metrics.counter(PipelineStage.RULE, getClass().getSimpleName() + "/" + key.getName()).countMisses());
+        GCLogTrace trace;
+        if (timed) {
+            long start = System.nanoTime();
+            trace = rule.parse(line);
+            counter.record(start, System.nanoTime());
+        } else {
+            trace = rule.parse(line);
+            counter.increment();
+        }
+        if (trace == null)
+            counter.miss();
+        return trace;
+    }
+
+    /**
+     * Record that none of this parser's rules matched a line.
+     */
+    protected final void unmatched() {
+        if (lineCounter != null)
+            lineCounter.miss();
+    }
+
+    /**
+     * Whether this parser calls {@link #unmatched()} for each line none of its rules match. The lines missed by
+     * parsers that do not are reported as {@link com.microsoft.gctoolkit.instrumentation.StageStatistics#NOT_COUNTED}
+     * rather than as zero.
+     * @return {@code true} if this parser counts the lines it does not match.
+     */
+    protected boolean countsUnmatchedLines() {
+        return false;
+    }
+
+    /**
+     * Called when all the lines available at a checkpoint have been received. Unlike the end of data,
+     * in-flight state such as a partially parsed collection is kept so that parsing resumes with the
+     * lines that follow the checkpoint. A JVMTermination is published on each channel this parser
+     * produces events for so that the aggregators complete the analysis up to the checkpoint.
+     */
+    protected void checkpoint() {
+        JVMTermination termination = new JVMTermination(getClock(), diary.getTimeOfFirstEvent());
+        eventsProduced().stream()
+                .map(EventSource::toChannel)
+                .distinct()
+                .forEach(channel -> consumer.publish(channel, termination));
+    }
+
     /**
      * Checks if the diary indicates a pre-JDK 1.7.0_40 version.
      * @return true if pre-JDK 1.7.0_40, false otherwise.
@@ -31,6 +31,10 @@ public class GCLogTrace extends AbstractLogTrace {
         super(matcher);
     }
 
+    public GCLogTrace(Matcher matcher, CharSequence input) {
+        super(matcher, input);
+    }
+
     public int groupCount() {
         return trace.groupCount();
     }
@@ -39,14 +43,6 @@ public class GCLogTrace extends AbstractLogTrace {
         return getGroup(index) != null;
     }
 
-    public long getLongGroup(int index) {
-        return Long.parseLong(trace.group(index));
-    }
-
-    public int getIntegerGroup(int index) {
-        return Integer.parseInt(trace.group(index));
-    }
-
     public GCCause gcCause(int base, int offset) {
         if (gcCauseDebugging) {
             if (this.getGroup(base + offset) != null) {
@@ -128,16 +124,26 @@ public class GCLogTrace extends AbstractLogTrace {
     }
 
     public long toKBytes(int offset) {
-        return toKBytes(getLongGroup(offset), getGroup(offset + 1));
+        return toKBytes(getLongGroup(offset), getUnits(offset + 1));
     }
 
     public long doubleToKBytes(int offset) {
-        return (long)toKBytes(getDoubleGroup(offset), getGroup(offset+1));
+        return (long)toKBytes(getDoubleGroup(offset), getUnits(offset+1));
     }
 
-    private double toKBytes(double value, String units) {
+    /**
+     * @param index Index of the capture group holding the units.
+     * @return The first character of the capture group.
+     */
+    private char getUnits(int index) {
+        if (input == null || trace.start(index) < 0)
+            return getGroup(index).charAt(0);
+        return input.charAt(trace.start(index));
+    }
+
+    private double toKBytes(double value, char units) {
         double returnValue = value;
-        switch (Character.toUpperCase(units.codePointAt(0))) {
+        switch (Character.toUpperCase(units)) {
             case 'G':
                 returnValue *= 1024.0D;
             case 'M':
@@ -154,8 +160,12 @@ public class GCLogTrace extends AbstractLogTrace {
     }
 
     public long toKBytes(long value, String units) {
+        return toKBytes(value, units.charAt(0));
+    }
+
+    private long toKBytes(long value, char units) {
         long returnValue = value;
-        switch (Character.toUpperCase(units.codePointAt(0))) {
+        switch (Character.toUpperCase(units)) {
             case 'G':
                 returnValue *= 1024L;
             case 'M':
@@ -13,10 +13,12 @@ public class GCParseRule {
 
     private final String name;
     private final Pattern pattern;
+    private final String requiredLiteral;
 
     public GCParseRule(String name, String pattern) {
         this.name = name;
         this.pattern = Pattern.compile(pattern);
+        this.requiredLiteral = RequiredLiteral.of(pattern);
     }
 
     /**
@@ -30,7 +32,7 @@ public class GCParseRule {
     public GCLogTrace parse(String trace) {
         Matcher matcher = pattern.matcher(trace);
         if (matcher.find()) {
-            return new GCLogTrace(matcher);
+            return new GCLogTrace(matcher, trace);
         } else {
             return null;
         }
@@ -46,4 +48,11 @@ public class GCParseRule {
     }
 
     public Pattern pattern() { return pattern; }
+
+    /**
+     * Text that appears in every line this rule matches. A line that does not contain the text
+     * cannot match, so the rule need not be tried on it.
+     * @return the required text, or {@code null} if the rule has none.
+     */
+    public String requiredLiteral() { return requiredLiteral; }
 }
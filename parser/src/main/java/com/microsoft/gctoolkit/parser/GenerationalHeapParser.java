@@ -106,7 +106,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
     private final MRUQueue<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
     {
-        parseRules = new MRUQueue<>();
+        parseRules = new MRUQueue<>(GCParseRule::requiredLiteral);
         parseRules.put(DEFNEW, this::defNew);
         parseRules.put(DEFNEW_TENURING, this::defNewWithTenuring);
         parseRules.put(SERIAL_FULL, this::serialFull);
@@ -294,15 +294,19 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         return "GenerationalHeapParser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
 
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
+            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys(line)
+                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, line)))
                     .filter(tuple -> tuple.getValue() != null)
                     .findFirst();
             if ( optional.isPresent()) {
@@ -310,6 +314,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
+            unmatched();
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
         }
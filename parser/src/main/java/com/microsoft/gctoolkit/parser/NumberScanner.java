@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+/**
+ * Parses numbers directly from a region of a {@code CharSequence} so that the captured fields of a log line can be
+ * read without allocating a substring. Either {@code '.'} or {@code ','} is accepted as the decimal separator.
+ * The results, including the exceptions thrown for malformed input, are the same as those of
+ * {@link Long#parseLong(String)}, {@link Integer#parseInt(String)} and {@link Double#parseDouble(String)}. Values
+ * that are too long, or written in a form not covered here, such as with an exponent, are handed to those methods.
+ */
+final class NumberScanner {
+
+    // Integers up to 2^53 are exactly representable as doubles.
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int MAX_INT_DIGITS = 9;
+
+    // Powers of ten up to 10^22 are exactly representable as doubles.
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private NumberScanner() {}
+
+    static long parseLong(CharSequence text, int start, int end) {
+        int i = skipSign(text, start, end);
+        if (i == end || end - i > MAX_LONG_DIGITS)
+            return Long.parseLong(text.subSequence(start, end).toString());
+        long value = 0L;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return Long.parseLong(text.subSequence(start, end).toString());
+            value = value * 10 + digit;
+        }
+        return (text.charAt(start) == '-') ? -value : value;
+    }
+
+    static int parseInt(CharSequence text, int start, int end) {
+        int i = skipSign(text, start, end);
+        if (i == end || end - i > MAX_INT_DIGITS)
+            return Integer.parseInt(text.subSequence(start, end).toString());
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return Integer.parseInt(text.subSequence(start, end).toString());
+            value = value * 10 + digit;
+        }
+        return (text.charAt(start) == '-') ? -value : value;
+    }
+
+    /**
+     * When the digits, read as an integer, are no larger than 2^53, the value is the quotient of two exactly
+     * representable doubles. IEEE division rounds correctly, so the quotient is the double nearest the decimal
+     * value, which is what {@link Double#parseDouble(String)} returns.
+     */
+    static double parseDouble(CharSequence text, int start, int end) {
+        int i = skipSign(text, start, end);
+        long mantissa = 0L;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (++digits > MAX_LONG_DIGITS)
+                    return slowParseDouble(text, start, end);
+                if (fractionDigits >= 0)
+                    fractionDigits++;
+            } else if ((c == '.' || c == ',') && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return slowParseDouble(text, start, end);
+            }
+        }
+        if (digits == 0 || mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length)
+            return slowParseDouble(text, start, end);
+        double value = (fractionDigits > 0) ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return (text.charAt(start) == '-') ? -value : value;
+    }
+
+    private static double slowParseDouble(CharSequence text, int start, int end) {
+        return Double.parseDouble(text.subSequence(start, end).toString().replace(',', '.'));
+    }
+
+    private static int skipSign(CharSequence text, int start, int end) {
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+'))
+            return start + 1;
+        return start;
+    }
+}
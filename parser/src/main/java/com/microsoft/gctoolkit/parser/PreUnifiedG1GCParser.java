@@ -79,7 +79,7 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
     private final MRUQueue<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
     {
-        parseRules = new MRUQueue<>();
+        parseRules = new MRUQueue<>(GCParseRule::requiredLiteral);
         parseRules.put(CPU_BREAKDOWN, this::recordCPUSummary);
         parseRules.put(G1_DETAILS, this::processYoungGenCollection);
         parseRules.put(YOUNG, this::processYoung);
@@ -250,20 +250,27 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
         return "PreUnifiedG1GCParser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
 
         if (ignoreFrequentlySeenButUnwantedLines(line)) return;
 
         try {
-            parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
+            parseRules.keys(line)
+                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, line)))
                     .filter(tuple -> tuple.getValue() != null)
                     .findFirst()
                     .ifPresentOrElse(
                             rulesAndTrace -> parseRules.get(rulesAndTrace.getKey()).accept(rulesAndTrace.getValue(), line),
-                            () -> log(line));
+                            () -> {
+                                unmatched();
+                                log(line);
+                            });
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "deriveConfiguration", t);
         }
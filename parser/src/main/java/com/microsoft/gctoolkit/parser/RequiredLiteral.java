@@ -0,0 +1,179 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+/**
+ * Finds text that appears in every match of a regular expression. Only the top level of the expression is
+ * examined. Groups, character classes, escapes that are not literal characters and quantified characters end
+ * a run of literal text. The longest run is the required literal. An expression with a top level alternation,
+ * or with inline flags that change how literal text matches, has no required literal.
+ */
+final class RequiredLiteral {
+
+    private static final String LITERAL_ESCAPES = "\\.[](){}*+?|^$/-:,#&~!=<>'\"@% ";
+    private static final String INLINE_FLAGS = "idmsuxU-";
+
+    private RequiredLiteral() {}
+
+    /**
+     * @param regex a regular expression in {@link java.util.regex.Pattern} syntax.
+     * @return the longest text that must appear in any match of {@code regex}, or {@code null} if there is none.
+     */
+    static String of(String regex) {
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            int next;
+            boolean literal = false;
+            switch (c) {
+                case '|':
+                    return null;
+                case '(':
+                    if (regex.startsWith("(?", i) && i + 2 < regex.length() && INLINE_FLAGS.indexOf(regex.charAt(i + 2)) >= 0)
+                        return null;
+                    next = skipGroup(regex, i);
+                    break;
+                case '[':
+                    next = skipClass(regex, i);
+                    break;
+                case '\\':
+                    if (i + 1 >= regex.length())
+                        return null;
+                    if (regex.charAt(i + 1) == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        next = (end < 0) ? regex.length() : end + 2;
+                    } else {
+                        literal = LITERAL_ESCAPES.indexOf(regex.charAt(i + 1)) >= 0;
+                        c = regex.charAt(i + 1);
+                        next = literal ? i + 2 : skipEscape(regex, i);
+                    }
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    next = i + 1;
+                    break;
+                default:
+                    literal = c < 0x80;
+                    next = i + 1;
+            }
+
+            // A quantifier applies to the character or group just read.
+            boolean optional = false;
+            boolean repeated = false;
+            if (next < regex.length()) {
+                char quantifier = regex.charAt(next);
+                if (quantifier == '?' || quantifier == '*') {
+                    optional = true;
+                    next++;
+                } else if (quantifier == '+') {
+                    repeated = true;
+                    next++;
+                } else if (quantifier == '{') {
+                    int end = regex.indexOf('}', next);
+                    if (end > 0) {
+                        optional = regex.startsWith("{0", next) && !Character.isDigit(regex.charAt(next + 2));
+                        repeated = true;
+                        next = end + 1;
+                    }
+                }
+                // lazy and possessive quantifiers
+                if ((optional || repeated) && next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+'))
+                    next++;
+            }
+
+            if (literal && !optional)
+                run.append(c);
+            if (!literal || optional || repeated) {
+                if (run.length() > longest.length())
+                    longest = run.toString();
+                run.setLength(0);
+            }
+            i = next;
+        }
+        if (run.length() > longest.length())
+            longest = run.toString();
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * @return the index following the escape sequence that starts at {@code start}, including any argument.
+     */
+    private static int skipEscape(String regex, int start) {
+        char escape = regex.charAt(start + 1);
+        int i = start + 2;
+        switch (escape) {
+            case 'x':
+            case 'p':
+            case 'P':
+            case 'N':
+                if (regex.startsWith("{", i))
+                    return Math.max(i, regex.indexOf('}', i) + 1);
+                return Math.min(regex.length(), i + ((escape == 'x') ? 2 : 1));
+            case 'u':
+                return Math.min(regex.length(), i + 4);
+            case 'c':
+                return Math.min(regex.length(), i + 1);
+            case 'k':
+                return Math.max(i, regex.indexOf('>', i) + 1);
+            case '0':
+                while (i < regex.length() && i < start + 5 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7')
+                    i++;
+                return i;
+            default:
+                // back references
+                while (Character.isDigit(escape) && i < regex.length() && Character.isDigit(regex.charAt(i)))
+                    i++;
+                return i;
+        }
+    }
+
+    /**
+     * @return the index following the group that opens at {@code start}.
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return regex.length();
+    }
+
+    /**
+     * @return the index following the character class that opens at {@code start}.
+     */
+    private static int skipClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // a ']' immediately after '[' or '[^' is a literal member of the class
+                if (regex.startsWith("[^]", i))
+                    i += 2;
+                else if (regex.startsWith("[]", i))
+                    i += 1;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return regex.length();
+    }
+}
@@ -40,7 +40,7 @@ public class SafepointParseRule {
         Matcher matcher = pattern.matcher(trace);
         if (matcher.find()) {
             hits();
-            return new SafepointTrace(matcher);
+            return new SafepointTrace(matcher, trace);
         } else {
             misses();
             return null;
@@ -38,7 +38,7 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
     private final MRUQueue<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
     {
-        parseRules = new MRUQueue<>();
+        parseRules = new MRUQueue<>(GCParseRule::requiredLiteral);
         parseRules.put(END_OF_FILE,this::endOfFile);
     }
 
@@ -54,15 +54,19 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
         return "Shenandoah Parser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
 
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
+            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys(line)
+                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, line)))
                     .filter(tuple -> tuple.getValue() != null)
                     .findFirst();
             if ( optional.isPresent()) {
@@ -70,6 +74,7 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
+            unmatched();
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
         }
@@ -33,8 +33,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.microsoft.gctoolkit.event.GarbageCollectionTypes.fromLabel;
 
@@ -66,7 +64,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
     private final RuleSet<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
     {
-        parseRules = new RuleSet<>();
+        parseRules = new RuleSet<>(GCParseRule::requiredLiteral);
         parseRules.put(G1_COLLECTION, this::g1Collection);
         parseRules.put(CPU_BREAKOUT, this::cpuBreakout);
         parseRules.put(HEAP_BEFORE_AFTER_GC_INVOCATION_COUNT, this::heapBeforeAfterGCInvocationCount);
@@ -171,41 +169,40 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         return "UnifiedG1GCParser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
         if (! ignoreFrequentlySeenButUnwantedLines(line))
             parse(line);
     }
 
-    private static final Pattern gcIdPattern = GCLogParser.GCID_COUNTER.pattern();
-
     private void parse(String line) {
 
         // Minor optimization. The parse rule only applies to what comes after the GC ID.
-        final int end;
-        final int gcid;
-        final Matcher gcIdMatcher = gcIdPattern.matcher(line);
-        if (gcIdMatcher.find()) {
-            gcid = Integer.parseInt(gcIdMatcher.group(1));
-            end = gcIdMatcher.end();
-        } else {
-            gcid = -1;
-            end = 0;
-        }
+        final Decorators decorators = decorators(line);
+        final int end = decorators.getEndOfGCId();
+        final int gcid = decorators.getGCId();
 
         final String lineAfterGcId = line.substring(end);
-        parseRules.stream()
+        parseRules.stream(lineAfterGcId)
                 .map(Map.Entry::getKey)
-                .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(lineAfterGcId)))
+                .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, lineAfterGcId)))
                 .filter(tuple -> tuple.getValue() != null)
                 .findAny()
                 .ifPresentOrElse(
                         tuple -> {
                             // Typically, "end" will be greater than zero, but not always.
-                            setForwardReference(gcid, end > 0 ? line.substring(0, end) : line);
+                            setForwardReference(gcid, decorators);
                             applyRule(tuple.getKey(), tuple.getValue(), line);
                         },
-                        () -> log(line)
+                        () -> {
+                            unmatched();
+                            log(line);
+                        }
                 );
     }
 
@@ -218,9 +215,9 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         }
     }
 
-    private void setForwardReference(int gcid, String line) {
+    private void setForwardReference(int gcid, Decorators decorators) {
         if (gcid != -1) {
-            forwardReference = collectionsUnderway.computeIfAbsent(gcid, k -> new G1GCForwardReference(new Decorators(line), gcid));
+            forwardReference = collectionsUnderway.computeIfAbsent(gcid, k -> new G1GCForwardReference(decorators, gcid));
             forwardReference.setHeapRegionSize(regionSize);
             forwardReference.setMaxHeapSize(maxHeapSize);
             forwardReference.setMinHeapSize(minHeapSize);
@@ -2,9 +2,12 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.message.LineBatch;
 import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,17 +16,79 @@ abstract class UnifiedGCLogParser extends GCLogParser {
     private static final Logger LOGGER = Logger.getLogger(UnifiedGCLogParser.class.getName());
     private static final boolean DEBUG = Boolean.getBoolean("microsoft.debug");
 
+    // The decorators of the line being parsed, which the clock, the GC id and the rules may each ask for
+    private String decoratedLine = null;
+    private Decorators decorators = null;
+    // The batch the line being parsed came from, and its index in the batch
+    private LineBatch batch = null;
+    private int batchIndex = -1;
+
     public UnifiedGCLogParser() {}
 
+    /**
+     * The decorators of the lines of a {@link LineBatch} are shared with the other parsers that receive the batch.
+     * @param lines the lines to receive.
+     */
+    @Override
+    public void receiveBatch(List<String> lines) {
+        if (!(lines instanceof LineBatch)) {
+            super.receiveBatch(lines);
+            return;
+        }
+        batch = (LineBatch) lines;
+        try {
+            for (batchIndex = 0; batchIndex < batch.size(); batchIndex++)
+                receive(batch.get(batchIndex));
+        } finally {
+            batch = null;
+            batchIndex = -1;
+        }
+    }
+
+    /**
+     * @param line a line of the log.
+     * @return the decorators of the line, which are only scanned once for the line being parsed, and once for
+     * all of the parsers of a line from a {@link LineBatch}.
+     */
+    Decorators decorators(String line) {
+        if (line != decoratedLine) {
+            if (batch != null && batch.get(batchIndex) == line)
+                decorators = batch.decoded(batchIndex, Decorators.class, Decorators::new);
+            else
+                decorators = new Decorators(line);
+            decoratedLine = line;
+        }
+        return decorators;
+    }
+
+    /**
+     * The collectors only log with the {@code gc} tag, so the parsers of their events only consume lines
+     * with that tag.
+     */
+    @Override
+    public Set<String> tagSets() {
+        return Set.of("gc");
+    }
+
     void advanceClock(String record) {
         try {
-            DateTimeStamp now = new Decorators(record).getDateTimeStamp();
+            DateTimeStamp now = decorators(record).getDateTimeStamp();
             super.advanceClock(now);
         } catch (Throwable t) {
             LOGGER.log(Level.FINE, "[PARSING ERROR] " + record, t);
         }
     }
 
+    /**
+     * The GC id is found by the same scan of the line that finds the decorators.
+     * @param line the line to parse.
+     * @return the extracted GCID, or -1 if not found.
+     */
+    @Override
+    int extractGCID(String line) {
+        return decorators(line).getGCId();
+    }
+
     void notYetImplemented(GCLogTrace trace, String line) {
         trace.notYetImplemented();
     }
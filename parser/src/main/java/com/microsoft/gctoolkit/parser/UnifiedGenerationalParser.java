@@ -30,7 +30,6 @@ import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.parser.collection.RuleSet;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.parser.unified.UnifiedGenerationalPatterns;
 
 import java.util.AbstractMap;
@@ -71,7 +70,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private final RuleSet<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
 
     {
-        parseRules = new RuleSet<>();
+        parseRules = new RuleSet<>(GCParseRule::requiredLiteral);
         parseRules.put(CMS_TAG, this::tag);
         parseRules.put(PARALLEL_TAG, this::tag);
         parseRules.put(SERIAL_TAG, this::tag);
@@ -126,21 +125,29 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
         return "UnifiedGenerationalParser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
 
         if (ignoreFrequentlySeenButUnwantedLines(line)) return;
 
-        parseRules.stream()
+        parseRules.stream(line)
                 .map(Map.Entry::getKey)
-                .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
+                .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, line)))
                 .filter(tuple -> tuple.getValue() != null)
                 .findAny()
                 .ifPresentOrElse(
                         tuple -> {
                             applyRule(tuple.getKey(), tuple.getValue(), line);
                         },
-                        () -> LOGGER.log(Level.FINE, "Missed: {0}", line)
+                        () -> {
+                            unmatched();
+                            LOGGER.log(Level.FINE, "Missed: {0}", line);
+                        }
                 );
     }
 
@@ -171,11 +178,11 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
         if (pauseEvent != null)
             LOGGER.warning("Young pause event not recorded: " + pauseEvent.getGcID());
         if (diary.isCMS())
-            pauseEvent = new GenerationalForwardReference(ParNew, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(ParNew, decorators(line), extractGCID(line));
         else if (diary.isPSYoung())
-            pauseEvent = new GenerationalForwardReference(PSYoungGen, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(PSYoungGen, decorators(line), extractGCID(line));
         else if (diary.isSerialFull())
-            pauseEvent = new GenerationalForwardReference(DefNew, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(DefNew, decorators(line), extractGCID(line));
         else {
             LOGGER.warning("Unrecognized collection phase -> " + line);
             return;
@@ -231,7 +238,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
 
     private void youngDetails(GCLogTrace trace, String line) {
     	boolean isNoDetailsEvent = false;
-    	int gcid = GCLogParser.GCID_COUNTER.parse(line).getIntegerGroup(1);
+    	int gcid = extractGCID(line);
     	
     	if (pauseEvent == null && gcid > currentGcId) {
         	// #457 - Unified-Parallel file without details doesn't trigger youngHeader(). 
@@ -287,7 +294,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void initialMark(GCLogTrace trace, String line) {
         if (concurrentCyclePauseEvent != null)
             LOGGER.warning("Pause event not completely recorded: " + pauseEvent.getGcID());
-        concurrentCyclePauseEvent = new GenerationalForwardReference(InitialMark, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentCyclePauseEvent = new GenerationalForwardReference(InitialMark, decorators(line), extractGCID(line));
         concurrentCyclePauseEvent.setStartTime(getClock());
     }
 
@@ -304,7 +311,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
             LOGGER.warning("Unknown concurrent phase: " + line);
             return;
         }
-        concurrentEvent = new GenerationalForwardReference(gcType, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentEvent = new GenerationalForwardReference(gcType, decorators(line), extractGCID(line));
         concurrentEvent.setStartTime(getClock());
         inConcurrentPhase = true;
     }
@@ -325,7 +332,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void remark(GCLogTrace trace, String line) {
         if (concurrentCyclePauseEvent != null)
             LOGGER.warning("Pause event not recorded and is about to be lost: " + pauseEvent.getGcID());
-        concurrentCyclePauseEvent = new GenerationalForwardReference(Remark, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentCyclePauseEvent = new GenerationalForwardReference(Remark, decorators(line), extractGCID(line));
         concurrentCyclePauseEvent.setStartTime(getClock());
     }
 
@@ -354,9 +361,9 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void fullGC(GCLogTrace trace, String line) {
         if (pauseEvent == null) {
             if (diary.isPSOldGen())
-                pauseEvent = new GenerationalForwardReference(PSFull, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+                pauseEvent = new GenerationalForwardReference(PSFull, decorators(line), extractGCID(line));
             else
-                pauseEvent = new GenerationalForwardReference(FullGC, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+                pauseEvent = new GenerationalForwardReference(FullGC, decorators(line), extractGCID(line));
             pauseEvent.setStartTime(getClock());
         } else if (pauseEvent.getGarbageCollectionType() == ParNew) {
             pauseEvent.convertToConcurrentModeFailure();
@@ -364,7 +371,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
             pauseEvent.convertToSerialFull();
         } else if (pauseEvent.getGarbageCollectionType() != ConcurrentModeFailure) {
             LOGGER.warning("Maybe Full Pause event not recorded: " + pauseEvent.getGcID()); //todo: difficult to know if this is a full or a CMF
-            pauseEvent = new GenerationalForwardReference(FullGC, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(FullGC, decorators(line), extractGCID(line));
             pauseEvent.setStartTime(getClock());
         }
         
@@ -374,7 +381,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
 
     private void fullGCSummary(GCLogTrace trace, String line) {
     	boolean isNoDetailsEvent = false;
-    	int gcid = GCLogParser.GCID_COUNTER.parse(line).getIntegerGroup(1);
+    	int gcid = extractGCID(line);
     	
     	if (pauseEvent == null && gcid > currentGcId) {
         	// #457 - Unified-Parallel file doesn't trigger fullGC() to create pauseEvent. 
@@ -436,10 +443,9 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private ArrayList<GenerationalGCPauseEvent> cache = new ArrayList<>();
 
     private void cpuBreakout(GCLogTrace trace, String line) {
-        GCLogTrace gcidTrace = GCID_COUNTER.parse(line);
-        if (gcidTrace != null) {
+        int gcid = extractGCID(line);
+        if (gcid != -1) {
             CPUSummary cpuSummary = new CPUSummary(trace.getDoubleGroup(1), trace.getDoubleGroup(2), trace.getDoubleGroup(3));
-            int gcid = gcidTrace.getIntegerGroup(1);
             // There are 3 cases to consider.
             // - pause event outside of a concurrent cycle
             // - pause event that is part of the concurrent cycle
@@ -36,6 +36,15 @@ public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatt
         return "JavaEventParser";
     }
 
+    /**
+     * Application stopped and concurrent times are logged with the {@code safepoint} tag. The GC lines
+     * tell which of the stops were GC pauses.
+     */
+    @Override
+    public Set<String> tagSets() {
+        return Set.of("gc", "safepoint");
+    }
+
     @Override
     protected void process(String line) {
 
@@ -9,7 +9,6 @@ import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 
 import java.util.Set;
 
@@ -48,7 +47,7 @@ public class UnifiedSurvivorMemoryPoolParser extends UnifiedGCLogParser implemen
         GCLogTrace trace;
 
         if ((trace = DESIRED_SURVIVOR_SIZE.parse(entry)) != null) {
-            forwardReference = new SurvivorRecord(new Decorators(entry).getDateTimeStamp(), trace.getLongGroup(1), trace.getIntegerGroup(2), trace.getIntegerGroup(3));
+            forwardReference = new SurvivorRecord(decorators(entry).getDateTimeStamp(), trace.getLongGroup(1), trace.getIntegerGroup(2), trace.getIntegerGroup(3));
         } else if ((trace = AGE_TABLE_HEADER.parse(entry)) != null) {
             //we've collected this data so.. eat it...
         } else if ((trace = AGE_RECORD.parse(entry)) != null) {
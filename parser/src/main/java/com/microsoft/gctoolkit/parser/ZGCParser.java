@@ -77,7 +77,7 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
 
     //Implement all capture methods
     {
-        parseRules = new MRUQueue<>();
+        parseRules = new MRUQueue<>(GCParseRule::requiredLiteral);
         parseRules.put(CYCLE_START, this::cycleStart);
         parseRules.put(PAUSE_PHASE, this::pausePhase);
         parseRules.put(CONCURRENT_PHASE, this::concurrentPhase);
@@ -128,15 +128,19 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
         return "ZGC Parser";
     }
 
+    @Override
+    protected boolean countsUnmatchedLines() {
+        return true;
+    }
+
     @Override
     protected void process(String line) {
 
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
+            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys(line)
+                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, match(rule, line)))
                     .filter(tuple -> tuple.getValue() != null)
                     .findFirst();
             if (optional.isPresent()) {
@@ -144,6 +148,7 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
                 parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
                 return;
             }
+            unmatched();
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
         }
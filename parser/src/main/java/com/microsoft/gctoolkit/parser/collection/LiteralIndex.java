@@ -0,0 +1,131 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.collection;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * An Aho-Corasick automaton that finds which of a set of literals occur in a line in a single pass over
+ * the line, no matter how many literals there are.
+ */
+final class LiteralIndex {
+
+    private static final int ROOT = 0;
+    private static final int[] NONE = new int[0];
+
+    // The trie. The children of a node are kept in parallel arrays sorted by character.
+    private char[][] labels = new char[16][];
+    private int[][] children = new int[16][];
+    private int[] failure = new int[16];
+    // The literals that end at a node, including those reached through the failure links.
+    private int[][] matches = new int[16][];
+    private int size = 0;
+
+    /**
+     * @param literals the literals to look for. A literal is identified by its index in the list. {@code null}
+     *                 and empty literals are never found.
+     */
+    LiteralIndex(List<String> literals) {
+        newNode();
+        for (int id = 0; id < literals.size(); id++) {
+            String literal = literals.get(id);
+            if (literal == null || literal.isEmpty())
+                continue;
+            int node = ROOT;
+            for (int i = 0; i < literal.length(); i++) {
+                int next = child(node, literal.charAt(i));
+                node = (next < 0) ? addChild(node, literal.charAt(i)) : next;
+            }
+            matches[node] = append(matches[node], id);
+        }
+        link();
+    }
+
+    /**
+     * Set the bit of each literal that occurs in the text.
+     * @param text the text to search.
+     * @param found the literals found. The set is not cleared before searching.
+     */
+    void find(CharSequence text, BitSet found) {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = child(node, c)) < 0 && node != ROOT)
+                node = failure[node];
+            node = Math.max(next, ROOT);
+            for (int id : matches[node])
+                found.set(id);
+        }
+    }
+
+    private int newNode() {
+        if (size == failure.length) {
+            int capacity = size * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            children = Arrays.copyOf(children, capacity);
+            failure = Arrays.copyOf(failure, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+        }
+        labels[size] = new char[0];
+        children[size] = NONE;
+        matches[size] = NONE;
+        return size++;
+    }
+
+    private int child(int node, char c) {
+        int index = Arrays.binarySearch(labels[node], c);
+        return (index < 0) ? -1 : children[node][index];
+    }
+
+    private int addChild(int node, char c) {
+        int child = newNode();
+        int index = -(Arrays.binarySearch(labels[node], c) + 1);
+        char[] nodeLabels = new char[labels[node].length + 1];
+        int[] nodeChildren = new int[nodeLabels.length];
+        System.arraycopy(labels[node], 0, nodeLabels, 0, index);
+        System.arraycopy(children[node], 0, nodeChildren, 0, index);
+        nodeLabels[index] = c;
+        nodeChildren[index] = child;
+        System.arraycopy(labels[node], index, nodeLabels, index + 1, labels[node].length - index);
+        System.arraycopy(children[node], index, nodeChildren, index + 1, children[node].length - index);
+        labels[node] = nodeLabels;
+        children[node] = nodeChildren;
+        return child;
+    }
+
+    /**
+     * Compute the failure links breadth first, merging the matches of the node that each link points to.
+     */
+    private void link() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : children[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = children[node][i];
+                int fallback = failure[node];
+                int next;
+                while ((next = child(fallback, c)) < 0 && fallback != ROOT)
+                    fallback = failure[fallback];
+                failure[child] = (next < 0 || next == child) ? ROOT : next;
+                for (int id : matches[failure[child]])
+                    matches[child] = append(matches[child], id);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] append(int[] ids, int id) {
+        int[] appended = Arrays.copyOf(ids, ids.length + 1);
+        appended[ids.length] = id;
+        return appended;
+    }
+}
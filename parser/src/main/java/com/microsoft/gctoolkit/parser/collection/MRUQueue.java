@@ -9,15 +9,30 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MRUQueue<K, V> implements Map<K, V>, Iterable<K> {
 
     private final HashMap<K, V> entries;
     private final LinkedList<K> keys;
+    private final RuleIndex<K> index;
 
     public MRUQueue() {
         entries = new HashMap<>();
         keys = new LinkedList<>();
+        index = null;
+    }
+
+    /**
+     * An MRUQueue that only offers the rules that can match a line. When a line is passed to {@link #keys(CharSequence)},
+     * rules whose required literal does not occur in the line are skipped.
+     * @param requiredLiteral gives the text that must appear in a line for the rule to match, or {@code null} if there is none.
+     */
+    public MRUQueue(Function<? super K, String> requiredLiteral) {
+        entries = new HashMap<>();
+        keys = new LinkedList<>();
+        index = new RuleIndex<>(requiredLiteral);
     }
 
     @Override
@@ -55,6 +70,8 @@ public class MRUQueue<K, V> implements Map<K, V>, Iterable<K> {
     public V put(K key, V value) {
         entries.put(key, value);
         keys.offer(key);
+        if (index != null)
+            index.add(key);
         return value;
     }
 
@@ -92,6 +109,19 @@ public class MRUQueue<K, V> implements Map<K, V>, Iterable<K> {
         return keys;
     }
 
+    /**
+     * The keys whose rules may match the line, in most-recently used order.
+     * Without a required literal function, all keys are returned.
+     * @param line the line the rules are to be tried on.
+     * @return the keys that may match the line.
+     */
+    public Stream<K> keys(CharSequence line) {
+        if (index == null)
+            return keys.stream();
+        index.scan(line);
+        return keys.stream().filter(index::isCandidate);
+    }
+
     @Override
     public Iterator<K> iterator() {
         return keys.iterator();
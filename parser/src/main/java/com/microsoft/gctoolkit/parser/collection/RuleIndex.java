@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.collection;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Narrows the rules to be tried on a line to those whose required literal occurs in the line. Rules
+ * without a required literal are always tried. The index is built the first time a line is scanned
+ * after a rule has been added.
+ * @param <K> the type of rule
+ */
+final class RuleIndex<K> {
+
+    private final Function<? super K, String> requiredLiteral;
+    private final List<String> literals = new ArrayList<>();
+    private final Map<K, Integer> ids = new HashMap<>();
+    private final BitSet alwaysTried = new BitSet();
+    private final BitSet candidates = new BitSet();
+    private LiteralIndex index = null;
+
+    RuleIndex(Function<? super K, String> requiredLiteral) {
+        this.requiredLiteral = requiredLiteral;
+    }
+
+    void add(K rule) {
+        if (ids.containsKey(rule))
+            return;
+        String literal = requiredLiteral.apply(rule);
+        if (literal == null || literal.isEmpty())
+            alwaysTried.set(literals.size());
+        ids.put(rule, literals.size());
+        literals.add(literal);
+        index = null;
+    }
+
+    /**
+     * Find the rules that may match the line. The result holds until the next line is scanned.
+     * @param line the line that rules are to be tried on.
+     */
+    void scan(CharSequence line) {
+        if (index == null)
+            index = new LiteralIndex(literals);
+        candidates.clear();
+        candidates.or(alwaysTried);
+        index.find(line, candidates);
+    }
+
+    /**
+     * @param rule a rule
+     * @return {@code false} if the rule cannot match the line that was last scanned.
+     */
+    boolean isCandidate(K rule) {
+        Integer id = ids.get(rule);
+        return id == null || candidates.get(id);
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
@@ -32,9 +33,21 @@ public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
     private Node<K,V> head;
 
     private final HashMap<K, Node<K,V>> entries;
+    private final RuleIndex<K> index;
 
     public RuleSet() {
         entries = new HashMap<>();
+        index = null;
+    }
+
+    /**
+     * A RuleSet that only offers the rules that can match a line. When a line is passed to {@link #stream(CharSequence)},
+     * rules whose required literal does not occur in the line are skipped.
+     * @param requiredLiteral gives the text that must appear in a line for the rule to match, or {@code null} if there is none.
+     */
+    public RuleSet(Function<? super K, String> requiredLiteral) {
+        entries = new HashMap<>();
+        index = new RuleIndex<>(requiredLiteral);
     }
 
     public V get(Object key) {
@@ -76,6 +89,8 @@ public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
             head = node;
         }
         entries.put(key, node);
+        if (index != null)
+            index.add(key);
         return value;
     }
 
@@ -121,6 +136,19 @@ public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
         return Stream.iterate(head, Objects::nonNull, node -> ((Node<K,V>)node).next);
     }
 
+    /**
+     * The entries whose rules may match the line, from most-recently selected to least-recently selected.
+     * Without a required literal function, all entries are returned.
+     * @param line the line the rules are to be tried on.
+     * @return the entries that may match the line.
+     */
+    public Stream<Entry<K,V>> stream(CharSequence line) {
+        if (index == null)
+            return stream();
+        index.scan(line);
+        return stream().filter(entry -> index.isCandidate(entry.getKey()));
+    }
+
     private class KeyIterator implements Iterator<K> {
         private Node<K, V> node;
 
@@ -3,7 +3,6 @@
 package com.microsoft.gctoolkit.parser.jvm;
 
 import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingLevel;
-import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingTokens;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.time.ZonedDateTime;
@@ -13,7 +12,6 @@ import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
 
 public class Decorators {
 
@@ -55,7 +53,10 @@ public class Decorators {
      * Todo: GCToolkit captures time in the DateTimeStamp class. That class will capture uptime or time or both. If both
      * are missing, GCToolkit JVMEvents will have no sense of time. It is possible that the other timing fields could fill
      * in cases where both the time and uptime decorators were missing.
-     * @param line
+     *
+     * The decorators are read by a single scan of the characters at the start of the line, accepting the same text as
+     * UnifiedLoggingTokens.DECORATORS. The same scan finds the GC id, " GC(n) ", that follows the decorators of
+     * lines logged during a collection. Values are parsed from the line when they are asked for.
      */
 
     private static final Logger LOGGER = Logger.getLogger(Decorators.class.getName());
@@ -74,34 +75,158 @@ public class Decorators {
     private static final int TID_GROUP = 7;
     private static final int LOG_LEVEL_GROUP = 8;
     private static final int TAGS_GROUP = 9;
+    private static final int NUMBER_OF_GROUPS = 10;
+
+    // yyyy-MM-ddTHH:mm:ss.SSS+zzzz
+    private static final String DATE_STAMP_SHAPE = "0000-00-00T00:00:00.000+0000";
+    private static final String[] LOG_LEVELS = {"error", "warning", "info", "debug", "trace", "develop"};
+    private static final String GC_ID_PREFIX = " GC(";
 
-    int numberOfDecorators;
+    private final String line;
+    // The offset of the '[' opening each decorator and of the character following its ']', or -1 if the decorator
+    // is missing. Null if the line does not start with a decorator.
+    private final int[] groupStart;
+    private final int[] groupEnd;
+    private final int numberOfDecorators;
+    // The offsets of the digits of the GC id, or -1 if there is no GC id.
+    private final int gcIdStart;
+    private final int gcIdEnd;
 
-    private String[] decoratorGroups;
     private String tags;
 
     public Decorators(String line) {
-        extractValues(line);
+        this.line = line;
+        if (line.startsWith("[")) {
+            groupStart = new int[NUMBER_OF_GROUPS];
+            groupEnd = new int[NUMBER_OF_GROUPS];
+            numberOfDecorators = extractValues();
+        } else {
+            groupStart = null;
+            groupEnd = null;
+            numberOfDecorators = 0;
+        }
+        int digits = findGCId(line);
+        gcIdStart = digits;
+        gcIdEnd = (digits < 0) ? -1 : line.indexOf(')', digits);
     }
 
-    private void extractValues(String line) {
-        if (!line.startsWith("["))
-            return;
+    /**
+     * Decorators are written in a fixed order and each is optional, so each is taken, in order, if the next
+     * block of the line has its form.
+     * @return the number of decorators found.
+     */
+    private int extractValues() {
+        int count = 0;
+        int position = 0;
+        for (int group = 0; group < NUMBER_OF_GROUPS; group++) {
+            int end = endOfGroup(group, position);
+            if (end < 0) {
+                groupStart[group] = -1;
+                groupEnd[group] = -1;
+            } else {
+                groupStart[group] = position;
+                groupEnd[group] = end;
+                position = end;
+                count++;
+            }
+        }
+        return count;
+    }
 
-        Matcher decoratorMatcher = UnifiedLoggingTokens.DECORATORS.matcher(line);
-        if (!decoratorMatcher.find()) {
-            return;
+    /**
+     * @return the offset following the decorator if the text at {@code start} has the form of the decorator, otherwise -1.
+     */
+    private int endOfGroup(int group, int start) {
+        if (start >= line.length() || line.charAt(start) != '[')
+            return -1;
+        int i = start + 1;
+        switch (group) {
+            case DATE_STAMP_GROUP:
+                for (int j = 0; j < DATE_STAMP_SHAPE.length(); j++, i++) {
+                    if (i >= line.length())
+                        return -1;
+                    char shape = DATE_STAMP_SHAPE.charAt(j);
+                    char c = line.charAt(i);
+                    if (shape == '0' ? !isDigit(c) : (shape == '+' ? c != '+' && c != '-' : c != shape))
+                        return -1;
+                }
+                return closingBracket(i);
+            case UPTIME_GROUP:
+                i = skipDigits(i);
+                if (i == start + 1 || i >= line.length() || (line.charAt(i) != '.' && line.charAt(i) != ','))
+                    return -1;
+                int fraction = i + 1;
+                i = skipDigits(fraction);
+                if (i - fraction != 3 || !line.startsWith("s]", i))
+                    return -1;
+                return i + 2;
+            case TIME_MILLIS_OR_MAYBE_UPTIME_MILLIS_GROUP:
+            case UPTIME_MILLIS_GROUP:
+                return endOfCount(start, "ms]");
+            case TIME_NANOS_OR_MAYBE_UPTIME_NANOS_GROUP:
+            case UPTIME_NANOS_GROUP:
+                return endOfCount(start, "ns]");
+            case PID_GROUP:
+            case TID_GROUP:
+                return endOfCount(start, "]");
+            case LOG_LEVEL_GROUP:
+                for (String level : LOG_LEVELS) {
+                    if (line.startsWith(level, i)) {
+                        i += level.length();
+                        while (i < line.length() && line.charAt(i) == ' ')
+                            i++;
+                        return closingBracket(i);
+                    }
+                }
+                return -1;
+            case TAGS_GROUP:
+                while (i < line.length() && isTagCharacter(line.charAt(i)))
+                    i++;
+                return (i == start + 1) ? -1 : closingBracket(i);
+            default:
+                return -1;
         }
+    }
+
+    private int endOfCount(int start, String units) {
+        int i = skipDigits(start + 1);
+        return (i > start + 1 && line.startsWith(units, i)) ? i + units.length() : -1;
+    }
 
-        // Retrieving a group from a matcher calls substring each time
-        // Store all the groups in an array ahead of time to avoid paying this cost unnecessarily
-        decoratorGroups = new String[decoratorMatcher.groupCount()];
-        for (int i = 1; i <= decoratorMatcher.groupCount(); i++) {
-            String group = decoratorMatcher.group(i);
-            decoratorGroups[i-1] = group;
-            if (group != null)
-                numberOfDecorators++;
+    private int closingBracket(int i) {
+        return (i < line.length() && line.charAt(i) == ']') ? i + 1 : -1;
+    }
+
+    private int skipDigits(int i) {
+        while (i < line.length() && isDigit(line.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isTagCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || isDigit(c) || c == ',' || c == '.' || c == ' ';
+    }
+
+    /**
+     * Find the first " GC(n) " in the line.
+     * @return the offset of the digits of the GC id, or -1 if there is no GC id.
+     */
+    private static int findGCId(String line) {
+        int prefix = line.indexOf(GC_ID_PREFIX);
+        while (prefix >= 0) {
+            int digits = prefix + GC_ID_PREFIX.length();
+            int i = digits;
+            while (i < line.length() && isDigit(line.charAt(i)))
+                i++;
+            if (i > digits && line.startsWith(") ", i))
+                return digits;
+            prefix = line.indexOf(GC_ID_PREFIX, prefix + 1);
         }
+        return -1;
     }
 
     // For some reason, ISO_DATE_TIME doesn't like that time-zone is -0100. It wants -01:00.
@@ -109,9 +234,8 @@ public class Decorators {
 
     public ZonedDateTime getDateStamp() {
         try {
-            String value = decoratorGroups[DATE_STAMP_GROUP];
-            if (value != null) {
-                TemporalAccessor temporalAccessor = formatter.parse(value.substring(1, value.length()-1));
+            if (groupStart[DATE_STAMP_GROUP] >= 0) {
+                TemporalAccessor temporalAccessor = formatter.parse(line.substring(groupStart[DATE_STAMP_GROUP] + 1, groupEnd[DATE_STAMP_GROUP] - 1));
                 return ZonedDateTime.from(temporalAccessor);
             }
         } catch (NullPointerException npe) {
@@ -120,21 +244,45 @@ public class Decorators {
         return null;
     }
 
+    /**
+     * The uptime has exactly 3 decimal places. The count of milliseconds and 1000 are both exactly representable,
+     * so their quotient is the double nearest the uptime, as Double.parseDouble would give.
+     */
     public double getUpTime() {
-        String value = decoratorGroups[UPTIME_GROUP];
-        if (value != null) {
-            value = value.replace(",", ".");
-            return Double.parseDouble(unboxValue(value, 1));
+        int start = groupStart[UPTIME_GROUP];
+        if (start >= 0) {
+            int end = groupEnd[UPTIME_GROUP] - 2;
+            if (end - start > 16)
+                return Double.parseDouble(line.substring(start + 1, end).replace(",", "."));
+            long millis = 0L;
+            for (int i = start + 1; i < end; i++) {
+                char c = line.charAt(i);
+                if (isDigit(c))
+                    millis = millis * 10 + (c - '0');
+            }
+            return millis / 1000.0d;
         }
         return -1.0d;
     }
 
+    private long parseCount(int group, int postFix) {
+        return parseLong(groupStart[group] + 1, groupEnd[group] - (1 + postFix));
+    }
+
+    private long parseLong(int start, int end) {
+        if (end - start > 18)
+            return Long.parseLong(line.substring(start, end));
+        long value = 0L;
+        for (int i = start; i < end; i++)
+            value = value * 10 + (line.charAt(i) - '0');
+        return value;
+    }
+
     private long extractClock(int groupIndex, long threshold) {
         long clockReading = -1L;
-        String stringValue = decoratorGroups[groupIndex];
-        if (stringValue != null) {
-            clockReading = Long.parseLong(unboxValue(stringValue, 2));
-            if (decoratorGroups[groupIndex + 1] == null)
+        if (groupStart[groupIndex] >= 0) {
+            clockReading = parseCount(groupIndex, 2);
+            if (groupStart[groupIndex + 1] < 0)
                 if (clockReading < threshold)
                     clockReading = -1L;
         }
@@ -145,79 +293,90 @@ public class Decorators {
         return extractClock(TIME_MILLIS_OR_MAYBE_UPTIME_MILLIS_GROUP, TWENTY_YEARS_IN_MILLIS);
     }
 
-    public long getUptimeMillis() {
-        String value = decoratorGroups[UPTIME_MILLIS_GROUP];
-        if (value == null) {
-            value = decoratorGroups[TIME_MILLIS_OR_MAYBE_UPTIME_MILLIS_GROUP];
-        }
-        if (value != null) {
-            long longValue = Long.parseLong(unboxValue(value, 2));
-            if (longValue < TWENTY_YEARS_IN_MILLIS)
+    private long extractUptime(int group, long threshold) {
+        if (groupStart[group] < 0)
+            group = group - 1;
+        if (groupStart[group] >= 0) {
+            long longValue = parseCount(group, 2);
+            if (longValue < threshold)
                 return longValue;
         }
         return -1L;
     }
 
+    public long getUptimeMillis() {
+        return extractUptime(UPTIME_MILLIS_GROUP, TWENTY_YEARS_IN_MILLIS);
+    }
+
     public long getTimeNano() {
         return extractClock(TIME_NANOS_OR_MAYBE_UPTIME_NANOS_GROUP, TWENTY_YEARS_IN_NANO);
     }
 
     public long getUptimeNano() {
-        String value = decoratorGroups[UPTIME_NANOS_GROUP];
-        if (value == null) {
-            value = decoratorGroups[TIME_NANOS_OR_MAYBE_UPTIME_NANOS_GROUP];
-        }
-        if (value != null) {
-            long longValue = Long.parseLong(unboxValue(value, 2));
-            if (longValue < TWENTY_YEARS_IN_NANO)
-                return longValue;
-        }
-        return -1L;
+        return extractUptime(UPTIME_NANOS_GROUP, TWENTY_YEARS_IN_NANO);
     }
 
     public int getPid() {
-        String value = decoratorGroups[PID_GROUP];
-        if (value != null) {
-            return Integer.parseInt(unboxValue(value));
+        if (groupStart[PID_GROUP] >= 0) {
+            return Integer.parseInt(unboxValue(PID_GROUP));
         }
         return -1;
     }
 
     public int getTid() {
-        String value = decoratorGroups[TID_GROUP];
-        if (value != null) {
-            return Integer.parseInt(unboxValue(value));
+        if (groupStart[TID_GROUP] >= 0) {
+            return Integer.parseInt(unboxValue(TID_GROUP));
         }
         return -1;
     }
 
     public Optional<UnifiedLoggingLevel> getLogLevel() {
-        String level = decoratorGroups[LOG_LEVEL_GROUP];
-        if (level != null)
+        if (groupStart[LOG_LEVEL_GROUP] >= 0) {
+            String level = unboxValue(LOG_LEVEL_GROUP);
             try {
-                return Optional.of(UnifiedLoggingLevel.valueOf(unboxValue(level)));
+                return Optional.of(UnifiedLoggingLevel.valueOf(level));
             } catch (IllegalArgumentException e) {
                 LOGGER.fine("No such debug level: " + level);
                 LOGGER.fine(e.getMessage());
                 return Optional.empty();
             }
+        }
         return Optional.empty();
     }
 
+    /**
+     * The date is handed to DateTimeStamp as text, which reads it without building a ZonedDateTime.
+     */
     public DateTimeStamp getDateTimeStamp() {
-        return new DateTimeStamp(getDateStamp(), getUpTime());
+        int start = groupStart[DATE_STAMP_GROUP];
+        String dateStamp = (start >= 0) ? line.substring(start + 1, groupEnd[DATE_STAMP_GROUP] - 1) : null;
+        return new DateTimeStamp(dateStamp, getUpTime());
     }
 
     public int getNumberOfDecorators() {
         return numberOfDecorators;
     }
 
-    private String unboxValue(String boxedValue, int postFix) {
-        return boxedValue.substring(1, boxedValue.length() - (1 + postFix));
+    /**
+     * @return the id of the collection that the line was logged during, or -1 if the line has no GC id.
+     */
+    public int getGCId() {
+        if (gcIdStart < 0)
+            return -1;
+        if (gcIdEnd - gcIdStart > 9)
+            return Integer.parseInt(line.substring(gcIdStart, gcIdEnd));
+        return (int) parseLong(gcIdStart, gcIdEnd);
+    }
+
+    /**
+     * @return the offset of the text following the GC id, " GC(n) ", or 0 if the line has no GC id.
+     */
+    public int getEndOfGCId() {
+        return (gcIdStart < 0) ? 0 : gcIdEnd + 2;
     }
 
-    private String unboxValue(String boxedValue) {
-        return unboxValue(boxedValue, 0).trim();
+    private String unboxValue(int group) {
+        return line.substring(groupStart[group] + 1, groupEnd[group] - 1).trim();
     }
 
     public boolean tagsContain(String tagList) {
@@ -225,11 +384,11 @@ public class Decorators {
     }
 
     public String getTags() {
-        if (tags == null && decoratorGroups[TAGS_GROUP] != null) {
+        if (tags == null && groupStart[TAGS_GROUP] >= 0) {
             tags = String.join(",", Arrays.asList(
-                    unboxValue(decoratorGroups[TAGS_GROUP]).trim().split(",")
+                    unboxValue(TAGS_GROUP).trim().split(",")
             ));
         }
         return tags;
     }
-}
\ No newline at end of file
+}
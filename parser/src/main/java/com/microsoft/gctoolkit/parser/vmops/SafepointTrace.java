@@ -15,6 +15,10 @@ public class SafepointTrace extends AbstractLogTrace {
         super(matcher);
     }
 
+    public SafepointTrace(Matcher matcher, CharSequence input) {
+        super(matcher, input);
+    }
+
     public Safepoint toSafepoint() {
         Safepoint safepoint = new Safepoint(getVMOP(), getDateTimeStamp(), getDuration());
         safepoint.recordThreadCounts(totalThreads(), initiallyRunningThreads(), waitingToBlockThreads());
@@ -0,0 +1,60 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NumberScannerTest {
+
+    @Test
+    public void testParseDoubleMatchesDoubleParseDouble() {
+        String[] values = {"0", "0.0", "-0.0", "1.", ".5", "9.598", "0.018", "1234567.891", "+3.25", "1e-5", "0.1234567890123456789",
+                "123456789012345678901", "9007199254740993", "4.9E-324", "NaN"};
+        for (String value : values) {
+            String line = "[" + value + "]";
+            assertEquals(Double.parseDouble(value), NumberScanner.parseDouble(line, 1, line.length() - 1), value);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String value = String.format("%d.%0" + (1 + random.nextInt(9)) + "d", random.nextInt(100_000), random.nextInt(1_000_000_000) % 1_000_000);
+            assertEquals(Double.parseDouble(value), NumberScanner.parseDouble(value, 0, value.length()), value);
+        }
+    }
+
+    @Test
+    public void testDecimalComma() {
+        assertEquals(9.598d, NumberScanner.parseDouble("9,598ms", 0, 5));
+        assertEquals(-0.25d, NumberScanner.parseDouble("-0,25", 0, 5));
+    }
+
+    @Test
+    public void testParseIntegers() {
+        assertEquals(1234L, NumberScanner.parseLong("GC(1234)", 3, 7));
+        assertEquals(Long.MAX_VALUE, NumberScanner.parseLong(Long.toString(Long.MAX_VALUE), 0, 19));
+        assertEquals(-42, NumberScanner.parseInt("-42", 0, 3));
+        assertEquals(Integer.MIN_VALUE, NumberScanner.parseInt(Integer.toString(Integer.MIN_VALUE), 0, 11));
+    }
+
+    @Test
+    public void testMalformedNumbers() {
+        assertThrows(NumberFormatException.class, () -> NumberScanner.parseLong("", 0, 0));
+        assertThrows(NumberFormatException.class, () -> NumberScanner.parseLong("12a", 0, 3));
+        assertThrows(NumberFormatException.class, () -> NumberScanner.parseInt("99999999999", 0, 11));
+        assertThrows(NumberFormatException.class, () -> NumberScanner.parseDouble("1.2.3", 0, 5));
+        assertThrows(NumberFormatException.class, () -> NumberScanner.parseDouble("-", 0, 1));
+    }
+
+    @Test
+    public void testGCLogTraceReadsFieldsInPlace() {
+        GCLogTrace trace = UnifiedG1GCPatterns.YOUNG_DETAILS.parse("Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 7,125ms");
+        assertEquals(7.125d, trace.getDuration());
+        assertEquals(24L * 1024L, trace.toKBytes(trace.groupCount() - 6));
+        assertEquals(256L * 1024L, trace.toKBytes(trace.groupCount() - 2));
+    }
+}
@@ -0,0 +1,50 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequiredLiteralTest {
+
+    @Test
+    public void testLongestLiteralRun() {
+        assertEquals("Pause Young ", RequiredLiteral.of("^Pause Young (\\(\\w+\\))"));
+        assertEquals("Eden regions: ", RequiredLiteral.of("Eden regions: (\\d+)->(\\d+)"));
+        assertEquals(" Full GC (", RequiredLiteral.of("\\[GC \\d+ Full GC \\((\\w+)"));
+    }
+
+    @Test
+    public void testQuantifiedCharacters() {
+        assertEquals("Pause", RequiredLiteral.of("Paus?Pause"));
+        assertEquals("C pause ", RequiredLiteral.of("G+C pause s*"));
+        assertEquals("region", RequiredLiteral.of("ab{2}region"));
+        assertEquals("Ful", RequiredLiteral.of("Full{0,1}"));
+    }
+
+    @Test
+    public void testEscapes() {
+        assertEquals("Young", RequiredLiteral.of("\\x41Young\\d"));
+        assertEquals("Concurrent", RequiredLiteral.of("\\p{L}Concurrent\\s"));
+        assertEquals("[GC (", RequiredLiteral.of("\\QGC\\E\\[GC \\("));
+    }
+
+    @Test
+    public void testNoRequiredLiteral() {
+        assertNull(RequiredLiteral.of("Marking Phase|Summary Phase"));
+        assertNull(RequiredLiteral.of("(?i)pause young"));
+        assertNull(RequiredLiteral.of("^(\\d+(?:\\.|,)\\d+)$"));
+    }
+
+    @Test
+    public void testMatchContainsRequiredLiteral() {
+        String line = "Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 7.000ms";
+        GCParseRule rule = UnifiedG1GCPatterns.YOUNG_DETAILS;
+        assertTrue(rule.parse(line) != null);
+        assertTrue(line.contains(rule.requiredLiteral()));
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RuleIndexTest {
+
+    // The rule is its own required literal, apart from the rule "any", which has none.
+    private static final Function<String, String> LITERAL = rule -> rule.equals("any") ? null : rule;
+
+    @Test
+    public void testOverlappingLiterals() {
+        LiteralIndex index = new LiteralIndex(List.of("he", "she", "his", "hers", "Pause Young"));
+        BitSet found = new BitSet();
+        index.find("ushers", found);
+        assertEquals("{0, 1, 3}", found.toString());
+
+        found.clear();
+        index.find("GC(12) Pause Young (Normal)", found);
+        assertEquals("{4}", found.toString());
+    }
+
+    @Test
+    public void testMRUQueueOffersCandidatesInMRUOrder() {
+        MRUQueue<String, String> queue = new MRUQueue<>(LITERAL);
+        queue.put("Pause Young", "A");
+        queue.put("Pause", "B");
+        queue.put("any", "C");
+        queue.put("Concurrent", "D");
+
+        assertEquals(List.of("Pause Young", "Pause", "any"), queue.keys("Pause Young (Normal)").collect(Collectors.toList()));
+        queue.get("Pause");
+        assertEquals(List.of("Pause", "Pause Young", "any"), queue.keys("Pause Young (Normal)").collect(Collectors.toList()));
+        assertEquals(List.of("any", "Concurrent"), queue.keys("Concurrent Cycle").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRuleSetOffersCandidates() {
+        RuleSet<String, String> ruleSet = new RuleSet<>(LITERAL);
+        ruleSet.put("Pause Young", "A");
+        ruleSet.put("any", "B");
+        ruleSet.put("Eden regions", "C");
+
+        assertEquals(List.of("Eden regions", "any"),
+                ruleSet.stream("Eden regions: 6->0(8)").map(Map.Entry::getKey).collect(Collectors.toList()));
+        assertEquals(List.of("any"),
+                ruleSet.stream("Using 2 workers").map(Map.Entry::getKey).collect(Collectors.toList()));
+    }
+}
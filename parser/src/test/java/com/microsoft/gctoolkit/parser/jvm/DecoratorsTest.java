@@ -488,4 +488,37 @@ public class DecoratorsTest {
             assertEquals(expectedLevelsAndTags[index][1],decorators.getTags());
         }
     }
+
+    @Test
+    public void gcIdFollowsDecorators() {
+        String line = "[2.361s][info][gc,phases   ] GC(12) Pre Evacuate Collection Set: 0.1ms";
+        Decorators decorators = new Decorators(line);
+        assertEquals(12, decorators.getGCId());
+        assertEquals("Pre Evacuate Collection Set: 0.1ms", line.substring(decorators.getEndOfGCId()));
+
+        decorators = new Decorators("[0.011s][info][gc] Using G1");
+        assertEquals(-1, decorators.getGCId());
+        assertEquals(0, decorators.getEndOfGCId());
+    }
+
+    @Test
+    public void malformedDecoratorsAreSkipped() {
+        Decorators decorators = new Decorators("[0.018s][12ns][info ][gc,ergo] Using G1");
+        assertEquals(4, decorators.getNumberOfDecorators());
+        assertEquals(-1L, decorators.getTimeNano());
+        assertEquals(12L, decorators.getUptimeNano());
+        assertEquals("info", decorators.getLogLevel().orElseThrow().toString());
+
+        // Without three decimal places, this is read as the tags, after which nothing can follow.
+        decorators = new Decorators("[1.2s][info][gc] Using G1");
+        assertEquals(1, decorators.getNumberOfDecorators());
+        assertEquals(-1.0d, decorators.getUpTime());
+        assertEquals("1.2s", decorators.getTags());
+
+        // The sign of the time zone is either + or -.
+        assertEquals(4, new Decorators("[2024-01-01T00:00:00.000-0100][0.018s][info][gc] Using G1").getNumberOfDecorators());
+        decorators = new Decorators("[2024-01-01T00:00:00.000|0100][0.018s][info][gc] Using G1");
+        assertEquals(0, decorators.getNumberOfDecorators());
+        assertEquals(null, decorators.getDateStamp());
+    }
 }
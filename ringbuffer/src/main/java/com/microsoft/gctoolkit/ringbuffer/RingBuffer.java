@@ -0,0 +1,170 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A fixed size buffer of preallocated slots through which messages are passed from producers to consumers
+ * without locking. Each message is given a sequence number and is written to the slot at that sequence modulo the
+ * size of the buffer. Every consumer reads every message, in sequence, on its own thread. A producer waits for
+ * the slowest consumer before reusing a slot.
+ * <p>
+ * A buffer created for a single producer claims sequence numbers without atomic instructions. It must not be
+ * published to from more than one thread.
+ * @param <M> the type of message
+ */
+final class RingBuffer<M> {
+
+    private static final Logger LOGGER = Logger.getLogger(RingBuffer.class.getName());
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CLAIMED;
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CLAIMED = lookup.findVarHandle(RingBuffer.class, "claimed", long.class);
+            SEQUENCE = lookup.findVarHandle(RingBuffer.Reader.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String name;
+    private final Object[] slots;
+    // The sequence of the message in each slot. A slot may be read once its sequence has been published.
+    private final long[] published;
+    private final int mask;
+    private final boolean singleProducer;
+    private final WaitStrategy.Waiter waiter;
+    private final List<Reader> consumers = new CopyOnWriteArrayList<>();
+
+    // The last sequence claimed when there is a single producer. Only written by the producer thread.
+    private long claimed = -1L;
+    private final AtomicLong sharedClaimed = new AtomicLong(-1L);
+    // The lowest sequence read by all consumers when last looked at.
+    private volatile long gate = -1L;
+    private volatile boolean closed = false;
+
+    /**
+     * @param name the name of the buffer, used to name the consumer threads.
+     * @param capacity the number of slots. Must be a power of two.
+     * @param waitStrategy how producers and consumers wait.
+     * @param singleProducer true if only one thread will publish to the buffer.
+     */
+    RingBuffer(String name, int capacity, WaitStrategy waitStrategy, boolean singleProducer) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        this.name = name;
+        this.slots = new Object[capacity];
+        this.published = new long[capacity];
+        Arrays.fill(published, -1L);
+        this.mask = capacity - 1;
+        this.singleProducer = singleProducer;
+        this.waiter = waitStrategy.newWaiter();
+    }
+
+    /**
+     * Start a consumer. The consumer receives the messages published after it is added.
+     * @param receiver the receiver that is passed each message.
+     */
+    void addConsumer(Consumer<? super M> receiver) {
+        Reader consumer = new Reader(receiver, claimedSequence());
+        consumers.add(consumer);
+        Thread thread = new Thread(consumer, "gctoolkit-" + name + "-" + consumers.size());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Publish a message to every consumer, waiting for a free slot if the buffer is full. A message published
+     * when there are no consumers is dropped.
+     * @param message the message to publish.
+     */
+    void publish(M message) {
+        long sequence;
+        if (singleProducer) {
+            sequence = claimed + 1;
+            CLAIMED.setRelease(this, sequence);
+        } else {
+            sequence = sharedClaimed.incrementAndGet();
+        }
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > gate) {
+            int attempt = 0;
+            while (wrapPoint > (gate = minimumSequence(sequence))) {
+                if (closed)
+                    return;
+                waiter.idle(attempt++);
+            }
+        }
+        int index = (int) sequence & mask;
+        slots[index] = message;
+        PUBLISHED.setRelease(published, index, sequence);
+        waiter.signal();
+    }
+
+    /**
+     * Stop the consumers. Messages that have not been read are dropped.
+     */
+    void close() {
+        closed = true;
+        waiter.signal();
+    }
+
+    private long claimedSequence() {
+        return singleProducer ? (long) CLAIMED.getAcquire(this) : sharedClaimed.get();
+    }
+
+    private long minimumSequence(long ceiling) {
+        long minimum = ceiling;
+        for (Reader consumer : consumers)
+            minimum = Math.min(minimum, (long) SEQUENCE.getAcquire(consumer));
+        return minimum;
+    }
+
+    private final class Reader implements Runnable {
+
+        private final Consumer<? super M> receiver;
+        // The last sequence this consumer has read. Accessed through SEQUENCE.
+        @SuppressWarnings("unused")
+        private long sequence;
+
+        Reader(Consumer<? super M> receiver, long sequence) {
+            this.receiver = receiver;
+            this.sequence = sequence;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            long next = (long) SEQUENCE.getAcquire(this) + 1;
+            int attempt = 0;
+            while (!closed) {
+                int index = (int) next & mask;
+                if ((long) PUBLISHED.getAcquire(published, index) != next) {
+                    waiter.idle(attempt++);
+                    continue;
+                }
+                attempt = 0;
+                try {
+                    receiver.accept((M) slots[index]);
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "RingBuffer: " + name + " consumer failed", t);
+                }
+                SEQUENCE.setRelease(this, next++);
+                waiter.signal();
+            }
+        }
+    }
+}
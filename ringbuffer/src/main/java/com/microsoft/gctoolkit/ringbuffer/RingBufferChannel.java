@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import com.microsoft.gctoolkit.message.Channel;
+import com.microsoft.gctoolkit.message.ChannelListener;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A channel that passes the messages published to each {@link ChannelName} through a {@link RingBuffer} of its
+ * own. Each listener registered for a channel name is run on its own thread and receives every message published
+ * to that name, in the order it was published. Listeners should be registered before messages are published;
+ * a listener does not receive the messages published before it was registered.
+ * @param <M> the type of message
+ * @param <L> the type of listener
+ */
+public abstract class RingBufferChannel<M, L extends ChannelListener<M>> implements Channel<M, L> {
+
+    /**
+     * The system property used to set the capacity of the ring buffers of channels created with their default
+     * constructor. The capacity is rounded up to a power of two.
+     */
+    public static final String CAPACITY_PROPERTY = "com.microsoft.gctoolkit.ringbuffer.capacity";
+
+    /**
+     * The capacity of the ring buffers if the {@value #CAPACITY_PROPERTY} system property is not set.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private final WaitStrategy waitStrategy;
+    private final boolean singleProducer;
+    private final AtomicReferenceArray<RingBuffer<Object>> ringBuffers = new AtomicReferenceArray<>(ChannelName.values().length);
+
+    /**
+     * @param capacity the number of messages that can be buffered for each channel name.
+     * @param waitStrategy how publishers and listeners wait when they cannot make progress.
+     * @param singleProducer true if each channel name is only published to from a single thread.
+     */
+    protected RingBufferChannel(int capacity, WaitStrategy waitStrategy, boolean singleProducer) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        this.capacity = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.waitStrategy = waitStrategy;
+        this.singleProducer = singleProducer;
+    }
+
+    /**
+     * @return the capacity set by the {@value #CAPACITY_PROPERTY} system property, or {@value #DEFAULT_CAPACITY}.
+     */
+    protected static int capacityFromSystemProperty() {
+        return Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Registers a listener. The listener is run on a thread of its own.
+     * @param listener the listener to register.
+     */
+    @Override
+    public void registerListener(L listener) {
+        ringBuffer(listener.channel()).addConsumer(receiver(listener));
+    }
+
+    /**
+     * Returns what passes the messages taken from a ring buffer to a listener. Subclasses that publish messages
+     * other than {@code M} through {@link #publishMessage(ChannelName, Object)} override this to receive them.
+     * @param listener the listener to pass the messages to.
+     * @return the receiver of the messages for the listener.
+     */
+    @SuppressWarnings("unchecked")
+    protected Consumer<Object> receiver(L listener) {
+        return message -> listener.receive((M) message);
+    }
+
+    /**
+     * Publishes a message to every listener registered for the channel.
+     * @param channel the channel to publish to.
+     * @param message the message to publish.
+     */
+    @Override
+    public void publish(ChannelName channel, M message) {
+        publishMessage(channel, message);
+    }
+
+    /**
+     * Publishes any message to every listener registered for the channel.
+     * @param channel the channel to publish to.
+     * @param message the message to publish.
+     */
+    protected void publishMessage(ChannelName channel, Object message) {
+        RingBuffer<Object> ringBuffer = ringBuffers.get(channel.ordinal());
+        // Nothing is listening
+        if (ringBuffer != null)
+            ringBuffer.publish(message);
+    }
+
+    /**
+     * Stops the listener threads. Messages that have not been received are dropped.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < ringBuffers.length(); i++) {
+            RingBuffer<Object> ringBuffer = ringBuffers.get(i);
+            if (ringBuffer != null)
+                ringBuffer.close();
+        }
+    }
+
+    private RingBuffer<Object> ringBuffer(ChannelName channel) {
+        RingBuffer<Object> ringBuffer = ringBuffers.get(channel.ordinal());
+        if (ringBuffer == null) {
+            ringBuffers.compareAndSet(channel.ordinal(), null, new RingBuffer<>(channel.getName(), capacity, waitStrategy, singleProducer));
+            ringBuffer = ringBuffers.get(channel.ordinal());
+        }
+        return ringBuffer;
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceChannel;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.TagFilter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A ring buffer data source channel. The lines of a GC log are published from a single thread, so the ring
+ * buffers are single producer. A batch of lines takes a single slot.
+ */
+public class RingBufferDataSourceChannel extends RingBufferChannel<String, DataSourceParser> implements DataSourceChannel {
+
+    /**
+     * Create a channel configured by the {@value RingBufferChannel#CAPACITY_PROPERTY} and
+     * {@value WaitStrategy#WAIT_STRATEGY_PROPERTY} system properties.
+     */
+    public RingBufferDataSourceChannel() {
+        this(capacityFromSystemProperty(), WaitStrategy.fromSystemProperty());
+    }
+
+    /**
+     * @param capacity the number of lines that can be buffered.
+     * @param waitStrategy how the publisher and the parsers wait when they cannot make progress.
+     */
+    public RingBufferDataSourceChannel(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy, true);
+    }
+
+    /**
+     * Publishes a batch of lines as a single message.
+     * @param channel the channel to publish to.
+     * @param lines the lines to publish.
+     */
+    @Override
+    public void publishBatch(ChannelName channel, List<String> lines) {
+        publishMessage(channel, lines);
+    }
+
+    /**
+     * Only the lines selected by the {@link TagFilter} for the tag sets of the parser are passed to it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Consumer<Object> receiver(DataSourceParser listener) {
+        TagFilter filter = TagFilter.of(listener);
+        return message -> {
+            if (message instanceof String) {
+                if (filter.selects((String) message))
+                    listener.receive((String) message);
+            } else {
+                List<String> lines = filter.select((List<String>) message);
+                if (!lines.isEmpty())
+                    listener.receiveBatch(lines);
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+
+/**
+ * A ring buffer JVM event channel. More than one parser may publish to the same channel, for example the
+ * safepoint and JVM event parsers, so the ring buffers accept more than one producer.
+ */
+public class RingBufferJVMEventChannel extends RingBufferChannel<JVMEvent, JVMEventChannelListener> implements JVMEventChannel {
+
+    /**
+     * Create a channel configured by the {@value RingBufferChannel#CAPACITY_PROPERTY} and
+     * {@value WaitStrategy#WAIT_STRATEGY_PROPERTY} system properties.
+     */
+    public RingBufferJVMEventChannel() {
+        this(capacityFromSystemProperty(), WaitStrategy.fromSystemProperty());
+    }
+
+    /**
+     * @param capacity the number of events that can be buffered for each channel.
+     * @param waitStrategy how the parsers and the aggregators wait when they cannot make progress.
+     */
+    public RingBufferJVMEventChannel(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy, false);
+    }
+}
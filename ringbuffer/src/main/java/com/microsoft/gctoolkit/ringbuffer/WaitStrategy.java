@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How a thread waits when a ring buffer cannot make progress, that is, when a consumer has read every message
+ * published or when a producer finds the buffer full. The strategies trade CPU time against latency.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin without giving up the CPU. Lowest latency, but each waiting thread keeps a core busy.
+     */
+    BUSY_SPIN {
+        @Override
+        Waiter newWaiter() {
+            return new Waiter();
+        }
+    },
+
+    /**
+     * Spin briefly, then yield the CPU to other threads.
+     */
+    YIELDING {
+        @Override
+        Waiter newWaiter() {
+            return new YieldingWaiter();
+        }
+    },
+
+    /**
+     * Spin briefly, yield, then park for short periods. This is the default.
+     */
+    SLEEPING {
+        @Override
+        Waiter newWaiter() {
+            return new SleepingWaiter();
+        }
+    },
+
+    /**
+     * Block until signalled. Uses the least CPU, but every publish has to check for blocked threads.
+     */
+    BLOCKING {
+        @Override
+        Waiter newWaiter() {
+            return new BlockingWaiter();
+        }
+    };
+
+    /**
+     * The system property used to choose the wait strategy of channels created with their default constructor.
+     */
+    public static final String WAIT_STRATEGY_PROPERTY = "com.microsoft.gctoolkit.ringbuffer.wait";
+
+    /**
+     * @return the wait strategy named by the {@value #WAIT_STRATEGY_PROPERTY} system property, or {@link #SLEEPING}
+     * if the property is not set.
+     */
+    public static WaitStrategy fromSystemProperty() {
+        String value = System.getProperty(WAIT_STRATEGY_PROPERTY);
+        return (value == null) ? SLEEPING : valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    abstract Waiter newWaiter();
+
+    /**
+     * Waits on behalf of a single ring buffer. {@link #idle(int)} is called repeatedly, with an increasing count,
+     * until the thread can make progress. {@link #signal()} is called whenever the ring buffer moves forward.
+     */
+    static class Waiter {
+
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+
+        void signal() {}
+    }
+
+    private static class YieldingWaiter extends Waiter {
+
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES)
+                Thread.onSpinWait();
+            else
+                Thread.yield();
+        }
+    }
+
+    private static class SleepingWaiter extends Waiter {
+
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 200;
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES)
+                Thread.onSpinWait();
+            else if (attempt < YIELD_TRIES)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * A thread that blocks is woken by the next signal. The wait is bounded so that a signal sent between a
+     * thread finding it cannot make progress and it blocking delays, rather than stalls, the thread.
+     */
+    private static class BlockingWaiter extends Waiter {
+
+        private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition progress = lock.newCondition();
+        private volatile int blocked = 0;
+
+        @Override
+        void idle(int attempt) {
+            lock.lock();
+            try {
+                blocked++;
+                progress.awaitNanos(MAX_WAIT_NANOS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                blocked--;
+                lock.unlock();
+            }
+        }
+
+        @Override
+        void signal() {
+            if (blocked > 0) {
+                lock.lock();
+                try {
+                    progress.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains a messaging backplane for the GC Toolkit built on single-producer, multi-consumer ring
+ * buffers. Every listener registered on a channel receives every message published to that channel, in the order
+ * it was published, on a thread dedicated to that listener.
+ */
+package com.microsoft.gctoolkit.ringbuffer;
@@ -0,0 +1,18 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+/**
+ * Contains a lock-free ring buffer implementation of the GCToolKit message channels. Placing this module on the
+ * module path, in place of the vertx module, switches the messaging backplane without code changes.
+ * @provides com.microsoft.gctoolkit.message.DataSourceChannel
+ * @provides com.microsoft.gctoolkit.message.JVMEventChannel
+ */
+module com.microsoft.gctoolkit.ringbuffer {
+    requires transitive com.microsoft.gctoolkit.api;
+    requires java.logging;
+
+    exports com.microsoft.gctoolkit.ringbuffer;
+
+    provides com.microsoft.gctoolkit.message.DataSourceChannel with com.microsoft.gctoolkit.ringbuffer.RingBufferDataSourceChannel;
+    provides com.microsoft.gctoolkit.message.JVMEventChannel with com.microsoft.gctoolkit.ringbuffer.RingBufferJVMEventChannel;
+}
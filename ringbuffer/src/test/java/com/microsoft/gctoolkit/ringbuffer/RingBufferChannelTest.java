@@ -0,0 +1,109 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferChannelTest {
+
+    private static class LineRecorder implements DataSourceParser {
+
+        final List<String> lines = new ArrayList<>();
+        final CountDownLatch done;
+
+        LineRecorder(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.DATA_SOURCE;
+        }
+
+        @Override
+        public void receive(String payload) {
+            lines.add(payload);
+            done.countDown();
+        }
+
+        @Override
+        public void publishTo(JVMEventChannel channel) {}
+
+        @Override
+        public void diary(Diary diary) {}
+
+        @Override
+        public boolean accepts(Diary diary) {
+            return true;
+        }
+
+        @Override
+        public Set<EventSource> eventsProduced() {
+            return Set.of();
+        }
+    }
+
+    @Test
+    public void everyParserReceivesEveryLine() throws InterruptedException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            lines.add("[" + i + ".000s][info][gc] line " + i);
+
+        RingBufferDataSourceChannel channel = new RingBufferDataSourceChannel(100, WaitStrategy.SLEEPING);
+        LineRecorder first = new LineRecorder(lines.size());
+        LineRecorder second = new LineRecorder(lines.size());
+        channel.registerListener(first);
+        channel.registerListener(second);
+        lines.forEach(line -> channel.publish(ChannelName.DATA_SOURCE, line));
+        // Nothing is listening to this channel.
+        channel.publish(ChannelName.G1GC_PARSER_OUTBOX, "dropped");
+
+        assertTrue(first.done.await(30, TimeUnit.SECONDS));
+        assertTrue(second.done.await(30, TimeUnit.SECONDS));
+        assertEquals(lines, first.lines);
+        assertEquals(lines, second.lines);
+        channel.close();
+    }
+
+    @Test
+    public void batchesAreReceivedInOrder() throws InterruptedException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            lines.add("[" + i + ".000s][info][gc] line " + i);
+
+        RingBufferDataSourceChannel channel = new RingBufferDataSourceChannel(4, WaitStrategy.SLEEPING);
+        LineRecorder recorder = new LineRecorder(lines.size());
+        channel.registerListener(recorder);
+        for (int i = 0; i < lines.size(); i += 64)
+            channel.publishBatch(ChannelName.DATA_SOURCE, lines.subList(i, Math.min(i + 64, lines.size())));
+
+        assertTrue(recorder.done.await(30, TimeUnit.SECONDS));
+        assertEquals(lines, recorder.lines);
+        channel.close();
+    }
+
+    @Test
+    public void waitStrategyFromSystemProperty() {
+        assertEquals(WaitStrategy.SLEEPING, WaitStrategy.fromSystemProperty());
+        try {
+            System.setProperty(WaitStrategy.WAIT_STRATEGY_PROPERTY, "busy-spin");
+            assertEquals(WaitStrategy.BUSY_SPIN, WaitStrategy.fromSystemProperty());
+        } finally {
+            System.clearProperty(WaitStrategy.WAIT_STRATEGY_PROPERTY);
+        }
+    }
+}
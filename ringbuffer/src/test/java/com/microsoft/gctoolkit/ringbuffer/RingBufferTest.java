@@ -0,0 +1,108 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.ringbuffer;
+
+import com.microsoft.gctoolkit.message.ChannelListener;
+import com.microsoft.gctoolkit.message.ChannelName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferTest {
+
+    private static final int MESSAGES = 10_000;
+
+    static class Recorder implements ChannelListener<Integer> {
+
+        final List<Integer> received = new ArrayList<>();
+        final CountDownLatch done;
+
+        Recorder(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.DATA_SOURCE;
+        }
+
+        @Override
+        public void receive(Integer payload) {
+            received.add(payload);
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(30, TimeUnit.SECONDS), "timed out after " + received.size() + " messages");
+        }
+    }
+
+    @Test
+    public void everyConsumerReceivesEveryMessageInOrder() throws InterruptedException {
+        // BUSY_SPIN needs a core for each thread, which a build machine may not have.
+        for (WaitStrategy waitStrategy : List.of(WaitStrategy.YIELDING, WaitStrategy.SLEEPING, WaitStrategy.BLOCKING)) {
+            // A small buffer wraps many times, so the producer has to wait for the slowest consumer.
+            RingBuffer<Integer> ringBuffer = new RingBuffer<>("test", 8, waitStrategy, true);
+            List<Recorder> recorders = List.of(new Recorder(MESSAGES), new Recorder(MESSAGES), new Recorder(MESSAGES));
+            recorders.forEach(recorder -> ringBuffer.addConsumer(recorder::receive));
+            for (int i = 0; i < MESSAGES; i++)
+                ringBuffer.publish(i);
+            for (Recorder recorder : recorders) {
+                recorder.await();
+                for (int i = 0; i < MESSAGES; i++)
+                    assertEquals(i, recorder.received.get(i), waitStrategy.name());
+            }
+            ringBuffer.close();
+        }
+    }
+
+    @Test
+    public void messagesFromEachProducerStayInOrder() throws InterruptedException {
+        int producers = 4;
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>("test", 16, WaitStrategy.YIELDING, false);
+        Recorder recorder = new Recorder(producers * MESSAGES);
+        ringBuffer.addConsumer(recorder::receive);
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int base = producer * MESSAGES;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < MESSAGES; i++)
+                    ringBuffer.publish(base + i);
+            }));
+        }
+        threads.forEach(Thread::start);
+        recorder.await();
+
+        int[] last = new int[producers];
+        for (int producer = 0; producer < producers; producer++)
+            last[producer] = producer * MESSAGES - 1;
+        for (int message : recorder.received) {
+            int producer = message / MESSAGES;
+            assertEquals(last[producer] + 1, message);
+            last[producer] = message;
+        }
+        ringBuffer.close();
+    }
+
+    @Test
+    public void messagesWithoutConsumersAreDropped() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>("test", 2, WaitStrategy.BLOCKING, true);
+        // Would block if the messages were kept for a consumer.
+        for (int i = 0; i < MESSAGES; i++)
+            ringBuffer.publish(i);
+        ringBuffer.close();
+    }
+
+    @Test
+    public void capacityIsAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>("test", 12, WaitStrategy.SLEEPING, true));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>("test", 0, WaitStrategy.SLEEPING, true));
+    }
+}
@@ -4,10 +4,12 @@ package com.microsoft.gctoolkit.vertx;
 
 import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.message.DataSourceChannelListener;
+import com.microsoft.gctoolkit.message.TagFilter;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +29,10 @@ public class DataSourceVerticle extends AbstractVerticle {
     private String id;
     // Listener for processing data source messages.
     final private DataSourceChannelListener processor;
+    // Bound on the lines published to the processor and not yet processed, or null if there is none.
+    final private InFlightLimit inFlightLimit;
+    // Selects the lines passed to the processor.
+    final private TagFilter filter;
 
     /**
      * Constructor for DataSourceVerticle.
@@ -35,9 +41,22 @@ public class DataSourceVerticle extends AbstractVerticle {
      * @param listener the listener for processing data source messages.
      */
     public DataSourceVerticle(Vertx vertx, String channelName, DataSourceChannelListener listener) {
+        this(vertx, channelName, listener, null);
+    }
+
+    /**
+     * Constructor for a DataSourceVerticle whose processor bounds the lines in flight to it.
+     * @param vertx the Vert.x instance.
+     * @param channelName the name of the channel.
+     * @param listener the listener for processing data source messages.
+     * @param inFlightLimit the bound that is released as lines are processed, or {@code null} for none.
+     */
+    DataSourceVerticle(Vertx vertx, String channelName, DataSourceChannelListener listener, InFlightLimit inFlightLimit) {
         this.vertx = vertx;
         this.inbox = channelName;
         this.processor = listener;
+        this.inFlightLimit = inFlightLimit;
+        this.filter = TagFilter.of(listener);
     }
 
     /**
@@ -55,8 +74,8 @@ public class DataSourceVerticle extends AbstractVerticle {
     @Override
     public void start(Promise<Void> promise) {
         try {
-            vertx.eventBus().<String>consumer(inbox, message -> {
-                processor.receive(message.body());
+            vertx.eventBus().<Object>consumer(inbox, message -> {
+                receive(message.body());
                 // Removed vertx.undeploy(id) to avoid double-undeploy
             }).completion()
               .onComplete(ar -> promise.complete());
@@ -65,6 +84,30 @@ public class DataSourceVerticle extends AbstractVerticle {
         }
     }
 
+    /**
+     * Passes the lines in a message that the processor consumes to the processor. A message is either a single
+     * line or a batch of lines.
+     * @param body the body of the message.
+     */
+    @SuppressWarnings("unchecked")
+    private void receive(Object body) {
+        int count = 1;
+        try {
+            if (body instanceof String) {
+                if (filter.selects((String) body))
+                    processor.receive((String) body);
+            } else {
+                count = ((List<String>) body).size();
+                List<String> lines = filter.select((List<String>) body);
+                if (!lines.isEmpty())
+                    processor.receiveBatch(lines);
+            }
+        } finally {
+            if (inFlightLimit != null)
+                inFlightLimit.release(count);
+        }
+    }
+
     /**
      * Checks if this verticle is equal to another object.
      * @param other the other object to compare.
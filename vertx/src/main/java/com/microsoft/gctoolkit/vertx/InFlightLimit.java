@@ -0,0 +1,66 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of messages published to a listener that the listener has not yet processed. A publisher
+ * acquires room for a message before publishing it and blocks while the listener is too far behind. The listener
+ * releases the room once it has processed the message. A batch of lines counts as the number of lines in it.
+ */
+final class InFlightLimit {
+
+    private final int limit;
+    private final Semaphore room;
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    /**
+     * @param limit the most messages that may be in flight. Must be positive.
+     */
+    InFlightLimit(int limit) {
+        this.limit = limit;
+        this.room = new Semaphore(limit);
+    }
+
+    /**
+     * Wait until there is room for {@code count} more messages. A count larger than the limit waits until
+     * nothing is in flight.
+     * @param count the number of messages about to be published.
+     */
+    void acquire(int count) {
+        if (closed)
+            return;
+        room.acquireUninterruptibly(weight(count));
+        int inFlight = limit - room.availablePermits();
+        highWaterMark.accumulateAndGet(inFlight, Math::max);
+    }
+
+    /**
+     * @param count the number of messages that have been processed.
+     */
+    void release(int count) {
+        room.release(weight(count));
+    }
+
+    /**
+     * @return the most messages that have been in flight at once.
+     */
+    int highWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Stop bounding. A publisher that is waiting is let go.
+     */
+    void close() {
+        closed = true;
+        room.release(limit);
+    }
+
+    private int weight(int count) {
+        return Math.min(count, limit);
+    }
+}
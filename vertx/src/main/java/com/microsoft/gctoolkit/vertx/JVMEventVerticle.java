@@ -27,6 +27,8 @@ public class JVMEventVerticle extends AbstractVerticle {
     final private JVMEventChannelListener processor;
     // ID of the verticle.
     private String id;
+    // Bound on the events published to the processor and not yet processed, or null if there is none.
+    final private InFlightLimit inFlightLimit;
 
     /**
      * Constructor for JVMEventVerticle.
@@ -35,9 +37,21 @@ public class JVMEventVerticle extends AbstractVerticle {
      * @param listener the listener for processing JVM events.
      */
     public JVMEventVerticle(Vertx vertx, String channelName, JVMEventChannelListener listener) {
+        this(vertx, channelName, listener, null);
+    }
+
+    /**
+     * Constructor for a JVMEventVerticle whose processor bounds the events in flight to it.
+     * @param vertx the Vert.x instance.
+     * @param channelName the name of the channel.
+     * @param listener the listener for processing JVM events.
+     * @param inFlightLimit the bound that is released as events are processed, or {@code null} for none.
+     */
+    JVMEventVerticle(Vertx vertx, String channelName, JVMEventChannelListener listener, InFlightLimit inFlightLimit) {
         this.vertx = vertx;
         this.inbox = channelName;
         this.processor = listener;
+        this.inFlightLimit = inFlightLimit;
     }
 
     /**
@@ -60,6 +74,9 @@ public class JVMEventVerticle extends AbstractVerticle {
                 processor.receive(event);
             } catch (Throwable t) {
                 LOGGER.log(Level.WARNING, "Vertx: processing JVMEvent failed", t);
+            } finally {
+                if (inFlightLimit != null)
+                    inFlightLimit.release(1);
             }
             // Removed vertx.undeploy(id) to avoid double-undeploy
         }).completion()
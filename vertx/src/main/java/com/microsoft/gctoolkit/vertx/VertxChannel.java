@@ -3,36 +3,102 @@
 package com.microsoft.gctoolkit.vertx;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.vertx.io.JVMEventCodec;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * A class that represents a Vert.x channel for handling JVM events.
+ * A class that represents a Vert.x channel for handling JVM events. Each listener is deployed as a verticle of its
+ * own. A reusable channel keeps its Vert.x instance between analyses and only undeploys the verticles of the
+ * listeners when it is released. A channel for one of several analyses that run at once shares the Vert.x instance
+ * of the channel it was created from, and prefixes the addresses it publishes to so that the analyses do not see
+ * each other's messages.
  */
 public class VertxChannel {
 
     // Logger for the VertxChannel class.
     protected static final Logger LOGGER = Logger.getLogger(VertxChannel.class.getName());
 
-    // Note well! This cannot be a static final field.
-    // UnifiedJavaVirtualMachineConfigurationTest hangs if it is.
-    private final Vertx vertx;
+    /**
+     * The system property used to set the most messages that may be published to a listener and not yet
+     * processed by it. A publisher blocks when a listener falls this far behind. A value of 0 or less removes
+     * the bound.
+     */
+    public static final String MAX_IN_FLIGHT_PROPERTY = "com.microsoft.gctoolkit.vertx.maxInFlight";
+
+    /**
+     * The bound on the messages in flight to each listener if the {@value #MAX_IN_FLIGHT_PROPERTY} system
+     * property is not set. A batch of lines counts as the number of lines in it.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16384;
+
+    // Numbers the channels that share a Vert.x instance with the channel they were created from
+    private static final AtomicInteger ANALYSES = new AtomicInteger();
 
-    {
+    private final int maxInFlight = Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, DEFAULT_MAX_IN_FLIGHT);
+    // The in flight limits of the listeners registered with each channel
+    private final Map<ChannelName, List<InFlightLimit>> inFlightLimits = new ConcurrentHashMap<>();
+    // The registration of each listener, by identity
+    private final Map<Object, Registration> registrations = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final boolean reusable;
+
+    static {
         // Disable unused Vert.x functionality
         System.setProperty("vertx.disableFileCPResolving", "true");
         System.setProperty("vertx.disableFileCaching", "true");
-        vertx = Vertx.vertx();
-        vertx.eventBus().registerDefaultCodec(JVMEvent.class, new JVMEventCodec());
     }
 
+    // Note well! This cannot be a static final field.
+    // UnifiedJavaVirtualMachineConfigurationTest hangs if it is.
+    private final Vertx vertx;
+    // Whether the Vert.x instance belongs to the channel this one was created from
+    private final boolean shared;
+    // Prepended to the name of a channel to give the address of its messages on the event bus
+    private final String addressPrefix;
+
     /**
-     * Default constructor.
+     * Default constructor. The channel is closed at the end of the analysis that uses it.
      */
     protected VertxChannel() {
+        this(false);
+    }
+
+    /**
+     * @param reusable true if the channel is to be kept for more than one analysis.
+     */
+    protected VertxChannel(boolean reusable) {
+        this.reusable = reusable;
+        this.vertx = Vertx.vertx();
+        vertx.eventBus().registerDefaultCodec(JVMEvent.class, new JVMEventCodec());
+        this.shared = false;
+        this.addressPrefix = "";
+    }
+
+    /**
+     * A channel for one analysis that shares the Vert.x instance of another channel. Closing it undeploys the
+     * verticles of its listeners and leaves the Vert.x instance to the channel it belongs to.
+     * @param owner the channel whose Vert.x instance is shared.
+     */
+    protected VertxChannel(VertxChannel owner) {
+        this.reusable = false;
+        this.vertx = owner.vertx;
+        this.shared = true;
+        this.addressPrefix = "analysis-" + ANALYSES.incrementAndGet() + "/";
     }
 
     /**
@@ -44,9 +110,146 @@ public class VertxChannel {
     }
 
     /**
-     * Closes the Vert.x instance.
+     * @param channel a channel name.
+     * @return the address on the event bus of the messages published to the channel.
+     */
+    protected String address(ChannelName channel) {
+        return addressPrefix + channel.getName();
+    }
+
+    /**
+     * @return {@code true}, a channel for each of several analyses can be created from this one.
+     */
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     * Create the in flight limit for a listener being registered with a channel.
+     * @param channel the channel the listener is registered with.
+     * @return the limit, or {@code null} if publishing is not bounded.
+     */
+    InFlightLimit newInFlightLimit(ChannelName channel) {
+        if (maxInFlight <= 0)
+            return null;
+        InFlightLimit limit = new InFlightLimit(maxInFlight);
+        inFlightLimits.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(limit);
+        return limit;
+    }
+
+    /**
+     * Deploy the verticle of a listener and wait for it to be deployed.
+     * @param listener the listener.
+     * @param channel the channel the listener is registered with.
+     * @param inFlightLimit the in flight limit of the listener, or {@code null} if there is none.
+     * @param verticle the verticle that passes messages to the listener.
+     * @param options how the verticle is deployed.
+     * @return the deployment id of the verticle, or an empty string if it could not be deployed.
+     */
+    String deploy(Object listener, ChannelName channel, InFlightLimit inFlightLimit, Verticle verticle, DeploymentOptions options) {
+        String id = await(vertx().deployVerticle(verticle, options), "deploy " + channel);
+        registrations.put(listener, new Registration(channel, inFlightLimit, (id == null) ? "" : id));
+        return (id == null) ? "" : id;
+    }
+
+    /**
+     * Undeploy the verticle of a listener and wait for it to be undeployed. Messages published afterwards are not
+     * passed to the listener.
+     * @param listener a registered listener. A listener that is not registered is ignored.
+     */
+    protected void undeploy(Object listener) {
+        Registration registration = registrations.remove(listener);
+        if (registration == null)
+            return;
+        if (registration.inFlightLimit != null) {
+            inFlightLimits.getOrDefault(registration.channel, List.of()).remove(registration.inFlightLimit);
+            registration.inFlightLimit.close();
+        }
+        if (!registration.deploymentId.isEmpty())
+            await(vertx().undeploy(registration.deploymentId), "undeploy " + registration.channel);
+    }
+
+    private static <T> T await(Future<T> future, String action) {
+        try {
+            return future.toCompletionStage().toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Vert.x: interrupted waiting to " + action, e);
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Vert.x: unable to " + action, e.getCause());
+        }
+        return null;
+    }
+
+    /**
+     * Wait until every listener registered with the channel has room for {@code count} more messages.
+     * @param channel the channel about to be published to.
+     * @param count the number of messages about to be published.
+     */
+    protected void awaitCapacity(ChannelName channel, int count) {
+        List<InFlightLimit> limits = inFlightLimits.get(channel);
+        if (limits != null)
+            for (InFlightLimit limit : limits)
+                limit.acquire(count);
+    }
+
+    /**
+     * The high-water mark of a channel is the most messages that any one of its listeners has had waiting to be
+     * processed at once. It shows how close the channel came to making its publishers wait.
+     * @param channel the channel.
+     * @return the high-water mark, or 0 if nothing listens to the channel or publishing is not bounded.
+     */
+    public int highWaterMark(ChannelName channel) {
+        return inFlightLimits.getOrDefault(channel, List.of()).stream()
+                .mapToInt(InFlightLimit::highWaterMark)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * @return {@code true} if the channel is kept for more than one analysis.
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Called at the end of an analysis. A reusable channel undeploys the verticles of its listeners and keeps its
+     * Vert.x instance for the next analysis. Any other channel is closed.
+     */
+    public void release() {
+        if (!reusable) {
+            close();
+            return;
+        }
+        logHighWaterMarks();
+        undeployAll();
+    }
+
+    private void undeployAll() {
+        List<Object> listeners;
+        synchronized (registrations) {
+            listeners = new ArrayList<>(registrations.keySet());
+        }
+        listeners.forEach(this::undeploy);
+    }
+
+    private void logHighWaterMarks() {
+        inFlightLimits.forEach((channel, limits) ->
+                LOGGER.log(Level.FINE, () -> "Vertx: " + channel + " high-water mark " + highWaterMark(channel) + " of " + maxInFlight));
+    }
+
+    /**
+     * Closes the Vert.x instance. A channel that shares the Vert.x instance of another channel undeploys the
+     * verticles of its listeners instead.
      */
     public void close() {
+        logHighWaterMarks();
+        if (shared) {
+            undeployAll();
+            return;
+        }
+        inFlightLimits.values().forEach(limits -> limits.forEach(InFlightLimit::close));
         vertx().close()
             .onComplete(ar -> {
                 if (ar.succeeded()) {
@@ -56,4 +259,17 @@ public class VertxChannel {
                 }
             });
     }
-}
\ No newline at end of file
+
+    private static final class Registration {
+
+        private final ChannelName channel;
+        private final InFlightLimit inFlightLimit;
+        private final String deploymentId;
+
+        private Registration(ChannelName channel, InFlightLimit inFlightLimit, String deploymentId) {
+            this.channel = channel;
+            this.inFlightLimit = inFlightLimit;
+            this.deploymentId = deploymentId;
+        }
+    }
+}
@@ -5,8 +5,12 @@ package com.microsoft.gctoolkit.vertx;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.vertx.io.LineBatchCodec;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.eventbus.DeliveryOptions;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.List;
 
 /**
  * A class that represents a Vert.x data source channel.
@@ -14,31 +18,69 @@ import java.util.concurrent.CountDownLatch;
  */
 public class VertxDataSourceChannel extends VertxChannel implements DataSourceChannel {
 
+    // Delivery options for the event bus, using the LineBatchCodec.
+    final private DeliveryOptions batchOptions = new DeliveryOptions().setCodecName(LineBatchCodec.NAME);
+    // Deployment options that run a verticle on a worker thread.
+    final private DeploymentOptions workerOptions = new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER);
+
     /**
-     * Default constructor.
+     * Called by the service loader to create the channel.
+     * @return a {@link VirtualThreadDataSourceChannel} if the {@value VirtualThreadChannel#VIRTUAL_THREADS_PROPERTY}
+     * system property is {@code true} and the runtime supports virtual threads, otherwise a VertxDataSourceChannel.
+     */
+    public static DataSourceChannel provider() {
+        return VirtualThreadChannel.isSelected() ? new VirtualThreadDataSourceChannel() : new VertxDataSourceChannel();
+    }
+
+    /**
+     * Default constructor. The channel is closed at the end of the analysis that uses it.
      */
     public VertxDataSourceChannel() {
-        super();
+        this(false);
+    }
+
+    /**
+     * @param reusable true if the channel is to be kept for more than one analysis. The caller closes a reusable
+     *                 channel when it is no longer needed.
+     */
+    public VertxDataSourceChannel(boolean reusable) {
+        super(reusable);
+        vertx().eventBus().registerCodec(new LineBatchCodec());
+    }
+
+    private VertxDataSourceChannel(VertxDataSourceChannel owner) {
+        super(owner);
     }
 
     /**
-     * Registers a listener for the data source channel.
+     * Create a channel for one analysis that shares the Vert.x instance of this channel, and with it the event
+     * loop and worker threads.
+     * @return the channel for one analysis.
+     */
+    @Override
+    public DataSourceChannel forAnalysis() {
+        return new VertxDataSourceChannel(this);
+    }
+
+    /**
+     * Registers a listener for the data source channel. The listener is deployed as a worker verticle because
+     * a parser may block while publishing events to aggregators that have fallen behind.
      * @param listener the DataSourceParser listener to register.
      */
     @Override
     public void registerListener(DataSourceParser listener) {
-        final DataSourceVerticle processor = new DataSourceVerticle(vertx(), listener.channel().getName(), listener);
-        CountDownLatch latch = new CountDownLatch(1);
-        vertx().deployVerticle(processor)
-            .onComplete(ar -> {
-                processor.setID(ar.succeeded() ? ar.result() : "");
-                latch.countDown();
-            });
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Thread.interrupted();
-        }
+        InFlightLimit inFlightLimit = newInFlightLimit(listener.channel());
+        final DataSourceVerticle processor = new DataSourceVerticle(vertx(), address(listener.channel()), listener, inFlightLimit);
+        processor.setID(deploy(listener, listener.channel(), inFlightLimit, processor, workerOptions));
+    }
+
+    /**
+     * Deregisters a listener by undeploying its verticle.
+     * @param listener the DataSourceParser listener to deregister.
+     */
+    @Override
+    public void deregisterListener(DataSourceParser listener) {
+        undeploy(listener);
     }
 
     /**
@@ -48,7 +90,19 @@ public class VertxDataSourceChannel extends VertxChannel implements DataSourceCh
      */
     @Override
     public void publish(ChannelName channel, String message) {
-        vertx().eventBus().publish(channel.getName(), message);
+        awaitCapacity(channel, 1);
+        vertx().eventBus().publish(address(channel), message);
+    }
+
+    /**
+     * Publishes a batch of lines to a specified channel as a single message.
+     * @param channel the channel to publish to.
+     * @param lines the lines to publish.
+     */
+    @Override
+    public void publishBatch(ChannelName channel, List<String> lines) {
+        awaitCapacity(channel, lines.size());
+        vertx().eventBus().publish(address(channel), lines, batchOptions);
     }
 
     /**
@@ -7,46 +7,93 @@ import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelListener;
 import com.microsoft.gctoolkit.vertx.io.JVMEventCodec;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
 import io.vertx.core.eventbus.DeliveryOptions;
 
-import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * A class that represents a Vert.x JVM event channel.
  * It extends VertxChannel and implements JVMEventChannel.
+ * <p>
+ * Each listener is deployed as a worker verticle on a pool of threads shared by the listeners of the channel.
+ * Vert.x passes the events to a worker verticle one at a time, in the order they were published, so each
+ * aggregator sees its events in order. Different aggregators run in parallel, and an aggregator that is slow
+ * to process its events does not hold up the others.
  */
 public class VertxJVMEventChannel extends VertxChannel implements JVMEventChannel {
 
+    /**
+     * The system property used to set the number of threads the listeners of a channel run on.
+     */
+    public static final String LISTENER_THREADS_PROPERTY = "com.microsoft.gctoolkit.vertx.listenerThreads";
+
     // Delivery options for the event bus, using the JVMEventCodec.
     final private DeliveryOptions options = new DeliveryOptions().setCodecName(JVMEventCodec.NAME);
+    // Deployment options that run a verticle on the pool of threads shared by the listeners.
+    final private DeploymentOptions workerOptions = new DeploymentOptions()
+            .setThreadingModel(ThreadingModel.WORKER)
+            .setWorkerPoolName("gctoolkit-jvm-event-listener")
+            .setWorkerPoolSize(Integer.getInteger(LISTENER_THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors())));
 
     /**
-     * Default constructor.
+     * Called by the service loader to create the channel.
+     * @return a {@link VirtualThreadJVMEventChannel} if the {@value VirtualThreadChannel#VIRTUAL_THREADS_PROPERTY}
+     * system property is {@code true} and the runtime supports virtual threads, otherwise a VertxJVMEventChannel.
      */
-    public VertxJVMEventChannel() {}
+    public static JVMEventChannel provider() {
+        return VirtualThreadChannel.isSelected() ? new VirtualThreadJVMEventChannel() : new VertxJVMEventChannel();
+    }
 
     /**
-     * Registers a listener for the JVM event channel.
+     * Default constructor. The channel is closed at the end of the analysis that uses it.
+     */
+    public VertxJVMEventChannel() {
+        this(false);
+    }
+
+    /**
+     * @param reusable true if the channel is to be kept for more than one analysis. The caller closes a reusable
+     *                 channel when it is no longer needed.
+     */
+    public VertxJVMEventChannel(boolean reusable) {
+        super(reusable);
+    }
+
+    private VertxJVMEventChannel(VertxJVMEventChannel owner) {
+        super(owner);
+    }
+
+    /**
+     * Create a channel for one analysis that shares the Vert.x instance of this channel, and with it the pool of
+     * threads the aggregators run on.
+     * @return the channel for one analysis.
+     */
+    @Override
+    public JVMEventChannel forAnalysis() {
+        return new VertxJVMEventChannel(this);
+    }
+
+    /**
+     * Registers a listener for the JVM event channel. The listener is deployed as a worker verticle.
      * @param listener the JVMEventChannelListener to register.
      */
     @Override
     public void registerListener(JVMEventChannelListener listener) {
-        final JVMEventVerticle processor = new JVMEventVerticle(vertx(), listener.channel().getName(), listener);
-        CountDownLatch latch = new CountDownLatch(1);
-        vertx().deployVerticle(processor)
-            .onComplete(ar -> {
-                processor.setID(ar.succeeded() ? ar.result() : "");
-                latch.countDown();
-            });
+        InFlightLimit inFlightLimit = newInFlightLimit(listener.channel());
+        final JVMEventVerticle processor = new JVMEventVerticle(vertx(), address(listener.channel()), listener, inFlightLimit);
+        processor.setID(deploy(listener, listener.channel(), inFlightLimit, processor, workerOptions));
+    }
 
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Thread.interrupted();
-            LOGGER.log(Level.SEVERE, "Vert.x: Latch.await interrupted: " + e.getLocalizedMessage(), e);
-        }
+    /**
+     * Deregisters a listener by undeploying its verticle.
+     * @param listener the JVMEventChannelListener to deregister.
+     */
+    @Override
+    public void deregisterListener(JVMEventChannelListener listener) {
+        undeploy(listener);
     }
 
     /**
@@ -56,8 +103,9 @@ public class VertxJVMEventChannel extends VertxChannel implements JVMEventChanne
      */
     @Override
     public void publish(ChannelName channel, JVMEvent message) {
+        awaitCapacity(channel, 1);
         try {
-            vertx().eventBus().publish(channel.getName(), message, options);
+            vertx().eventBus().publish(address(channel), message, options);
         } catch(Exception ex) {
             LOGGER.log(Level.SEVERE, "Vert.x: Unable to publish message: " + message, ex);
         }
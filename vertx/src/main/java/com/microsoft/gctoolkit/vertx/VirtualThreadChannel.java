@@ -0,0 +1,241 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.message.Channel;
+import com.microsoft.gctoolkit.message.ChannelListener;
+import com.microsoft.gctoolkit.message.ChannelName;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A channel that gives each listener a bounded mailbox and a virtual thread of its own that takes the messages
+ * from the mailbox. A publisher waits while a mailbox is full. A virtual thread waiting on an empty mailbox holds
+ * no platform thread, so the number of listeners, and of analyses running at once, is not limited by the number
+ * of platform threads. On runtimes without virtual threads, each listener is run on a platform daemon thread.
+ * <p>
+ * The channels loaded through the service provider interface are these channels if the
+ * {@value #VIRTUAL_THREADS_PROPERTY} system property is {@code true} and the runtime supports virtual threads,
+ * and Vert.x channels otherwise.
+ * @param <M> the type of message
+ * @param <L> the type of listener
+ */
+public abstract class VirtualThreadChannel<M, L extends ChannelListener<M>> implements Channel<M, L> {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadChannel.class.getName());
+
+    /**
+     * The system property that, when {@code true}, selects these channels in place of the Vert.x channels on
+     * runtimes that support virtual threads.
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "com.microsoft.gctoolkit.vertx.virtualThreads";
+
+    /**
+     * The system property used to set the number of messages each mailbox holds. A batch of lines is one message.
+     */
+    public static final String MAILBOX_CAPACITY_PROPERTY = "com.microsoft.gctoolkit.vertx.mailboxCapacity";
+
+    /**
+     * The number of messages each mailbox holds if the {@value #MAILBOX_CAPACITY_PROPERTY} system property is
+     * not set.
+     */
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+
+    // Tells the thread taking from a mailbox to stop.
+    private static final Object STOP = new Object();
+
+    private final int capacity;
+    private final ThreadFactory threads;
+    // Filled in up front and never changed, so publishing needs no lock.
+    private final Map<ChannelName, List<Mailbox>> mailboxes = new EnumMap<>(ChannelName.class);
+    // The mailbox of each listener, by identity
+    private final Map<L, Mailbox> registrations = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * @param capacity the number of messages each mailbox holds.
+     */
+    protected VirtualThreadChannel(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Mailbox capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.threads = VirtualThreads.factory("gctoolkit-" + getClass().getSimpleName() + "-");
+        for (ChannelName channel : ChannelName.values())
+            mailboxes.put(channel, new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * @return the capacity set by the {@value #MAILBOX_CAPACITY_PROPERTY} system property, or
+     * {@value #DEFAULT_MAILBOX_CAPACITY}.
+     */
+    protected static int capacityFromSystemProperty() {
+        return Integer.getInteger(MAILBOX_CAPACITY_PROPERTY, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    /**
+     * @return the number of messages each mailbox holds.
+     */
+    protected int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return true if the runtime supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * @return true if these channels are to be loaded through the service provider interface.
+     */
+    static boolean isSelected() {
+        if (!Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY))
+            return false;
+        if (!isSupported())
+            LOGGER.log(Level.INFO, VIRTUAL_THREADS_PROPERTY + " is set but this runtime does not support virtual threads, using Vert.x");
+        return isSupported();
+    }
+
+    /**
+     * Registers a listener. The listener is given a mailbox and a thread of its own.
+     * @param listener the listener to register.
+     */
+    @Override
+    public void registerListener(L listener) {
+        Mailbox mailbox = new Mailbox(listener.channel(), receiver(listener));
+        registrations.put(listener, mailbox);
+        mailboxes.get(listener.channel()).add(mailbox);
+        threads.newThread(mailbox).start();
+    }
+
+    /**
+     * Stops the thread of a listener once it has received the messages already in its mailbox.
+     * @param listener the listener to deregister.
+     */
+    @Override
+    public void deregisterListener(L listener) {
+        Mailbox mailbox = registrations.remove(listener);
+        if (mailbox != null)
+            mailbox.stop();
+    }
+
+    /**
+     * Returns what passes the messages taken from a mailbox to a listener. Subclasses that publish messages
+     * other than {@code M} through {@link #publishMessage(ChannelName, Object)} override this to receive them.
+     * @param listener the listener to pass the messages to.
+     * @return the receiver of the messages for the listener.
+     */
+    @SuppressWarnings("unchecked")
+    protected Consumer<Object> receiver(L listener) {
+        return message -> listener.receive((M) message);
+    }
+
+    /**
+     * Publishes a message to every listener registered for the channel.
+     * @param channel the channel to publish to.
+     * @param message the message to publish.
+     */
+    @Override
+    public void publish(ChannelName channel, M message) {
+        publishMessage(channel, message);
+    }
+
+    /**
+     * Publishes any message to every listener registered for the channel, waiting while a mailbox is full.
+     * @param channel the channel to publish to.
+     * @param message the message to publish.
+     */
+    protected void publishMessage(ChannelName channel, Object message) {
+        for (Mailbox mailbox : mailboxes.get(channel))
+            mailbox.put(message);
+    }
+
+    /**
+     * @return true, the threads of the listeners are stopped when the channel is released.
+     */
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
+    /**
+     * @return true, the threads of a channel are those of its listeners, so a channel with the same capacity can
+     * be created for each of several analyses.
+     */
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     * Deregisters every listener.
+     */
+    @Override
+    public void release() {
+        List<L> listeners;
+        synchronized (registrations) {
+            listeners = List.copyOf(registrations.keySet());
+        }
+        listeners.forEach(this::deregisterListener);
+    }
+
+    /**
+     * Deregisters every listener.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
+    private final class Mailbox implements Runnable {
+
+        private final ChannelName channel;
+        private final Consumer<Object> receiver;
+        private final BlockingQueue<Object> messages = new ArrayBlockingQueue<>(capacity);
+
+        Mailbox(ChannelName channel, Consumer<Object> receiver) {
+            this.channel = channel;
+            this.receiver = receiver;
+        }
+
+        void put(Object message) {
+            try {
+                messages.put(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(Level.WARNING, "VirtualThread: interrupted publishing to " + channel);
+            }
+        }
+
+        void stop() {
+            mailboxes.get(channel).remove(this);
+            put(STOP);
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Object message = messages.take(); message != STOP; message = messages.take()) {
+                    try {
+                        receiver.accept(message);
+                    } catch (Throwable t) {
+                        LOGGER.log(Level.WARNING, "VirtualThread: " + channel + " listener failed", t);
+                    }
+                }
+            } catch (InterruptedException e) {
+                LOGGER.log(Level.FINE, "VirtualThread: " + channel + " listener interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceChannel;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.TagFilter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A data source channel that runs each parser on a virtual thread of its own. A batch of lines takes a single
+ * place in a mailbox.
+ */
+public class VirtualThreadDataSourceChannel extends VirtualThreadChannel<String, DataSourceParser> implements DataSourceChannel {
+
+    /**
+     * Create a channel configured by the {@value VirtualThreadChannel#MAILBOX_CAPACITY_PROPERTY} system property.
+     */
+    public VirtualThreadDataSourceChannel() {
+        this(capacityFromSystemProperty());
+    }
+
+    /**
+     * @param capacity the number of lines, or batches of lines, each parser's mailbox holds.
+     */
+    public VirtualThreadDataSourceChannel(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * @return a new channel whose mailboxes hold as many messages as those of this channel.
+     */
+    @Override
+    public DataSourceChannel forAnalysis() {
+        return new VirtualThreadDataSourceChannel(capacity());
+    }
+
+    /**
+     * Publishes a batch of lines as a single message.
+     * @param channel the channel to publish to.
+     * @param lines the lines to publish.
+     */
+    @Override
+    public void publishBatch(ChannelName channel, List<String> lines) {
+        publishMessage(channel, lines);
+    }
+
+    /**
+     * Only the lines selected by the {@link TagFilter} for the tag sets of the parser are passed to it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Consumer<Object> receiver(DataSourceParser listener) {
+        TagFilter filter = TagFilter.of(listener);
+        return message -> {
+            if (message instanceof String) {
+                if (filter.selects((String) message))
+                    listener.receive((String) message);
+            } else {
+                List<String> lines = filter.select((List<String>) message);
+                if (!lines.isEmpty())
+                    listener.receiveBatch(lines);
+            }
+        };
+    }
+}
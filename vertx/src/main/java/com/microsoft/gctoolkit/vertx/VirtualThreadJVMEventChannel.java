@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+
+/**
+ * A JVM event channel that runs each aggregator on a virtual thread of its own.
+ */
+public class VirtualThreadJVMEventChannel extends VirtualThreadChannel<JVMEvent, JVMEventChannelListener> implements JVMEventChannel {
+
+    /**
+     * Create a channel configured by the {@value VirtualThreadChannel#MAILBOX_CAPACITY_PROPERTY} system property.
+     */
+    public VirtualThreadJVMEventChannel() {
+        this(capacityFromSystemProperty());
+    }
+
+    /**
+     * @param capacity the number of events each aggregator's mailbox holds.
+     */
+    public VirtualThreadJVMEventChannel(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * @return a new channel whose mailboxes hold as many messages as those of this channel.
+     */
+    @Override
+    public JVMEventChannel forAnalysis() {
+        return new VirtualThreadJVMEventChannel(capacity());
+    }
+}
@@ -3,6 +3,8 @@
 package com.microsoft.gctoolkit.vertx.io;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.io.JVMEventReader;
+import com.microsoft.gctoolkit.io.JVMEventWriter;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.MessageCodec;
 
@@ -10,14 +12,19 @@ public class JVMEventCodec implements MessageCodec<JVMEvent, JVMEvent> {
 
     public static String NAME = "JVMEvent";
 
+    /**
+     * The event is written as its length followed by the bytes from {@link JVMEventWriter#encode(JVMEvent)}.
+     */
     @Override
     public void encodeToWire(Buffer buffer, JVMEvent jvmEvent) {
-        throw new UnsupportedOperationException();
+        byte[] bytes = JVMEventWriter.encode(jvmEvent);
+        buffer.appendInt(bytes.length).appendBytes(bytes);
     }
 
     @Override
     public JVMEvent decodeFromWire(int i, Buffer buffer) {
-        throw new UnsupportedOperationException();
+        int length = buffer.getInt(i);
+        return JVMEventReader.decode(buffer.getBytes(i + 4, i + 4 + length));
     }
 
     @Override
@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InFlightLimitTest {
+
+    @Test
+    public void publisherWaitsForListener() throws InterruptedException {
+        InFlightLimit limit = new InFlightLimit(4);
+        limit.acquire(3);
+        limit.acquire(1);
+        assertEquals(4, limit.highWaterMark());
+
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            limit.acquire(2);
+            published.countDown();
+        });
+        publisher.start();
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        limit.release(1);
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        limit.release(1);
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        publisher.join();
+        assertEquals(4, limit.highWaterMark());
+    }
+
+    @Test
+    public void batchLargerThanLimitWaitsForEverything() throws InterruptedException {
+        InFlightLimit limit = new InFlightLimit(4);
+        limit.acquire(1);
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            limit.acquire(100);
+            published.countDown();
+        });
+        publisher.start();
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        limit.release(1);
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        publisher.join();
+        limit.release(100);
+        assertEquals(4, limit.highWaterMark());
+    }
+
+    @Test
+    public void closeLetsWaitingPublisherGo() throws InterruptedException {
+        InFlightLimit limit = new InFlightLimit(1);
+        limit.acquire(1);
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            limit.acquire(1);
+            published.countDown();
+        });
+        publisher.start();
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        limit.close();
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        publisher.join();
+        // nothing is bounded once closed
+        limit.acquire(1);
+        limit.acquire(1);
+    }
+}
@@ -0,0 +1,151 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VertxChannelReuseTest {
+
+    private static class LineRecorder implements DataSourceParser {
+
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+
+        LineRecorder(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.DATA_SOURCE;
+        }
+
+        @Override
+        public void receive(String payload) {
+            lines.add(payload);
+            done.countDown();
+        }
+
+        @Override
+        public void publishTo(JVMEventChannel channel) {}
+
+        @Override
+        public void diary(Diary diary) {}
+
+        @Override
+        public boolean accepts(Diary diary) {
+            return true;
+        }
+
+        @Override
+        public Set<EventSource> eventsProduced() {
+            return Set.of();
+        }
+    }
+
+    private static void publish(VertxDataSourceChannel channel, String... lines) {
+        channel.publishBatch(ChannelName.DATA_SOURCE, List.of(lines));
+    }
+
+    @Test
+    public void defaultChannelIsNotReusable() {
+        VertxDataSourceChannel channel = new VertxDataSourceChannel();
+        assertFalse(channel.isReusable());
+        channel.close();
+    }
+
+    @Test
+    public void reusableChannelServesManyAnalyses() throws InterruptedException {
+        VertxDataSourceChannel channel = new VertxDataSourceChannel(true);
+        assertTrue(channel.isReusable());
+        try {
+            LineRecorder first = new LineRecorder(2);
+            channel.registerListener(first);
+            publish(channel, "a", "b");
+            assertTrue(first.done.await(10, TimeUnit.SECONDS));
+            channel.release();
+
+            LineRecorder second = new LineRecorder(2);
+            channel.registerListener(second);
+            publish(channel, "c", "d");
+            assertTrue(second.done.await(10, TimeUnit.SECONDS));
+            channel.release();
+
+            assertEquals(List.of("a", "b"), first.lines);
+            assertEquals(List.of("c", "d"), second.lines);
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void analysesShareTheVertxInstanceButNotTheirLines() throws InterruptedException {
+        VertxDataSourceChannel channel = new VertxDataSourceChannel(true);
+        assertTrue(channel.isShareable());
+        try {
+            VertxDataSourceChannel first = (VertxDataSourceChannel) channel.forAnalysis();
+            VertxDataSourceChannel second = (VertxDataSourceChannel) channel.forAnalysis();
+            assertSame(channel.vertx(), first.vertx());
+            assertSame(channel.vertx(), second.vertx());
+
+            LineRecorder firstLines = new LineRecorder(2);
+            LineRecorder secondLines = new LineRecorder(1);
+            first.registerListener(firstLines);
+            second.registerListener(secondLines);
+            publish(first, "a", "b");
+            publish(second, "c");
+            assertTrue(firstLines.done.await(10, TimeUnit.SECONDS));
+            assertTrue(secondLines.done.await(10, TimeUnit.SECONDS));
+            first.release();
+            second.close();
+
+            // Releasing the channels of the analyses leaves the shared Vert.x instance running.
+            LineRecorder next = new LineRecorder(1);
+            channel.registerListener(next);
+            publish(channel, "d");
+            assertTrue(next.done.await(10, TimeUnit.SECONDS));
+
+            assertEquals(List.of("a", "b"), firstLines.lines);
+            assertEquals(List.of("c"), secondLines.lines);
+            assertEquals(List.of("d"), next.lines);
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void deregisteredListenerReceivesNothingMore() throws InterruptedException {
+        VertxDataSourceChannel channel = new VertxDataSourceChannel(true);
+        try {
+            LineRecorder leaving = new LineRecorder(1);
+            LineRecorder staying = new LineRecorder(2);
+            channel.registerListener(leaving);
+            channel.registerListener(staying);
+            publish(channel, "a");
+            assertTrue(leaving.done.await(10, TimeUnit.SECONDS));
+            channel.deregisterListener(leaving);
+            publish(channel, "b");
+            assertTrue(staying.done.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of("a"), leaving.lines);
+            assertEquals(List.of("a", "b"), staying.lines);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VertxJVMEventChannelTest {
+
+    private static final int EVENTS = 10;
+
+    private static class EventRecorder implements JVMEventChannelListener {
+
+        final List<Double> timeStamps = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(EVENTS);
+        final CountDownLatch proceed;
+
+        EventRecorder(CountDownLatch proceed) {
+            this.proceed = proceed;
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.G1GC_PARSER_OUTBOX;
+        }
+
+        @Override
+        public void receive(JVMEvent payload) {
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            timeStamps.add(payload.getDateTimeStamp().getTimeStamp());
+            done.countDown();
+        }
+    }
+
+    @Test
+    public void slowListenerDoesNotHoldUpTheOthers() throws InterruptedException {
+        VertxJVMEventChannel channel = new VertxJVMEventChannel();
+        CountDownLatch blocked = new CountDownLatch(1);
+        EventRecorder slow = new EventRecorder(blocked);
+        EventRecorder fast = new EventRecorder(new CountDownLatch(0));
+        channel.registerListener(slow);
+        channel.registerListener(fast);
+        List<Double> expected = new ArrayList<>();
+        try {
+            for (int i = 0; i < EVENTS; i++) {
+                expected.add((double) i);
+                DateTimeStamp timeStamp = new DateTimeStamp(i);
+                channel.publish(ChannelName.G1GC_PARSER_OUTBOX, new JVMTermination(timeStamp, timeStamp));
+            }
+            assertTrue(fast.done.await(10, TimeUnit.SECONDS));
+            assertEquals(expected, fast.timeStamps);
+            assertTrue(slow.timeStamps.isEmpty());
+
+            blocked.countDown();
+            assertTrue(slow.done.await(10, TimeUnit.SECONDS));
+            assertEquals(expected, slow.timeStamps);
+        } finally {
+            blocked.countDown();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx;
+
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.DataSourceChannel;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadChannelTest {
+
+    private static class LineRecorder implements DataSourceParser {
+
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final Set<String> tagSets;
+        final CountDownLatch done;
+
+        LineRecorder(Set<String> tagSets, int expected) {
+            this.tagSets = tagSets;
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public ChannelName channel() {
+            return ChannelName.DATA_SOURCE;
+        }
+
+        @Override
+        public Set<String> tagSets() {
+            return tagSets;
+        }
+
+        @Override
+        public void receive(String payload) {
+            lines.add(payload);
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }
+
+        @Override
+        public void publishTo(JVMEventChannel channel) {}
+
+        @Override
+        public void diary(Diary diary) {}
+
+        @Override
+        public boolean accepts(Diary diary) {
+            return true;
+        }
+
+        @Override
+        public Set<EventSource> eventsProduced() {
+            return Set.of();
+        }
+    }
+
+    @Test
+    public void eachListenerReceivesEveryLineInOrderOnItsOwnThread() throws InterruptedException {
+        // A mailbox smaller than the number of messages makes the publisher wait for the listeners.
+        VirtualThreadDataSourceChannel channel = new VirtualThreadDataSourceChannel(4);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            expected.add("line " + i);
+        LineRecorder first = new LineRecorder(Set.of(), expected.size());
+        LineRecorder second = new LineRecorder(Set.of(), expected.size());
+        channel.registerListener(first);
+        channel.registerListener(second);
+        try {
+            for (int i = 0; i < expected.size(); i += 10)
+                channel.publishBatch(ChannelName.DATA_SOURCE, expected.subList(i, i + 10));
+            assertTrue(first.done.await(10, TimeUnit.SECONDS));
+            assertTrue(second.done.await(10, TimeUnit.SECONDS));
+            assertEquals(expected, first.lines);
+            assertEquals(expected, second.lines);
+            assertEquals(1, Set.copyOf(first.threads).size());
+            assertTrue(Set.copyOf(first.threads).stream().noneMatch(second.threads::contains));
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void parsersOnlyReceiveTheirTags() throws InterruptedException {
+        VirtualThreadDataSourceChannel channel = new VirtualThreadDataSourceChannel();
+        LineRecorder safepoints = new LineRecorder(Set.of("safepoint"), 2);
+        channel.registerListener(safepoints);
+        try {
+            channel.publish(ChannelName.DATA_SOURCE, "[0.1s][info][gc] GC(0) Pause Young");
+            channel.publishBatch(ChannelName.DATA_SOURCE, List.of("[0.2s][info][safepoint] Safepoint", "Heap"));
+            assertTrue(safepoints.done.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of("[0.2s][info][safepoint] Safepoint", "Heap"), safepoints.lines);
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void releasedChannelCanBeReused() throws InterruptedException {
+        VirtualThreadDataSourceChannel channel = new VirtualThreadDataSourceChannel();
+        LineRecorder first = new LineRecorder(Set.of(), 1);
+        channel.registerListener(first);
+        channel.publish(ChannelName.DATA_SOURCE, "a");
+        assertTrue(first.done.await(10, TimeUnit.SECONDS));
+        channel.release();
+
+        LineRecorder second = new LineRecorder(Set.of(), 1);
+        channel.registerListener(second);
+        channel.publish(ChannelName.DATA_SOURCE, "b");
+        assertTrue(second.done.await(10, TimeUnit.SECONDS));
+        channel.close();
+        // the released listener's thread has stopped
+        first.threads.get(0).join(10_000);
+        assertFalse(first.threads.get(0).isAlive());
+        assertEquals(List.of("a"), first.lines);
+        assertEquals(List.of("b"), second.lines);
+    }
+
+    @Test
+    public void providerFallsBackToVertx() {
+        String previous = System.setProperty(VirtualThreadChannel.VIRTUAL_THREADS_PROPERTY, "true");
+        try {
+            DataSourceChannel channel = VertxDataSourceChannel.provider();
+            try {
+                Class<?> expected = VirtualThreadChannel.isSupported() ? VirtualThreadDataSourceChannel.class : VertxDataSourceChannel.class;
+                assertEquals(expected, channel.getClass());
+            } finally {
+                channel.close();
+            }
+        } finally {
+            if (previous == null)
+                System.clearProperty(VirtualThreadChannel.VIRTUAL_THREADS_PROPERTY);
+            else
+                System.setProperty(VirtualThreadChannel.VIRTUAL_THREADS_PROPERTY, previous);
+        }
+        DataSourceChannel channel = VertxDataSourceChannel.provider();
+        assertEquals(VertxDataSourceChannel.class, channel.getClass());
+        channel.close();
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx.io;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.MemoryPoolSummary;
+import com.microsoft.gctoolkit.event.generational.ParNew;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JVMEventCodecTest {
+
+    @Test
+    public void eventIsDecodedFromTheWire() {
+        ParNew parNew = new ParNew(new DateTimeStamp(1.5d), GCCause.ALLOCATION_FAILURE, 0.012d);
+        parNew.add(new MemoryPoolSummary(1L, 2L, 3L, 4L), new MemoryPoolSummary(5L, 6L, 7L, 8L));
+        JVMEventCodec codec = new JVMEventCodec();
+
+        Buffer buffer = Buffer.buffer().appendString("prefix");
+        codec.encodeToWire(buffer, parNew);
+        JVMEvent decoded = codec.decodeFromWire("prefix".length(), buffer);
+
+        assertTrue(decoded instanceof ParNew);
+        ParNew copy = (ParNew) decoded;
+        assertEquals(parNew.getDateTimeStamp(), copy.getDateTimeStamp());
+        assertEquals(parNew.getGCCause(), copy.getGCCause());
+        assertEquals(parNew.getDuration(), copy.getDuration());
+        assertEquals(parNew.getYoung().getOccupancyAfterCollection(), copy.getYoung().getOccupancyAfterCollection());
+        assertEquals(parNew.getHeap().getSizeAfterCollection(), copy.getHeap().getSizeAfterCollection());
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx.io;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LineBatchCodecTest {
+
+    @Test
+    public void batchIsDecodedFromTheWire() {
+        List<String> lines = List.of(
+                "[0.011s][info][gc] Using G1",
+                "",
+                "  Heap région: 1M",
+                "[1.000s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.003ms");
+        LineBatchCodec codec = new LineBatchCodec();
+
+        Buffer buffer = Buffer.buffer().appendString("prefix");
+        codec.encodeToWire(buffer, lines);
+        codec.encodeToWire(buffer, List.of());
+        assertEquals(lines, codec.decodeFromWire("prefix".length(), buffer));
+        assertEquals(List.of(), codec.decodeFromWire(buffer.length() - 4, buffer));
+
+        assertSame(lines, codec.transform(lines));
+    }
+}